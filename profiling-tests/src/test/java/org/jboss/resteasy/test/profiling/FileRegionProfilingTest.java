@@ -0,0 +1,111 @@
+package org.jboss.resteasy.test.profiling;
+
+import org.jboss.logging.Logger;
+import org.jboss.resteasy.plugins.server.netty.NettyContainer;
+import org.jboss.resteasy.util.PortProvider;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.File;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+
+/**
+ * Compares File entities sent as Netty file regions with the same files copied through a StreamingOutput, for 1 MB
+ * and 16 MB files.
+ */
+public class FileRegionProfilingTest
+{
+   private static final Logger LOG = Logger.getLogger(FileRegionProfilingTest.class);
+
+   private static File dir;
+
+   @Path("/")
+   public static class FileResource
+   {
+      @GET
+      @Path("file")
+      @Produces("application/octet-stream")
+      public File file(@QueryParam("name") String name)
+      {
+         return new File(dir, name);
+      }
+
+      @GET
+      @Path("stream")
+      @Produces("application/octet-stream")
+      public StreamingOutput stream(@QueryParam("name") String name)
+      {
+         return output -> Files.copy(new File(dir, name).toPath(), output);
+      }
+   }
+
+   @BeforeClass
+   public static void start() throws Exception
+   {
+      dir = Files.createTempDirectory("regions").toFile();
+      NettyContainer.start().getRegistry().addPerRequestResource(FileResource.class);
+   }
+
+   @AfterClass
+   public static void stop() throws Exception
+   {
+      NettyContainer.stop();
+      for (File file : dir.listFiles()) file.delete();
+      dir.delete();
+   }
+
+   private static long run(String path, String name, long size, int iterations) throws Exception
+   {
+      byte[] buffer = new byte[65536];
+      long start = System.nanoTime();
+      for (int i = 0; i < iterations; i++)
+      {
+         URL url = new URL("http://localhost:" + PortProvider.getPort() + "/" + path + "?name=" + name);
+         HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+         long read = 0;
+         try (InputStream in = connection.getInputStream())
+         {
+            for (int n; (n = in.read(buffer)) != -1; ) read += n;
+         }
+         Assert.assertEquals(size, read);
+      }
+      return System.nanoTime() - start;
+   }
+
+   @Test
+   public void testFiles() throws Exception
+   {
+      final int WARMUP = 5;
+      final int ITERATIONS = 10;
+      final long[] SIZES = {1L << 20, 16L << 20};
+      //final int WARMUP = 20;
+      //final int ITERATIONS = 100;
+      //final long[] SIZES = {1L << 20, 16L << 20, 256L << 20, 1L << 30};
+
+      for (long size : SIZES)
+      {
+         String name = "file" + size;
+         try (RandomAccessFile file = new RandomAccessFile(new File(dir, name), "rw"))
+         {
+            file.setLength(size);
+         }
+         run("file", name, size, WARMUP);
+         run("stream", name, size, WARMUP);
+         long regionTime = run("file", name, size, ITERATIONS);
+         long streamTime = run("stream", name, size, ITERATIONS);
+         LOG.info((size >> 20) + " MB: file region " + (regionTime / ITERATIONS / 1000) + " us/response, stream copy "
+                 + (streamTime / ITERATIONS / 1000) + " us/response");
+      }
+   }
+}
@@ -0,0 +1,192 @@
+package org.jboss.resteasy.test.profiling;
+
+import org.jboss.logging.Logger;
+import org.jboss.resteasy.core.ResteasyDeploymentImpl;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.mock.MockHttpResponse;
+import org.jboss.resteasy.spi.Dispatcher;
+import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.NameBinding;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the per-request overhead of the request and response filter chains of small GET endpoints bound to 0, 5
+ * and 20 filters by name, and of requests matching no resource method, which only run the unbound filters.  The
+ * bytes allocated per request are logged too, as they are less noisy than the time.
+ */
+public class FilterChainProfilingTest
+{
+   private static final Logger LOG = Logger.getLogger(FilterChainProfilingTest.class);
+
+   @NameBinding
+   @Retention(RetentionPolicy.RUNTIME)
+   public @interface Five
+   {
+   }
+
+   @NameBinding
+   @Retention(RetentionPolicy.RUNTIME)
+   public @interface Twenty
+   {
+   }
+
+   public static class CountingFilter implements ContainerRequestFilter, ContainerResponseFilter
+   {
+      @Override
+      public void filter(ContainerRequestContext requestContext)
+      {
+         Integer count = (Integer) requestContext.getProperty("count");
+         requestContext.setProperty("count", count == null ? 1 : count + 1);
+      }
+
+      @Override
+      public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext)
+      {
+         responseContext.getHeaders().putSingle("X-Filters", requestContext.getProperty("count"));
+      }
+   }
+
+   @Five
+   public static class FiveFilter extends CountingFilter
+   {
+   }
+
+   @Twenty
+   public static class TwentyFilter extends CountingFilter
+   {
+   }
+
+   @Path("/test")
+   public static class FilteredResource
+   {
+      @GET
+      @Path("none")
+      @Produces("text/plain")
+      public String none()
+      {
+         return "ok";
+      }
+
+      @GET
+      @Path("five")
+      @Produces("text/plain")
+      @Five
+      public String five()
+      {
+         return "ok";
+      }
+
+      @GET
+      @Path("twenty")
+      @Produces("text/plain")
+      @Five
+      @Twenty
+      public String twenty()
+      {
+         return "ok";
+      }
+   }
+
+   private static ResteasyDeployment createDeployment()
+   {
+      ResteasyDeployment deployment = new ResteasyDeploymentImpl();
+      deployment.start();
+      ResteasyProviderFactory factory = deployment.getProviderFactory();
+      // the same filter class can only be registered once through the factory, go to the registries directly
+      for (int i = 0; i < 20; i++)
+      {
+         CountingFilter filter = i < 5 ? new FiveFilter() : new TwentyFilter();
+         factory.getContainerRequestFilterRegistry().registerSingleton(filter);
+         factory.getContainerResponseFilterRegistry().registerSingleton(filter);
+      }
+      deployment.getRegistry().addPerRequestResource(FilteredResource.class);
+      return deployment;
+   }
+
+   private static long run(Dispatcher dispatcher, String uri, int status, String filters, int iterations)
+         throws Exception
+   {
+      MockHttpRequest request = MockHttpRequest.get(uri);
+      long start = System.nanoTime();
+      for (int i = 0; i < iterations; i++)
+      {
+         request.removeAttribute("count");
+         MockHttpResponse response = new MockHttpResponse();
+         dispatcher.invoke(request, response);
+         Assert.assertEquals(status, response.getStatus());
+         Object header = response.getOutputHeaders().getFirst("X-Filters");
+         Assert.assertEquals(filters, header == null ? null : header.toString());
+      }
+      return System.nanoTime() - start;
+   }
+
+   private static long allocated()
+   {
+      return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+            .getThreadAllocatedBytes(Thread.currentThread().getId());
+   }
+
+   @Test
+   public void testFilterChains() throws Exception
+   {
+      final int WARMUP = 1000;
+      final int ITERATIONS = 1000;
+      //final int WARMUP = 100000;
+      //final int ITERATIONS = 1000000;
+
+      ResteasyDeployment deployment = createDeployment();
+      try
+      {
+         Object[][] requests = {
+                 {"/test/none", 200, null},
+                 {"/test/five", 200, "5"},
+                 {"/test/twenty", 200, "20"},
+                 {"/test/missing", 404, null}
+         };
+         for (Object[] request : requests)
+         {
+            run(deployment.getDispatcher(), (String) request[0], (Integer) request[1], (String) request[2], WARMUP);
+         }
+         long[] bytes = new long[requests.length];
+         for (int i = 0; i < requests.length; i++)
+         {
+            long before = allocated();
+            run(deployment.getDispatcher(), (String) requests[i][0], (Integer) requests[i][1],
+                  (String) requests[i][2], WARMUP);
+            bytes[i] = allocated() - before;
+         }
+         long[] best = new long[requests.length];
+         for (int round = 0; round < 3; round++)
+         {
+            for (int i = 0; i < requests.length; i++)
+            {
+               long time = run(deployment.getDispatcher(), (String) requests[i][0], (Integer) requests[i][1],
+                     (String) requests[i][2], ITERATIONS);
+               best[i] = round == 0 ? time : Math.min(best[i], time);
+            }
+         }
+         for (int i = 0; i < requests.length; i++)
+         {
+            LOG.info(requests[i][0] + ": " + (best[i] / ITERATIONS) + " ns/request, " + (bytes[i] / WARMUP)
+                  + " bytes/request");
+         }
+      }
+      finally
+      {
+         deployment.stop();
+      }
+   }
+}
@@ -0,0 +1,168 @@
+package org.jboss.resteasy.test.profiling;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jboss.logging.Logger;
+import org.jboss.resteasy.plugins.providers.jackson.ResteasyJackson2Provider;
+import org.junit.Test;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures reading and writing a small and a large JSON entity with the Jackson provider, against doing the same
+ * with a bare ObjectMapper.
+ */
+public class JacksonProfilingTest
+{
+   private static final Logger LOG = Logger.getLogger(JacksonProfilingTest.class);
+   private static final Annotation[] ANNOTATIONS = new Annotation[0];
+
+   public static class Item
+   {
+      private String name;
+      private int quantity;
+      private List<String> tags = new ArrayList<String>();
+
+      public String getName()
+      {
+         return name;
+      }
+
+      public void setName(String name)
+      {
+         this.name = name;
+      }
+
+      public int getQuantity()
+      {
+         return quantity;
+      }
+
+      public void setQuantity(int quantity)
+      {
+         this.quantity = quantity;
+      }
+
+      public List<String> getTags()
+      {
+         return tags;
+      }
+
+      public void setTags(List<String> tags)
+      {
+         this.tags = tags;
+      }
+   }
+
+   @Path("/")
+   public static class ItemResource
+   {
+      @POST
+      @Path("small")
+      @Consumes("application/json")
+      @Produces("application/json")
+      public Item small(Item item)
+      {
+         return item;
+      }
+
+      @POST
+      @Path("large")
+      @Consumes("application/json")
+      @Produces("application/json")
+      public List<Item> large(List<Item> items)
+      {
+         return items;
+      }
+   }
+
+   private static List<Item> items(int count)
+   {
+      List<Item> items = new ArrayList<Item>();
+      for (int i = 0; i < count; i++)
+      {
+         Item item = new Item();
+         item.setName("item" + i);
+         item.setQuantity(i);
+         item.getTags().add("a");
+         item.getTags().add("b");
+         items.add(item);
+      }
+      return items;
+   }
+
+   @SuppressWarnings("unchecked")
+   private static long run(ResteasyJackson2Provider provider, Type type, byte[] entity, int iterations) throws Exception
+   {
+      Class<Object> rawType = (Class<Object>) (type instanceof Class ? type : List.class);
+      MultivaluedMap<String, String> requestHeaders = new MultivaluedHashMap<String, String>();
+      MultivaluedMap<String, Object> responseHeaders = new MultivaluedHashMap<String, Object>();
+      long start = System.nanoTime();
+      for (int i = 0; i < iterations; i++)
+      {
+         Object value = provider.readFrom(rawType, type, ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE, requestHeaders,
+                 new ByteArrayInputStream(entity));
+         provider.writeTo(value, rawType, type, ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE, responseHeaders,
+                 new ByteArrayOutputStream());
+      }
+      return System.nanoTime() - start;
+   }
+
+   private static long runMapper(ObjectMapper mapper, TypeReference<?> type, byte[] entity, int iterations) throws Exception
+   {
+      long start = System.nanoTime();
+      for (int i = 0; i < iterations; i++)
+      {
+         Object value = mapper.readValue(entity, type);
+         mapper.writeValue(new ByteArrayOutputStream(), value);
+      }
+      return System.nanoTime() - start;
+   }
+
+   @Test
+   public void testReadWrite() throws Exception
+   {
+      final int WARMUP = 1000;
+      final int ITERATIONS = 1000;
+      //final int WARMUP = 100000;
+      //final int ITERATIONS = 1000000;
+
+      ObjectMapper mapper = new ObjectMapper();
+      byte[] small = mapper.writeValueAsBytes(items(1).get(0));
+      byte[] large = mapper.writeValueAsBytes(items(1000));
+      TypeReference<Item> smallMapperType = new TypeReference<Item>() {};
+      TypeReference<List<Item>> largeMapperType = new TypeReference<List<Item>>() {};
+
+      Type smallType = Item.class;
+      Type largeType = ItemResource.class.getMethod("large", List.class).getGenericReturnType();
+      ResteasyJackson2Provider provider = new ResteasyJackson2Provider();
+      provider.prewarm((Class<?>) smallType, smallType, ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE);
+      provider.prewarm(List.class, largeType, ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE);
+
+      run(provider, smallType, small, WARMUP);
+      run(provider, largeType, large, WARMUP / 100);
+      runMapper(mapper, smallMapperType, small, WARMUP);
+      runMapper(mapper, largeMapperType, large, WARMUP / 100);
+
+      long smallTime = run(provider, smallType, small, ITERATIONS);
+      long smallMapperTime = runMapper(mapper, smallMapperType, small, ITERATIONS);
+      LOG.info("small entity (" + small.length + " bytes): provider " + (smallTime / ITERATIONS)
+              + " ns, ObjectMapper " + (smallMapperTime / ITERATIONS) + " ns");
+      long largeTime = run(provider, largeType, large, ITERATIONS / 100);
+      long largeMapperTime = runMapper(mapper, largeMapperType, large, ITERATIONS / 100);
+      LOG.info("large entity (" + large.length + " bytes): provider " + (largeTime / (ITERATIONS / 100))
+              + " ns, ObjectMapper " + (largeMapperTime / (ITERATIONS / 100)) + " ns");
+   }
+}
@@ -0,0 +1,112 @@
+package org.jboss.resteasy.test.profiling;
+
+import org.jboss.logging.Logger;
+import org.jboss.resteasy.core.ResteasyDeploymentImpl;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.mock.MockHttpResponse;
+import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
+import org.jboss.resteasy.spi.Dispatcher;
+import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+
+/**
+ * Compares the per-request overhead of invoking resource methods through reflection and through
+ * resteasy.method.handles, for small GET endpoints with 0, 3 and 10 injected parameters.
+ */
+public class MethodInvocationProfilingTest
+{
+   private static final Logger LOG = Logger.getLogger(MethodInvocationProfilingTest.class);
+
+   @Path("/test")
+   public static class SmallResource
+   {
+      @GET
+      @Path("none")
+      @Produces("text/plain")
+      public String none()
+      {
+         return "ok";
+      }
+
+      @GET
+      @Path("three")
+      @Produces("text/plain")
+      public String three(@QueryParam("a") String a, @QueryParam("b") int b, @QueryParam("c") Long c)
+      {
+         return "ok";
+      }
+
+      @GET
+      @Path("ten")
+      @Produces("text/plain")
+      public String ten(@QueryParam("a") String a, @QueryParam("b") int b, @QueryParam("c") Long c,
+                        @QueryParam("d") String d, @QueryParam("e") int e, @QueryParam("f") Long f,
+                        @QueryParam("g") String g, @QueryParam("h") int h, @QueryParam("i") Long i,
+                        @QueryParam("j") String j)
+      {
+         return "ok";
+      }
+   }
+
+   private static ResteasyDeployment createDeployment(boolean methodHandles)
+   {
+      ResteasyDeployment deployment = new ResteasyDeploymentImpl();
+      deployment.setProperty(ResteasyContextParameters.RESTEASY_METHOD_HANDLES, methodHandles);
+      deployment.start();
+      deployment.getRegistry().addPerRequestResource(SmallResource.class);
+      return deployment;
+   }
+
+   private static long run(Dispatcher dispatcher, String uri, int iterations) throws Exception
+   {
+      MockHttpRequest request = MockHttpRequest.get(uri);
+      long start = System.nanoTime();
+      for (int i = 0; i < iterations; i++)
+      {
+         MockHttpResponse response = new MockHttpResponse();
+         dispatcher.invoke(request, response);
+         Assert.assertEquals(200, response.getStatus());
+      }
+      return System.nanoTime() - start;
+   }
+
+   @Test
+   public void testInvocation() throws Exception
+   {
+      final int WARMUP = 1000;
+      final int ITERATIONS = 1000;
+      //final int WARMUP = 100000;
+      //final int ITERATIONS = 1000000;
+
+      ResteasyDeployment reflection = createDeployment(false);
+      ResteasyDeployment handles = createDeployment(true);
+      try
+      {
+         String[] uris = {
+                 "/test/none",
+                 "/test/three?a=x&b=1&c=2",
+                 "/test/ten?a=x&b=1&c=2&d=x&e=1&f=2&g=x&h=1&i=2&j=x"
+         };
+         for (String uri : uris)
+         {
+            run(reflection.getDispatcher(), uri, WARMUP);
+            run(handles.getDispatcher(), uri, WARMUP);
+            long reflectionTime = run(reflection.getDispatcher(), uri, ITERATIONS);
+            long handlesTime = run(handles.getDispatcher(), uri, ITERATIONS);
+            LOG.info(uri + ": reflection " + (reflectionTime / ITERATIONS) + " ns/request, method handles "
+                    + (handlesTime / ITERATIONS) + " ns/request");
+         }
+      }
+      finally
+      {
+         reflection.stop();
+         handles.stop();
+      }
+   }
+}
@@ -0,0 +1,81 @@
+package org.jboss.resteasy.test.profiling;
+
+import org.jboss.logging.Logger;
+import org.jboss.resteasy.core.ResourceMethodRegistry;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+import org.jboss.resteasy.spi.metadata.ResourceBuilder;
+import org.jboss.resteasy.spi.metadata.ResourceClass;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+
+/**
+ * Compares regular expression based request matching with resteasy.compiled.request.matching
+ * for applications with 10, 100 and 1000 routes.
+ */
+public class RequestMatchingProfilingTest
+{
+   private static final Logger LOG = Logger.getLogger(RequestMatchingProfilingTest.class);
+
+   public static class RouteResource
+   {
+      public String get(String id, String item)
+      {
+         return id + item;
+      }
+   }
+
+   private static ResourceMethodRegistry createRegistry(int routes, boolean compiled) throws Exception
+   {
+      Method get = RouteResource.class.getMethod("get", String.class, String.class);
+      ResourceMethodRegistry registry = new ResourceMethodRegistry(ResteasyProviderFactory.getInstance());
+      registry.setCompiledMatching(compiled);
+      for (int i = 0; i < routes; i++)
+      {
+         ResourceClass resourceClass = ResourceBuilder.rootResource(RouteResource.class, "route" + i)
+                 .method(get).get().path("{id}/items/{item}").produces("text/plain")
+                 .param(0).pathParam("id").param(1).pathParam("item").buildMethod()
+                 .buildClass();
+         registry.addSingletonResource(new RouteResource(), resourceClass);
+      }
+      return registry;
+   }
+
+   private static long run(ResourceMethodRegistry registry, int routes, int iterations) throws Exception
+   {
+      MockHttpRequest[] requests = new MockHttpRequest[iterations];
+      for (int i = 0; i < iterations; i++)
+      {
+         requests[i] = MockHttpRequest.get("/route" + (i % routes) + "/" + i + "/items/" + i);
+      }
+      long start = System.nanoTime();
+      for (MockHttpRequest request : requests)
+      {
+         Assert.assertNotNull(registry.getResourceInvoker(request));
+      }
+      return System.nanoTime() - start;
+   }
+
+   @Test
+   public void testMatching() throws Exception
+   {
+      final int WARMUP = 1000;
+      final int ITERATIONS = 1000;
+      //final int WARMUP = 100000;
+      //final int ITERATIONS = 1000000;
+
+      for (int routes : new int[]{10, 100, 1000})
+      {
+         ResourceMethodRegistry regex = createRegistry(routes, false);
+         ResourceMethodRegistry compiled = createRegistry(routes, true);
+         run(regex, routes, WARMUP);
+         run(compiled, routes, WARMUP);
+         long regexTime = run(regex, routes, ITERATIONS);
+         long compiledTime = run(compiled, routes, ITERATIONS);
+         LOG.info(routes + " routes: regex " + (regexTime / ITERATIONS) + " ns/match, compiled "
+                 + (compiledTime / ITERATIONS) + " ns/match");
+      }
+   }
+}
@@ -0,0 +1,168 @@
+package org.jboss.resteasy.test.profiling;
+
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.jboss.logging.Logger;
+import org.jboss.resteasy.client.jaxrs.ResteasyClient;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.jboss.resteasy.client.jaxrs.engines.ApacheHttpAsyncClient4Engine;
+import org.jboss.resteasy.plugins.providers.sse.SseConstants;
+import org.jboss.resteasy.plugins.providers.sse.client.SseEventSourceImpl.SourceBuilder;
+import org.jboss.resteasy.plugins.server.netty.NettyContainer;
+import org.jboss.resteasy.util.PortProvider;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.sse.Sse;
+import javax.ws.rs.sse.SseEventSink;
+import javax.ws.rs.sse.SseEventSource;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opens many event sources at once, each receiving its events in two connections: the server sends half of them and
+ * closes the stream, the source reconnects with the Last-Event-ID of the last event and the server sends the rest.
+ * Compares the threads and the time needed with the blocking ApacheHttpClient43Engine, one reading thread per source,
+ * and with the ApacheHttpAsyncClient4Engine, parsing the events from its io-threads while the sources share one
+ * scheduler thread.
+ */
+public class SseEventSourceProfilingTest
+{
+   private static final Logger LOG = Logger.getLogger(SseEventSourceProfilingTest.class);
+   private static final int EVENTS = 100;
+   private static final long HOLD = 200;
+   private static final ScheduledExecutorService SERVER_SCHEDULER = Executors.newScheduledThreadPool(4);
+
+   @Path("/")
+   public static class EventResource
+   {
+      /**
+       * Sends half of the events after the Last-Event-ID, after holding the connection open for a while.
+       */
+      @GET
+      @Path("events")
+      @Produces(MediaType.SERVER_SENT_EVENTS)
+      public void events(@Context SseEventSink sink, @Context Sse sse,
+                         @HeaderParam(SseConstants.LAST_EVENT_ID_HEADER) String lastEventId)
+      {
+         int first = lastEventId == null ? 0 : Integer.parseInt(lastEventId) + 1;
+         SERVER_SCHEDULER.schedule(() -> {
+            try (SseEventSink s = sink)
+            {
+               for (int i = first; i < Math.min(first + EVENTS / 2, EVENTS); i++)
+               {
+                  s.send(sse.newEventBuilder().id(String.valueOf(i)).data("event-" + i).build());
+               }
+            }
+         }, HOLD, TimeUnit.MILLISECONDS);
+      }
+   }
+
+   @BeforeClass
+   public static void start() throws Exception
+   {
+      NettyContainer.start().getRegistry().addPerRequestResource(EventResource.class);
+   }
+
+   @AfterClass
+   public static void stop() throws Exception
+   {
+      NettyContainer.stop();
+      SERVER_SCHEDULER.shutdownNow();
+   }
+
+   private static String run(ResteasyClient client, ScheduledExecutorService scheduler, int sources) throws Exception
+   {
+      ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+      threads.resetPeakThreadCount();
+      int before = threads.getThreadCount();
+      CountDownLatch done = new CountDownLatch(sources);
+      AtomicInteger failures = new AtomicInteger();
+      List<SseEventSource> eventSources = new ArrayList<SseEventSource>();
+      long start = System.nanoTime();
+      try
+      {
+         for (int i = 0; i < sources; i++)
+         {
+            SourceBuilder builder = (SourceBuilder) SseEventSource.target(
+                  client.target("http://localhost:" + PortProvider.getPort() + "/events"));
+            SseEventSource eventSource = builder.executor(scheduler).reconnectingEvery(1, TimeUnit.MILLISECONDS).build();
+            eventSources.add(eventSource);
+            AtomicInteger next = new AtomicInteger();
+            eventSource.register(event -> {
+               // a reconnect must neither repeat nor skip events
+               if (Integer.parseInt(event.getId()) != next.getAndIncrement()
+                     || !("event-" + event.getId()).equals(event.readData()))
+               {
+                  failures.incrementAndGet();
+               }
+               if (next.get() == EVENTS)
+               {
+                  done.countDown();
+               }
+            }, t -> failures.incrementAndGet());
+            eventSource.open();
+         }
+         Assert.assertTrue("Events not received", done.await(60, TimeUnit.SECONDS));
+         Assert.assertEquals(0, failures.get());
+         long time = System.nanoTime() - start;
+         return (time / 1000000) + " ms, " + (threads.getPeakThreadCount() - before) + " more threads";
+      }
+      finally
+      {
+         for (SseEventSource eventSource : eventSources)
+         {
+            eventSource.close();
+         }
+      }
+   }
+
+   @Test
+   public void testEventSources() throws Exception
+   {
+      final int SOURCES = 200;
+      //final int SOURCES = 2000;
+
+      ResteasyClient blocking = ((ResteasyClientBuilder) ResteasyClientBuilder.newBuilder())
+            .connectionPoolSize(SOURCES).maxPooledPerRoute(SOURCES).build();
+      try
+      {
+         run(blocking, null, SOURCES / 10);
+         LOG.info("blocking engine, " + SOURCES + " sources: " + run(blocking, null, SOURCES));
+      }
+      finally
+      {
+         blocking.close();
+      }
+
+      ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+      ResteasyClient async = ((ResteasyClientBuilder) ResteasyClientBuilder.newBuilder())
+            .httpEngine(new ApacheHttpAsyncClient4Engine(HttpAsyncClients.custom()
+                  .setMaxConnTotal(SOURCES).setMaxConnPerRoute(SOURCES).build(), true))
+            .build();
+      try
+      {
+         run(async, scheduler, SOURCES / 10);
+         LOG.info("async engine, " + SOURCES + " sources: " + run(async, scheduler, SOURCES));
+      }
+      finally
+      {
+         async.close();
+         scheduler.shutdownNow();
+      }
+   }
+}
@@ -0,0 +1,119 @@
+package org.jboss.resteasy.test.profiling;
+
+import org.jboss.logging.Logger;
+import org.jboss.resteasy.plugins.providers.sse.SseEventInputImpl;
+import org.jboss.resteasy.plugins.providers.sse.SseEventProvider;
+import org.jboss.resteasy.specimpl.MultivaluedMapImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.sse.InboundSseEvent;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Measures how fast SseEventInputImpl parses a stream of small events when each read of the entity stream returns
+ * 1, 100 or 10000 events.
+ */
+public class SseParsingProfilingTest
+{
+   private static final Logger LOG = Logger.getLogger(SseParsingProfilingTest.class);
+   private static final int EVENTS = 100000;
+
+   /**
+    * Returns at most <code>eventsPerRead</code> events from each read.
+    */
+   private static class EventChunkInputStream extends InputStream
+   {
+      private final byte[] data;
+      private final int[] ends;
+      private final int eventsPerRead;
+      private int position;
+      private int event;
+
+      EventChunkInputStream(final byte[] data, final int[] ends, final int eventsPerRead)
+      {
+         this.data = data;
+         this.ends = ends;
+         this.eventsPerRead = eventsPerRead;
+      }
+
+      @Override
+      public int read()
+      {
+         if (position == data.length) return -1;
+         if (position == ends[event]) event++;
+         return data[position++] & 0xff;
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len)
+      {
+         if (position == data.length) return -1;
+         while (position >= ends[event]) event++;
+         int end = ends[Math.min(event + eventsPerRead - 1, ends.length - 1)];
+         int n = Math.min(len, end - position);
+         System.arraycopy(data, position, b, off, n);
+         position += n;
+         return n;
+      }
+   }
+
+   private static long parse(byte[] data, int[] ends, int eventsPerRead) throws Exception
+   {
+      long start = System.nanoTime();
+      SseEventInputImpl input = new SseEventProvider().readFrom(SseEventInputImpl.class, null, new Annotation[0],
+            MediaType.SERVER_SENT_EVENTS_TYPE, new MultivaluedMapImpl<String, String>(),
+            new EventChunkInputStream(data, ends, eventsPerRead));
+      int count = 0;
+      InboundSseEvent last = null;
+      for (InboundSseEvent event; (event = input.read()) != null; )
+      {
+         last = event;
+         count++;
+      }
+      long time = System.nanoTime() - start;
+      Assert.assertEquals(EVENTS, count);
+      Assert.assertEquals(String.valueOf(EVENTS - 1), last.getId());
+      Assert.assertEquals("tick", last.getName());
+      Assert.assertEquals("{\"n\":" + (EVENTS - 1) + ",\"value\":\"value-" + (EVENTS - 1) + "\"}", last.readData());
+      return time;
+   }
+
+   @Test
+   public void testParsing() throws Exception
+   {
+      final int WARMUP = 5;
+      final int ITERATIONS = 10;
+      final int[] EVENTS_PER_READ = {1, 100, 10000};
+      //final int WARMUP = 20;
+      //final int ITERATIONS = 100;
+
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      int[] ends = new int[EVENTS];
+      for (int i = 0; i < EVENTS; i++)
+      {
+         out.write(("id: " + i + "\nevent: tick\ndata: {\"n\":" + i + ",\"value\":\"value-" + i + "\"}\n\n")
+               .getBytes(StandardCharsets.UTF_8));
+         ends[i] = out.size();
+      }
+      byte[] data = out.toByteArray();
+
+      for (int eventsPerRead : EVENTS_PER_READ)
+      {
+         for (int i = 0; i < WARMUP; i++)
+         {
+            parse(data, ends, eventsPerRead);
+         }
+         long time = 0;
+         for (int i = 0; i < ITERATIONS; i++)
+         {
+            time += parse(data, ends, eventsPerRead);
+         }
+         LOG.info(eventsPerRead + " events/read: " + (EVENTS * (long) ITERATIONS * 1000000000L / time) + " events/s");
+      }
+   }
+}
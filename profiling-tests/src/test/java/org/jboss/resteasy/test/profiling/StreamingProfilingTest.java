@@ -0,0 +1,190 @@
+package org.jboss.resteasy.test.profiling;
+
+import org.jboss.logging.Logger;
+import org.jboss.resteasy.annotations.Stream;
+import org.jboss.resteasy.plugins.server.netty.NettyContainer;
+import org.jboss.resteasy.util.PortProvider;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Measures the throughput of a Publisher of many small elements streamed raw, collected into a JSON array and sent
+ * as server-sent events, each streaming mode with one element requested and flushed at a time and with the prefetch
+ * and flush coalescing of {@link Stream}.
+ */
+public class StreamingProfilingTest
+{
+   private static final Logger LOG = Logger.getLogger(StreamingProfilingTest.class);
+   private static final int ELEMENTS = 20000;
+
+   /**
+    * Emits 0 to count - 1 as they are requested.
+    */
+   private static class RangePublisher implements Publisher<String>
+   {
+      private final int count;
+
+      RangePublisher(final int count)
+      {
+         this.count = count;
+      }
+
+      @Override
+      public void subscribe(Subscriber<? super String> subscriber)
+      {
+         subscriber.onSubscribe(new Subscription()
+         {
+            private int next;
+            private long demand;
+            private boolean emitting;
+            private boolean cancelled;
+
+            @Override
+            public void request(long n)
+            {
+               synchronized (this)
+               {
+                  demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                  if (emitting) return;
+                  emitting = true;
+               }
+               while (true)
+               {
+                  synchronized (this)
+                  {
+                     if (cancelled || demand == 0 || next == count)
+                     {
+                        emitting = false;
+                        break;
+                     }
+                     demand--;
+                  }
+                  subscriber.onNext("item-" + next++);
+                  if (next == count)
+                  {
+                     subscriber.onComplete();
+                  }
+               }
+            }
+
+            @Override
+            public synchronized void cancel()
+            {
+               cancelled = true;
+            }
+         });
+      }
+   }
+
+   @Path("/")
+   public static class StreamResource
+   {
+      @GET
+      @Path("raw")
+      @Produces(MediaType.APPLICATION_JSON)
+      @Stream(Stream.MODE.RAW)
+      public Publisher<String> raw()
+      {
+         return new RangePublisher(ELEMENTS);
+      }
+
+      @GET
+      @Path("raw-coalesced")
+      @Produces(MediaType.APPLICATION_JSON)
+      @Stream(value = Stream.MODE.RAW, prefetch = 256, flushSize = 8192)
+      public Publisher<String> rawCoalesced()
+      {
+         return new RangePublisher(ELEMENTS);
+      }
+
+      @GET
+      @Path("array")
+      @Produces(MediaType.APPLICATION_JSON)
+      public Publisher<String> array()
+      {
+         return new RangePublisher(ELEMENTS);
+      }
+
+      @GET
+      @Path("sse")
+      @Produces(MediaType.SERVER_SENT_EVENTS)
+      public Publisher<String> sse()
+      {
+         return new RangePublisher(ELEMENTS);
+      }
+
+      @GET
+      @Path("sse-coalesced")
+      @Produces(MediaType.SERVER_SENT_EVENTS)
+      @Stream(prefetch = 256, flushSize = 8192)
+      public Publisher<String> sseCoalesced()
+      {
+         return new RangePublisher(ELEMENTS);
+      }
+   }
+
+   @BeforeClass
+   public static void start() throws Exception
+   {
+      NettyContainer.start().getRegistry().addPerRequestResource(StreamResource.class);
+   }
+
+   @AfterClass
+   public static void stop() throws Exception
+   {
+      NettyContainer.stop();
+   }
+
+   private static long run(String path, int iterations) throws Exception
+   {
+      byte[] buffer = new byte[65536];
+      long start = System.nanoTime();
+      for (int i = 0; i < iterations; i++)
+      {
+         URL url = new URL("http://localhost:" + PortProvider.getPort() + "/" + path);
+         HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+         StringBuilder entity = new StringBuilder();
+         try (InputStream in = connection.getInputStream())
+         {
+            for (int n; (n = in.read(buffer)) != -1; ) entity.append(new String(buffer, 0, n, StandardCharsets.UTF_8));
+         }
+         Assert.assertEquals(200, connection.getResponseCode());
+         Assert.assertTrue("Incomplete " + path, entity.indexOf("item-" + (ELEMENTS - 1)) != -1);
+      }
+      return System.nanoTime() - start;
+   }
+
+   @Test
+   public void testStreaming() throws Exception
+   {
+      final int WARMUP = 3;
+      final int ITERATIONS = 5;
+      final String[] PATHS = {"raw", "raw-coalesced", "array", "sse", "sse-coalesced"};
+      //final int WARMUP = 20;
+      //final int ITERATIONS = 100;
+
+      for (String path : PATHS)
+      {
+         run(path, WARMUP);
+      }
+      for (String path : PATHS)
+      {
+         long time = run(path, ITERATIONS);
+         LOG.info(path + ": " + (ELEMENTS * (long) ITERATIONS * 1000000000L / time) + " elements/s");
+      }
+   }
+}
@@ -0,0 +1,122 @@
+package org.jboss.resteasy.test.profiling;
+
+import org.jboss.logging.Logger;
+import org.jboss.resteasy.core.ResteasyDeploymentImpl;
+import org.jboss.resteasy.plugins.server.netty.NettyContainer;
+import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
+import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.jboss.resteasy.util.PortProvider;
+import org.jboss.resteasy.util.VirtualThreads;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compares the throughput of a blocking resource method, sleeping 20 ms, under 200 concurrent requests on the Netty
+ * adapter with its pool of 16 executor threads and with a virtual thread per request (resteasy.virtual.threads).  The
+ * virtual threads are only measured on JVMs supporting them (JDK 21+).
+ */
+public class VirtualThreadsProfilingTest
+{
+   private static final Logger LOG = Logger.getLogger(VirtualThreadsProfilingTest.class);
+
+   private static final int CONCURRENCY = 200;
+
+   private static final long SLEEP = 20;
+
+   @Path("/")
+   public static class BlockingResource
+   {
+      @GET
+      @Path("sleep")
+      @Produces("text/plain")
+      public String sleep() throws InterruptedException
+      {
+         Thread.sleep(SLEEP);
+         return "ok";
+      }
+   }
+
+   private static String get(URL url) throws Exception
+   {
+      HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+      StringBuilder body = new StringBuilder();
+      try (InputStream in = connection.getInputStream())
+      {
+         for (int c; (c = in.read()) != -1; ) body.append((char) c);
+      }
+      Assert.assertEquals(200, connection.getResponseCode());
+      return body.toString();
+   }
+
+   private static long run(ExecutorService clients, URL url, int rounds) throws Exception
+   {
+      long start = System.nanoTime();
+      for (int round = 0; round < rounds; round++)
+      {
+         List<Future<String>> responses = new ArrayList<>(CONCURRENCY);
+         for (int i = 0; i < CONCURRENCY; i++)
+         {
+            responses.add(clients.submit(() -> get(url)));
+         }
+         for (Future<String> response : responses)
+         {
+            Assert.assertEquals("ok", response.get());
+         }
+      }
+      return System.nanoTime() - start;
+   }
+
+   private static void measure(String name, boolean virtualThreads, int warmup, int iterations) throws Exception
+   {
+      ResteasyDeployment deployment = new ResteasyDeploymentImpl();
+      deployment.setProperty(ResteasyContextParameters.RESTEASY_VIRTUAL_THREADS, virtualThreads);
+      NettyContainer.start(deployment);
+      ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+      try
+      {
+         deployment.getRegistry().addPerRequestResource(BlockingResource.class);
+         URL url = new URL("http://localhost:" + PortProvider.getPort() + "/sleep");
+         run(clients, url, warmup);
+         long time = run(clients, url, iterations);
+         long requests = (long) CONCURRENCY * iterations;
+         LOG.info(name + ": " + (requests * 1000000000L / time) + " requests/s, " + (time / 1000000 / iterations)
+               + " ms per " + CONCURRENCY + " concurrent requests of " + SLEEP + " ms");
+      }
+      finally
+      {
+         clients.shutdownNow();
+         NettyContainer.stop();
+      }
+   }
+
+   @Test
+   public void testBlockingThroughput() throws Exception
+   {
+      final int WARMUP = 2;
+      final int ITERATIONS = 5;
+      //final int WARMUP = 20;
+      //final int ITERATIONS = 100;
+
+      measure("platform threads", false, WARMUP, ITERATIONS);
+      if (VirtualThreads.isSupported())
+      {
+         measure("virtual threads", true, WARMUP, ITERATIONS);
+      }
+      else
+      {
+         LOG.info("virtual threads: not supported by this JVM");
+      }
+   }
+}
@@ -20,6 +20,7 @@ import javax.ws.rs.ext.Provider;
 import org.jboss.resteasy.annotations.providers.NoJackson;
 import org.jboss.resteasy.annotations.providers.jackson.Formatted;
 import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
+import org.jboss.resteasy.spi.PrewarmableProvider;
 import org.jboss.resteasy.spi.util.FindAnnotation;
 import org.jboss.resteasy.util.DelegatingOutputStream;
 
@@ -40,6 +41,11 @@ import com.fasterxml.jackson.jaxrs.util.ClassKey;
 
 /**
  * Only different from Jackson one is *+json in @Produces/@Consumes
+ * <p>
+ * The ObjectReader and ObjectWriter of each entity type are resolved once, with the root type set, and reused by all
+ * the requests reading or writing it.  They are resolved on startup for the resource methods when
+ * resteasy.prewarm.providers is enabled.
+ * </p>
  *
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
  * @version $Revision: 1 $
@@ -47,7 +53,7 @@ import com.fasterxml.jackson.jaxrs.util.ClassKey;
 @Provider
 @Consumes({"application/json", "application/*+json", "text/json"})
 @Produces({"application/json", "application/*+json", "text/json"})
-public class ResteasyJackson2Provider extends JacksonJaxbJsonProvider
+public class ResteasyJackson2Provider extends JacksonJaxbJsonProvider implements PrewarmableProvider
 {
    @Override
    public boolean isReadable(Class<?> aClass, Type type, Annotation[] annotations, MediaType mediaType)
@@ -101,15 +107,73 @@ public class ResteasyJackson2Provider extends JacksonJaxbJsonProvider
       }
    }
 
+   private static class TypedKey
+   {
+      private final ClassAnnotationKey key;
+      private final Type genericType;
+      private final int hash;
+
+      private TypedKey(final Class<?> clazz, final Type genericType, final Annotation[] annotations)
+      {
+         this.key = new ClassAnnotationKey(clazz, annotations);
+         this.genericType = genericType;
+         hash = 31 * key.hashCode() + (genericType == null ? 0 : genericType.hashCode());
+      }
+
+      @Override
+      public boolean equals(Object o)
+      {
+         if (this == o) return true;
+         if (o == null || getClass() != o.getClass()) return false;
+
+         TypedKey that = (TypedKey) o;
+
+         if (!key.equals(that.key)) return false;
+         if (genericType == null ? that.genericType != null : !genericType.equals(that.genericType)) return false;
+
+         return true;
+      }
+
+      @Override
+      public int hashCode()
+      {
+         return hash;
+      }
+   }
+
+   private static class TypedWriter
+   {
+      private final JsonEndpointConfig endpoint;
+      // with the generic type as root type, used for non null values
+      private final ObjectWriter writer;
+      private final boolean withIndentOutput;
+
+      private TypedWriter(final JsonEndpointConfig endpoint, final ObjectWriter writer, final boolean withIndentOutput)
+      {
+         this.endpoint = endpoint;
+         this.writer = writer;
+         this.withIndentOutput = withIndentOutput;
+      }
+   }
+
    protected final ConcurrentHashMap<ClassAnnotationKey, JsonEndpointConfig> _readers
          = new ConcurrentHashMap<ClassAnnotationKey, JsonEndpointConfig>();
 
-   @Override
-   public Object readFrom(Class<Object> type, final Type genericType, Annotation[] annotations, MediaType mediaType, MultivaluedMap<String,String> httpHeaders, InputStream entityStream)
-         throws IOException
+   private final ConcurrentHashMap<TypedKey, ObjectReader> typedReaders = new ConcurrentHashMap<TypedKey, ObjectReader>();
+
+   /**
+    * Resolves the ObjectReader and ObjectWriter of the type, with their root deserializer and serializer.
+    */
+   public void prewarm(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType)
    {
-      LogMessages.LOGGER.debugf("Provider : %s,  Method : readFrom", getClass().getName());
-      ClassAnnotationKey key = new ClassAnnotationKey(type, annotations);
+      TypedKey key = new TypedKey(type, genericType, annotations);
+      if (!typedReaders.containsKey(key)) resolveReader(key, type, genericType, annotations, mediaType);
+      if (!typedWriters.containsKey(key)) resolveWriter(key, type, genericType, annotations, mediaType);
+   }
+
+   private ObjectReader resolveReader(TypedKey typedKey, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType)
+   {
+      ClassAnnotationKey key = typedKey.key;
       JsonEndpointConfig endpoint;
       endpoint = _readers.get(key);
       // not yet resolved (or not cached any more)? Resolve!
@@ -118,26 +182,59 @@ public class ResteasyJackson2Provider extends JacksonJaxbJsonProvider
          endpoint = _configForReading(mapper, annotations, null);
          _readers.put(key, endpoint);
       }
-      final ObjectReader reader = endpoint.getReader();
-      final JsonParser jp = _createParser(reader, entityStream);
-      // If null is returned, considered to be empty stream
-      if (jp == null || jp.nextToken() == null) {
-         return null;
+      final ObjectReader endpointReader = endpoint.getReader();
+      final Type valueType = genericType != null ? genericType : type;
+      // fetches the root deserializer
+      ObjectReader reader;
+      if (System.getSecurityManager() == null) {
+         reader = endpointReader.forType(endpointReader.getTypeFactory().constructType(valueType));
+      } else {
+         reader = AccessController.doPrivileged(new PrivilegedAction<ObjectReader>() {
+            @Override
+            public ObjectReader run() {
+               return endpointReader.forType(endpointReader.getTypeFactory().constructType(valueType));
+            }
+         });
+      }
+      typedReaders.put(typedKey, reader);
+      return reader;
+   }
+
+   @Override
+   public Object readFrom(Class<Object> type, final Type genericType, Annotation[] annotations, MediaType mediaType, MultivaluedMap<String,String> httpHeaders, InputStream entityStream)
+         throws IOException
+   {
+      LogMessages.LOGGER.debugf("Provider : %s,  Method : readFrom", getClass().getName());
+      TypedKey key = new TypedKey(type, genericType, annotations);
+      ObjectReader typedReader = typedReaders.get(key);
+      if (typedReader == null) {
+         typedReader = resolveReader(key, type, genericType, annotations, mediaType);
       }
+      final ObjectReader reader = typedReader;
+      final JsonParser jp = _createParser(reader, entityStream);
       // [Issue#1]: allow 'binding' to JsonParser
       if (((Class<?>) type) == JsonParser.class) {
-         return jp;
+         // If null is returned, considered to be empty stream
+         return jp == null || jp.nextToken() == null ? null : jp;
+      }
+      if (jp == null) {
+         return null;
       }
 
       Object result = null;
-      try {
+      // closing the parser, which leaves the entity stream open, returns its buffers to the recycler of the factory
+      try (JsonParser closed = jp) {
+         // If null is returned, considered to be empty stream
+         if (jp.nextToken() == null) {
+            return null;
+         }
          if (System.getSecurityManager() == null) {
-            result = reader.withType(genericType).readValue(jp);
+            result = reader.readValue(jp);
          } else {
             result = AccessController.doPrivileged(new PrivilegedExceptionAction<Object>() {
                @Override
                public Object run() throws Exception {
-                  return reader.withType(genericType).readValue(jp);
+                  return reader.readValue(jp);
                }
             });
          }
@@ -150,20 +247,11 @@ public class ResteasyJackson2Provider extends JacksonJaxbJsonProvider
    protected final ConcurrentHashMap<ClassAnnotationKey, JsonEndpointConfig> _writers
          = new ConcurrentHashMap<ClassAnnotationKey, JsonEndpointConfig>();
 
-   @Override
-   public void writeTo(Object value, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
-                       MultivaluedMap<String,Object> httpHeaders, OutputStream entityStream)
-         throws IOException
+   private final ConcurrentHashMap<TypedKey, TypedWriter> typedWriters = new ConcurrentHashMap<TypedKey, TypedWriter>();
+
+   private TypedWriter resolveWriter(TypedKey typedKey, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType)
    {
-      LogMessages.LOGGER.debugf("Provider : %s,  Method : writeTo", getClass().getName());
-      entityStream = new DelegatingOutputStream(entityStream) {
-         @Override
-         public void flush() throws IOException {
-              // don't flush as this is a performance hit on Undertow.
-              // and causes chunked encoding to happen.
-         }
-      };
-      ClassAnnotationKey key = new ClassAnnotationKey(type, annotations);
+      ClassAnnotationKey key = typedKey.key;
       JsonEndpointConfig endpoint;
       endpoint = _writers.get(key);
 
@@ -177,9 +265,7 @@ public class ResteasyJackson2Provider extends JacksonJaxbJsonProvider
       }
 
       ObjectWriter writer = endpoint.getWriter();
-      boolean withIndentOutput = false; // no way to replace _serializationConfig
-
-      // we can't cache this.
+      boolean withIndentOutput = writer.isEnabled(SerializationFeature.INDENT_OUTPUT); // no way to replace _serializationConfig
       if (annotations != null) {
          for (Annotation annotation : annotations) {
             if (annotation.annotationType().equals(Formatted.class)) {
@@ -189,51 +275,76 @@ public class ResteasyJackson2Provider extends JacksonJaxbJsonProvider
          }
       }
 
+      // 04-Mar-2010, tatu: How about type we were given? (if any)
+      if (genericType != null) {
+         /* 10-Jan-2011, tatu: as per [JACKSON-456], it's not safe to just force root
+         *    type since it prevents polymorphic type serialization. Since we really
+         *    just need this for generics, let's only use generic type if it's truly
+         *    generic.
+         */
+         if (genericType.getClass() != Class.class) { // generic types are other impls of 'java.lang.reflect.Type'
+            /* This is still not exactly right; should root type be further
+            * specialized with 'value.getClass()'? Let's see how well this works before
+            * trying to come up with more complete solution.
+            */
+            JavaType rootType = writer.getTypeFactory().constructType(genericType);
+            /* 26-Feb-2011, tatu: To help with [JACKSON-518], we better recognize cases where
+            *    type degenerates back into "Object.class" (as is the case with plain TypeVariable,
+            *    for example), and not use that.
+            */
+            if (rootType.getRawClass() != Object.class) {
+               // fetches the root serializer
+               writer = writer.forType(rootType);
+            }
+         }
+      }
+      TypedWriter typedWriter = new TypedWriter(endpoint, writer, withIndentOutput);
+      typedWriters.put(typedKey, typedWriter);
+      return typedWriter;
+   }
+
+   @Override
+   public void writeTo(Object value, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                       MultivaluedMap<String,Object> httpHeaders, OutputStream entityStream)
+         throws IOException
+   {
+      LogMessages.LOGGER.debugf("Provider : %s,  Method : writeTo", getClass().getName());
+      TypedKey key = new TypedKey(type, genericType, annotations);
+      TypedWriter typedWriter = typedWriters.get(key);
+      if (typedWriter == null) {
+         typedWriter = resolveWriter(key, type, genericType, annotations, mediaType);
+      }
+      JsonEndpointConfig endpoint = typedWriter.endpoint;
+      ObjectWriter writer = value != null ? typedWriter.writer : endpoint.getWriter();
+
       /* 27-Feb-2009, tatu: Where can we find desired encoding? Within
        *   HTTP headers?
        */
       JsonEncoding enc = findEncoding(mediaType, httpHeaders);
-      final JsonGenerator jg = writer.getFactory().createGenerator(entityStream, enc);
+      final JsonGenerator jg;
+      if (enc == JsonEncoding.UTF8) {
+         // the generator writes its recycled buffer straight to the entity stream, which it must not flush
+         // as this is a performance hit on Undertow and causes chunked encoding to happen.
+         jg = writer.getFactory().createGenerator(entityStream, enc);
+         jg.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+      } else {
+         // the Writer encoding the characters has to be flushed, but not the entity stream
+         jg = writer.getFactory().createGenerator(new DelegatingOutputStream(entityStream) {
+            @Override
+            public void flush() throws IOException {
+            }
+         }, enc);
+      }
       jg.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
 
       try {
          // Want indentation?
-         if (writer.isEnabled(SerializationFeature.INDENT_OUTPUT) || withIndentOutput) {
+         if (typedWriter.withIndentOutput) {
             jg.useDefaultPrettyPrinter();
          }
-         // 04-Mar-2010, tatu: How about type we were given? (if any)
-         JavaType rootType = null;
-
-         if (genericType != null && value != null) {
-            /* 10-Jan-2011, tatu: as per [JACKSON-456], it's not safe to just force root
-            *    type since it prevents polymorphic type serialization. Since we really
-            *    just need this for generics, let's only use generic type if it's truly
-            *    generic.
-            */
-            if (genericType.getClass() != Class.class) { // generic types are other impls of 'java.lang.reflect.Type'
-               /* This is still not exactly right; should root type be further
-               * specialized with 'value.getClass()'? Let's see how well this works before
-               * trying to come up with more complete solution.
-               */
-               rootType = writer.getTypeFactory().constructType(genericType);
-               /* 26-Feb-2011, tatu: To help with [JACKSON-518], we better recognize cases where
-               *    type degenerates back into "Object.class" (as is the case with plain TypeVariable,
-               *    for example), and not use that.
-               */
-               if (rootType.getRawClass() == Object.class) {
-                  rootType = null;
-               }
-            }
-         }
-
-         // Most of the configuration now handled through EndpointConfig, ObjectWriter
-         // but we may need to force root type:
-         if (rootType != null) {
-            writer = writer.withType(rootType);
-         }
          value = endpoint.modifyBeforeWrite(value);
          ObjectWriterModifier mod = ObjectWriterInjector.getAndClear();
-         if (mod == null) {
+         if (mod == null && ResteasyObjectWriterInjector.isSet()) {
             ClassLoader tccl;
             if (System.getSecurityManager() == null)
             {
@@ -32,6 +32,14 @@ public class ResteasyObjectWriterInjector
       }
    }
 
+   /**
+    * @return whether a modifier was ever set, in which case {@link #get(ClassLoader)} has to be called
+    */
+   static boolean isSet()
+   {
+      return hasBeenSet.get();
+   }
+
    public static ObjectWriterModifier get(ClassLoader cl)
    {
       if (hasBeenSet.get()) {
@@ -25,6 +25,7 @@ import org.jboss.resteasy.core.interception.jaxrs.DecoratorMatcher;
 import org.jboss.resteasy.plugins.providers.AbstractEntityProvider;
 import org.jboss.resteasy.plugins.providers.jaxb.i18n.LogMessages;
 import org.jboss.resteasy.plugins.providers.jaxb.i18n.Messages;
+import org.jboss.resteasy.spi.PrewarmableProvider;
 import org.jboss.resteasy.spi.ResteasyConfiguration;
 import org.jboss.resteasy.util.NoContent;
 import org.jboss.resteasy.util.TypeConverter;
@@ -37,7 +38,7 @@ import org.xml.sax.InputSource;
  * @version $Revision:$
  * @param <T> type
  */
-public abstract class AbstractJAXBProvider<T> extends AbstractEntityProvider<T>
+public abstract class AbstractJAXBProvider<T> extends AbstractEntityProvider<T> implements PrewarmableProvider
 {
    @Context
    protected Providers providers;
@@ -83,6 +84,24 @@ public abstract class AbstractJAXBProvider<T> extends AbstractEntityProvider<T>
       return finder.findCachedContext(type, mediaType, annotations);
    }
 
+   /**
+    * Creates the JAXBContext of the type, and a Marshaller and an Unmarshaller from it so that the JAXB
+    * implementation completes the initialization it defers to their first use.
+    */
+   public void prewarm(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType)
+   {
+      try
+      {
+         JAXBContext jaxb = findJAXBContext(type, annotations, mediaType, false);
+         jaxb.createMarshaller();
+         jaxb.createUnmarshaller();
+      }
+      catch (JAXBException e)
+      {
+         throw new JAXBMarshalException(e);
+      }
+   }
+
    public static Marshaller decorateMarshaller(Class type, Annotation[] annotations, MediaType mediaType, Marshaller marshaller) throws JAXBException
    {
       DecoratorMatcher processor = new DecoratorMatcher();
@@ -44,6 +44,7 @@ import org.jboss.resteasy.annotations.providers.jaxb.Wrapped;
 import org.jboss.resteasy.core.ResteasyContext;
 import org.jboss.resteasy.plugins.providers.jaxb.i18n.LogMessages;
 import org.jboss.resteasy.plugins.providers.jaxb.i18n.Messages;
+import org.jboss.resteasy.spi.PrewarmableProvider;
 import org.jboss.resteasy.spi.ResteasyConfiguration;
 import org.jboss.resteasy.spi.util.FindAnnotation;
 import org.jboss.resteasy.spi.util.Types;
@@ -57,7 +58,7 @@ import org.xml.sax.InputSource;
 @Provider
 @Produces({"application/xml", "application/*+xml", "text/xml", "text/*+xml"})
 @Consumes({"application/xml", "application/*+xml", "text/xml", "text/*+xml"})
-public class CollectionProvider implements MessageBodyReader<Object>, MessageBodyWriter<Object>
+public class CollectionProvider implements MessageBodyReader<Object>, MessageBodyWriter<Object>, PrewarmableProvider
 {
    @Context
    protected Providers providers;
@@ -114,6 +115,31 @@ public class CollectionProvider implements MessageBodyReader<Object>, MessageBod
       return false;
    }
 
+   /**
+    * Creates the JAXBContexts used to read and write collections of the base type.
+    */
+   public void prewarm(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType)
+   {
+      JAXBContextFinder finder = getFinder(mediaType);
+      if (finder == null) return;
+      Class baseType = Types.getCollectionBaseType(type, genericType);
+      XmlAdapterWrapper xmlAdapter = XmlAdapterWrapper.getXmlAdapter(baseType, annotations);
+      if (xmlAdapter != null)
+      {
+         baseType = xmlAdapter.getValueType();
+      }
+      try
+      {
+         finder.findCachedContext(JaxbCollection.class, mediaType, annotations).createUnmarshaller();
+         finder.findCachedContext(baseType, mediaType, null).createUnmarshaller();
+         finder.findCacheContext(mediaType, annotations, JaxbCollection.class, baseType).createMarshaller();
+      }
+      catch (JAXBException e)
+      {
+         throw new JAXBMarshalException(e);
+      }
+   }
+
    public Object getJAXBObject(JAXBContextFinder finder, MediaType mediaType, Class<?> clazz, Element element) throws JAXBException
    {
       JAXBContext ctx = finder.findCachedContext(clazz, mediaType, null);
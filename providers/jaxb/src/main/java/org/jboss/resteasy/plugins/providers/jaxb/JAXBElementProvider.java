@@ -56,6 +56,17 @@ public class JAXBElementProvider extends AbstractJAXBProvider<JAXBElement<?>>
       return JAXBElement.class.equals(type);
    }
 
+   /**
+    * Prepares the context of the type argument of the JAXBElement.
+    */
+   @Override
+   public void prewarm(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType)
+   {
+      Class<?> typeArg = Object.class;
+      if (genericType != null) typeArg = Types.getTypeArgument(genericType);
+      super.prewarm(typeArg, genericType, annotations, mediaType);
+   }
+
    /**
     *
     */
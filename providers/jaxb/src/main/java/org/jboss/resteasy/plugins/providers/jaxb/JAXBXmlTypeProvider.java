@@ -147,6 +147,27 @@ public class JAXBXmlTypeProvider extends AbstractJAXBProvider<Object>
       }
    }
 
+   /**
+    * Also prepares the context read by {@link #readFrom}, which differs from the one used to write.
+    */
+   @Override
+   @SuppressWarnings("unchecked")
+   public void prewarm(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType)
+   {
+      super.prewarm(type, genericType, annotations, mediaType);
+      try
+      {
+         if (getJAXBContext((Class<Object>) type, mediaType) == null)
+         {
+            getJAXBContextFinder((Class<Object>) type, annotations, mediaType).createUnmarshaller();
+         }
+      }
+      catch (IOException | JAXBException e)
+      {
+         throw new JAXBUnmarshalException(e);
+      }
+   }
+
    /**
     * Check for a user provided JAXBContext implementation.  It takes priority over our builtin one.
     * @param type
@@ -38,6 +38,7 @@ import org.jboss.resteasy.annotations.providers.jaxb.WrappedMap;
 import org.jboss.resteasy.core.ResteasyContext;
 import org.jboss.resteasy.plugins.providers.jaxb.i18n.LogMessages;
 import org.jboss.resteasy.plugins.providers.jaxb.i18n.Messages;
+import org.jboss.resteasy.spi.PrewarmableProvider;
 import org.jboss.resteasy.spi.ResteasyConfiguration;
 import org.jboss.resteasy.spi.util.FindAnnotation;
 import org.jboss.resteasy.spi.util.Types;
@@ -53,7 +54,7 @@ import org.xml.sax.InputSource;
 @Provider
 @Produces({"application/xml", "application/*+xml", "text/xml", "text/*+xml"})
 @Consumes({"application/xml", "application/*+xml", "text/xml", "text/*+xml"})
-public class MapProvider implements MessageBodyReader<Object>, MessageBodyWriter<Object>
+public class MapProvider implements MessageBodyReader<Object>, MessageBodyWriter<Object>, PrewarmableProvider
 {
    @Context
    protected Providers providers;
@@ -112,6 +113,31 @@ public class MapProvider implements MessageBodyReader<Object>, MessageBodyWriter
       return false;
    }
 
+   /**
+    * Creates the JAXBContext used to read and write maps of the value type.
+    */
+   public void prewarm(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType)
+   {
+      JAXBContextFinder finder = getFinder(mediaType);
+      if (finder == null) return;
+      Class valueType = Types.getMapValueType(genericType);
+      XmlAdapterWrapper xmlAdapter = XmlAdapterWrapper.getXmlAdapter(valueType, annotations);
+      if (xmlAdapter != null)
+      {
+         valueType = xmlAdapter.getValueType();
+      }
+      try
+      {
+         JAXBContext ctx = finder.findCacheContext(mediaType, annotations, JaxbMap.class, JaxbMap.Entry.class, valueType);
+         ctx.createMarshaller();
+         ctx.createUnmarshaller();
+      }
+      catch (JAXBException e)
+      {
+         throw new JAXBMarshalException(e);
+      }
+   }
+
    public Object getJAXBObject(JAXBContextFinder finder, MediaType mediaType, Class<?> clazz, Element element) throws JAXBException
    {
       JAXBContext ctx = finder.findCachedContext(clazz, mediaType, null);
@@ -1,7 +1,10 @@
 package org.jboss.resteasy.plugins.providers.jaxb;
 
 import java.lang.annotation.Annotation;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
@@ -11,10 +14,20 @@ import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 
 import org.jboss.resteasy.annotations.providers.jaxb.JAXBConfig;
+import org.jboss.resteasy.core.ResteasyContext;
+import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
+import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
+import org.jboss.resteasy.spi.ResteasyConfiguration;
 import org.jboss.resteasy.spi.util.FindAnnotation;
+import org.jboss.resteasy.util.BoundedConcurrentCache;
 
 
 /**
+ * Caches the JAXBContexts it creates.  Each cache keeps at most resteasy.jaxb.context.cache.size contexts, 1000 by
+ * default, evicted with the CLOCK approximation of LRU of {@link BoundedConcurrentCache}: contexts not used since the
+ * clock hand last passed go first.  Each missing context is created once, the other threads asking for it meanwhile
+ * waiting for that creation.
+ *
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
  * @version $Revision: 1 $
  */
@@ -22,10 +35,100 @@ import org.jboss.resteasy.spi.util.FindAnnotation;
 @Produces({"text/xml", "text/*+xml", "application/xml", "application/*+xml"})
 public class XmlJAXBContextFinder extends AbstractJAXBContextFinder implements ContextResolver<JAXBContextFinder>
 {
-   private ConcurrentHashMap<Class<?>, JAXBContext> cache = new ConcurrentHashMap<Class<?>, JAXBContext>();
-   private ConcurrentHashMap<CacheKey, JAXBContext> collectionCache = new ConcurrentHashMap<CacheKey, JAXBContext>();
-   private ConcurrentHashMap<CacheKey, JAXBContext> xmlTypeCollectionCache = new ConcurrentHashMap<CacheKey, JAXBContext>();
+   private static final int DEFAULT_CACHE_SIZE = 1000;
 
+   private interface ContextCreator
+   {
+      JAXBContext create() throws JAXBException;
+   }
+
+   private final BoundedConcurrentCache<Class<?>, JAXBContext> cache;
+   private final BoundedConcurrentCache<CacheKey, JAXBContext> collectionCache;
+   private final BoundedConcurrentCache<CacheKey, JAXBContext> xmlTypeCollectionCache;
+   private final ConcurrentMap<Class<?>, CompletableFuture<JAXBContext>> pending = new ConcurrentHashMap<>();
+   private final ConcurrentMap<CacheKey, CompletableFuture<JAXBContext>> collectionPending = new ConcurrentHashMap<>();
+   private final ConcurrentMap<CacheKey, CompletableFuture<JAXBContext>> xmlTypeCollectionPending = new ConcurrentHashMap<>();
+
+   public XmlJAXBContextFinder()
+   {
+      int size = DEFAULT_CACHE_SIZE;
+      ResteasyConfiguration context = ResteasyContext.getContextData(ResteasyConfiguration.class);
+      String s = context != null ? context.getParameter(ResteasyContextParameters.RESTEASY_JAXB_CONTEXT_CACHE_SIZE) : null;
+      if (s == null) s = System.getProperty(ResteasyContextParameters.RESTEASY_JAXB_CONTEXT_CACHE_SIZE);
+      if (s != null)
+      {
+         try
+         {
+            size = Integer.parseInt(s.trim());
+         }
+         catch (NumberFormatException e)
+         {
+            LogMessages.LOGGER.invalidFormat(ResteasyContextParameters.RESTEASY_JAXB_CONTEXT_CACHE_SIZE, Integer.toString(DEFAULT_CACHE_SIZE));
+         }
+      }
+      cache = new BoundedConcurrentCache<Class<?>, JAXBContext>(size);
+      collectionCache = new BoundedConcurrentCache<CacheKey, JAXBContext>(size);
+      xmlTypeCollectionCache = new BoundedConcurrentCache<CacheKey, JAXBContext>(size);
+   }
+
+   /**
+    * Creating a context can take long, it is not done inside BoundedConcurrentCache.computeIfAbsent() which would hold
+    * the lock of the key and of its neighbours in the map meanwhile.  The first thread missing a key registers its
+    * creation in pending instead, the others wait for it.
+    */
+   private static <K> JAXBContext getOrCreate(BoundedConcurrentCache<K, JAXBContext> cache,
+                                              ConcurrentMap<K, CompletableFuture<JAXBContext>> pending, K key,
+                                              ContextCreator creator) throws JAXBException
+   {
+      JAXBContext context = cache.get(key);
+      if (context != null)
+      {
+         return context;
+      }
+      CompletableFuture<JAXBContext> creation = new CompletableFuture<JAXBContext>();
+      CompletableFuture<JAXBContext> running = pending.putIfAbsent(key, creation);
+      if (running != null)
+      {
+         return await(running);
+      }
+      try
+      {
+         // a creation may have completed between the cache miss and the registration of this one
+         context = cache.get(key);
+         if (context == null)
+         {
+            context = creator.create();
+            cache.put(key, context);
+         }
+         creation.complete(context);
+         return context;
+      }
+      catch (JAXBException | RuntimeException | Error e)
+      {
+         creation.completeExceptionally(e);
+         throw e;
+      }
+      finally
+      {
+         pending.remove(key, creation);
+      }
+   }
+
+   private static JAXBContext await(CompletableFuture<JAXBContext> creation) throws JAXBException
+   {
+      try
+      {
+         return creation.join();
+      }
+      catch (CompletionException e)
+      {
+         Throwable cause = e.getCause();
+         if (cause instanceof JAXBException) throw (JAXBException) cause;
+         if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+         if (cause instanceof Error) throw (Error) cause;
+         throw e;
+      }
+   }
 
    @Override
    public JAXBContext findCachedContext(Class type, MediaType mediaType, Annotation[] parameterAnnotations) throws JAXBException
@@ -35,15 +138,11 @@ public class XmlJAXBContextFinder extends AbstractJAXBContextFinder implements C
       {
          return jaxb;
       }
-      jaxb = type != null ? cache.get(type) : null;
-      if (jaxb == null)
+      if (type == null)
       {
-         jaxb = createContext(parameterAnnotations, type);
-         if (jaxb != null && type != null) {
-            cache.putIfAbsent(type, jaxb);
-         }
+         return createContext(parameterAnnotations, type);
       }
-      return jaxb;
+      return getOrCreate(cache, pending, type, () -> createContext(parameterAnnotations, type));
    }
 
    protected JAXBContext createContextObject(Annotation[] parameterAnnotations, Class... classes) throws JAXBException
@@ -61,26 +160,39 @@ public class XmlJAXBContextFinder extends AbstractJAXBContextFinder implements C
 
    public JAXBContext findCacheContext(MediaType mediaType, Annotation[] paraAnnotations, Class... classes) throws JAXBException
    {
-      CacheKey key = new CacheKey(classes);
-      JAXBContext ctx = collectionCache.get(key);
-      if (ctx != null) return ctx;
-
-      ctx = createContext(paraAnnotations, classes);
-      collectionCache.put(key, ctx);
-
-      return ctx;
+      return getOrCreate(collectionCache, collectionPending, new CacheKey(classes), () -> createContext(paraAnnotations, classes));
    }
 
    @Override
    public JAXBContext findCacheXmlTypeContext(MediaType mediaType, Annotation[] paraAnnotations, Class... classes) throws JAXBException
    {
-      CacheKey key = new CacheKey(classes);
-      JAXBContext ctx = xmlTypeCollectionCache.get(key);
-      if (ctx != null) return ctx;
+      return getOrCreate(xmlTypeCollectionCache, xmlTypeCollectionPending, new CacheKey(classes), () -> createXmlTypeContext(paraAnnotations, classes));
+   }
+
+   /**
+    * The cache of {@link #findCachedContext(Class, MediaType, Annotation[])}, whose limit can be changed and hit, miss
+    * and eviction counters read at runtime.
+    *
+    * @return cache of the contexts of single types
+    */
+   public BoundedConcurrentCache<Class<?>, JAXBContext> getCache()
+   {
+      return cache;
+   }
 
-      ctx = createXmlTypeContext(paraAnnotations, classes);
-      xmlTypeCollectionCache.put(key, ctx);
+   /**
+    * @return cache of {@link #findCacheContext(MediaType, Annotation[], Class[])}
+    */
+   public BoundedConcurrentCache<CacheKey, JAXBContext> getCollectionCache()
+   {
+      return collectionCache;
+   }
 
-      return ctx;
+   /**
+    * @return cache of {@link #findCacheXmlTypeContext(MediaType, Annotation[], Class[])}
+    */
+   public BoundedConcurrentCache<CacheKey, JAXBContext> getXmlTypeCollectionCache()
+   {
+      return xmlTypeCollectionCache;
    }
 }
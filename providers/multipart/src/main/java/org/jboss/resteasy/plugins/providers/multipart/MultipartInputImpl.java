@@ -171,15 +171,7 @@ public class MultipartInputImpl implements MultipartInput, ProvidersContextRetai
       {
          try {
             MimeStreamParser parser = new MimeStreamParser(null);
-
-            StorageProvider storageProvider;
-            if (System.getProperty(DefaultStorageProvider.DEFAULT_STORAGE_PROVIDER_PROPERTY) != null) {
-               storageProvider = DefaultStorageProvider.getInstance();
-            } else {
-               StorageProvider backend = new CustomTempFileStorageProvider();
-               storageProvider = new ThresholdStorageProvider(backend, 1024);
-            }
-            parser.setContentHandler(new BinaryOnlyMessageBuilder(this, storageProvider));
+            parser.setContentHandler(new BinaryOnlyMessageBuilder(this, createStorageProvider()));
             parser.parse(is);
          } catch (MimeException e) {
             throw new MimeIOException(e);
@@ -188,6 +180,18 @@ public class MultipartInputImpl implements MultipartInput, ProvidersContextRetai
       }
    }
 
+   /**
+    * @return storage for the bodies of the parts, in memory up to 1 KB and in temporary files above
+    */
+   protected static StorageProvider createStorageProvider()
+   {
+      if (System.getProperty(DefaultStorageProvider.DEFAULT_STORAGE_PROVIDER_PROPERTY) != null)
+      {
+         return DefaultStorageProvider.getInstance();
+      }
+      return new ThresholdStorageProvider(new CustomTempFileStorageProvider(), 1024);
+   }
+
    public MultipartInputImpl(final MediaType contentType, final Providers workers)
    {
       this.contentType = contentType;
@@ -290,19 +294,7 @@ public class MultipartInputImpl implements MultipartInput, ProvidersContextRetai
                contentTypeFromMessage = true;
             }
          }
-         if (contentType == null)
-            contentType = defaultPartContentType;
-         if (getCharset(contentType) == null)
-         {
-            if (defaultPartCharset != null)
-            {
-               contentType = getMediaTypeWithDefaultCharset(contentType);
-            }
-            else if (contentType.getType().equalsIgnoreCase("text"))
-            {
-               contentType = getMediaTypeWithCharset(contentType, "us-ascii");
-            }
-         }
+         contentType = getPartMediaType(contentType);
       }
 
       @Override
@@ -324,29 +316,7 @@ public class MultipartInputImpl implements MultipartInput, ProvidersContextRetai
                return (T) new MultipartInputImpl(Multipart.class.cast(bodyPart.getBody()), workers);
             }
          }
-         try
-         {
-            if (savedProviders != null)
-            {
-               ResteasyContext.pushContext(Providers.class, savedProviders);
-            }
-            MessageBodyReader<T> reader = workers.getMessageBodyReader(type, genericType, empty, contentType);
-            if (reader == null)
-            {
-               throw new RuntimeException(Messages.MESSAGES.unableToFindMessageBodyReader(contentType, type.getName()));
-            }
-
-            LogMessages.LOGGER.debugf("MessageBodyReader: %s", reader.getClass().getName());
-
-            return reader.readFrom(type, genericType, empty, contentType, headers, getBody());
-         }
-         finally
-         {
-            if (savedProviders != null)
-            {
-               ResteasyContext.popContextData(Providers.class);
-            }
-         }
+         return readPart(type, genericType, contentType, headers, getBody());
       }
 
       @SuppressWarnings("unchecked")
@@ -405,6 +375,61 @@ public class MultipartInputImpl implements MultipartInput, ProvidersContextRetai
       }
    }
 
+   /**
+    * Resolves the media type of a part, applying the default content type and charset.
+    *
+    * @param mediaType Content-Type of the part, null if it has none
+    * @return media type of the part
+    */
+   protected MediaType getPartMediaType(MediaType mediaType)
+   {
+      if (mediaType == null)
+         mediaType = defaultPartContentType;
+      if (getCharset(mediaType) == null)
+      {
+         if (defaultPartCharset != null)
+         {
+            mediaType = getMediaTypeWithDefaultCharset(mediaType);
+         }
+         else if (mediaType.getType().equalsIgnoreCase("text"))
+         {
+            mediaType = getMediaTypeWithCharset(mediaType, "us-ascii");
+         }
+      }
+      return mediaType;
+   }
+
+   /**
+    * Unmarshalls the body of a part with the MessageBodyReader for its media type.
+    */
+   protected <T> T readPart(Class<T> type, Type genericType, MediaType mediaType,
+                            MultivaluedMap<String, String> headers, InputStream body) throws IOException
+   {
+      try
+      {
+         if (savedProviders != null)
+         {
+            ResteasyContext.pushContext(Providers.class, savedProviders);
+         }
+         MessageBodyReader<T> reader = workers.getMessageBodyReader(type, genericType, empty, mediaType);
+         if (reader == null)
+         {
+            throw new RuntimeException(Messages.MESSAGES.unableToFindMessageBodyReader(mediaType, type.getName()));
+         }
+
+         LogMessages.LOGGER.debugf("MessageBodyReader: %s", reader.getClass().getName());
+
+         return reader.readFrom(type, genericType, empty, mediaType, headers, body);
+      }
+      finally
+      {
+         if (savedProviders != null)
+         {
+            ResteasyContext.popContextData(Providers.class);
+         }
+      }
+   }
+
    public static void main(String[] args) throws Exception
    {
       String input = "URLSTR: file:/Users/billburke/jboss/resteasy-jaxrs/resteasy-jaxrs/src/test/test-data/data.txt\r\n"
@@ -0,0 +1,243 @@
+package org.jboss.resteasy.plugins.providers.multipart;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.jboss.resteasy.plugins.providers.multipart.i18n.Messages;
+import org.jboss.resteasy.util.CaseInsensitiveMap;
+
+/**
+ * Reads the parts of a multipart entity one after the other, never holding more of the entity than its buffer: the
+ * headers of a part are parsed as they arrive and its body is read from the entity up to the next delimiter.
+ */
+final class MultipartStreamParser
+{
+   static final int MAX_HEADERS_SIZE = 65536;
+
+   private final InputStream in;
+   private final byte[] delimiter;
+   private final byte[] buffer;
+   private int position;
+   private int limit;
+   private boolean eof;
+   // bytes of the current body known to precede any delimiter end at bodyEnd, where a delimiter starts if delimiterAtEnd
+   private int bodyEnd;
+   private boolean delimiterAtEnd;
+   private BodyStream body = new BodyStream();
+   private String preamble;
+   private boolean done;
+
+   MultipartStreamParser(final InputStream in, final String boundary)
+   {
+      this.in = in;
+      delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.US_ASCII);
+      buffer = new byte[Math.max(8192, 2 * delimiter.length)];
+      // the first delimiter may start the entity, with no line break before it
+      buffer[limit++] = '\r';
+      buffer[limit++] = '\n';
+   }
+
+   /**
+    * @return preamble of the entity, read now if no part was read yet
+    * @throws IOException if the entity cannot be read
+    */
+   String getPreamble() throws IOException
+   {
+      if (preamble == null)
+      {
+         ByteArrayOutputStream out = new ByteArrayOutputStream();
+         byte[] bytes = new byte[1024];
+         for (int n; (n = body.read(bytes)) != -1; ) out.write(bytes, 0, n);
+         bytes = out.toByteArray();
+         // leaves out the line break added before the entity
+         preamble = bytes.length > 2 ? new String(bytes, 2, bytes.length - 2, StandardCharsets.UTF_8) : "";
+      }
+      return preamble;
+   }
+
+   /**
+    * Skips what was not read of the current body and reads the headers of the next part.
+    *
+    * @return headers of the next part, null after the last one
+    * @throws IOException if the entity cannot be read or is malformed
+    */
+   MultivaluedMap<String, String> nextPart() throws IOException
+   {
+      if (preamble == null) getPreamble();
+      if (done) return null;
+      body.skipped = !body.ended;
+      while (bodyBytes() != -1) position = bodyEnd;
+
+      int c = read();
+      if (c == -1 || (c == '-' && read() == '-'))
+      {
+         done = true;
+         return null;
+      }
+      // transport padding after the boundary
+      while (c != '\n')
+      {
+         if (c == -1) throw new IOException(Messages.MESSAGES.unexpectedEndOfMultipart());
+         c = read();
+      }
+
+      MultivaluedMap<String, String> headers = new CaseInsensitiveMap<String>();
+      int size = 0;
+      String name = null;
+      StringBuilder value = null;
+      for (String line; !(line = readLine(MAX_HEADERS_SIZE - size)).isEmpty(); )
+      {
+         size += line.length() + 2;
+         if (value != null && (line.charAt(0) == ' ' || line.charAt(0) == '\t'))
+         {
+            value.append(line);
+            continue;
+         }
+         if (name != null) headers.add(name, value.toString().trim());
+         int colon = line.indexOf(':');
+         name = colon > 0 ? line.substring(0, colon).trim() : null;
+         value = colon > 0 ? new StringBuilder(line.substring(colon + 1)) : null;
+      }
+      if (name != null) headers.add(name, value.toString().trim());
+
+      bodyEnd = position;
+      body = new BodyStream();
+      return headers;
+   }
+
+   /**
+    * @return body of the part whose headers were read last, readable until the next part is requested
+    */
+   InputStream getBody()
+   {
+      return body;
+   }
+
+   private String readLine(int max) throws IOException
+   {
+      ByteArrayOutputStream line = new ByteArrayOutputStream();
+      for (int c = read(); c != '\n'; c = read())
+      {
+         if (c == -1) throw new IOException(Messages.MESSAGES.unexpectedEndOfMultipart());
+         if (line.size() >= max) throw new IOException(Messages.MESSAGES.partHeadersTooLarge(MAX_HEADERS_SIZE));
+         line.write(c);
+      }
+      int length = line.size();
+      byte[] bytes = line.toByteArray();
+      if (length > 0 && bytes[length - 1] == '\r') length--;
+      return new String(bytes, 0, length, StandardCharsets.UTF_8);
+   }
+
+   private int read() throws IOException
+   {
+      while (position == limit)
+      {
+         if (eof) return -1;
+         fill();
+      }
+      return buffer[position++] & 0xFF;
+   }
+
+   /**
+    * @return number of bytes of the current body available at position, -1 once its delimiter was consumed
+    */
+   private int bodyBytes() throws IOException
+   {
+      while (position == bodyEnd)
+      {
+         if (delimiterAtEnd)
+         {
+            position += delimiter.length;
+            bodyEnd = position;
+            delimiterAtEnd = false;
+            body.ended = true;
+         }
+         if (body.ended) return -1;
+         int match = indexOfDelimiter();
+         if (match >= 0)
+         {
+            bodyEnd = match;
+            delimiterAtEnd = true;
+         }
+         else if (limit - delimiter.length + 1 > position)
+         {
+            // the last bytes may be the start of a delimiter
+            bodyEnd = limit - delimiter.length + 1;
+         }
+         else if (eof)
+         {
+            throw new IOException(Messages.MESSAGES.unexpectedEndOfMultipart());
+         }
+         else
+         {
+            fill();
+         }
+      }
+      return bodyEnd - position;
+   }
+
+   private int indexOfDelimiter()
+   {
+      byte first = delimiter[0];
+      for (int i = position, last = limit - delimiter.length; i <= last; i++)
+      {
+         if (buffer[i] != first) continue;
+         int j = 1;
+         while (j < delimiter.length && buffer[i + j] == delimiter[j]) j++;
+         if (j == delimiter.length) return i;
+      }
+      return -1;
+   }
+
+   private void fill() throws IOException
+   {
+      if (position > 0)
+      {
+         System.arraycopy(buffer, position, buffer, 0, limit - position);
+         limit -= position;
+         bodyEnd -= position;
+         position = 0;
+      }
+      int n = in.read(buffer, limit, buffer.length - limit);
+      if (n == -1) eof = true;
+      else limit += n;
+   }
+
+   private final class BodyStream extends InputStream
+   {
+      private boolean ended;
+      private boolean skipped;
+
+      @Override
+      public int read() throws IOException
+      {
+         if (skipped) throw new IOException(Messages.MESSAGES.partBodyNoLongerAvailable());
+         if (ended) return -1;
+         return bodyBytes() == -1 ? -1 : buffer[position++] & 0xFF;
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException
+      {
+         if (skipped) throw new IOException(Messages.MESSAGES.partBodyNoLongerAvailable());
+         if (ended) return -1;
+         if (len == 0) return 0;
+         int available = bodyBytes();
+         if (available == -1) return -1;
+         int n = Math.min(len, available);
+         System.arraycopy(buffer, position, b, off, n);
+         position += n;
+         return n;
+      }
+
+      @Override
+      public int available()
+      {
+         return ended || skipped ? 0 : bodyEnd - position;
+      }
+   }
+}
@@ -0,0 +1,33 @@
+package org.jboss.resteasy.plugins.providers.multipart;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A multipart message whose parts are read one after the other from the request entity, the body of each part
+ * being streamed from the entity rather than stored first.  It must be read before the resource method returns.
+ * <p>
+ * Iterating over the parts, or calling {@link #nextPart()}, skips what was not read of the body of the previous
+ * part, which can no longer be read.  {@link #getParts()} stores the remaining parts instead, in memory or in
+ * temporary files, so that they can be read in any order.
+ * </p>
+ */
+public interface StreamingMultipartInput extends MultipartInput, Iterable<InputPart>
+{
+   /**
+    * Reads the headers of the next part.  Its body, available with {@link InputPart#getBody(Class, java.lang.reflect.Type)},
+    * can be read until the following part is requested.
+    *
+    * @return next part, null after the last one
+    * @throws IOException if the entity cannot be read or is malformed
+    */
+   InputPart nextPart() throws IOException;
+
+   /**
+    * Reads and stores the parts that were not returned by {@link #nextPart()} yet.
+    *
+    * @return stored parts, whose bodies can be read several times
+    */
+   @Override
+   List<InputPart> getParts();
+}
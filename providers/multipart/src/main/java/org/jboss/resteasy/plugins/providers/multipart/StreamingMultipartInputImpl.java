@@ -0,0 +1,233 @@
+package org.jboss.resteasy.plugins.providers.multipart;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.Providers;
+
+import org.apache.james.mime4j.codec.Base64InputStream;
+import org.apache.james.mime4j.codec.QuotedPrintableInputStream;
+import org.apache.james.mime4j.storage.Storage;
+import org.apache.james.mime4j.storage.StorageProvider;
+import org.apache.james.mime4j.util.MimeUtil;
+
+/**
+ * {@link StreamingMultipartInput} parsed by a {@link MultipartStreamParser}.
+ */
+public class StreamingMultipartInputImpl extends MultipartInputImpl implements StreamingMultipartInput
+{
+   private MultipartStreamParser parser;
+   private boolean stored;
+   private final List<Storage> storages = new ArrayList<Storage>();
+
+   public StreamingMultipartInputImpl(final MediaType contentType, final Providers workers)
+   {
+      super(contentType, workers);
+   }
+
+   public StreamingMultipartInputImpl(final MediaType contentType, final Providers workers,
+                                      final MediaType defaultPartContentType, final String defaultPartCharset)
+   {
+      super(contentType, workers, defaultPartContentType, defaultPartCharset);
+   }
+
+   /**
+    * Only keeps the stream, parts are read from it when they are requested.
+    */
+   @Override
+   public void parse(InputStream is) throws IOException
+   {
+      parser = new MultipartStreamParser(is, contentType.getParameters().get("boundary"));
+   }
+
+   @Override
+   public String getPreamble()
+   {
+      try
+      {
+         return parser.getPreamble();
+      }
+      catch (IOException e)
+      {
+         throw new UncheckedIOException(e);
+      }
+   }
+
+   @Override
+   public InputPart nextPart() throws IOException
+   {
+      MultivaluedMap<String, String> headers = parser.nextPart();
+      if (headers == null) return null;
+      InputStream body = parser.getBody();
+      String encoding = headers.getFirst("Content-Transfer-Encoding");
+      if (encoding != null)
+      {
+         encoding = encoding.toLowerCase(Locale.ENGLISH);
+         if (MimeUtil.ENC_BASE64.equals(encoding)) body = new Base64InputStream(body);
+         else if (MimeUtil.ENC_QUOTED_PRINTABLE.equals(encoding)) body = new QuotedPrintableInputStream(body);
+      }
+      return new StreamingPart(headers, body);
+   }
+
+   @Override
+   public List<InputPart> getParts()
+   {
+      if (!stored)
+      {
+         stored = true;
+         StorageProvider storageProvider = createStorageProvider();
+         try
+         {
+            for (InputPart part; (part = nextPart()) != null; )
+            {
+               ((StreamingPart) part).store(storageProvider);
+               parts.add(part);
+            }
+         }
+         catch (IOException e)
+         {
+            throw new UncheckedIOException(e);
+         }
+      }
+      return parts;
+   }
+
+   /**
+    * The iterator reads the next part in {@link Iterator#hasNext()}, after which the body of the previous one can no
+    * longer be read.
+    */
+   @Override
+   public Iterator<InputPart> iterator()
+   {
+      return new Iterator<InputPart>()
+      {
+         private InputPart next;
+
+         @Override
+         public boolean hasNext()
+         {
+            if (next == null)
+            {
+               try
+               {
+                  next = nextPart();
+               }
+               catch (IOException e)
+               {
+                  throw new UncheckedIOException(e);
+               }
+            }
+            return next != null;
+         }
+
+         @Override
+         public InputPart next()
+         {
+            if (!hasNext()) throw new NoSuchElementException();
+            InputPart part = next;
+            next = null;
+            return part;
+         }
+      };
+   }
+
+   @Override
+   public void close()
+   {
+      for (Storage storage : storages)
+      {
+         storage.delete();
+      }
+      storages.clear();
+   }
+
+   public class StreamingPart implements InputPart
+   {
+      private final MultivaluedMap<String, String> headers;
+      private MediaType contentType;
+      private boolean contentTypeFromMessage;
+      private InputStream body;
+      private Storage storage;
+
+      public StreamingPart(final MultivaluedMap<String, String> headers, final InputStream body)
+      {
+         this.headers = headers;
+         this.body = body;
+         String type = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+         contentTypeFromMessage = type != null;
+         contentType = getPartMediaType(type == null ? null : MediaType.valueOf(type));
+      }
+
+      void store(final StorageProvider storageProvider) throws IOException
+      {
+         storage = storageProvider.store(body);
+         storages.add(storage);
+         body = null;
+      }
+
+      @Override
+      public void setMediaType(MediaType mediaType)
+      {
+         contentType = mediaType;
+         contentTypeFromMessage = false;
+         headers.putSingle(HttpHeaders.CONTENT_TYPE, mediaType.toString());
+      }
+
+      @Override
+      public <T> T getBody(Class<T> type, Type genericType) throws IOException
+      {
+         return readPart(type, genericType, contentType, headers, getBody());
+      }
+
+      @SuppressWarnings("unchecked")
+      @Override
+      public <T> T getBody(GenericType<T> type) throws IOException
+      {
+         return getBody((Class<T>) type.getRawType(), type.getType());
+      }
+
+      /**
+       * @return body of the part, streamed from the entity unless the part was stored by {@link #getParts()}
+       * @throws IOException if the stored body cannot be read
+       */
+      public InputStream getBody() throws IOException
+      {
+         return storage != null ? storage.getInputStream() : body;
+      }
+
+      @Override
+      public String getBodyAsString() throws IOException
+      {
+         return getBody(String.class, null);
+      }
+
+      @Override
+      public MultivaluedMap<String, String> getHeaders()
+      {
+         return headers;
+      }
+
+      @Override
+      public MediaType getMediaType()
+      {
+         return contentType;
+      }
+
+      @Override
+      public boolean isContentTypeFromMessage()
+      {
+         return contentTypeFromMessage;
+      }
+   }
+}
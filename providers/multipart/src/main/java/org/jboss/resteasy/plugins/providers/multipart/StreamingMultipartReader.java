@@ -0,0 +1,41 @@
+package org.jboss.resteasy.plugins.providers.multipart;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.Providers;
+
+import org.jboss.resteasy.plugins.providers.multipart.i18n.Messages;
+
+/**
+ * Reads {@link StreamingMultipartInput} entities, leaving the entity stream to be read as the parts are requested.
+ */
+@Provider
+@Consumes("multipart/*")
+public class StreamingMultipartReader implements MessageBodyReader<StreamingMultipartInput>
+{
+   protected @Context Providers workers;
+
+   public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType)
+   {
+      return type.equals(StreamingMultipartInput.class);
+   }
+
+   public StreamingMultipartInput readFrom(Class<StreamingMultipartInput> type, Type genericType, Annotation[] annotations, MediaType mediaType, MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException, WebApplicationException
+   {
+      String boundary = mediaType.getParameters().get("boundary");
+      if (boundary == null) throw new IOException(Messages.MESSAGES.unableToGetBoundary());
+      StreamingMultipartInputImpl input = new StreamingMultipartInputImpl(mediaType, workers);
+      input.parse(entityStream);
+      return input;
+   }
+}
@@ -63,4 +63,13 @@ public interface Messages
 
    @Message(id = BASE + 60, value = "java.net.URLEncoder does not support UTF-8 encoding")
    String urlEncoderDoesNotSupportUtf8();
+
+   @Message(id = BASE + 65, value = "Multipart message ended before its closing boundary")
+   String unexpectedEndOfMultipart();
+
+   @Message(id = BASE + 70, value = "Headers of multipart part exceed {0} bytes", format=Format.MESSAGE_FORMAT)
+   String partHeadersTooLarge(int max);
+
+   @Message(id = BASE + 75, value = "Body of multipart part can no longer be read once the next part was requested")
+   String partBodyNoLongerAvailable();
 }
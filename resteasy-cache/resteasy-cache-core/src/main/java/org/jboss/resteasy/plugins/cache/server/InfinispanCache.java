@@ -150,7 +150,8 @@ public class InfinispanCache implements ServerCache
          newEntries.addAll(entries);
       }
       cache.put(uri, newEntries);
-      cache.put(entryName, cacheEntry, cc.getMaxAge(), TimeUnit.SECONDS);
+      // keep stale entries around while they may be served during revalidation
+      cache.put(entryName, cacheEntry, cc.getMaxAge() + ServerCache.staleWhileRevalidate(cc), TimeUnit.SECONDS);
       return cacheEntry;
    }
 
@@ -0,0 +1,424 @@
+package org.jboss.resteasy.plugins.cache.server;
+
+import org.jboss.resteasy.plugins.cache.server.i18n.Messages;
+
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.StreamingOutput;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A ServerCache that keeps the cached response bodies outside of the Java heap, so that large cached representations
+ * don't make the old generation grow.  Bodies are stored in fixed size chunks of direct, or memory mapped,
+ * {@link ByteBuffer} segments that are allocated once and reused, only the headers stay on the heap.
+ * <p>
+ * The cache is bounded by the number of bytes it can store.  When it is full the oldest entries are evicted.  Entries
+ * expire after the max-age of their Cache-Control header and are selected by media type and {@link ServerCache#mayVary}
+ * like the entries of {@link InfinispanCache}.
+ * <p>
+ * Cache hits are written to the response straight from the segments by {@link Entry#getEntity()}, a chunk at a time,
+ * or without any copy if the container output stream is a {@link WritableByteChannel}.
+ */
+public class OffHeapServerCache implements ServerCache
+{
+   public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+   public class OffHeapEntry implements Entry
+   {
+      private final String uri;
+      private final String variant;
+      private final int[] chunks;
+      private final int length;
+      private final int expires;
+      private final long timestamp = System.currentTimeMillis();
+      private final String etag;
+      private final MultivaluedMap<String, Object> headers;
+      private final MediaType mediaType;
+      private final MultivaluedMap<String, String> varyHeaders;
+      private final long sequence = sequences.incrementAndGet();
+      // one reference held by the cache, one per response being written
+      private final AtomicInteger references = new AtomicInteger(1);
+      private final AtomicBoolean discarded = new AtomicBoolean();
+
+      protected OffHeapEntry(final String uri, final String variant, final int[] chunks, final int length,
+                             final MultivaluedMap<String, Object> headers, final int expires, final String etag,
+                             final MediaType mediaType, final MultivaluedMap<String, String> varyHeaders)
+      {
+         this.uri = uri;
+         this.variant = variant;
+         this.chunks = chunks;
+         this.length = length;
+         this.headers = headers;
+         this.expires = expires;
+         this.etag = etag;
+         this.mediaType = mediaType;
+         this.varyHeaders = varyHeaders;
+      }
+
+      public int getExpirationInSeconds()
+      {
+         return expires - (int) ((System.currentTimeMillis() - timestamp) / 1000);
+      }
+
+      public boolean isExpired()
+      {
+         return System.currentTimeMillis() - timestamp >= expires * 1000L;
+      }
+
+      public String getEtag()
+      {
+         return etag;
+      }
+
+      public MultivaluedMap<String, Object> getHeaders()
+      {
+         return headers;
+      }
+
+      public MultivaluedMap<String, String> getVaryHeaders()
+      {
+         return varyHeaders;
+      }
+
+      public MediaType getMediaType()
+      {
+         return mediaType;
+      }
+
+      public int getLength()
+      {
+         return length;
+      }
+
+      /**
+       * Copies the body onto the heap, prefer {@link #getEntity()}.
+       */
+      public byte[] getCached()
+      {
+         if (!retain()) throw new IllegalStateException(Messages.MESSAGES.cacheEntryEvicted());
+         try
+         {
+            byte[] bytes = new byte[length];
+            for (int i = 0, offset = 0; offset < length; i++, offset += chunkSize)
+            {
+               chunk(chunks[i], Math.min(chunkSize, length - offset)).get(bytes, offset, Math.min(chunkSize, length - offset));
+            }
+            return bytes;
+         }
+         finally
+         {
+            release();
+         }
+      }
+
+      /**
+       * The body is only referenced while it is written, a response that is never written, e.g. because it was
+       * replaced by an exception mapper, does not keep the chunks.  If the entry is evicted and its chunks reused in
+       * between, writing fails.
+       *
+       * @return a StreamingOutput writing the body from the off-heap segments, or null if the entry was evicted
+       */
+      @Override
+      public Object getEntity()
+      {
+         if (references.get() <= 0) return null;
+         return (StreamingOutput) output ->
+         {
+            if (!retain()) throw new IOException(Messages.MESSAGES.cacheEntryEvicted());
+            try
+            {
+               writeTo(output);
+            }
+            finally
+            {
+               release();
+            }
+         };
+      }
+
+      protected void writeTo(OutputStream output) throws IOException
+      {
+         if (output instanceof WritableByteChannel)
+         {
+            WritableByteChannel channel = (WritableByteChannel) output;
+            for (int i = 0, offset = 0; offset < length; i++, offset += chunkSize)
+            {
+               ByteBuffer chunk = chunk(chunks[i], Math.min(chunkSize, length - offset));
+               while (chunk.hasRemaining()) channel.write(chunk);
+            }
+            return;
+         }
+         byte[] buffer = new byte[Math.min(chunkSize, length)];
+         for (int i = 0, offset = 0; offset < length; i++, offset += chunkSize)
+         {
+            int size = Math.min(chunkSize, length - offset);
+            chunk(chunks[i], size).get(buffer, 0, size);
+            output.write(buffer, 0, size);
+         }
+      }
+
+      private boolean retain()
+      {
+         for (;;)
+         {
+            int count = references.get();
+            if (count <= 0) return false;
+            if (references.compareAndSet(count, count + 1)) return true;
+         }
+      }
+
+      private void release()
+      {
+         if (references.decrementAndGet() == 0) free(chunks);
+      }
+
+      /**
+       * Drops the reference held by the cache, the chunks are reused once the responses being written are done.
+       */
+      private boolean discard()
+      {
+         Map<String, OffHeapEntry> variants = cache.get(uri);
+         if (variants != null) variants.remove(variant, this);
+         order.remove(sequence, this);
+         if (!discarded.compareAndSet(false, true)) return false;
+         release();
+         return true;
+      }
+   }
+
+   protected final long maxBytes;
+   protected final int chunkSize;
+   protected final Path file;
+   protected final Map<String, Map<String, OffHeapEntry>> cache = new ConcurrentHashMap<String, Map<String, OffHeapEntry>>();
+   // live entries in insertion order, used for eviction
+   protected final ConcurrentNavigableMap<Long, OffHeapEntry> order = new ConcurrentSkipListMap<Long, OffHeapEntry>();
+   private final AtomicLong sequences = new AtomicLong();
+   private final int totalChunks;
+   private final int chunksPerSegment;
+   private final ByteBuffer[] segments;
+   // stack of free chunks, guarded by itself
+   private final int[] freeChunks;
+   private int freeCount;
+   private final AtomicLong hits = new AtomicLong();
+   private final AtomicLong misses = new AtomicLong();
+   private final AtomicLong evictions = new AtomicLong();
+
+   /**
+    * Keeps up to <code>maxBytes</code> of bodies in direct buffers.
+    *
+    * @param maxBytes capacity
+    */
+   public OffHeapServerCache(final long maxBytes)
+   {
+      this(maxBytes, DEFAULT_CHUNK_SIZE, null);
+   }
+
+   /**
+    * @param maxBytes capacity
+    * @param chunkSize bodies are stored in chunks of this size
+    * @param file if not null, the segments are memory mapped from this file instead of being direct buffers
+    */
+   public OffHeapServerCache(final long maxBytes, final int chunkSize, final Path file)
+   {
+      if (chunkSize <= 0) throw new IllegalArgumentException("chunkSize");
+      this.maxBytes = maxBytes;
+      this.chunkSize = chunkSize;
+      this.file = file;
+      this.totalChunks = (int) Math.min(maxBytes / chunkSize, Integer.MAX_VALUE - 8);
+      this.chunksPerSegment = Integer.MAX_VALUE / chunkSize;
+      this.segments = new ByteBuffer[(totalChunks + chunksPerSegment - 1) / chunksPerSegment];
+      this.freeChunks = new int[totalChunks];
+      // lowest chunks on top of the stack, segments are created when first used
+      for (int i = 0; i < totalChunks; i++)
+      {
+         freeChunks[i] = totalChunks - 1 - i;
+      }
+      this.freeCount = totalChunks;
+   }
+
+   public Entry get(String uri, MediaType accept, MultivaluedMap<String, String> headers)
+   {
+      Map<String, OffHeapEntry> variants = cache.get(uri);
+      if (variants != null)
+      {
+         for (OffHeapEntry entry : variants.values())
+         {
+            if (accept.isCompatible(entry.getMediaType()) && !ServerCache.mayVary(entry, headers))
+            {
+               hits.incrementAndGet();
+               return entry;
+            }
+         }
+      }
+      misses.incrementAndGet();
+      return null;
+   }
+
+   /**
+    * @return the new entry or null if the body is larger than the cache
+    */
+   public Entry add(String uri, MediaType mediaType, CacheControl cc, MultivaluedMap<String, Object> headers, byte[] entity, String etag, MultivaluedMap<String, String> varyHeaders)
+   {
+      int[] chunks = allocate((entity.length + chunkSize - 1) / chunkSize);
+      if (chunks == null) return null;
+      for (int i = 0, offset = 0; offset < entity.length; i++, offset += chunkSize)
+      {
+         int size = Math.min(chunkSize, entity.length - offset);
+         chunk(chunks[i], size).put(entity, offset, size);
+      }
+
+      StringBuilder variant = new StringBuilder(mediaType.toString());
+      varyHeaders.forEach((name, values) -> values.forEach(value -> variant.append("    ").append(name).append(value)));
+      OffHeapEntry entry = new OffHeapEntry(uri, variant.toString(), chunks, entity.length, headers, cc.getMaxAge(),
+            etag, mediaType, varyHeaders);
+      OffHeapEntry previous = cache.computeIfAbsent(uri, k -> new ConcurrentHashMap<String, OffHeapEntry>())
+            .put(entry.variant, entry);
+      order.put(entry.sequence, entry);
+      // removed concurrently before it was ordered
+      if (entry.discarded.get()) order.remove(entry.sequence, entry);
+      if (previous != null) previous.discard();
+      return entry;
+   }
+
+   public void remove(String uri)
+   {
+      Map<String, OffHeapEntry> variants = cache.remove(uri);
+      if (variants == null) return;
+      for (OffHeapEntry entry : variants.values())
+      {
+         entry.discard();
+      }
+   }
+
+   public void clear()
+   {
+      for (String uri : cache.keySet())
+      {
+         remove(uri);
+      }
+   }
+
+   private int[] allocate(int count)
+   {
+      if (count > totalChunks) return null;
+      for (;;)
+      {
+         synchronized (freeChunks)
+         {
+            if (freeCount >= count)
+            {
+               int[] chunks = new int[count];
+               for (int i = 0; i < count; i++)
+               {
+                  chunks[i] = freeChunks[--freeCount];
+               }
+               return chunks;
+            }
+         }
+         // chunks of an evicted entry still being written are freed later, keep evicting
+         Map.Entry<Long, OffHeapEntry> oldest = order.pollFirstEntry();
+         if (oldest == null) return null;
+         if (oldest.getValue().discard()) evictions.incrementAndGet();
+      }
+   }
+
+   private void free(int[] chunks)
+   {
+      synchronized (freeChunks)
+      {
+         for (int i = chunks.length - 1; i >= 0; i--)
+         {
+            freeChunks[freeCount++] = chunks[i];
+         }
+      }
+   }
+
+   /**
+    * @return a buffer positioned on the chunk, limited to <code>size</code> bytes
+    */
+   private ByteBuffer chunk(int chunk, int size)
+   {
+      ByteBuffer buffer = segment(chunk / chunksPerSegment).duplicate();
+      int position = (chunk % chunksPerSegment) * chunkSize;
+      // called on Buffer, the ByteBuffer overrides added in Java 9 are missing on Java 8
+      ((Buffer) buffer).limit(position + size).position(position);
+      return buffer;
+   }
+
+   private ByteBuffer segment(int index)
+   {
+      ByteBuffer segment = segments[index];
+      if (segment != null) return segment;
+      synchronized (segments)
+      {
+         if (segments[index] == null)
+         {
+            int chunks = Math.min(chunksPerSegment, totalChunks - index * chunksPerSegment);
+            segments[index] = createSegment(index, chunks * chunkSize);
+         }
+         return segments[index];
+      }
+   }
+
+   protected ByteBuffer createSegment(int index, int size)
+   {
+      if (file == null) return ByteBuffer.allocateDirect(size);
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE))
+      {
+         // the mapping stays valid after the channel is closed
+         return channel.map(FileChannel.MapMode.READ_WRITE, (long) index * chunksPerSegment * chunkSize, size);
+      }
+      catch (IOException e)
+      {
+         throw new UncheckedIOException(e);
+      }
+   }
+
+   public long getMaxBytes()
+   {
+      return maxBytes;
+   }
+
+   /**
+    * @return bytes taken by the chunks of the cached entries
+    */
+   public long getUsedBytes()
+   {
+      synchronized (freeChunks)
+      {
+         return (long) (totalChunks - freeCount) * chunkSize;
+      }
+   }
+
+   public long getHitCount()
+   {
+      return hits.get();
+   }
+
+   public long getMissCount()
+   {
+      return misses.get();
+   }
+
+   public long getEvictionCount()
+   {
+      return evictions.get();
+   }
+}
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Map;
 
 import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 
@@ -22,6 +23,27 @@ public interface ServerCache
       return mayVary;
    }
 
+   /**
+    * @param cc Cache-Control of a response
+    * @return seconds during which the response may still be served once expired while it is revalidated, from
+    * the stale-while-revalidate extension (RFC 5861), 0 if there is none
+    */
+   static int staleWhileRevalidate(CacheControl cc) {
+      String value = cc.getCacheExtension().get("stale-while-revalidate");
+      if (value == null) return 0;
+      try {
+         return Math.max(0, Integer.parseInt(value.replace("\"", "").trim()));
+      } catch (NumberFormatException e) {
+         return 0;
+      }
+   }
+
+   static int staleWhileRevalidate(Entry cached) {
+      Object cc = cached.getHeaders().getFirst(HttpHeaders.CACHE_CONTROL);
+      if (cc == null) return 0;
+      return staleWhileRevalidate(cc instanceof CacheControl ? (CacheControl) cc : CacheControl.valueOf(cc.toString()));
+   }
+
    interface Entry
    {
       int getExpirationInSeconds();
@@ -32,6 +54,17 @@ public interface ServerCache
 
       byte[] getCached();
 
+      /**
+       * Entity of the response served from the cache, by default the cached bytes.  Implementations that keep the
+       * bytes off the heap can return an entity writing them directly to the response.
+       *
+       * @return entity or null if the entry can no longer be served
+       */
+      default Object getEntity()
+      {
+         return getCached();
+      }
+
       MultivaluedMap<String, Object> getHeaders();
 
       MultivaluedMap<String, String> getVaryHeaders();
@@ -1,7 +1,9 @@
 package org.jboss.resteasy.plugins.cache.server;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 
+import javax.ws.rs.Priorities;
 import javax.ws.rs.core.Configurable;
 import javax.ws.rs.core.Feature;
 import javax.ws.rs.core.FeatureContext;
@@ -25,6 +27,8 @@ import org.jboss.resteasy.spi.ResteasyConfiguration;
 public class ServerCacheFeature implements Feature
 {
    protected ServerCache cache;
+   protected long singleFlightTimeout;
+   protected boolean encodedVariants;
 
    public ServerCacheFeature()
    {
@@ -40,11 +44,69 @@ public class ServerCacheFeature implements Feature
    {
       ServerCache cache = getCache(configurable);
       if (cache == null) return false;
-      configurable.register(new ServerCacheHitFilter(cache));
-      configurable.register(new ServerCacheInterceptor(cache));
+      boolean encoded = isEncodedVariants(configurable);
+      configurable.register(new ServerCacheHitFilter(cache, getSingleFlightTimeout(configurable), encoded));
+      if (encoded)
+      {
+         // runs before GZIPEncodingInterceptor to cache what it encodes
+         configurable.register(new ServerCacheInterceptor(cache, true), Priorities.ENTITY_CODER - 1);
+      }
+      else
+      {
+         configurable.register(new ServerCacheInterceptor(cache));
+      }
       return true;
    }
 
+   public boolean isEncodedVariants()
+   {
+      return encodedVariants;
+   }
+
+   /**
+    * Caches entities as encoded by GZIPEncodingInterceptor, one variant per Accept-Encoding header, so that cache hits
+    * are not compressed again.  Can also be set with the server.request.cache.encoded.variants property.
+    *
+    * @param encodedVariants whether to cache the encoded entities, false by default
+    */
+   public void setEncodedVariants(boolean encodedVariants)
+   {
+      this.encodedVariants = encodedVariants;
+   }
+
+   protected boolean isEncodedVariants(Configurable configurable)
+   {
+      if (encodedVariants) return true;
+      Object encoded = configurable.getConfiguration().getProperty("server.request.cache.encoded.variants");
+      if (encoded == null) encoded = getConfigProperty("server.request.cache.encoded.variants");
+      return encoded != null && Boolean.parseBoolean(encoded.toString());
+   }
+
+   public long getSingleFlightTimeout()
+   {
+      return singleFlightTimeout;
+   }
+
+   /**
+    * How long a cache miss waits for a concurrent request of the same URI, Accept and Vary headers to populate the
+    * cache before running the resource method itself.  Can also be set with the server.request.cache.single.flight.timeout
+    * property.
+    *
+    * @param singleFlightTimeout timeout in milliseconds, 0 (the default) disables waiting
+    */
+   public void setSingleFlightTimeout(long singleFlightTimeout)
+   {
+      this.singleFlightTimeout = singleFlightTimeout;
+   }
+
+   protected long getSingleFlightTimeout(Configurable configurable)
+   {
+      if (singleFlightTimeout > 0) return singleFlightTimeout;
+      Object timeout = configurable.getConfiguration().getProperty("server.request.cache.single.flight.timeout");
+      if (timeout == null) timeout = getConfigProperty("server.request.cache.single.flight.timeout");
+      return timeout == null ? 0 : Long.parseLong(timeout.toString());
+   }
+
    protected ResteasyConfiguration getResteasyConfiguration()
    {
       return ResteasyContext.getContextData(ResteasyConfiguration.class);
@@ -65,6 +127,8 @@ public class ServerCacheFeature implements Feature
       if (c != null) return c;
       c = getXmlCache(configurable);
       if (c != null) return c;
+      c = getOffHeapCache(configurable);
+      if (c != null) return c;
       return getDefaultCache();
    }
 
@@ -107,4 +171,17 @@ public class ServerCacheFeature implements Feature
          throw new RuntimeException(e);
       }
    }
+
+   protected ServerCache getOffHeapCache(Configurable configurable)
+   {
+      Object maxBytes = configurable.getConfiguration().getProperty("server.request.cache.offheap.max.bytes");
+      if (maxBytes == null) maxBytes = getConfigProperty("server.request.cache.offheap.max.bytes");
+      if (maxBytes == null) return null;
+
+      String file = (String)configurable.getConfiguration().getProperty("server.request.cache.offheap.file");
+      if (file == null) file = getConfigProperty("server.request.cache.offheap.file");
+
+      return new OffHeapServerCache(Long.parseLong(maxBytes.toString()), OffHeapServerCache.DEFAULT_CHUNK_SIZE,
+            file == null ? null : Paths.get(file));
+   }
 }
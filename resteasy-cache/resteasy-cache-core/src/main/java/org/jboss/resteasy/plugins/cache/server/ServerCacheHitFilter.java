@@ -1,29 +1,130 @@
 package org.jboss.resteasy.plugins.cache.server;
 
+import org.jboss.resteasy.core.ResteasyContext;
+import org.jboss.resteasy.core.interception.jaxrs.SuspendableContainerRequestContext;
+import org.jboss.resteasy.plugins.interceptors.GZIPEncodingInterceptor;
+import org.jboss.resteasy.plugins.server.servlet.Cleanables;
+import org.jboss.resteasy.spi.HttpRequest;
+import org.jboss.resteasy.util.BoundedConcurrentCache;
+
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
 import javax.ws.rs.core.CacheControl;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
+ * Serves GET requests from the cache.
+ * <p>
+ * With a single flight timeout, concurrent misses for the same URI, Accept and Vary headers wait for the first of them
+ * to run the resource method and populate the cache instead of all running it.  The waiting requests are suspended,
+ * not blocking their thread, and the Vary headers are those of the last response for the URI.  Expired entries whose Cache-Control
+ * has a stale-while-revalidate extension are served stale, with a Warning header, to all but one request that
+ * revalidates them.  With encoded variants, entries cached with a Content-Encoding are served as they are.
+ *
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
  * @version $Revision: 1 $
  */
-public class ServerCacheHitFilter implements ContainerRequestFilter
+public class ServerCacheHitFilter implements ContainerRequestFilter, ContainerResponseFilter
 {
    protected ServerCache cache;
    public static final String DO_NOT_CACHE_RESPONSE = "DO NOT CACHE RESPONSE";
+   static final String PENDING_MISS = ServerCacheHitFilter.class.getName() + ".pending.miss";
+   private static final int MAX_VARY_URIS = 10000;
+
+   // wakes up the requests whose pending miss is never released
+   private static class Timeouts
+   {
+      private static final ScheduledThreadPoolExecutor SCHEDULER = new ScheduledThreadPoolExecutor(1, r ->
+      {
+         Thread thread = new Thread(r, "resteasy-server-cache-timeout");
+         thread.setDaemon(true);
+         return thread;
+      });
+
+      static
+      {
+         SCHEDULER.setRemoveOnCancelPolicy(true);
+      }
+   }
+
+   /**
+    * Miss being computed, released by {@link ServerCacheInterceptor} once the response is cached, or when the request
+    * is done if it failed before.
+    */
+   protected static class PendingMiss
+   {
+      private final Map<String, CompletableFuture<Void>> pendingMisses;
+      private final String key;
+      private final CompletableFuture<Void> flight = new CompletableFuture<Void>();
+
+      protected PendingMiss(final Map<String, CompletableFuture<Void>> pendingMisses, final String key)
+      {
+         this.pendingMisses = pendingMisses;
+         this.key = key;
+      }
+
+      /**
+       * Wakes up the waiting requests, can be called more than once.
+       */
+      protected void release()
+      {
+         pendingMisses.remove(key, flight);
+         flight.complete(null);
+      }
+   }
+
+   // concurrent misses for the same key wait for the request running the resource method
+   protected final Map<String, CompletableFuture<Void>> pendingMisses = new ConcurrentHashMap<String, CompletableFuture<Void>>();
+   // names of the Vary headers of the last response of each URI, part of the single flight keys
+   protected final BoundedConcurrentCache<String, List<String>> varyHeaders = new BoundedConcurrentCache<String, List<String>>(MAX_VARY_URIS);
+   protected long singleFlightTimeout;
+   protected boolean encodedVariants;
 
    public ServerCacheHitFilter(final ServerCache cache)
+   {
+      this(cache, 0);
+   }
+
+   /**
+    * @param cache cache
+    * @param singleFlightTimeout how long a miss waits for a concurrent request of the same key to populate the cache
+    *                            in milliseconds, 0 disables waiting
+    */
+   public ServerCacheHitFilter(final ServerCache cache, final long singleFlightTimeout)
+   {
+      this(cache, singleFlightTimeout, false);
+   }
+
+   /**
+    * @param cache cache
+    * @param singleFlightTimeout how long a miss waits for a concurrent request of the same key to populate the cache
+    *                            in milliseconds, 0 disables waiting
+    * @param encodedVariants whether the cached entities are encoded with their Content-Encoding
+    */
+   public ServerCacheHitFilter(final ServerCache cache, final long singleFlightTimeout, final boolean encodedVariants)
    {
       this.cache = cache;
+      this.singleFlightTimeout = singleFlightTimeout;
+      this.encodedVariants = encodedVariants;
    }
 
    @Context
@@ -43,55 +144,187 @@ public class ServerCacheHitFilter implements ContainerRequestFilter
       }
    }
 
+   @Override
+   public void filter(ContainerRequestContext request, ContainerResponseContext response) throws IOException
+   {
+      // otherwise released by ServerCacheInterceptor once the entity is cached
+      PendingMiss pending = (PendingMiss) request.getProperty(PENDING_MISS);
+      if (pending != null && !response.hasEntity()) pending.release();
+      if (singleFlightTimeout > 0 && request.getMethod().equalsIgnoreCase("GET"))
+      {
+         String key = request.getUriInfo().getRequestUri().toString();
+         List<Object> vary = response.getHeaders().get(HttpHeaders.VARY);
+         if (vary == null)
+         {
+            if (varyHeaders.get(key) != null) varyHeaders.remove(key);
+            return;
+         }
+         List<String> names = new ArrayList<String>(vary.size());
+         for (Object name : vary) names.add(name.toString());
+         if (!names.equals(varyHeaders.get(key))) varyHeaders.put(key, names);
+      }
+   }
+
    private void handleGET(ContainerRequestContext request, String key)
    {
       ServerCache.Entry entry = null;
       List<MediaType> acceptableMediaTypes = request.getAcceptableMediaTypes();
-      if (acceptableMediaTypes != null && acceptableMediaTypes.size() > 0)
-      {
-         // only see if most desired is cached.
-         entry = cache.get(key, acceptableMediaTypes.get(0), request.getHeaders());
-      }
-      else
-      {
-         entry = cache.get(key, MediaType.WILDCARD_TYPE, request.getHeaders());
-      }
+      MediaType accept = acceptableMediaTypes != null && acceptableMediaTypes.size() > 0
+            // only see if most desired is cached.
+            ? acceptableMediaTypes.get(0) : MediaType.WILDCARD_TYPE;
+      Supplier<ServerCache.Entry> lookup = () -> cache.get(key, accept, request.getHeaders());
+      entry = lookup.get();
+      String flightKey = flightKey(request, key, accept, entry);
       if (entry != null)
       {
          if (entry.isExpired())
          {
-            cache.remove(key);
-            return;
-         }
-         else
-         {
-            // validation if client sent
-            Response.ResponseBuilder builder = validation.evaluatePreconditions(new EntityTag(entry.getEtag()));
-            CacheControl cc = new CacheControl();
-            cc.setMaxAge(entry.getExpirationInSeconds());
-            if (builder != null)
+            if (-entry.getExpirationInSeconds() < ServerCache.staleWhileRevalidate(entry))
             {
-               request.abortWith(builder.cacheControl(cc).build());
+               // one request revalidates, the others get the stale entry meanwhile
+               if (lead(request, flightKey)) return;
+               serve(request, entry, true);
                return;
             }
+            cache.remove(key);
+            awaitPendingMiss(request, flightKey, lookup);
+            return;
+         }
+         serve(request, entry, false);
+      }
+      else
+      {
+         awaitPendingMiss(request, flightKey, lookup);
+      }
+   }
 
-            builder = Response.ok();
-            builder.entity(entry.getCached());
+   /**
+    * The same key for the misses and the expired entries: URI, Accept and the values of the Vary headers learned from
+    * the last response of the URI, or those of the entry if none.
+    */
+   private String flightKey(ContainerRequestContext request, String key, MediaType accept, ServerCache.Entry entry)
+   {
+      StringBuilder flightKey = new StringBuilder(key).append("    ").append(accept);
+      Collection<String> vary = varyHeaders.get(key);
+      if (vary == null) vary = entry != null ? entry.getVaryHeaders().keySet() : Collections.<String>emptyList();
+      for (String name : vary)
+      {
+         flightKey.append("    ").append(name).append(request.getHeaders().get(name));
+      }
+      if (encodedVariants && !vary.contains(HttpHeaders.ACCEPT_ENCODING))
+      {
+         // the interceptor varies the encoded entities on Accept-Encoding too
+         flightKey.append("    ").append(request.getHeaders().get(HttpHeaders.ACCEPT_ENCODING));
+      }
+      return flightKey.toString();
+   }
 
-            for (Map.Entry<String, List<Object>> header : entry.getHeaders().entrySet())
-            {
-               for (Object val : header.getValue())
-               {
-                  builder.header(header.getKey(), val);
-               }
-            }
-            builder.cacheControl(cc);
-            request.setProperty(DO_NOT_CACHE_RESPONSE, true);
-            request.abortWith(builder.build());
+   /**
+    * @return whether the request was aborted with the cached response
+    */
+   private boolean serve(ContainerRequestContext request, ServerCache.Entry entry, boolean stale)
+   {
+      // validation if client sent
+      Response.ResponseBuilder builder = validation.evaluatePreconditions(new EntityTag(entry.getEtag()));
+      CacheControl cc = new CacheControl();
+      cc.setMaxAge(Math.max(0, entry.getExpirationInSeconds()));
+      if (builder != null)
+      {
+         request.abortWith(builder.cacheControl(cc).build());
+         return true;
+      }
+
+      Object entity = entry.getEntity();
+      if (entity == null) return false;
+      builder = Response.ok();
+      builder.entity(entity);
+
+      for (Map.Entry<String, List<Object>> header : entry.getHeaders().entrySet())
+      {
+         for (Object val : header.getValue())
+         {
+            builder.header(header.getKey(), val);
          }
       }
-      else
+      builder.cacheControl(cc);
+      if (stale) builder.header("Warning", "110 - \"Response is Stale\"");
+      if (encodedVariants && entry.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING))
+      {
+         request.setProperty(GZIPEncodingInterceptor.ENCODED_ENTITY, true);
+      }
+      request.setProperty(DO_NOT_CACHE_RESPONSE, true);
+      request.abortWith(builder.build());
+      return true;
+   }
+
+   /**
+    * Suspend the request until the request of the same key that is already running the resource method is done, or
+    * become that request.  Once woken up, the suspended request is served from the cache or resumed to run the
+    * resource method itself.
+    *
+    * @return whether the request is suspended, false if it has to run the resource method
+    */
+   protected boolean awaitPendingMiss(ContainerRequestContext request, String flightKey, Supplier<ServerCache.Entry> lookup)
+   {
+      // filters that cannot be suspended run the resource method rather than block their thread
+      if (singleFlightTimeout <= 0 || !(request instanceof SuspendableContainerRequestContext)) return false;
+      CompletableFuture<Void> pending = pendingMisses.get(flightKey);
+      if (pending == null)
+      {
+         if (lead(request, flightKey)) return false;
+         pending = pendingMisses.get(flightKey);
+         if (pending == null) return false;
+      }
+      SuspendableContainerRequestContext suspendable = (SuspendableContainerRequestContext) request;
+      Map<Class<?>, Object> contextDataMap = ResteasyContext.getContextDataMap();
+      suspendable.suspend();
+
+      CompletableFuture<Void> flight = pending;
+      CompletableFuture<Void> woken = new CompletableFuture<Void>();
+      ScheduledFuture<?> timeout = Timeouts.SCHEDULER.schedule(() ->
+      {
+         // the response never made it to the cache, don't let anyone else wait for it
+         if (woken.complete(null)) pendingMisses.remove(flightKey, flight);
+      }, singleFlightTimeout, TimeUnit.MILLISECONDS);
+      flight.thenRun(() ->
       {
+         timeout.cancel(false);
+         woken.complete(null);
+      });
+      // neither on the thread releasing the pending miss nor on the timeout one
+      woken.thenRunAsync(() ->
+      {
+         ResteasyContext.pushContextDataMap(contextDataMap);
+         try
+         {
+            ServerCache.Entry entry = lookup.get();
+            // the response cached meanwhile can still be for other Vary header values
+            if (entry == null || entry.isExpired() || !serve(request, entry, false)) suspendable.resume();
+         }
+         catch (Throwable t)
+         {
+            suspendable.resume(t);
+         }
+      });
+      return true;
+   }
+
+   private boolean lead(ContainerRequestContext request, String flightKey)
+   {
+      PendingMiss pending = new PendingMiss(pendingMisses, flightKey);
+      if (pendingMisses.putIfAbsent(flightKey, pending.flight) != null) return false;
+      request.setProperty(PENDING_MISS, pending);
+      Cleanables cleanables = ResteasyContext.getContextData(Cleanables.class);
+      if (cleanables != null)
+      {
+         // an unmapped exception or a failing filter skips the response filters and the interceptor, release the
+         // waiting requests once the dispatcher is done unless the response comes asynchronously
+         HttpRequest httpRequest = ResteasyContext.getContextData(HttpRequest.class);
+         cleanables.addCleanable(() ->
+         {
+            if (httpRequest == null || !httpRequest.getAsyncContext().isSuspended()) pending.release();
+         });
       }
+      return true;
    }
 }
@@ -31,10 +31,22 @@ import java.security.NoSuchAlgorithmException;
 public class ServerCacheInterceptor implements WriterInterceptor
 {
    protected ServerCache cache;
+   protected boolean encodedVariants;
 
    public ServerCacheInterceptor(final ServerCache cache)
+   {
+      this(cache, false);
+   }
+
+   /**
+    * @param cache cache
+    * @param encodedVariants whether the entities are cached as encoded with their Content-Encoding, varying on the
+    *                        Accept-Encoding header
+    */
+   public ServerCacheInterceptor(final ServerCache cache, final boolean encodedVariants)
    {
       this.cache = cache;
+      this.encodedVariants = encodedVariants;
    }
 
    @Context
@@ -93,6 +105,28 @@ public class ServerCacheInterceptor implements WriterInterceptor
    {
       LogMessages.LOGGER.debugf("Interceptor : %s,  Method : aroundWriteTo", getClass().getName());
 
+      try
+      {
+         cache(context);
+      }
+      finally
+      {
+         // the response was not cached
+         releasePendingMiss();
+      }
+   }
+
+   /**
+    * Wakes up the requests waiting for this response to be cached.
+    */
+   protected void releasePendingMiss()
+   {
+      ServerCacheHitFilter.PendingMiss pending = (ServerCacheHitFilter.PendingMiss) request.getAttribute(ServerCacheHitFilter.PENDING_MISS);
+      if (pending != null) pending.release();
+   }
+
+   protected void cache(WriterInterceptorContext context) throws IOException, WebApplicationException
+   {
       if (!request.getHttpMethod().equalsIgnoreCase("GET") || request.getAttribute(ServerCacheHitFilter.DO_NOT_CACHE_RESPONSE) != null)
       {
          context.proceed();
@@ -147,7 +181,14 @@ public class ServerCacheInterceptor implements WriterInterceptor
                   }
                }
             }
+            if (encodedVariants && context.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)
+                  && !varyHeaders.containsKey(HttpHeaders.ACCEPT_ENCODING)
+                  && request.getMutableHeaders().containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+               varyHeaders.addAll(HttpHeaders.ACCEPT_ENCODING, request.getMutableHeaders().get(HttpHeaders.ACCEPT_ENCODING));
+            }
             cache.add(request.getUri().getRequestUri().toString(), context.getMediaType(), cc, context.getHeaders(), entity, etag, varyHeaders);
+            // serve the waiting requests without waiting for the entity to be written
+            releasePendingMiss();
          }
 
          // check to see if ETags are the same.  If they are, we don't need to send a response back.
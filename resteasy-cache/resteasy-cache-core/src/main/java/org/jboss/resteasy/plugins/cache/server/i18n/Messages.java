@@ -18,4 +18,7 @@ public interface Messages
 
    @Message(id = BASE + 0, value = "need to specify server.request.cache.infinispan.cache.name")
    String needToSpecifyCacheName();
+
+   @Message(id = BASE + 5, value = "cache entry was evicted")
+   String cacheEntryEvicted();
 }
@@ -0,0 +1,130 @@
+package org.jboss.resteasy.test.cache;
+
+import static org.jboss.resteasy.test.TestPortProvider.generateURL;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.jboss.resteasy.annotations.GZIP;
+import org.jboss.resteasy.annotations.cache.Cache;
+import org.jboss.resteasy.plugins.cache.server.ServerCacheFeature;
+import org.jboss.resteasy.plugins.interceptors.GZIPEncodingInterceptor;
+import org.jboss.resteasy.plugins.server.netty.NettyJaxrsServer;
+import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.jboss.resteasy.test.TestPortProvider;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Caches entities compressed by GZIPEncodingInterceptor, one variant per Accept-Encoding.
+ */
+public class EncodedServerCacheTest
+{
+   private static NettyJaxrsServer server;
+   private static ResteasyDeployment deployment;
+   private static Client client;
+   private static int count = 0;
+
+   private static final String BODY;
+
+   static
+   {
+      StringBuilder body = new StringBuilder();
+      for (int i = 0; i < 200; i++) body.append("hello world ");
+      BODY = body.toString();
+   }
+
+   @Path("/encoded")
+   public static class EncodedService
+   {
+      @GET
+      @Produces("text/plain")
+      @GZIP
+      @Cache(maxAge = 60)
+      public String get()
+      {
+         count++;
+         return BODY;
+      }
+   }
+
+   @BeforeClass
+   public static void beforeClass() throws Exception
+   {
+      server = new NettyJaxrsServer();
+      server.setPort(TestPortProvider.getPort());
+      server.setRootResourcePath("/");
+      server.start();
+      deployment = server.getDeployment();
+      deployment.getProviderFactory().register(GZIPEncodingInterceptor.class);
+      ServerCacheFeature feature = new ServerCacheFeature();
+      feature.setEncodedVariants(true);
+      deployment.getProviderFactory().register(feature);
+      deployment.getRegistry().addPerRequestResource(EncodedService.class);
+      client = ClientBuilder.newClient();
+   }
+
+   @AfterClass
+   public static void afterClass() throws Exception
+   {
+      client.close();
+      server.stop();
+      server = null;
+      deployment = null;
+   }
+
+   private static String gunzip(byte[] bytes) throws Exception
+   {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes)))
+      {
+         byte[] buffer = new byte[1024];
+         for (int n = in.read(buffer); n > -1; n = in.read(buffer)) out.write(buffer, 0, n);
+      }
+      return new String(out.toByteArray(), "UTF-8");
+   }
+
+   @Test
+   public void testEncodedVariants() throws Exception
+   {
+      count = 0;
+      String etag;
+      {
+         Response response = client.target(generateURL("/encoded")).request().header(HttpHeaders.ACCEPT_ENCODING, "gzip").get();
+         Assert.assertEquals(200, response.getStatus());
+         Assert.assertEquals("gzip", response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+         etag = response.getHeaderString(HttpHeaders.ETAG);
+         Assert.assertEquals(BODY, gunzip(response.readEntity(byte[].class)));
+         Assert.assertEquals(1, count);
+      }
+      {
+         // served from the cache without being compressed again
+         Response response = client.target(generateURL("/encoded")).request().header(HttpHeaders.ACCEPT_ENCODING, "gzip").get();
+         Assert.assertEquals(200, response.getStatus());
+         Assert.assertEquals("gzip", response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+         Assert.assertEquals(etag, response.getHeaderString(HttpHeaders.ETAG));
+         Assert.assertEquals(BODY, gunzip(response.readEntity(byte[].class)));
+         Assert.assertEquals(1, count);
+      }
+      {
+         // the compressed variant is not served to clients that do not accept it
+         Response response = client.target(generateURL("/encoded")).request().get();
+         Assert.assertEquals(200, response.getStatus());
+         Assert.assertNull(response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+         Assert.assertEquals(BODY, response.readEntity(String.class));
+         Assert.assertEquals(2, count);
+      }
+   }
+}
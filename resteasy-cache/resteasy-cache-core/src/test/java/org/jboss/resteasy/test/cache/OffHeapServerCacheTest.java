@@ -0,0 +1,164 @@
+package org.jboss.resteasy.test.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.jboss.resteasy.plugins.cache.server.OffHeapServerCache;
+import org.jboss.resteasy.plugins.cache.server.ServerCache;
+import org.jboss.resteasy.specimpl.MultivaluedMapImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OffHeapServerCacheTest
+{
+   private static class OrderedCache extends OffHeapServerCache
+   {
+      OrderedCache()
+      {
+         super(1000, 100, null);
+      }
+
+      int ordered()
+      {
+         return order.size();
+      }
+   }
+
+   private static byte[] body(int size, int seed)
+   {
+      byte[] bytes = new byte[size];
+      for (int i = 0; i < size; i++) bytes[i] = (byte) (i + seed);
+      return bytes;
+   }
+
+   private static ServerCache.Entry add(OffHeapServerCache cache, String uri, MediaType mediaType, byte[] body,
+                                        MultivaluedMap<String, String> varyHeaders)
+   {
+      CacheControl cc = new CacheControl();
+      cc.setMaxAge(60);
+      return cache.add(uri, mediaType, cc, new MultivaluedMapImpl<String, Object>(), body, "etag", varyHeaders);
+   }
+
+   private static byte[] write(ServerCache.Entry entry) throws Exception
+   {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      ((StreamingOutput) entry.getEntity()).write(out);
+      return out.toByteArray();
+   }
+
+   @Test
+   public void testGet() throws Exception
+   {
+      OffHeapServerCache cache = new OffHeapServerCache(1024, 100, null);
+      byte[] body = body(250, 0);
+      add(cache, "/a", MediaType.TEXT_PLAIN_TYPE, body, new MultivaluedMapImpl<String, String>());
+
+      ServerCache.Entry entry = cache.get("/a", MediaType.WILDCARD_TYPE, new MultivaluedMapImpl<String, String>());
+      Assert.assertNotNull(entry);
+      Assert.assertTrue(Arrays.equals(body, entry.getCached()));
+      Assert.assertTrue(Arrays.equals(body, write(entry)));
+      Assert.assertEquals(300, cache.getUsedBytes());
+      Assert.assertNull(cache.get("/a", MediaType.TEXT_HTML_TYPE, new MultivaluedMapImpl<String, String>()));
+      Assert.assertEquals(1, cache.getHitCount());
+      Assert.assertEquals(1, cache.getMissCount());
+
+      cache.remove("/a");
+      Assert.assertNull(cache.get("/a", MediaType.WILDCARD_TYPE, new MultivaluedMapImpl<String, String>()));
+      Assert.assertEquals(0, cache.getUsedBytes());
+   }
+
+   @Test
+   public void testVary() throws Exception
+   {
+      OffHeapServerCache cache = new OffHeapServerCache(1024, 100, null);
+      MultivaluedMap<String, String> english = new MultivaluedMapImpl<String, String>();
+      english.add("Accept-Language", "en");
+      MultivaluedMap<String, String> french = new MultivaluedMapImpl<String, String>();
+      french.add("Accept-Language", "fr");
+      add(cache, "/a", MediaType.TEXT_PLAIN_TYPE, body(10, 1), english);
+      add(cache, "/a", MediaType.TEXT_PLAIN_TYPE, body(10, 2), french);
+
+      Assert.assertTrue(Arrays.equals(body(10, 2), cache.get("/a", MediaType.TEXT_PLAIN_TYPE, french).getCached()));
+      Assert.assertTrue(Arrays.equals(body(10, 1), cache.get("/a", MediaType.TEXT_PLAIN_TYPE, english).getCached()));
+      Assert.assertNull(cache.get("/a", MediaType.TEXT_PLAIN_TYPE, new MultivaluedMapImpl<String, String>()));
+   }
+
+   @Test
+   public void testEviction() throws Exception
+   {
+      OffHeapServerCache cache = new OffHeapServerCache(300, 100, null);
+      add(cache, "/a", MediaType.TEXT_PLAIN_TYPE, body(200, 0), new MultivaluedMapImpl<String, String>());
+      ServerCache.Entry b = add(cache, "/b", MediaType.TEXT_PLAIN_TYPE, body(100, 1), new MultivaluedMapImpl<String, String>());
+
+      // evicts /a then /b while /b is written, its chunks are kept until the response is written
+      ByteArrayOutputStream out = new ByteArrayOutputStream()
+      {
+         @Override
+         public synchronized void write(byte[] b, int off, int len)
+         {
+            if (size() == 0)
+            {
+               Assert.assertNull(add(cache, "/c", MediaType.TEXT_PLAIN_TYPE, body(300, 2), new MultivaluedMapImpl<String, String>()));
+               Assert.assertNull(cache.get("/a", MediaType.TEXT_PLAIN_TYPE, new MultivaluedMapImpl<String, String>()));
+               Assert.assertNull(cache.get("/b", MediaType.TEXT_PLAIN_TYPE, new MultivaluedMapImpl<String, String>()));
+               Assert.assertEquals(2, cache.getEvictionCount());
+               Assert.assertEquals(100, cache.getUsedBytes());
+            }
+            super.write(b, off, len);
+         }
+      };
+      ((StreamingOutput) b.getEntity()).write(out);
+      Assert.assertTrue(Arrays.equals(body(100, 1), out.toByteArray()));
+      Assert.assertEquals(0, cache.getUsedBytes());
+      Assert.assertNull("Evicted entry served", b.getEntity());
+
+      Assert.assertNotNull(add(cache, "/c", MediaType.TEXT_PLAIN_TYPE, body(300, 2), new MultivaluedMapImpl<String, String>()));
+      Assert.assertNull("Larger than the cache", add(cache, "/d", MediaType.TEXT_PLAIN_TYPE, body(301, 3), new MultivaluedMapImpl<String, String>()));
+   }
+
+   @Test
+   public void testUnwrittenEntity() throws Exception
+   {
+      OffHeapServerCache cache = new OffHeapServerCache(300, 100, null);
+      ServerCache.Entry a = add(cache, "/a", MediaType.TEXT_PLAIN_TYPE, body(100, 0), new MultivaluedMapImpl<String, String>());
+      StreamingOutput unwritten = (StreamingOutput) a.getEntity();
+      Assert.assertNotNull(unwritten);
+
+      // a response that is never written, e.g. a mapped exception, does not keep the chunks
+      cache.remove("/a");
+      Assert.assertEquals(0, cache.getUsedBytes());
+      try
+      {
+         unwritten.write(new ByteArrayOutputStream());
+         Assert.fail("Evicted entry written");
+      }
+      catch (IOException expected)
+      {
+      }
+   }
+
+   @Test
+   public void testEvictionOrderIsUnlinked() throws Exception
+   {
+      OrderedCache cache = new OrderedCache();
+      for (int i = 0; i < 100; i++)
+      {
+         // replaced, removed and cleared entries leave the eviction order
+         add(cache, "/a", MediaType.TEXT_PLAIN_TYPE, body(100, i), new MultivaluedMapImpl<String, String>());
+         add(cache, "/b", MediaType.TEXT_PLAIN_TYPE, body(100, i), new MultivaluedMapImpl<String, String>());
+         cache.remove("/b");
+         add(cache, "/c", MediaType.TEXT_PLAIN_TYPE, body(100, i), new MultivaluedMapImpl<String, String>());
+         Assert.assertEquals(2, cache.ordered());
+         cache.clear();
+         Assert.assertEquals(0, cache.ordered());
+      }
+      Assert.assertEquals(0, cache.getEvictionCount());
+      Assert.assertEquals(0, cache.getUsedBytes());
+   }
+}
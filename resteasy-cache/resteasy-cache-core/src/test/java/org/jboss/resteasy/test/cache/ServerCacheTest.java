@@ -6,22 +6,33 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import javax.annotation.Priority;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.HeaderParam;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
+import javax.ws.rs.Priorities;
 import javax.ws.rs.Produces;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.Invocation.Builder;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.core.CacheControl;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
 import org.jboss.resteasy.annotations.cache.Cache;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
 import org.jboss.resteasy.plugins.cache.server.ServerCacheFeature;
 import org.jboss.resteasy.plugins.server.netty.NettyJaxrsServer;
 import org.jboss.resteasy.spi.Registry;
@@ -45,6 +56,13 @@ public class ServerCacheTest
    private static int count = 0;
    private static int plainCount = 0;
    private static int htmlCount = 0;
+   private static final AtomicInteger staleCount = new AtomicInteger();
+   private static final AtomicInteger flightCount = new AtomicInteger();
+   // the slow invocations of the stale and flight resources signal when they started and wait to be released
+   private static volatile CountDownLatch started;
+   private static volatile CountDownLatch release;
+   // concurrent requests to the flight resources signal when they reached the cache
+   private static volatile CountDownLatch arrived;
    private static Client client;
 
 
@@ -56,7 +74,9 @@ public class ServerCacheTest
       server.setRootResourcePath("/");
       server.start();
       deployment = server.getDeployment();
-      client = ClientBuilder.newClient();
+      deployment.getProviderFactory().property("server.request.cache.single.flight.timeout", 60000);
+      deployment.getProviderFactory().register(ArrivalFilter.class);
+      client = ((ResteasyClientBuilder) ClientBuilder.newBuilder()).connectionPoolSize(10).build();
    }
 
    @AfterClass
@@ -162,6 +182,73 @@ public class ServerCacheTest
          count++;
          return Response.ok(testVary).header(HttpHeaders.VARY, "X-Test-Vary").header("X-Count", count).build();
       }
+
+      @GET
+      @Produces("text/plain")
+      @Path("stale")
+      public Response getStale() throws InterruptedException
+      {
+         int count = staleCount.incrementAndGet();
+         CacheControl cc = new CacheControl();
+         // the first response is stale at once, the revalidated one stays fresh
+         cc.setMaxAge(count == 1 ? 0 : 60);
+         cc.getCacheExtension().put("stale-while-revalidate", "10");
+         if (count > 1) await();
+         return Response.ok("stale" + count).cacheControl(cc).build();
+      }
+
+      @GET
+      @Produces("text/plain")
+      @Path("flight")
+      @Cache(maxAge = 60)
+      public String getFlight() throws InterruptedException
+      {
+         int count = flightCount.incrementAndGet();
+         await();
+         return "flight" + count;
+      }
+
+      @GET
+      @Produces("text/plain")
+      @Path("flight/fail")
+      @Cache(maxAge = 60)
+      public String getFlightFailure() throws InterruptedException
+      {
+         int count = flightCount.incrementAndGet();
+         if (count == 1)
+         {
+            await();
+            throw new IllegalStateException("not mapped");
+         }
+         return "flight" + count;
+      }
+
+      @GET
+      @Produces("text/plain")
+      @Path("flight/vary")
+      @Cache(maxAge = 60)
+      public Response getFlightVary(@HeaderParam("X-Test-Vary") String testVary) throws InterruptedException
+      {
+         flightCount.incrementAndGet();
+         if ("slow".equals(testVary)) await();
+         return Response.ok("flight" + testVary).header(HttpHeaders.VARY, "X-Test-Vary").build();
+      }
+
+      private static void await() throws InterruptedException
+      {
+         started.countDown();
+         release.await(10, TimeUnit.SECONDS);
+      }
+   }
+
+   @Priority(Priorities.USER - 1)
+   public static class ArrivalFilter implements ContainerRequestFilter
+   {
+      @Override
+      public void filter(ContainerRequestContext requestContext)
+      {
+         if (requestContext.getUriInfo().getPath().contains("flight") && arrived != null) arrived.countDown();
+      }
    }
 
    @Path("/cache")
@@ -451,6 +538,139 @@ public class ServerCacheTest
       }
    }
 
+   @Test
+   public void testStaleWhileRevalidate() throws Exception
+   {
+      staleCount.set(0);
+      started = new CountDownLatch(1);
+      release = new CountDownLatch(1);
+      Assert.assertEquals("stale1", client.target(generateURL("/cache/stale")).request().get(String.class));
+
+      CompletableFuture<String> revalidation = CompletableFuture.supplyAsync(
+            () -> client.target(generateURL("/cache/stale")).request().get(String.class));
+      Assert.assertTrue("Revalidation not started", started.await(10, TimeUnit.SECONDS));
+      {
+         // served stale while the first request revalidates
+         Response response = client.target(generateURL("/cache/stale")).request().get();
+         Assert.assertEquals(200, response.getStatus());
+         Assert.assertNotNull(response.getHeaderString("Warning"));
+         Assert.assertEquals("stale1", response.readEntity(String.class));
+      }
+      release.countDown();
+      Assert.assertEquals("stale2", revalidation.get(10, TimeUnit.SECONDS));
+      Assert.assertEquals("stale2", client.target(generateURL("/cache/stale")).request().get(String.class));
+      Assert.assertEquals(2, staleCount.get());
+   }
+
+   private static CompletableFuture<Response> getAsync(String path)
+   {
+      return CompletableFuture.supplyAsync(() -> client.target(generateURL(path)).request().get());
+   }
+
+   /**
+    * Concurrent misses wait for the leading request to populate the cache instead of running the resource method.
+    */
+   @Test
+   public void testSingleFlight() throws Exception
+   {
+      flightCount.set(0);
+      started = new CountDownLatch(1);
+      release = new CountDownLatch(1);
+      arrived = new CountDownLatch(4);
+      try
+      {
+         CompletableFuture<Response> leader = getAsync("/cache/flight");
+         Assert.assertTrue("Leading request not started", started.await(10, TimeUnit.SECONDS));
+         CompletableFuture<Response> first = getAsync("/cache/flight");
+         CompletableFuture<Response> second = getAsync("/cache/flight");
+         CompletableFuture<Response> third = getAsync("/cache/flight");
+         Assert.assertTrue("Concurrent requests not received", arrived.await(10, TimeUnit.SECONDS));
+         release.countDown();
+
+         for (CompletableFuture<Response> request : Arrays.asList(leader, first, second, third))
+         {
+            Response response = request.get(10, TimeUnit.SECONDS);
+            Assert.assertEquals(200, response.getStatus());
+            Assert.assertEquals("flight1", response.readEntity(String.class));
+         }
+         Assert.assertEquals("Resource method ran more than once", 1, flightCount.get());
+      }
+      finally
+      {
+         arrived = null;
+      }
+   }
+
+   /**
+    * Concurrent misses stop waiting as soon as the leading request fails with an unmapped exception, instead of
+    * waiting for the single flight timeout.
+    */
+   @Test
+   public void testSingleFlightFailure() throws Exception
+   {
+      flightCount.set(0);
+      started = new CountDownLatch(1);
+      release = new CountDownLatch(1);
+      arrived = new CountDownLatch(2);
+      try
+      {
+         CompletableFuture<Response> leader = getAsync("/cache/flight/fail");
+         Assert.assertTrue("Leading request not started", started.await(10, TimeUnit.SECONDS));
+         CompletableFuture<Response> waiting = getAsync("/cache/flight/fail");
+         Assert.assertTrue("Concurrent request not received", arrived.await(10, TimeUnit.SECONDS));
+         release.countDown();
+
+         Assert.assertEquals(500, leader.get(10, TimeUnit.SECONDS).getStatus());
+         Response response = waiting.get(10, TimeUnit.SECONDS);
+         Assert.assertEquals(200, response.getStatus());
+         Assert.assertEquals("flight2", response.readEntity(String.class));
+         Assert.assertEquals(2, flightCount.get());
+      }
+      finally
+      {
+         arrived = null;
+      }
+   }
+
+   private static CompletableFuture<Response> getAsync(String path, String testVary)
+   {
+      return CompletableFuture.supplyAsync(() -> client.target(generateURL(path)).request().header("X-Test-Vary", testVary).get());
+   }
+
+   /**
+    * Concurrent misses only wait for the leading request with the same values of the Vary headers of the URI.
+    */
+   @Test
+   public void testSingleFlightVary() throws Exception
+   {
+      flightCount.set(0);
+      started = new CountDownLatch(1);
+      release = new CountDownLatch(1);
+      try
+      {
+         // learn the Vary headers of the URI
+         Assert.assertEquals("flightwarm", getAsync("/cache/flight/vary", "warm").get(10, TimeUnit.SECONDS).readEntity(String.class));
+         CompletableFuture<Response> leader = getAsync("/cache/flight/vary", "slow");
+         Assert.assertTrue("Leading request not started", started.await(10, TimeUnit.SECONDS));
+
+         // not waiting for the leading request
+         Response other = getAsync("/cache/flight/vary", "fast").get(10, TimeUnit.SECONDS);
+         Assert.assertEquals("flightfast", other.readEntity(String.class));
+         Assert.assertFalse(leader.isDone());
+
+         CompletableFuture<Response> waiting = getAsync("/cache/flight/vary", "slow");
+         Thread.sleep(200);
+         release.countDown();
+         Assert.assertEquals("flightslow", leader.get(10, TimeUnit.SECONDS).readEntity(String.class));
+         Assert.assertEquals("flightslow", waiting.get(10, TimeUnit.SECONDS).readEntity(String.class));
+         Assert.assertEquals("Resource method ran more than once per Vary header value", 3, flightCount.get());
+      }
+      finally
+      {
+         release.countDown();
+      }
+   }
+
    @Test
    public void testProxy() throws Exception
    {
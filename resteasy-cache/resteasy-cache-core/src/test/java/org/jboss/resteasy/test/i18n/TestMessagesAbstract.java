@@ -32,6 +32,7 @@ public abstract class TestMessagesAbstract extends TestMessagesParent
       }
 
       Assert.assertEquals(getExpected(BASE + "00", "needToSpecifyCacheName"), Messages.MESSAGES.needToSpecifyCacheName());
+      Assert.assertEquals(getExpected(BASE + "05", "cacheEntryEvicted"), Messages.MESSAGES.cacheEntryEvicted());
    }
 
    @Override
@@ -7,6 +7,11 @@ import javax.ws.rs.core.MediaType;
 
 public abstract class ProxyBuilder<T>
 {
+   /**
+    * Client or WebTarget property: when true, proxies are instances of a class generated for their interface,
+    * calling the invoker of each method directly, instead of {@link java.lang.reflect.Proxy}.  Requires Javassist.
+    */
+   public static final String GENERATED_PROXY = "resteasy.client.proxy.generated";
 
    @SuppressWarnings({"rawtypes", "unchecked"})
    public static <T> ProxyBuilder<T> builder(Class<T> iface, WebTarget webTarget)
@@ -23,4 +23,8 @@ public interface LogMessages extends BasicLogger
    @LogMessage(level = Level.DEBUG)
    @Message(id = Messages.BASE + 171, value = "Ignoring exception thrown within InvocationCallback")
    void exceptionIgnored(@Cause Throwable ex);
+
+   @LogMessage(level = Level.DEBUG)
+   @Message(id = Messages.BASE + 172, value = "Could not generate a proxy class for %s, using java.lang.reflect.Proxy")
+   void cannotGenerateProxyClass(String iface, @Cause Throwable ex);
 }
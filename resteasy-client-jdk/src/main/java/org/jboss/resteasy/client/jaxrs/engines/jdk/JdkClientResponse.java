@@ -0,0 +1,57 @@
+package org.jboss.resteasy.client.jaxrs.engines.jdk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+import org.jboss.resteasy.client.jaxrs.internal.ClientConfiguration;
+import org.jboss.resteasy.client.jaxrs.internal.ClientResponse;
+import org.jboss.resteasy.tracing.RESTEasyTracingLogger;
+
+class JdkClientResponse extends ClientResponse
+{
+   private final InputStream body;
+   private InputStream stream;
+
+   JdkClientResponse(final ClientConfiguration configuration, final RESTEasyTracingLogger tracingLogger,
+                     final Map<String, Object> properties, final InputStream body)
+   {
+      super(configuration, tracingLogger);
+      setProperties(properties);
+      this.body = body;
+      this.stream = body;
+   }
+
+   @Override
+   protected InputStream getInputStream()
+   {
+      return stream;
+   }
+
+   @Override
+   protected void setInputStream(InputStream is)
+   {
+      stream = is;
+      resetEntity();
+   }
+
+   @Override
+   public void releaseConnection() throws IOException
+   {
+      releaseConnection(false);
+   }
+
+   @Override
+   public void releaseConnection(boolean consumeInputStream) throws IOException
+   {
+      if (consumeInputStream)
+      {
+         byte[] buffer = new byte[4096];
+         while (body.read(buffer) != -1)
+         {
+         }
+      }
+      // closing the body of an HTTP/2 response resets its stream, the connection is kept
+      body.close();
+   }
+}
@@ -0,0 +1,415 @@
+package org.jboss.resteasy.client.jaxrs.engines.jdk;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+
+import org.jboss.resteasy.client.jaxrs.engines.AsyncClientHttpEngine;
+import org.jboss.resteasy.client.jaxrs.internal.ClientInvocation;
+import org.jboss.resteasy.client.jaxrs.internal.ClientResponse;
+import org.jboss.resteasy.util.CaseInsensitiveMap;
+
+/**
+ * AsyncClientHttpEngine using the {@link HttpClient} of the JDK.
+ * <p>
+ * Some words of caution:
+ * <ul>
+ * <li>Requests are sent with HTTP/2 whenever the server supports it, negotiated with ALPN over TLS or by upgrading the
+ * first HTTP/1.1 request in clear text. Concurrent requests to the same server are then multiplexed over a single
+ * connection, there is no connection pool to size.</li>
+ * <li>Request-Entities up to {@link #setRequestBufferSize(int) the request buffer size} are buffered in memory and sent
+ * with a Content-Length. Larger ones are sent while they are written, the invoking thread blocking whenever the buffer
+ * is full, so headers changed by the writers after the first buffer are not sent.</li>
+ * <li>Response-Entities are buffered in memory when the response is buffered, otherwise they are read as they are
+ * received and the result is extracted by a thread of the executor of the HttpClient. A bounded executor must have
+ * a thread for each concurrent unbuffered request.</li>
+ * <li>Headers managed by the HttpClient (Connection, Content-Length, Expect, Host, Upgrade) are not sent, nor are the
+ * ones the running JDK restricts.</li>
+ * <li>The HttpClient verifies host names itself, a {@link HostnameVerifier} is not supported.</li>
+ * </ul>
+ *
+ * @see JdkHttpClientEngineBuilder
+ */
+public class JdkHttpClientEngine implements AsyncClientHttpEngine
+{
+   private static final Set<String> MANAGED_HEADERS = new HashSet<String>(
+         Arrays.asList("connection", "content-length", "expect", "host", "upgrade"));
+
+   protected final HttpClient client;
+   protected final boolean closeHttpClient;
+   protected Duration readTimeout;
+   protected int requestBufferSize = 64 * 1024;
+
+   public JdkHttpClientEngine()
+   {
+      this(HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build(), true);
+   }
+
+   public JdkHttpClientEngine(final HttpClient client)
+   {
+      this(client, false);
+   }
+
+   public JdkHttpClientEngine(final HttpClient client, final boolean closeHttpClient)
+   {
+      this.client = client;
+      this.closeHttpClient = closeHttpClient;
+   }
+
+   public HttpClient getClient()
+   {
+      return client;
+   }
+
+   public Duration getReadTimeout()
+   {
+      return readTimeout;
+   }
+
+   /**
+    * @param readTimeout time to wait for the response headers once the request is sent, none if null
+    */
+   public void setReadTimeout(Duration readTimeout)
+   {
+      this.readTimeout = readTimeout;
+   }
+
+   public int getRequestBufferSize()
+   {
+      return requestBufferSize;
+   }
+
+   /**
+    * Request entities larger than this size are streamed, through a buffer of this size.
+    *
+    * @param requestBufferSize size in bytes, 64KB by default
+    */
+   public void setRequestBufferSize(int requestBufferSize)
+   {
+      this.requestBufferSize = requestBufferSize;
+   }
+
+   @Override
+   public SSLContext getSslContext()
+   {
+      return client.sslContext();
+   }
+
+   @Override
+   public HostnameVerifier getHostnameVerifier()
+   {
+      return null;
+   }
+
+   @Override
+   public Response invoke(Invocation request)
+   {
+      Future<ClientResponse> future = submit((ClientInvocation) request, false, null, null);
+      try
+      {
+         return future.get();
+      }
+      catch (InterruptedException e)
+      {
+         future.cancel(true);
+         Thread.currentThread().interrupt();
+         throw clientException(e);
+      }
+      catch (ExecutionException e)
+      {
+         throw clientException(e.getCause());
+      }
+   }
+
+   /**
+    * When the extractor is null, <code>T</code> must be {@link ClientResponse}.
+    */
+   @Override
+   public <T> Future<T> submit(ClientInvocation request, boolean buffered, InvocationCallback<T> callback,
+                               ResultExtractor<T> extractor)
+   {
+      // when buffered, the whole body is received before the result is extracted
+      CompletableFuture<?> sent;
+      CompletableFuture<T> stage;
+      if (buffered)
+      {
+         CompletableFuture<HttpResponse<byte[]>> response = send(request, BodyHandlers.ofByteArray());
+         sent = response;
+         stage = response.thenApply(r ->
+               extractResult(request, r, new ByteArrayInputStream(r.body()), extractor));
+      }
+      else
+      {
+         CompletableFuture<HttpResponse<InputStream>> response = send(request, BodyHandlers.ofInputStream());
+         sent = response;
+         stage = response.thenApply(r -> extractResult(request, r, r.body(), extractor));
+      }
+
+      CompletableFuture<T> future = new CompletableFuture<T>()
+      {
+         @Override
+         public boolean cancel(boolean mayInterruptIfRunning)
+         {
+            // cancelling the dependent stage would not reach the exchange
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            sent.cancel(mayInterruptIfRunning);
+            return cancelled;
+         }
+      };
+      stage.whenComplete((result, failure) -> {
+         if (failure == null)
+         {
+            future.complete(result);
+            if (callback != null) callback.completed(result);
+         }
+         else
+         {
+            RuntimeException e = clientException(failure instanceof CompletionException ? failure.getCause() : failure);
+            future.completeExceptionally(e);
+            if (callback != null) callback.failed(e);
+         }
+      });
+      return future;
+   }
+
+   @Override
+   public void close()
+   {
+      // an HttpClient only holds resources to release from Java 21 on, otherwise they are released once unreachable
+      if (closeHttpClient && client instanceof AutoCloseable)
+      {
+         try
+         {
+            ((AutoCloseable) client).close();
+         }
+         catch (Exception e)
+         {
+            throw new RuntimeException(e);
+         }
+      }
+   }
+
+   /**
+    * Writes the request body and sends the request, once the body is written or as soon as it exceeds the request
+    * buffer size.
+    */
+   protected <B> CompletableFuture<HttpResponse<B>> send(ClientInvocation request, BodyHandler<B> handler)
+   {
+      HttpRequest.Builder builder = HttpRequest.newBuilder(request.getUri());
+      if (readTimeout != null) builder.timeout(readTimeout);
+      if (request.getEntity() == null)
+      {
+         commitHeaders(request, builder);
+         builder.method(request.getMethod(), HttpRequest.BodyPublishers.noBody());
+         return client.sendAsync(builder.build(), handler);
+      }
+      RequestBodyStream<B> body = new RequestBodyStream<B>(request, builder, handler);
+      request.getDelegatingOutputStream().setDelegate(body);
+      try
+      {
+         request.writeRequestBody(request.getEntityStream());
+         body.close();
+      }
+      catch (IOException | RuntimeException e)
+      {
+         // once sent, the request fails with the exception unless the server already responded
+         body.abort(e);
+      }
+      return body.future;
+   }
+
+   @SuppressWarnings("unchecked")
+   private static <T, B> T extractResult(ClientInvocation request, HttpResponse<B> response, InputStream body,
+                                         ResultExtractor<T> extractor)
+   {
+      ClientResponse clientResponse = new JdkClientResponse(request.getClientConfiguration(),
+            request.getTracingLogger(), request.getMutableProperties(), body);
+      clientResponse.setStatus(response.statusCode());
+      CaseInsensitiveMap<String> headers = new CaseInsensitiveMap<String>();
+      for (Map.Entry<String, List<String>> header : response.headers().map().entrySet())
+      {
+         for (String value : header.getValue())
+         {
+            headers.add(header.getKey(), value);
+         }
+      }
+      clientResponse.setHeaders(headers);
+      return extractor != null ? extractor.extractResult(clientResponse) : (T) clientResponse;
+   }
+
+   private static void commitHeaders(ClientInvocation request, HttpRequest.Builder builder)
+   {
+      MultivaluedMap<String, String> headers = request.getHeaders().asMap();
+      for (Map.Entry<String, List<String>> header : headers.entrySet())
+      {
+         if (MANAGED_HEADERS.contains(header.getKey().toLowerCase())) continue;
+         for (String value : header.getValue())
+         {
+            try
+            {
+               builder.header(header.getKey(), value);
+            }
+            catch (IllegalArgumentException e)
+            {
+               // restricted by this JDK
+               break;
+            }
+         }
+      }
+   }
+
+   private static RuntimeException clientException(Throwable ex)
+   {
+      if (ex == null)
+      {
+         return new ProcessingException(new NullPointerException());
+      }
+      else if (ex instanceof WebApplicationException)
+      {
+         return (WebApplicationException) ex;
+      }
+      else if (ex instanceof ProcessingException)
+      {
+         return (ProcessingException) ex;
+      }
+      return new ProcessingException(ex);
+   }
+
+   /**
+    * Request body buffered in memory until it exceeds the buffer size, the request is then sent with a
+    * {@link RequestBodyPublisher} fed with the rest of the body.
+    */
+   private class RequestBodyStream<B> extends OutputStream
+   {
+      private final ClientInvocation request;
+      private final HttpRequest.Builder builder;
+      private final BodyHandler<B> handler;
+      private ByteArrayOutputStream head = new ByteArrayOutputStream();
+      private RequestBodyPublisher publisher;
+      private boolean closed;
+      private CompletableFuture<HttpResponse<B>> sent;
+      private CompletableFuture<HttpResponse<B>> future;
+
+      RequestBodyStream(final ClientInvocation request, final HttpRequest.Builder builder,
+                        final BodyHandler<B> handler)
+      {
+         this.request = request;
+         this.builder = builder;
+         this.handler = handler;
+      }
+
+      @Override
+      public void write(int b) throws IOException
+      {
+         write(new byte[]{(byte) b}, 0, 1);
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException
+      {
+         if (publisher == null)
+         {
+            if (head.size() + len <= requestBufferSize)
+            {
+               head.write(b, off, len);
+               return;
+            }
+            start();
+         }
+         publisher.write(b, off, len);
+      }
+
+      @Override
+      public void close()
+      {
+         if (closed) return;
+         closed = true;
+         if (publisher == null)
+         {
+            commitHeaders(request, builder);
+            builder.method(request.getMethod(), HttpRequest.BodyPublishers.ofByteArray(head.toByteArray()));
+            head = null;
+            future = client.sendAsync(builder.build(), handler);
+         }
+         else
+         {
+            publisher.complete();
+         }
+      }
+
+      void abort(Exception e)
+      {
+         if (publisher == null)
+         {
+            future = CompletableFuture.failedFuture(e);
+         }
+         else
+         {
+            // the exchange may not consume the failed body before the server answers, so the request fails
+            // right away unless it is already answered
+            publisher.fail(e);
+            if (future.completeExceptionally(e)) sent.cancel(true);
+         }
+      }
+
+      private void start() throws IOException
+      {
+         // writers may change headers, they are committed once the buffer is full
+         publisher = new RequestBodyPublisher(requestBufferSize);
+         commitHeaders(request, builder);
+         builder.method(request.getMethod(), publisher);
+         sent = client.sendAsync(builder.build(), handler);
+         future = new CompletableFuture<HttpResponse<B>>()
+         {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning)
+            {
+               boolean cancelled = super.cancel(mayInterruptIfRunning);
+               sent.cancel(mayInterruptIfRunning);
+               return cancelled;
+            }
+         };
+         sent.whenComplete((response, failure) -> {
+            // unblocks the writer if the request fails or is answered before the body is sent
+            publisher.cancel();
+            if (failure == null)
+            {
+               future.complete(response);
+            }
+            else
+            {
+               future.completeExceptionally(failure);
+            }
+         });
+         byte[] buffered = head.toByteArray();
+         head = null;
+         publisher.write(buffered, 0, buffered.length);
+      }
+   }
+}
@@ -0,0 +1,123 @@
+package org.jboss.resteasy.client.jaxrs.engines.jdk;
+
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+
+import org.jboss.resteasy.client.jaxrs.ClientHttpEngine;
+import org.jboss.resteasy.client.jaxrs.ClientHttpEngineBuilder;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.jboss.resteasy.client.jaxrs.engines.PassthroughTrustManager;
+import org.jboss.resteasy.client.jaxrs.internal.ResteasyClientBuilderImpl;
+
+/**
+ * Builds a {@link JdkHttpClientEngine} configured like a {@link ResteasyClientBuilder}:
+ * <pre>
+ * ResteasyClientBuilder builder = (ResteasyClientBuilder) ClientBuilder.newBuilder();
+ * builder.connectTimeout(2, TimeUnit.SECONDS).readTimeout(10, TimeUnit.SECONDS);
+ * Client client = builder.httpEngine(new JdkHttpClientEngineBuilder().resteasyClientBuilder(builder).build()).build();
+ * </pre>
+ * The connect and read timeouts, the SSL context, key and trust stores, the default proxy and the executor are used.
+ * The connection pool settings do not apply to multiplexed connections.  SNI host names and the hostname verification
+ * policy are not supported: the HttpClient verifies host names itself, even when the trust manager is disabled.
+ */
+public class JdkHttpClientEngineBuilder implements ClientHttpEngineBuilder
+{
+   private ResteasyClientBuilder that;
+
+   @Override
+   public ClientHttpEngineBuilder resteasyClientBuilder(ResteasyClientBuilder resteasyClientBuilder)
+   {
+      that = resteasyClientBuilder;
+      return this;
+   }
+
+   @Override
+   public ClientHttpEngine build()
+   {
+      HttpClient.Builder builder = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2);
+      long connectTimeout = that.getConnectionTimeout(TimeUnit.MILLISECONDS);
+      if (connectTimeout > 0)
+      {
+         builder.connectTimeout(Duration.ofMillis(connectTimeout));
+      }
+      SSLContext sslContext = createSslContext();
+      if (sslContext != null)
+      {
+         builder.sslContext(sslContext);
+      }
+      if (that.getDefaultProxyHostname() != null)
+      {
+         int port = that.getDefaultProxyPort();
+         if (port < 0) port = "https".equals(that.getDefaultProxyScheme()) ? 443 : 80;
+         builder.proxy(ProxySelector.of(new InetSocketAddress(that.getDefaultProxyHostname(), port)));
+      }
+      if (that instanceof ResteasyClientBuilderImpl)
+      {
+         ExecutorService executor = ((ResteasyClientBuilderImpl) that).getAsyncExecutor();
+         if (executor != null) builder.executor(executor);
+      }
+
+      JdkHttpClientEngine engine = new JdkHttpClientEngine(builder.build(), true);
+      long readTimeout = that.getReadTimeout(TimeUnit.MILLISECONDS);
+      if (readTimeout > 0)
+      {
+         engine.setReadTimeout(Duration.ofMillis(readTimeout));
+      }
+      return engine;
+   }
+
+   private SSLContext createSslContext()
+   {
+      try
+      {
+         if (that.isTrustManagerDisabled())
+         {
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, new TrustManager[]{new PassthroughTrustManager()}, new SecureRandom());
+            return context;
+         }
+         if (that.getSSLContext() != null)
+         {
+            return that.getSSLContext();
+         }
+         if (that.getKeyStore() == null && that.getTrustStore() == null)
+         {
+            return null;
+         }
+         KeyManager[] keyManagers = null;
+         if (that.getKeyStore() != null)
+         {
+            KeyManagerFactory factory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            factory.init(that.getKeyStore(),
+                  that.getKeyStorePassword() != null ? that.getKeyStorePassword().toCharArray() : null);
+            keyManagers = factory.getKeyManagers();
+         }
+         TrustManager[] trustManagers = null;
+         if (that.getTrustStore() != null)
+         {
+            TrustManagerFactory factory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            factory.init(that.getTrustStore());
+            trustManagers = factory.getTrustManagers();
+         }
+         SSLContext context = SSLContext.getInstance("TLS");
+         context.init(keyManagers, trustManagers, null);
+         return context;
+      }
+      catch (GeneralSecurityException e)
+      {
+         throw new RuntimeException(e);
+      }
+   }
+}
@@ -0,0 +1,213 @@
+package org.jboss.resteasy.client.jaxrs.engines.jdk;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.Flow;
+
+/**
+ * Request body of unknown length published to the {@link java.net.http.HttpClient} as it is written.
+ * <p>
+ * The chunks are queued by the thread writing the body, which blocks while more than <code>bufferSize</code> bytes
+ * are waiting to be sent, and handed to the subscriber as it requests them.  The body can only be published once.
+ */
+class RequestBodyPublisher implements HttpRequest.BodyPublisher
+{
+   private final int bufferSize;
+   // guarded by this
+   private final Deque<ByteBuffer> chunks = new ArrayDeque<ByteBuffer>();
+   private int buffered;
+   private long demand;
+   private boolean completed;
+   private Throwable failure;
+   private boolean cancelled;
+   private boolean done;
+   private boolean draining;
+   private Flow.Subscriber<? super ByteBuffer> subscriber;
+
+   RequestBodyPublisher(final int bufferSize)
+   {
+      this.bufferSize = bufferSize;
+   }
+
+   @Override
+   public long contentLength()
+   {
+      return -1;
+   }
+
+   @Override
+   public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber)
+   {
+      synchronized (this)
+      {
+         if (this.subscriber != null)
+         {
+            // resent by the client, e.g. after a redirect
+            subscriber.onSubscribe(new Flow.Subscription()
+            {
+               @Override
+               public void request(long n)
+               {
+               }
+
+               @Override
+               public void cancel()
+               {
+               }
+            });
+            subscriber.onError(new IOException("request body can not be sent twice"));
+            return;
+         }
+         this.subscriber = subscriber;
+      }
+      subscriber.onSubscribe(new Flow.Subscription()
+      {
+         @Override
+         public void request(long n)
+         {
+            synchronized (RequestBodyPublisher.this)
+            {
+               if (n <= 0)
+               {
+                  failure = new IllegalArgumentException("non-positive request: " + n);
+               }
+               else
+               {
+                  demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+               }
+            }
+            drain();
+         }
+
+         @Override
+         public void cancel()
+         {
+            RequestBodyPublisher.this.cancel();
+         }
+      });
+      drain();
+   }
+
+   /**
+    * Queues a copy of the bytes, blocking while the buffer is full.
+    */
+   void write(byte[] b, int off, int len) throws IOException
+   {
+      while (len > 0)
+      {
+         int n;
+         synchronized (this)
+         {
+            while (buffered >= bufferSize && !cancelled)
+            {
+               try
+               {
+                  wait();
+               }
+               catch (InterruptedException e)
+               {
+                  Thread.currentThread().interrupt();
+                  throw new InterruptedIOException();
+               }
+            }
+            // the request failed or was completed without the rest of the body
+            if (cancelled) throw new IOException("request body was cancelled");
+            n = Math.min(len, bufferSize - buffered);
+            chunks.add(ByteBuffer.wrap(Arrays.copyOfRange(b, off, off + n)));
+            buffered += n;
+         }
+         // the subscriber may be waiting for this chunk
+         drain();
+         off += n;
+         len -= n;
+      }
+   }
+
+   void complete()
+   {
+      synchronized (this)
+      {
+         completed = true;
+      }
+      drain();
+   }
+
+   /**
+    * Fails the request with the exception, instead of sending the rest of the body.
+    */
+   void fail(Throwable t)
+   {
+      synchronized (this)
+      {
+         if (failure == null) failure = t;
+      }
+      drain();
+   }
+
+   /**
+    * Discards the rest of the body once the request is completed or failed, the writer fails if it is not done.
+    */
+   synchronized void cancel()
+   {
+      cancelled = true;
+      done = true;
+      chunks.clear();
+      buffered = 0;
+      notifyAll();
+   }
+
+   private void drain()
+   {
+      for (;;)
+      {
+         Flow.Subscriber<? super ByteBuffer> s;
+         ByteBuffer next = null;
+         Throwable error = null;
+         synchronized (this)
+         {
+            if (draining || subscriber == null || done) return;
+            if (failure != null)
+            {
+               error = failure;
+               done = true;
+            }
+            else if (!chunks.isEmpty() && demand > 0)
+            {
+               next = chunks.poll();
+               buffered -= next.remaining();
+               demand--;
+               notifyAll();
+            }
+            else if (chunks.isEmpty() && completed)
+            {
+               done = true;
+            }
+            else
+            {
+               return;
+            }
+            draining = true;
+            s = subscriber;
+         }
+         // signals are not concurrent, nor reentrant when the subscriber requests more from onNext
+         try
+         {
+            if (next != null) s.onNext(next);
+            else if (error != null) s.onError(error);
+            else s.onComplete();
+         }
+         finally
+         {
+            synchronized (this)
+            {
+               draining = false;
+            }
+         }
+      }
+   }
+}
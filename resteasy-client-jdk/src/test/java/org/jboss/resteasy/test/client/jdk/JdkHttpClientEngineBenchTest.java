@@ -0,0 +1,128 @@
+package org.jboss.resteasy.test.client.jdk;
+
+import static org.jboss.resteasy.test.client.jdk.JdkHttpClientEngineTest.freePort;
+import static org.jboss.resteasy.test.client.jdk.JdkHttpClientEngineTest.h2cServer;
+import static org.jboss.resteasy.test.client.jdk.JdkHttpClientEngineTest.uri;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.client.WebTarget;
+
+import io.undertow.Undertow;
+
+import org.jboss.logging.Logger;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.jboss.resteasy.client.jaxrs.engines.jdk.JdkHttpClientEngineBuilder;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Compares the JDK HttpClient engine, multiplexing the requests over an HTTP/2 connection, with the Apache engines
+ * using a connection per concurrent request, against the same local server.
+ */
+@Ignore
+public class JdkHttpClientEngineBenchTest
+{
+   private static final Logger LOG = Logger.getLogger(JdkHttpClientEngineBenchTest.class);
+
+   static final int ITERATIONS = 20000;
+   static final int CONCURRENCY = 200;
+
+   private static Undertow server;
+   private static int port;
+
+   @BeforeClass
+   public static void start() throws Exception
+   {
+      port = freePort();
+      server = h2cServer(port);
+      server.start();
+   }
+
+   @AfterClass
+   public static void stop() throws Exception
+   {
+      server.stop();
+   }
+
+   @Test
+   public void testJdkEngine() throws Exception
+   {
+      ResteasyClientBuilder builder = (ResteasyClientBuilder) ClientBuilder.newBuilder();
+      run("JDK HTTP/2", builder.httpEngine(new JdkHttpClientEngineBuilder().resteasyClientBuilder(builder).build()).build());
+   }
+
+   @Test
+   public void testApacheAsyncEngine() throws Exception
+   {
+      run("Apache async", ((ResteasyClientBuilder) ClientBuilder.newBuilder()).useAsyncHttpEngine()
+            .connectionPoolSize(CONCURRENCY).maxPooledPerRoute(CONCURRENCY).build());
+   }
+
+   @Test
+   public void testApacheEngine() throws Exception
+   {
+      run("Apache blocking", ((ResteasyClientBuilder) ClientBuilder.newBuilder())
+            .connectionPoolSize(CONCURRENCY).maxPooledPerRoute(CONCURRENCY).build());
+   }
+
+   private void run(String name, Client client) throws Exception
+   {
+      try
+      {
+         WebTarget target = client.target(uri(port, "/echo"));
+         // warm up
+         runCallbacks(target, ITERATIONS / 10);
+         long start = System.nanoTime();
+         int failures = runCallbacks(target, ITERATIONS);
+         long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+         LOG.info(name + " - " + ITERATIONS + " requests, " + CONCURRENCY + " concurrent, took " + time + "ms");
+         Assert.assertEquals(0, failures);
+      }
+      finally
+      {
+         client.close();
+      }
+   }
+
+   private int runCallbacks(WebTarget target, int iterations) throws Exception
+   {
+      Semaphore concurrency = new Semaphore(CONCURRENCY);
+      CountDownLatch latch = new CountDownLatch(iterations);
+      AtomicInteger failures = new AtomicInteger();
+      for (int i = 0; i < iterations; i++)
+      {
+         concurrency.acquire();
+         target.request().async().post(Entity.text("hello"), new InvocationCallback<String>()
+         {
+            @Override
+            public void completed(String response)
+            {
+               if (!"hello".equals(response)) failures.incrementAndGet();
+               concurrency.release();
+               latch.countDown();
+            }
+
+            @Override
+            public void failed(Throwable error)
+            {
+               failures.incrementAndGet();
+               concurrency.release();
+               latch.countDown();
+            }
+         });
+      }
+      latch.await();
+      return failures.get();
+   }
+}
@@ -0,0 +1,263 @@
+package org.jboss.resteasy.test.client.jdk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import io.undertow.Undertow;
+import io.undertow.UndertowOptions;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.handlers.BlockingHandler;
+import io.undertow.util.Headers;
+import io.undertow.util.HttpString;
+
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.jboss.resteasy.client.jaxrs.engines.jdk.JdkHttpClientEngineBuilder;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Runs the JDK HttpClient engine against an Undertow server accepting HTTP/2 in clear text.
+ */
+public class JdkHttpClientEngineTest
+{
+   static final HttpString PROTOCOL = new HttpString("X-Protocol");
+
+   private static Undertow server;
+   private static int port;
+   private static Client client;
+
+   @BeforeClass
+   public static void start() throws Exception
+   {
+      port = freePort();
+      server = h2cServer(port);
+      server.start();
+      ResteasyClientBuilder builder = (ResteasyClientBuilder) ClientBuilder.newBuilder();
+      builder.connectTimeout(5, TimeUnit.SECONDS);
+      client = builder.httpEngine(new JdkHttpClientEngineBuilder().resteasyClientBuilder(builder).build()).build();
+   }
+
+   @AfterClass
+   public static void stop() throws Exception
+   {
+      client.close();
+      server.stop();
+   }
+
+   @Test
+   public void testGet() throws Exception
+   {
+      // the first request upgrades the connection
+      client.target(uri(port, "/echo")).request().get().close();
+      Response response = client.target(uri(port, "/echo")).request().header("X-Echo", "hello").get();
+      assertEquals(200, response.getStatus());
+      assertEquals("HTTP/2.0", response.getHeaderString(PROTOCOL.toString()));
+      assertEquals("hello", response.getHeaderString("X-Echo"));
+      response.close();
+   }
+
+   @Test
+   public void testPost() throws Exception
+   {
+      String entity = client.target(uri(port, "/echo")).request()
+            .post(Entity.entity("hello", MediaType.TEXT_PLAIN_TYPE), String.class);
+      assertEquals("hello", entity);
+   }
+
+   @Test
+   public void testLargePost() throws Exception
+   {
+      // larger than the request buffer, sent while it is written
+      byte[] body = new byte[4 * 1024 * 1024];
+      String count = client.target(uri(port, "/count")).request()
+            .post(Entity.entity(body, MediaType.APPLICATION_OCTET_STREAM_TYPE), String.class);
+      assertEquals(String.valueOf(body.length), count);
+   }
+
+   @Test
+   public void testStreamingOutput() throws Exception
+   {
+      StreamingOutput output = new StreamingOutput()
+      {
+         @Override
+         public void write(OutputStream out) throws IOException
+         {
+            byte[] chunk = new byte[1000];
+            for (int i = 0; i < 10000; i++)
+            {
+               out.write(chunk);
+            }
+         }
+      };
+      String count = client.target(uri(port, "/count")).request()
+            .post(Entity.entity(output, MediaType.APPLICATION_OCTET_STREAM_TYPE), String.class);
+      assertEquals("10000000", count);
+   }
+
+   @Test
+   public void testFailingOutput() throws Exception
+   {
+      StreamingOutput output = new StreamingOutput()
+      {
+         @Override
+         public void write(OutputStream out) throws IOException
+         {
+            out.write(new byte[1024 * 1024]);
+            throw new IOException("failed");
+         }
+      };
+      try
+      {
+         client.target(uri(port, "/count")).request()
+               .post(Entity.entity(output, MediaType.APPLICATION_OCTET_STREAM_TYPE), String.class);
+         fail();
+      }
+      catch (ProcessingException e)
+      {
+         // expected
+      }
+      // the connection is still usable
+      assertEquals("5", client.target(uri(port, "/count")).request().post(Entity.text("hello"), String.class));
+   }
+
+   @Test
+   public void testConcurrentRequests() throws Exception
+   {
+      List<Future<String>> futures = new ArrayList<Future<String>>();
+      for (int i = 0; i < 100; i++)
+      {
+         futures.add(client.target(uri(port, "/echo")).request().async()
+               .post(Entity.text(String.valueOf(i)), String.class));
+      }
+      for (int i = 0; i < futures.size(); i++)
+      {
+         assertEquals(String.valueOf(i), futures.get(i).get(10, TimeUnit.SECONDS));
+      }
+   }
+
+   @Test
+   public void testCallback() throws Exception
+   {
+      CountDownLatch latch = new CountDownLatch(1);
+      AtomicReference<String> result = new AtomicReference<String>();
+      client.target(uri(port, "/echo")).request().async().post(Entity.text("hello"), new InvocationCallback<String>()
+      {
+         @Override
+         public void completed(String response)
+         {
+            result.set(response);
+            latch.countDown();
+         }
+
+         @Override
+         public void failed(Throwable error)
+         {
+            latch.countDown();
+         }
+      });
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+      assertEquals("hello", result.get());
+   }
+
+   @Test
+   public void testConnectionRefused() throws Exception
+   {
+      int closed = freePort();
+      try
+      {
+         client.target(uri(closed, "/echo")).request().get();
+         fail();
+      }
+      catch (ProcessingException e)
+      {
+         // expected
+      }
+      try
+      {
+         client.target(uri(closed, "/echo")).request().async().get(String.class).get(10, TimeUnit.SECONDS);
+         fail();
+      }
+      catch (ExecutionException e)
+      {
+         assertTrue(e.getCause() instanceof ProcessingException);
+      }
+   }
+
+   static Undertow h2cServer(int port)
+   {
+      return Undertow.builder()
+            .addHttpListener(port, "localhost")
+            .setServerOption(UndertowOptions.ENABLE_HTTP2, true)
+            .setHandler(new BlockingHandler(JdkHttpClientEngineTest::handle))
+            .build();
+   }
+
+   static String uri(int port, String path)
+   {
+      return "http://localhost:" + port + path;
+   }
+
+   static int freePort() throws IOException
+   {
+      try (ServerSocket socket = new ServerSocket(0))
+      {
+         return socket.getLocalPort();
+      }
+   }
+
+   /**
+    * /echo sends back the body, its content type and the X-Echo header, /count the size of the body.
+    */
+   private static void handle(HttpServerExchange exchange) throws IOException
+   {
+      exchange.getResponseHeaders().put(PROTOCOL, exchange.getProtocol().toString());
+      InputStream in = exchange.getInputStream();
+      byte[] buffer = new byte[8192];
+      if ("/count".equals(exchange.getRequestPath()))
+      {
+         long count = 0;
+         int read;
+         while ((read = in.read(buffer)) != -1)
+         {
+            count += read;
+         }
+         exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, "text/plain");
+         exchange.getOutputStream().write(String.valueOf(count).getBytes(StandardCharsets.UTF_8));
+         return;
+      }
+      String contentType = exchange.getRequestHeaders().getFirst(Headers.CONTENT_TYPE);
+      if (contentType != null) exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, contentType);
+      String echo = exchange.getRequestHeaders().getFirst("X-Echo");
+      if (echo != null) exchange.getResponseHeaders().put(new HttpString("X-Echo"), echo);
+      OutputStream out = exchange.getOutputStream();
+      int read;
+      while ((read = in.read(buffer)) != -1)
+      {
+         out.write(buffer, 0, read);
+      }
+   }
+}
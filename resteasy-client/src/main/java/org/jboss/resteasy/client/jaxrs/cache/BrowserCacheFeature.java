@@ -10,6 +10,7 @@ import javax.ws.rs.core.FeatureContext;
 public class BrowserCacheFeature implements Feature
 {
    protected BrowserCache cache;
+   protected long missCoalescingTimeout;
 
    public BrowserCache getCache()
    {
@@ -21,12 +22,28 @@ public class BrowserCacheFeature implements Feature
       this.cache = cache;
    }
 
+   public long getMissCoalescingTimeout()
+   {
+      return missCoalescingTimeout;
+   }
+
+   /**
+    * @param missCoalescingTimeout how long, in milliseconds, a cache miss waits for a concurrent request of the same
+    *                              URI before going to the server itself, 0, the default, disables coalescing
+    */
+   public void setMissCoalescingTimeout(long missCoalescingTimeout)
+   {
+      this.missCoalescingTimeout = missCoalescingTimeout;
+   }
+
    @Override
    public boolean configure(FeatureContext configuration)
    {
       if (cache == null) cache = new LightweightBrowserCache();
       configuration.property(BrowserCache.class.getName(), cache);
-      configuration.register(new CacheInterceptor(cache));
+      CacheInterceptor interceptor = new CacheInterceptor(cache);
+      interceptor.setMissCoalescingTimeout(missCoalescingTimeout);
+      configuration.register(interceptor);
       return true;
    }
 }
@@ -1,5 +1,6 @@
 package org.jboss.resteasy.client.jaxrs.cache;
 
+import org.jboss.resteasy.client.jaxrs.internal.ClientRequestContextImpl;
 import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
 import org.jboss.resteasy.util.DateUtil;
 import org.jboss.resteasy.util.MediaTypeHelper;
@@ -18,6 +19,9 @@ import java.io.IOException;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
@@ -26,7 +30,26 @@ import java.util.Map;
 @SuppressWarnings("unchecked")
 public class CacheInterceptor implements ClientRequestFilter, ClientResponseFilter
 {
+   private static final String PENDING_MISS = CacheInterceptor.class.getName() + ".pending.miss";
+   // the negotiation headers a response usually varies on, requests differing in them are not coalesced
+   private static final String[] NEGOTIATION_HEADERS = {HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_CHARSET,
+         HttpHeaders.ACCEPT_ENCODING, HttpHeaders.ACCEPT_LANGUAGE};
+
    protected BrowserCache cache;
+   // concurrent misses for the same URI and negotiation headers wait for the one request sent to the server
+   protected final Map<String, CountDownLatch> pendingMisses = new ConcurrentHashMap<String, CountDownLatch>();
+   protected long missCoalescingTimeout;
+
+   private static class PendingMiss
+   {
+      final String key;
+      final CountDownLatch latch = new CountDownLatch(1);
+
+      PendingMiss(final String key)
+      {
+         this.key = key;
+      }
+   }
 
    public CacheInterceptor(final BrowserCache cache)
    {
@@ -34,6 +57,22 @@ public class CacheInterceptor implements ClientRequestFilter, ClientResponseFilt
       this.cache = cache;
    }
 
+   public long getMissCoalescingTimeout()
+   {
+      return missCoalescingTimeout;
+   }
+
+   /**
+    * How long a cache miss waits for a concurrent request of the same URI to populate the cache before going to
+    * the server itself.  Coalescing is disabled by default.
+    *
+    * @param missCoalescingTimeout timeout in milliseconds, 0 disables coalescing
+    */
+   public void setMissCoalescingTimeout(long missCoalescingTimeout)
+   {
+      this.missCoalescingTimeout = missCoalescingTimeout;
+   }
+
    @Override
    public void filter(ClientRequestContext request) throws IOException
    {
@@ -41,11 +80,17 @@ public class CacheInterceptor implements ClientRequestFilter, ClientResponseFilt
       try
       {
          BrowserCache.Entry entry = getEntry(request);
-         if (entry == null) return;
+         if (entry == null)
+         {
+            entry = awaitPendingMiss(request);
+            if (entry == null) return;
+         }
          if (entry.expired())
          {
             // entry should have a remove method
             cache.remove(request.getUri().toString(), entry.getMediaType());
+            // concurrent requests wait for the revalidation too
+            lead(request);
 
             // add validation headers
             BrowserCache.Header[] headers = entry.getValidationHeaders();
@@ -69,6 +114,80 @@ public class CacheInterceptor implements ClientRequestFilter, ClientResponseFilt
       }
    }
 
+   /**
+    * Wait for the request of the same URI that is already on its way to the server, or become that request.
+    *
+    * @param request request
+    * @return the entry cached meanwhile or null if the request has to go to the server
+    */
+   protected BrowserCache.Entry awaitPendingMiss(ClientRequestContext request) throws Exception
+   {
+      if (missCoalescingTimeout <= 0) return null;
+      String key = pendingMissKey(request);
+      CountDownLatch pending = pendingMisses.get(key);
+      if (pending == null)
+      {
+         if (lead(request)) return null;
+         pending = pendingMisses.get(key);
+         if (pending == null) return null;
+      }
+      try
+      {
+         if (!pending.await(missCoalescingTimeout, TimeUnit.MILLISECONDS))
+         {
+            // the response never made it to the response filter, don't let anyone else wait for it
+            pendingMisses.remove(key, pending);
+            return null;
+         }
+      }
+      catch (InterruptedException e)
+      {
+         Thread.currentThread().interrupt();
+         return null;
+      }
+      return getEntry(request);
+   }
+
+   private boolean lead(ClientRequestContext request)
+   {
+      if (missCoalescingTimeout <= 0) return false;
+      PendingMiss pending = new PendingMiss(pendingMissKey(request));
+      if (pendingMisses.putIfAbsent(pending.key, pending.latch) != null) return false;
+      request.setProperty(PENDING_MISS, pending);
+      if (request instanceof ClientRequestContextImpl)
+      {
+         // the response filter is not called if the request fails, the waiting requests go to the server then
+         ((ClientRequestContextImpl) request).addFailureListener(failure -> release(pending));
+      }
+      return true;
+   }
+
+   private void release(ClientRequestContext request)
+   {
+      PendingMiss pending = (PendingMiss) request.getProperty(PENDING_MISS);
+      if (pending == null) return;
+      request.removeProperty(PENDING_MISS);
+      release(pending);
+   }
+
+   private void release(PendingMiss pending)
+   {
+      pendingMisses.remove(pending.key, pending.latch);
+      pending.latch.countDown();
+   }
+
+   private static String pendingMissKey(ClientRequestContext request)
+   {
+      StringBuilder key = new StringBuilder(request.getUri().toString());
+      for (String header : NEGOTIATION_HEADERS)
+      {
+         key.append('\n');
+         String value = request.getHeaderString(header);
+         if (value != null) key.append(value);
+      }
+      return key.toString();
+   }
+
    private Response cachedResponse(BrowserCache.Entry entry)
    {
       ByteArrayInputStream bais = new ByteArrayInputStream(entry.getCached());
@@ -87,15 +206,21 @@ public class CacheInterceptor implements ClientRequestFilter, ClientResponseFilt
    public void filter(ClientRequestContext request, ClientResponseContext response) throws IOException
    {
       if (!request.getMethod().equalsIgnoreCase("GET") || request.getProperty("cached") != null) return;
-      else if (response.getStatus() == 304)
+      try
       {
-         BrowserCache.Entry entry = (BrowserCache.Entry)request.getProperty("expired.cache.entry");
-         updateOnNotModified(request, entry, response);
-         return;
+         if (response.getStatus() == 304)
+         {
+            BrowserCache.Entry entry = (BrowserCache.Entry)request.getProperty("expired.cache.entry");
+            updateOnNotModified(request, entry, response);
+         }
+         else if (response.getStatus() == 200)
+         {
+            cache(request, response);
+         }
       }
-      else if (response.getStatus() == 200)
+      finally
       {
-         cache(request, response);
+         release(request);
       }
    }
 
@@ -3,27 +3,57 @@ package org.jboss.resteasy.client.jaxrs.cache;
 
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * In-memory BrowserCache. Uses an underlying cache, with ConcurrentMapCache as
  * the default. You specify maximum bytes you want the cache to have. The
- * default is 2Megabytes. If the cache exceeds this amount, it is wiped clean.
- * This rather draconian approach to cache reaping is to avoid synchronization
- * that you would normally have to do in a sophisticated cache.
+ * default is 2Megabytes. If the cache exceeds this amount, entries are evicted
+ * until it fits again, weighted by the size of their cached body.
  * <p>
- * With high concurrent access, because this is not a sophisticated cache,
- * sometimes a cache entry may be lost. It is consistent though.
+ * Eviction removes expired entries first, then follows the CLOCK (second chance)
+ * approximation of LRU: entries that were read since the last eviction pass
+ * survive one more pass.  Lookups are lock free, only one thread evicts at a time.
+ * <p>
+ * With high concurrent access, sometimes a cache entry may be lost. It is consistent though.
+ * Hits, misses, evictions and cached bytes are counted so they can be monitored at runtime.
  *
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
  * @version $Revision: 1 $
  */
 public class LightweightBrowserCache implements BrowserCache
 {
+   /**
+    * Eviction bookkeeping of an entry held by the internal cache.
+    */
+   protected static class Usage
+   {
+      protected final String key;
+      protected final MediaType mediaType;
+      protected final long bytes;
+      protected volatile boolean accessed;
+
+      protected Usage(final String key, final MediaType mediaType, final long bytes)
+      {
+         this.key = key;
+         this.mediaType = mediaType;
+         this.bytes = bytes;
+      }
+   }
 
    protected long maxBytes = 2000000; // 2 meg default
    protected BrowserCache internalCache = null;
    protected AtomicLong bytes = new AtomicLong(0);
+   // keyed by entry identity
+   protected final Map<Entry, Usage> usage = new ConcurrentHashMap<Entry, Usage>();
+   protected final AtomicLong hits = new AtomicLong();
+   protected final AtomicLong misses = new AtomicLong();
+   protected final AtomicLong evictions = new AtomicLong();
+   private final ReentrantLock evictionLock = new ReentrantLock();
 
    public LightweightBrowserCache()
    {
@@ -53,17 +83,18 @@ public class LightweightBrowserCache implements BrowserCache
    public void setMaxBytes(long maxBytes)
    {
       this.maxBytes = maxBytes;
+      evictIfNeeded(null);
    }
 
    public Entry getAny(String key)
    {
-      return internalCache.getAny(key);
+      return touch(internalCache.getAny(key));
    }
 
    public Entry remove(String key, MediaType type)
    {
       Entry entry = internalCache.remove(key, type);
-      if (entry != null) bytes.addAndGet(-1 * entry.getCached().length);
+      if (entry != null) release(entry);
       return entry;
    }
 
@@ -74,32 +105,140 @@ public class LightweightBrowserCache implements BrowserCache
 
    public Entry get(String key, MediaType accept)
    {
-      return internalCache.get(key, accept);
+      return touch(internalCache.get(key, accept));
    }
 
    public Entry put(String key, MediaType mediaType,
                MultivaluedMap<String, String> headers, byte[] cached, int expires,
                String etag, String lastModified)
    {
+      if (cached.length > maxBytes)
+      {
+         // would evict everything else and still not fit, hand it back without caching it
+         Entry previous = remove(key, mediaType);
+         if (previous != null) evictions.incrementAndGet();
+         return new CacheEntry(key, headers, cached, expires, etag, lastModified, mediaType);
+      }
       Entry previousValue = internalCache.get(key, mediaType);
-
-      int sizeDiff = -1;
-      if (previousValue == null)
-         sizeDiff = cached.length;
-      else
-         sizeDiff = cached.length - previousValue.getCached().length;
-
-      if (bytes.addAndGet(sizeDiff) > maxBytes)
+      Entry entry = internalCache.put(key, mediaType, headers, cached, expires, etag, lastModified);
+      if (previousValue != null && previousValue != entry) release(previousValue);
+      if (entry != null && !usage.containsKey(entry))
       {
-         clear();
-         bytes.addAndGet(sizeDiff);
+         usage.put(entry, new Usage(key, mediaType, cached.length));
+         bytes.addAndGet(cached.length);
       }
-      return internalCache.put(key, mediaType, headers, cached, expires, etag, lastModified);
+      evictIfNeeded(entry);
+      return entry;
    }
 
    public void clear()
    {
       internalCache.clear();
+      usage.clear();
       bytes.set(0);
    }
+
+   private Entry touch(Entry entry)
+   {
+      if (entry == null)
+      {
+         misses.incrementAndGet();
+         return null;
+      }
+      hits.incrementAndGet();
+      Usage u = usage.get(entry);
+      if (u != null) u.accessed = true;
+      return entry;
+   }
+
+   private void release(Entry entry)
+   {
+      Usage u = usage.remove(entry);
+      if (u != null) bytes.addAndGet(-u.bytes);
+   }
+
+   /**
+    * @param added entry that was just added and must not be evicted right away, may be null
+    */
+   protected void evictIfNeeded(Entry added)
+   {
+      if (bytes.get() <= maxBytes) return;
+      // only one thread evicts, the others go on without waiting
+      if (!evictionLock.tryLock()) return;
+      try
+      {
+         // pass 0 only drops expired entries, pass 1 gives accessed entries a second chance, pass 2 always makes room
+         for (int pass = 0; pass < 3 && bytes.get() > maxBytes && !usage.isEmpty(); pass++)
+         {
+            Iterator<Map.Entry<Entry, Usage>> it = usage.entrySet().iterator();
+            while (it.hasNext() && bytes.get() > maxBytes)
+            {
+               Map.Entry<Entry, Usage> candidate = it.next();
+               Entry entry = candidate.getKey();
+               Usage u = candidate.getValue();
+               if (entry == added) continue;
+               if (pass == 0)
+               {
+                  if (entry.expired()) evict(entry, u);
+                  continue;
+               }
+               if (u.accessed)
+               {
+                  u.accessed = false;
+                  continue;
+               }
+               evict(entry, u);
+            }
+         }
+      }
+      finally
+      {
+         evictionLock.unlock();
+      }
+   }
+
+   private void evict(Entry entry, Usage u)
+   {
+      // don't remove an entry that was replaced in the meantime
+      if (internalCache.get(u.key, u.mediaType) == entry)
+      {
+         internalCache.remove(u.key, u.mediaType);
+      }
+      if (usage.remove(entry) != null)
+      {
+         bytes.addAndGet(-u.bytes);
+         evictions.incrementAndGet();
+      }
+   }
+
+   /**
+    * @return number of cached entries
+    */
+   public int getEntryCount()
+   {
+      return usage.size();
+   }
+
+   public long getHitCount()
+   {
+      return hits.get();
+   }
+
+   public long getMissCount()
+   {
+      return misses.get();
+   }
+
+   public long getEvictionCount()
+   {
+      return evictions.get();
+   }
+
+   @Override
+   public String toString()
+   {
+      return "LightweightBrowserCache[entries=" + getEntryCount() + ", bytes=" + getByteCount() + ", maxBytes="
+            + getMaxBytes() + ", hits=" + getHitCount() + ", misses=" + getMissCount() + ", evictions="
+            + getEvictionCount() + "]";
+   }
 }
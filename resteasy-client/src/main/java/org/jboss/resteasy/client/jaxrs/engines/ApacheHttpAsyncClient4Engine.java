@@ -4,12 +4,19 @@ import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
@@ -34,19 +41,23 @@ import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.concurrent.BasicFuture;
 import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.AbstractHttpEntity;
 import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
 import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.ContentEncoder;
 import org.apache.http.nio.IOControl;
 import org.apache.http.nio.client.methods.HttpAsyncMethods;
 import org.apache.http.nio.entity.ContentInputStream;
+import org.apache.http.nio.entity.HttpAsyncContentProducer;
 import org.apache.http.nio.protocol.AbstractAsyncResponseConsumer;
 import org.apache.http.nio.protocol.HttpAsyncRequestProducer;
 import org.apache.http.nio.protocol.HttpAsyncResponseConsumer;
 import org.apache.http.nio.util.HeapByteBufferAllocator;
 import org.apache.http.nio.util.SharedInputBuffer;
+import org.apache.http.nio.util.SharedOutputBuffer;
 import org.apache.http.nio.util.SimpleInputBuffer;
 import org.apache.http.protocol.HTTP;
 import org.apache.http.protocol.HttpContext;
@@ -64,7 +75,11 @@ import org.jboss.resteasy.util.CaseInsensitiveMap;
  * As such, performance may profit from fewer thread switches and less memory usage due to fewer thread-stacks. But doing
  * synchronous, blocking IO (the invoke-methods not returning a future) may suffer, because the data has to be transferred
  * piecewiese to/from the io-threads.</li>
- * <li>Request-Entities are fully buffered in memory, thus this engine is unsuitable for very large uploads.</li>
+ * <li>Request-Entities up to {@link #setRequestBufferSize(int) the request buffer size} are buffered in memory and sent
+ * with a Content-Length. Larger ones are sent chunked while they are written, the writing thread blocking whenever the
+ * buffer is full, so headers changed by the writers after the first buffer are not sent. The entities of the
+ * submit-calls are written by the {@link org.jboss.resteasy.client.jaxrs.ResteasyClient#asyncInvocationExecutor()
+ * async invocation executor} of the client, those of the blocking invoke-methods by the invoking thread.</li>
  * <li>Response-Entities are buffered in memory, except if requesting a Response, InputStream or Reader as Result. Thus
  * for large downloads or COMET one of these three return types must be requested, but there may be a performance penalty
  * because the response-body is transferred piecewise from the io-threads. When using InvocationCallbacks, the response is
@@ -79,13 +94,16 @@ import org.jboss.resteasy.util.CaseInsensitiveMap;
  * <li>InvocationCallbacks will see the same result as the future-object and vice versa. Thus, if the invocationcallback
  * throws an exception, the future-object will not see it. Another reason to handle responses only in the InvocationCallback.
  * </li>
+ * <li>The same goes for {@link StreamingAsyncClientHttpEngine.ContentHandler ContentHandlers}, which are handed the
+ * response-body piecewise from within the io-threads. A handler may suspend the transfer instead of blocking.</li>
  * </ul>
  * @author Markus Kull
  */
-public class ApacheHttpAsyncClient4Engine implements AsyncClientHttpEngine, Closeable
+public class ApacheHttpAsyncClient4Engine implements StreamingAsyncClientHttpEngine, Closeable
 {
    protected final CloseableHttpAsyncClient client;
    protected final boolean closeHttpClient;
+   protected int requestBufferSize = 64 * 1024;
 
    public ApacheHttpAsyncClient4Engine(final CloseableHttpAsyncClient client, final boolean closeHttpClient)
    {
@@ -106,6 +124,21 @@ public class ApacheHttpAsyncClient4Engine implements AsyncClientHttpEngine, Clos
       }
    }
 
+   public int getRequestBufferSize()
+   {
+      return requestBufferSize;
+   }
+
+   /**
+    * Request entities larger than this size are streamed, through a buffer of this size.
+    *
+    * @param requestBufferSize size in bytes, 64KB by default
+    */
+   public void setRequestBufferSize(int requestBufferSize)
+   {
+      this.requestBufferSize = requestBufferSize;
+   }
+
    @Override
    public SSLContext getSslContext()
    {
@@ -123,13 +156,14 @@ public class ApacheHttpAsyncClient4Engine implements AsyncClientHttpEngine, Clos
    {
       // Doing blocking requests with an async httpclient is quite useless.
       // But it is better to use the same httpclient in any case just for sharing+configuring only one connectionpool.
+      // the invoking thread waits for the response anyway, it writes the request body itself
       Future<ClientResponse> future = submit((ClientInvocation)request, false, null, new ResultExtractor<ClientResponse>() {
          @Override
          public ClientResponse extractResult(ClientResponse response)
          {
             return response;
          }
-      });
+      }, Runnable::run);
       try
       {
          return future.get();
@@ -149,8 +183,12 @@ public class ApacheHttpAsyncClient4Engine implements AsyncClientHttpEngine, Clos
    public <T> Future<T> submit(
       ClientInvocation request, boolean buffered, InvocationCallback<T> callback, ResultExtractor<T> extractor)
    {
-      HttpUriRequest httpRequest = buildHttpRequest(request);
+      return submit(request, buffered, callback, extractor, request.getClient().asyncInvocationExecutor());
+   }
 
+   private <T> Future<T> submit(ClientInvocation request, boolean buffered, InvocationCallback<T> callback,
+                                ResultExtractor<T> extractor, Executor bodyExecutor)
+   {
       if (buffered)
       {
          // Request+Response fully buffered in memory. Optional callback is called inside io-thread after response-body and
@@ -167,11 +205,13 @@ public class ApacheHttpAsyncClient4Engine implements AsyncClientHttpEngine, Clos
          //     the future-response is unusable (bc. closed) together with a callback
          // Of course the one big drawback is that exceptions inside the callback are not visible to the application,
          // but callbacks are mostly treated as fire-and-forget, meaning their result is not checked anyway.
-         HttpAsyncRequestProducer requestProducer = HttpAsyncMethods.create(httpRequest);
          HttpAsyncResponseConsumer<T> responseConsumer = new BufferingResponseConsumer<T>(request, extractor);
          FutureCallback<T> httpCallback = callback != null ? new CallbackAdapter<T>(callback) : null;
 
-         return client.execute(requestProducer, responseConsumer, httpCallback);
+         return execute(request, bodyExecutor, httpCallback, httpRequest -> {
+            HttpAsyncRequestProducer requestProducer = HttpAsyncMethods.create(httpRequest);
+            return client.execute(requestProducer, responseConsumer, httpCallback);
+         });
       }
       else
       {
@@ -181,11 +221,315 @@ public class ApacheHttpAsyncClient4Engine implements AsyncClientHttpEngine, Clos
          // would be easy to call an InvocationCallback after response-BODY, but cant see any usecase for it.
          if (callback != null) throw new IllegalArgumentException("unbuffered InvocationCallback is not supported");
 
-         HttpAsyncRequestProducer requestProducer = HttpAsyncMethods.create(httpRequest);
          StreamingResponseConsumer<T> responseConsumer = new StreamingResponseConsumer<T>(request, extractor);
 
-         Future<T> httpFuture = client.execute(requestProducer, responseConsumer, null);
-         return responseConsumer.future(httpFuture);
+         return execute(request, bodyExecutor, null, httpRequest -> {
+            HttpAsyncRequestProducer requestProducer = HttpAsyncMethods.create(httpRequest);
+            Future<T> httpFuture = client.execute(requestProducer, responseConsumer, null);
+            return responseConsumer.future(httpFuture);
+         });
+      }
+   }
+
+   @Override
+   public ContentControl submit(ClientInvocation request, ContentHandler handler)
+   {
+      ContentTransfer transfer = new ContentTransfer(handler);
+      HttpAsyncResponseConsumer<Void> responseConsumer = new ContentHandlerConsumer(request, transfer);
+      transfer.future(execute(request, request.getClient().asyncInvocationExecutor(), transfer, httpRequest -> {
+         HttpAsyncRequestProducer requestProducer = HttpAsyncMethods.create(httpRequest);
+         return client.execute(requestProducer, responseConsumer, transfer);
+      }));
+      return transfer;
+   }
+
+   /**
+    * Executes the request. A request body is written by the given executor, the request being executed once the body
+    * is written or as soon as it exceeds the request buffer size.
+    *
+    * @param callback failed if the body can't be written before the request is executed, may be null
+    */
+   private <T> Future<T> execute(ClientInvocation request, Executor bodyExecutor, FutureCallback<?> callback,
+                                 Function<HttpUriRequest, Future<T>> execution)
+   {
+      HttpRequestBase httpRequest = createHttpMethod(request.getUri(), request.getMethod());
+      if (request.getEntity() == null)
+      {
+         commitHeaders(request, httpRequest);
+         return execution.apply(httpRequest);
+      }
+      RequestBodyStream<T> body = new RequestBodyStream<T>(request, httpRequest, execution, callback,
+            requestBufferSize);
+      request.getDelegatingOutputStream().setDelegate(body);
+      bodyExecutor.execute(body);
+      return body.future;
+   }
+
+   /**
+    * Request body buffered in memory until it exceeds the buffer size, the request is then executed with a
+    * {@link StreamingRequestEntity} fed with the rest of the body.
+    */
+   private static class RequestBodyStream<T> extends OutputStream implements Runnable
+   {
+      private final ClientInvocation request;
+      private final HttpRequestBase httpRequest;
+      private final Function<HttpUriRequest, Future<T>> execution;
+      private final FutureCallback<?> callback;
+      private final int bufferSize;
+      private final RequestFuture<T> future = new RequestFuture<T>();
+      private ByteArrayOutputStream head = new ByteArrayOutputStream();
+      private StreamingRequestEntity entity;
+      private boolean closed;
+
+      RequestBodyStream(final ClientInvocation request, final HttpRequestBase httpRequest,
+                        final Function<HttpUriRequest, Future<T>> execution, final FutureCallback<?> callback,
+                        final int bufferSize)
+      {
+         this.request = request;
+         this.httpRequest = httpRequest;
+         this.execution = execution;
+         this.callback = callback;
+         this.bufferSize = bufferSize;
+      }
+
+      @Override
+      public void run()
+      {
+         try
+         {
+            request.writeRequestBody(request.getEntityStream());
+            close();
+         }
+         catch (Exception e)
+         {
+            // once sent, the request fails with the exception unless the server already responded
+            if (entity != null)
+            {
+               entity.abort(e);
+            }
+            else
+            {
+               head = null;
+               future.failed(clientException(e, null));
+               if (callback != null) callback.failed(e);
+            }
+         }
+      }
+
+      @Override
+      public void write(int b) throws IOException
+      {
+         if (entity == null)
+         {
+            if (head.size() < bufferSize)
+            {
+               head.write(b);
+               return;
+            }
+            start();
+         }
+         entity.write(b);
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException
+      {
+         if (entity == null)
+         {
+            if (head.size() + len <= bufferSize)
+            {
+               head.write(b, off, len);
+               return;
+            }
+            start();
+         }
+         entity.write(b, off, len);
+      }
+
+      @Override
+      public void close() throws IOException
+      {
+         if (closed) return;
+         closed = true;
+         if (entity == null)
+         {
+            ByteArrayEntity entity = new ByteArrayEntity(head.toByteArray());
+            entity.setContentType(new BasicHeader(HTTP.CONTENT_TYPE, request.getHeaders().getMediaType().toString()));
+            head = null;
+            commitHeaders(request, httpRequest);
+            ((HttpEntityEnclosingRequest) httpRequest).setEntity(entity);
+            future.executed(execution.apply(httpRequest));
+         }
+         else
+         {
+            entity.writeCompleted();
+         }
+      }
+
+      private void start() throws IOException
+      {
+         // writers may change headers, they are committed once the buffer is full
+         entity = new StreamingRequestEntity(bufferSize);
+         entity.setContentType(new BasicHeader(HTTP.CONTENT_TYPE, request.getHeaders().getMediaType().toString()));
+         entity.setChunked(true);
+         commitHeaders(request, httpRequest);
+         ((HttpEntityEnclosingRequest) httpRequest).setEntity(entity);
+         future.executed(execution.apply(httpRequest));
+         byte[] buffered = head.toByteArray();
+         head = null;
+         entity.write(buffered, 0, buffered.length);
+      }
+   }
+
+   /**
+    * Future of a request whose body is written by another thread, delegating to the future of the request once it is
+    * executed. The request fails without being executed if the body can't be written.
+    */
+   private static class RequestFuture<T> implements Future<T>
+   {
+      private final CompletableFuture<Future<T>> executed = new CompletableFuture<Future<T>>();
+
+      void executed(Future<T> future)
+      {
+         if (!executed.complete(future)) future.cancel(true);
+      }
+
+      void failed(Throwable throwable)
+      {
+         executed.completeExceptionally(throwable);
+      }
+
+      @Override
+      public boolean cancel(boolean mayInterruptIfRunning)
+      {
+         if (executed.cancel(mayInterruptIfRunning)) return true;
+         return !executed.isCompletedExceptionally() && executed.join().cancel(mayInterruptIfRunning);
+      }
+
+      @Override
+      public boolean isCancelled()
+      {
+         if (executed.isCancelled()) return true;
+         return executed.isDone() && !executed.isCompletedExceptionally() && executed.join().isCancelled();
+      }
+
+      @Override
+      public boolean isDone()
+      {
+         if (executed.isCompletedExceptionally()) return true;
+         return executed.isDone() && executed.join().isDone();
+      }
+
+      @Override
+      public T get() throws InterruptedException, ExecutionException
+      {
+         return executed.get().get();
+      }
+
+      @Override
+      public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException
+      {
+         long deadline = System.nanoTime() + unit.toNanos(timeout);
+         Future<T> future = executed.get(timeout, unit);
+         return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+      }
+   }
+
+   /**
+    * Request entity of unknown length produced by the io-thread from a bounded buffer, which the invoking thread
+    * writes to, blocking while it is full.
+    */
+   private static class StreamingRequestEntity extends AbstractHttpEntity implements HttpAsyncContentProducer
+   {
+      private final SharedOutputBuffer buffer;
+      private volatile IOException failure;
+      private volatile IOControl ioControl;
+
+      StreamingRequestEntity(final int bufferSize)
+      {
+         this.buffer = new SharedOutputBuffer(bufferSize);
+      }
+
+      void write(byte[] b, int off, int len) throws IOException
+      {
+         try
+         {
+            buffer.write(b, off, len);
+         }
+         catch (IllegalStateException e)
+         {
+            // the request is already completed or failed
+            throw new IOException(e);
+         }
+      }
+
+      void write(int b) throws IOException
+      {
+         try
+         {
+            buffer.write(b);
+         }
+         catch (IllegalStateException e)
+         {
+            throw new IOException(e);
+         }
+      }
+
+      void writeCompleted() throws IOException
+      {
+         buffer.writeCompleted();
+      }
+
+      void abort(Exception e)
+      {
+         failure = ioException(e);
+         IOControl ioControl = this.ioControl;
+         if (ioControl != null) ioControl.requestOutput();
+      }
+
+      @Override
+      public void produceContent(ContentEncoder encoder, IOControl ioControl) throws IOException
+      {
+         this.ioControl = ioControl;
+         if (failure != null) throw failure;
+         buffer.produceContent(encoder, ioControl);
+      }
+
+      @Override
+      public boolean isRepeatable()
+      {
+         return false;
+      }
+
+      @Override
+      public long getContentLength()
+      {
+         return -1;
+      }
+
+      @Override
+      public boolean isStreaming()
+      {
+         return true;
+      }
+
+      @Override
+      public InputStream getContent()
+      {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public void writeTo(OutputStream outstream)
+      {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public void close()
+      {
+         // unblocks the invoking thread once the request is completed or failed
+         buffer.shutdown();
       }
    }
 
@@ -495,6 +839,207 @@ public class ApacheHttpAsyncClient4Engine implements AsyncClientHttpEngine, Clos
       }
    }
 
+   /**
+    * Transfer of a response-body to a {@link ContentHandler}, suspending the input of the connection while the transfer
+    * is suspended. The handler learns the outcome through the FutureCallback of the request, which is also told about
+    * failed connects.
+    */
+   private static class ContentTransfer implements ContentControl, FutureCallback<Void>
+   {
+      private final ContentHandler handler;
+      private final AtomicBoolean finished = new AtomicBoolean();
+      // guards the changes of the input-interest of the connection
+      private final Object lock = new Object();
+
+      private volatile Future<Void> future;
+      private volatile IOControl ioctrl;
+      private volatile boolean suspended;
+      private volatile boolean cancelled;
+
+      ContentTransfer(final ContentHandler handler)
+      {
+         this.handler = handler;
+      }
+
+      void future(Future<Void> future)
+      {
+         this.future = future;
+         if (cancelled) future.cancel(true);
+      }
+
+      @Override
+      public void suspend()
+      {
+         synchronized (lock)
+         {
+            suspended = true;
+            IOControl ioctrl = this.ioctrl;
+            if (ioctrl != null) ioctrl.suspendInput();
+         }
+      }
+
+      @Override
+      public void resume()
+      {
+         synchronized (lock)
+         {
+            suspended = false;
+            IOControl ioctrl = this.ioctrl;
+            if (ioctrl != null) ioctrl.requestInput();
+         }
+      }
+
+      @Override
+      public void cancel()
+      {
+         cancelled = true;
+         Future<Void> future = this.future;
+         if (future != null) future.cancel(true);
+         IOControl ioctrl = this.ioctrl;
+         if (ioctrl != null) ioctrl.requestInput(); // notify reactor to check isDone()
+      }
+
+      @Override
+      public void completed(Void result)
+      {
+         if (!cancelled && finished.compareAndSet(false, true)) handler.completed();
+      }
+
+      @Override
+      public void failed(Exception ex)
+      {
+         if (!cancelled && finished.compareAndSet(false, true)) handler.failed(clientException(ex, null));
+      }
+
+      @Override
+      public void cancelled()
+      {
+         finished.set(true);
+      }
+   }
+
+   /**
+    * ResponseConsumer which hands the response-body to the {@link ContentHandler} of a {@link ContentTransfer} as it is
+    * received, or buffers it in memory if the handler does not want it piecewise.
+    */
+   private static class ContentHandlerConsumer implements HttpAsyncResponseConsumer<Void>
+   {
+      private final ClientConfiguration configuration;
+      private final Map<String, Object> properties;
+      private final ContentTransfer transfer;
+      private final ByteBuffer buffer = ByteBuffer.allocate(8 * 1024);
+
+      private ConnectionResponse clientResponse;
+      private SimpleInputBuffer entityBuffer;
+      private boolean streaming;
+      private volatile Exception exception;
+
+      ContentHandlerConsumer(final ClientInvocation request, final ContentTransfer transfer)
+      {
+         this.configuration = request.getClientConfiguration();
+         this.properties = request.getMutableProperties();
+         this.transfer = transfer;
+      }
+
+      @Override
+      public void responseReceived(HttpResponse httpResponse) throws IOException, HttpException
+      {
+         clientResponse = new ConnectionResponse(configuration, properties);
+         copyResponse(httpResponse, clientResponse);
+         try
+         {
+            streaming = transfer.handler.response(clientResponse);
+         }
+         catch (RuntimeException e)
+         {
+            throw failure(e);
+         }
+         if (!streaming && httpResponse.getEntity() != null)
+         {
+            entityBuffer = new SimpleInputBuffer(4096, new HeapByteBufferAllocator());
+         }
+      }
+
+      @Override
+      public void consumeContent(ContentDecoder decoder, IOControl ioctrl) throws IOException
+      {
+         transfer.ioctrl = ioctrl;
+         if (!streaming)
+         {
+            if (entityBuffer != null) entityBuffer.consumeContent(decoder);
+            return;
+         }
+         while (!transfer.suspended && !transfer.cancelled)
+         {
+            buffer.clear();
+            if (decoder.read(buffer) <= 0) return;
+            buffer.flip();
+            try
+            {
+               transfer.handler.content(buffer);
+            }
+            catch (RuntimeException e)
+            {
+               throw failure(e);
+            }
+         }
+         synchronized (transfer.lock)
+         {
+            if (transfer.suspended) ioctrl.suspendInput();
+         }
+      }
+
+      @Override
+      public void responseCompleted(HttpContext context)
+      {
+         if (entityBuffer != null) clientResponse.setConnection(new ContentInputStream(entityBuffer));
+      }
+
+      @Override
+      public void failed(Exception ex)
+      {
+         if (exception == null) exception = ex;
+      }
+
+      @Override
+      public Exception getException()
+      {
+         return exception;
+      }
+
+      @Override
+      public Void getResult()
+      {
+         return null;
+      }
+
+      @Override
+      public boolean isDone()
+      {  // cancels once the transfer is cancelled
+         return transfer.cancelled;
+      }
+
+      @Override
+      public void close()
+      {
+         entityBuffer = null;
+      }
+
+      @Override
+      public boolean cancel()
+      {
+         return true;
+      }
+
+      private IOException failure(RuntimeException e)
+      {
+         // the handler is told by the FutureCallback, with the original exception
+         exception = e;
+         transfer.failed(e);
+         return ioException(e);
+      }
+   }
+
    /**
     * Buffers response fully in memory.
     *
@@ -709,45 +1254,6 @@ public class ApacheHttpAsyncClient4Engine implements AsyncClientHttpEngine, Clos
       }
    }
 
-   private static HttpUriRequest buildHttpRequest(ClientInvocation request)
-   {
-      // Writers may change headers. Thus buffer the content before committing the headers.
-      // For simplicity's sake the content is buffered in memory. File-buffering (ZeroCopyConsumer...) would be
-      // possible, but resource management is error-prone.
-
-      HttpRequestBase httpRequest = createHttpMethod(request.getUri(), request.getMethod());
-      if (request.getEntity() != null)
-      {
-         byte[] requestContent = requestContent(request);
-         ByteArrayEntity entity = new ByteArrayEntity(requestContent);
-         entity.setContentType(new BasicHeader(HTTP.CONTENT_TYPE, request.getHeaders().getMediaType().toString()));
-         commitHeaders(request, httpRequest);
-         ((HttpEntityEnclosingRequest) httpRequest).setEntity(entity);
-      }
-      else
-      {
-         commitHeaders(request, httpRequest);
-      }
-
-      return httpRequest;
-   }
-
-   private static byte[] requestContent(ClientInvocation request)
-   {
-      ByteArrayOutputStream baos = new ByteArrayOutputStream();
-      request.getDelegatingOutputStream().setDelegate(baos);
-      try
-      {
-         request.writeRequestBody(request.getEntityStream());
-         baos.close();
-         return baos.toByteArray();
-      }
-      catch (IOException e)
-      {
-         throw new RuntimeException(e);
-      }
-   }
-
    private static HttpRequestBase createHttpMethod(URI url, String restVerb)
    {
       if ("GET".equals(restVerb))
@@ -0,0 +1,83 @@
+package org.jboss.resteasy.client.jaxrs.engines;
+
+import java.nio.ByteBuffer;
+
+import org.jboss.resteasy.client.jaxrs.internal.ClientInvocation;
+import org.jboss.resteasy.client.jaxrs.internal.ClientResponse;
+
+/**
+ * Interface for an async HttpClientEngine that hands the response entity to a {@link ContentHandler} piecewise, as it
+ * is received, instead of through an InputStream blocking the thread reading it.  No thread waits for the data of a
+ * long-lived response such as an event stream.
+ */
+public interface StreamingAsyncClientHttpEngine extends AsyncClientHttpEngine
+{
+
+   /**
+    * Receives a response and its entity.  The methods are called in order from the io-threads of the engine, and thus
+    * must not block.
+    */
+   public interface ContentHandler
+   {
+      /**
+       * Called first with the status and headers of the response.
+       *
+       * @param response Response, whose entity is not readable
+       * @return true to receive the entity through {@link #content(ByteBuffer)}, false to have it buffered in memory
+       *         and readable from the response once {@link #completed()} is called
+       */
+      boolean response(ClientResponse response);
+
+      /**
+       * Called with the next bytes of the entity.
+       *
+       * @param content bytes from its position to its limit, only valid during the call
+       */
+      void content(ByteBuffer content);
+
+      /**
+       * Called once the whole entity was received.
+       */
+      void completed();
+
+      /**
+       * Called instead of {@link #completed()} if the request fails or the connection is lost.
+       *
+       * @param cause Failure
+       */
+      void failed(Throwable cause);
+   }
+
+   /**
+    * Controls the transfer of a response entity to its {@link ContentHandler}.  The methods may be called from any
+    * thread.
+    */
+   public interface ContentControl
+   {
+      /**
+       * Stops reading the entity from the connection until {@link #resume()}.  The content already read may still be
+       * handed to the handler.
+       */
+      void suspend();
+
+      /**
+       * Reads the entity from the connection again.
+       */
+      void resume();
+
+      /**
+       * Aborts the request and releases its connection, the handler is not called anymore.
+       */
+      void cancel();
+   }
+
+   /**
+    * Submits an asynchronous request, whose response entity is handed piecewise to the handler.
+    *
+    * @param request Request
+    * @param handler ContentHandler receiving the response, which is run inside the io-thread
+    * @return ContentControl of the response entity
+    */
+   ContentControl submit(ClientInvocation request, ContentHandler handler);
+
+}
@@ -7,6 +7,7 @@ import java.io.Reader;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
@@ -46,6 +47,8 @@ import javax.ws.rs.ext.WriterInterceptor;
 import org.jboss.resteasy.client.jaxrs.ClientHttpEngine;
 import org.jboss.resteasy.client.jaxrs.ResteasyClient;
 import org.jboss.resteasy.client.jaxrs.engines.AsyncClientHttpEngine;
+import org.jboss.resteasy.client.jaxrs.engines.StreamingAsyncClientHttpEngine;
+import org.jboss.resteasy.client.jaxrs.i18n.Messages;
 import org.jboss.resteasy.client.jaxrs.internal.proxy.ClientInvoker;
 import org.jboss.resteasy.core.ResteasyContext;
 import org.jboss.resteasy.core.interception.jaxrs.AbstractWriterInterceptorContext;
@@ -475,9 +478,9 @@ public class ClientInvocation implements Invocation
    public ClientResponse invoke()
    {
       Providers current = pushProvidersContext();
+      ClientRequestContextImpl requestContext = new ClientRequestContextImpl(this);
       try
       {
-         ClientRequestContextImpl requestContext = new ClientRequestContextImpl(this);
          ClientResponse aborted = filterRequest(requestContext);
 
          // spec requires that aborted response go through filter/interceptor chains.
@@ -486,12 +489,18 @@ public class ClientInvocation implements Invocation
       }
       catch (ResponseProcessingException e)
       {
+         requestContext.failed(e);
          if (e.getResponse() != null)
          {
             e.getResponse().close();
          }
          throw e;
       }
+      catch (RuntimeException e)
+      {
+         requestContext.failed(e);
+         throw e;
+      }
       finally
       {
          popProvidersContext(current);
@@ -589,6 +598,81 @@ public class ClientInvocation implements Invocation
       });
    }
 
+   /**
+    * Submits the request to a {@link StreamingAsyncClientHttpEngine}, which hands the response entity to the handler
+    * piecewise as it is received. The request and response filters apply as for the other invocations, a response
+    * aborted by a request filter is handed to the handler at once.
+    *
+    * @param handler ContentHandler receiving the response, inside the io-thread of the engine
+    * @return ContentControl of the response entity
+    * @throws IllegalStateException if the engine of the client is not a StreamingAsyncClientHttpEngine
+    */
+   public StreamingAsyncClientHttpEngine.ContentControl submit(final StreamingAsyncClientHttpEngine.ContentHandler handler)
+   {
+      ClientHttpEngine httpEngine = client.httpEngine();
+      if (!(httpEngine instanceof StreamingAsyncClientHttpEngine))
+      {
+         throw new IllegalStateException(Messages.MESSAGES.contentHandlersNotSupported(httpEngine.getClass().getName()));
+      }
+      final ClientRequestContextImpl requestContext = new ClientRequestContextImpl(this);
+      Providers current = pushProvidersContext();
+      try
+      {
+         ClientResponse aborted = filterRequest(requestContext);
+         if (aborted != null)
+         {
+            // spec requires that aborted response go through filter/interceptor chains.
+            handleAborted(filterResponse(requestContext, aborted), handler);
+            return NO_CONTENT_CONTROL;
+         }
+      }
+      catch (RuntimeException e)
+      {
+         requestContext.failed(e);
+         throw e;
+      }
+      finally
+      {
+         popProvidersContext(current);
+      }
+
+      return ((StreamingAsyncClientHttpEngine) httpEngine).submit(this, new StreamingAsyncClientHttpEngine.ContentHandler()
+      {
+         @Override
+         public boolean response(ClientResponse response)
+         {
+            Providers current = pushProvidersContext();
+            try
+            {
+               return handler.response(filterResponse(requestContext, response));
+            }
+            finally
+            {
+               popProvidersContext(current);
+            }
+         }
+
+         @Override
+         public void content(ByteBuffer content)
+         {
+            handler.content(content);
+         }
+
+         @Override
+         public void completed()
+         {
+            handler.completed();
+         }
+
+         @Override
+         public void failed(Throwable cause)
+         {
+            requestContext.failed(cause);
+            handler.failed(cause);
+         }
+      });
+   }
+
    @Override
    public Invocation property(String name, Object value)
    {
@@ -710,6 +794,7 @@ public class ClientInvocation implements Invocation
       }
       catch (Exception ex)
       {
+         requestContext.failed(ex);
          callFailedNoThrow(callback, ex);
          return new CompletedFuture<T>(null, new ExecutionException(ex));
       }
@@ -718,23 +803,104 @@ public class ClientInvocation implements Invocation
          popProvidersContext(current);
       }
 
-      return asyncHttpEngine.submit(this, buffered, callback, new AsyncClientHttpEngine.ResultExtractor<T>()
+      // not every engine takes a callback for an unbuffered invocation, the failure listeners of those are not called
+      if (requestContext.hasFailureListeners() && (buffered || callback != null))
       {
-
-         @Override
-         public T extractResult(ClientResponse response)
+         callback = new FailureListenerCallback<T>(requestContext, callback);
+      }
+      try
+      {
+         return asyncHttpEngine.submit(this, buffered, callback, new AsyncClientHttpEngine.ResultExtractor<T>()
          {
-            Providers current = pushProvidersContext();
-            try
+
+            @Override
+            public T extractResult(ClientResponse response)
             {
-               return extractor.extractResult(filterResponse(requestContext, response));
+               Providers current = pushProvidersContext();
+               try
+               {
+                  return extractor.extractResult(filterResponse(requestContext, response));
+               }
+               finally
+               {
+                  popProvidersContext(current);
+               }
             }
-            finally
+         });
+      }
+      catch (RuntimeException e)
+      {
+         requestContext.failed(e);
+         throw e;
+      }
+   }
+
+   /**
+    * Reports the failure of an asynchronous invocation to the failure listeners of its request context.
+    */
+   private static class FailureListenerCallback<T> implements InvocationCallback<T>
+   {
+      private final ClientRequestContextImpl requestContext;
+      private final InvocationCallback<T> callback;
+
+      FailureListenerCallback(final ClientRequestContextImpl requestContext, final InvocationCallback<T> callback)
+      {
+         this.requestContext = requestContext;
+         this.callback = callback;
+      }
+
+      @Override
+      public void completed(T response)
+      {
+         if (callback != null) callback.completed(response);
+      }
+
+      @Override
+      public void failed(Throwable throwable)
+      {
+         requestContext.failed(throwable);
+         if (callback != null) callback.failed(throwable);
+      }
+   }
+
+   private static final StreamingAsyncClientHttpEngine.ContentControl NO_CONTENT_CONTROL = new StreamingAsyncClientHttpEngine.ContentControl()
+   {
+      @Override
+      public void suspend()
+      {
+      }
+
+      @Override
+      public void resume()
+      {
+      }
+
+      @Override
+      public void cancel()
+      {
+      }
+   };
+
+   private static void handleAborted(ClientResponse aborted, StreamingAsyncClientHttpEngine.ContentHandler handler)
+   {
+      // the entity of an aborted response is in memory
+      if (handler.response(aborted) && aborted.hasEntity())
+      {
+         try (InputStream entity = aborted.readEntity(InputStream.class))
+         {
+            byte[] buffer = new byte[4096];
+            for (int n; (n = entity.read(buffer)) != -1; )
             {
-               popProvidersContext(current);
+               handler.content(ByteBuffer.wrap(buffer, 0, n));
             }
          }
-      });
+         catch (IOException | RuntimeException e)
+         {
+            handler.failed(e);
+            return;
+         }
+      }
+      handler.completed();
    }
 
    private <T> Future<T> executorSubmit(ExecutorService executor, final InvocationCallback<T> callback,
@@ -19,6 +19,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
@@ -28,6 +29,7 @@ public class ClientRequestContextImpl implements ClientRequestContext
 {
    protected ClientInvocation invocation;
    protected Response abortedWithResponse;
+   protected List<Consumer<Throwable>> failureListeners;
 
    public ClientRequestContextImpl(final ClientInvocation invocation)
    {
@@ -39,6 +41,50 @@ public class ClientRequestContextImpl implements ClientRequestContext
       return abortedWithResponse;
    }
 
+   /**
+    * Registers a listener called if the invocation fails once the request filters ran, e.g. because a filter threw
+    * or the connection failed.  The response filters may not be called in that case.
+    *
+    * @param listener listener, called at most once with the failure
+    */
+   public synchronized void addFailureListener(Consumer<Throwable> listener)
+   {
+      if (failureListeners == null) failureListeners = new ArrayList<Consumer<Throwable>>(1);
+      failureListeners.add(listener);
+   }
+
+   public synchronized boolean hasFailureListeners()
+   {
+      return failureListeners != null;
+   }
+
+   /**
+    * Calls the failure listeners, only the first failure is reported.
+    *
+    * @param failure failure
+    */
+   public void failed(Throwable failure)
+   {
+      List<Consumer<Throwable>> listeners;
+      synchronized (this)
+      {
+         listeners = failureListeners;
+         failureListeners = null;
+      }
+      if (listeners == null) return;
+      for (Consumer<Throwable> listener : listeners)
+      {
+         try
+         {
+            listener.accept(failure);
+         }
+         catch (RuntimeException e)
+         {
+            // a listener must not hide the failure
+         }
+      }
+   }
+
    @Override
    public Object getProperty(String name)
    {
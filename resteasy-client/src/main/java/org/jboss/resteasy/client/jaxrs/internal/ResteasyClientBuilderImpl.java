@@ -101,6 +101,14 @@ public class ResteasyClientBuilderImpl extends ResteasyClientBuilder
       return this;
    }
 
+   /**
+    * @return the executor set to run AsyncInvoker invocations, null if the client creates its own
+    */
+   public ExecutorService getAsyncExecutor()
+   {
+      return asyncExecutor;
+   }
+
    /**
     * If there is a connection pool, set the time to live in the pool.
     *
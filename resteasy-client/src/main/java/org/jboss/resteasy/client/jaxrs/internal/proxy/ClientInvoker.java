@@ -12,6 +12,7 @@ import org.jboss.resteasy.client.jaxrs.internal.proxy.extractors.DefaultEntityEx
 import org.jboss.resteasy.client.jaxrs.internal.proxy.extractors.EntityExtractor;
 import org.jboss.resteasy.client.jaxrs.internal.proxy.processors.InvocationProcessor;
 import org.jboss.resteasy.client.jaxrs.internal.proxy.processors.ProcessorFactory;
+import org.jboss.resteasy.client.jaxrs.internal.proxy.processors.UriBuilderProcessor;
 import org.jboss.resteasy.client.jaxrs.internal.proxy.processors.WebTargetProcessor;
 import org.jboss.resteasy.util.FeatureContextDelegate;
 import org.jboss.resteasy.util.MediaTypeHelper;
@@ -26,10 +27,12 @@ import javax.ws.rs.container.DynamicFeature;
 import javax.ws.rs.container.ResourceInfo;
 import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.UriBuilder;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.net.URI;
 import java.util.concurrent.ExecutorService;
 
 /**
@@ -51,6 +54,7 @@ public class ClientInvoker implements MethodInvoker
    protected ClientConfiguration invokerConfig;
    protected RxInvokerProvider<?> rxInvokerProvider;
    protected SyncInvoker syncInvoker;
+   protected boolean uriBuilderProcessors;
 
 
    public ClientInvoker(final ResteasyWebTarget parent, final Class<?> declaring, final Method method, final ProxyConfig config)
@@ -88,6 +92,14 @@ public class ClientInvoker implements MethodInvoker
 
 
       this.processors = ProcessorFactory.createProcessors(declaring, method, invokerConfig, config.getDefaultConsumes());
+      uriBuilderProcessors = true;
+      for (Object processor : processors)
+      {
+         if (processor instanceof WebTargetProcessor && !(processor instanceof UriBuilderProcessor))
+         {
+            uriBuilderProcessors = false;
+         }
+      }
       accepts = MediaTypeHelper.getProduces(declaring, method, config.getDefaultProduces());
       entityExtractorFactory = new DefaultEntityExtractorFactory();
       this.extractor = entityExtractorFactory.createExtractor(method);
@@ -154,19 +166,39 @@ public class ClientInvoker implements MethodInvoker
 
    protected ClientInvocation createRequest(Object[] args)
    {
-      WebTarget target = this.webTarget;
-      for (int i = 0; i < processors.length; i++)
+      URI uri;
+      ClientConfiguration parentConfiguration;
+      if (uriBuilderProcessors)
+      {
+         // the parameters are applied to a single copy of the URI template
+         UriBuilder builder = this.webTarget.getUriBuilder();
+         for (int i = 0; i < processors.length; i++)
+         {
+            if (processors[i] instanceof UriBuilderProcessor)
+            {
+               builder = ((UriBuilderProcessor) processors[i]).build(builder, args[i]);
+            }
+         }
+         uri = builder.build();
+         parentConfiguration = invokerConfig;
+      }
+      else
       {
-         if (processors != null && processors[i] instanceof WebTargetProcessor)
+         WebTarget target = this.webTarget;
+         for (int i = 0; i < processors.length; i++)
          {
-            WebTargetProcessor processor = (WebTargetProcessor)processors[i];
-            target = processor.build(target, args[i]);
+            if (processors != null && processors[i] instanceof WebTargetProcessor)
+            {
+               WebTargetProcessor processor = (WebTargetProcessor)processors[i];
+               target = processor.build(target, args[i]);
 
+            }
          }
+         uri = target.getUri();
+         parentConfiguration = (ClientConfiguration) target.getConfiguration();
       }
 
-      ClientConfiguration parentConfiguration=(ClientConfiguration) target.getConfiguration();
-      ClientInvocation clientInvocation = new ClientInvocation(this.webTarget.getResteasyClient(), target.getUri(),
+      ClientInvocation clientInvocation = new ClientInvocation(this.webTarget.getResteasyClient(), uri,
             new ClientRequestHeaders(parentConfiguration), parentConfiguration);
       clientInvocation.setClientInvoker(this);
       if (accepts != null)
@@ -65,7 +65,7 @@ public class ClientProxy implements InvocationHandler
          }
          else if(method.getName().equals("as") && args.length == 1 && args[0] instanceof Class)
          {
-            return ProxyBuilder.proxy((Class<?>)args[0], target, config);
+            return as((Class<?>) args[0]);
          }
       }
 
@@ -76,6 +76,11 @@ public class ClientProxy implements InvocationHandler
       return clientInvoker.invoke(args);
    }
 
+   public <T> T as(Class<T> iface)
+   {
+      return ProxyBuilder.proxy(iface, target, config);
+   }
+
    @Override
    public boolean equals(Object obj)
    {
@@ -0,0 +1,260 @@
+package org.jboss.resteasy.client.jaxrs.internal.proxy;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javassist.ClassClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtConstructor;
+import javassist.CtMethod;
+import javassist.LoaderClassPath;
+
+import org.jboss.resteasy.client.jaxrs.i18n.LogMessages;
+import org.jboss.resteasy.client.jaxrs.i18n.Messages;
+
+/**
+ * Generates, with Javassist, a subclass of {@link GeneratedClientProxy} implementing a client interface.  Each method
+ * of the interface is implemented by a call to its invoker, without the reflective dispatch of
+ * {@link java.lang.reflect.Proxy} and the lookup of the invoker.  The class is generated once for each interface, in
+ * a class loader of its own whose parent is the one of the interface, so that it can be unloaded with the interface.
+ */
+final class ClientProxyGenerator
+{
+   private static final boolean AVAILABLE = isJavassistAvailable();
+
+   private static final Class<?>[] AS_PARAMETERS = {Class.class};
+
+   private static final AtomicInteger COUNTER = new AtomicInteger();
+
+   private static final ClassValue<ProxyClass> PROXY_CLASSES = new ClassValue<ProxyClass>()
+   {
+      @Override
+      protected ProxyClass computeValue(Class<?> iface)
+      {
+         try
+         {
+            return generate(iface);
+         }
+         catch (Throwable t)
+         {
+            LogMessages.LOGGER.cannotGenerateProxyClass(iface.getName(), t);
+            return null;
+         }
+      }
+   };
+
+   private ClientProxyGenerator()
+   {
+   }
+
+   /**
+    * @return the proxy, or null when no class can be generated for the interface
+    */
+   static Object newProxy(Class<?> iface, Map<Method, MethodInvoker> methodMap, ClientProxy handler)
+   {
+      if (!AVAILABLE) return null;
+      ProxyClass proxyClass = PROXY_CLASSES.get(iface);
+      if (proxyClass == null) return null;
+      MethodInvoker[] invokers = new MethodInvoker[proxyClass.methods.length];
+      for (int i = 0; i < invokers.length; i++)
+      {
+         final Method method = proxyClass.methods[i];
+         MethodInvoker invoker = methodMap.get(method);
+         if (invoker == null)
+         {
+            invoker = new MethodInvoker()
+            {
+               @Override
+               public Object invoke(Object[] args)
+               {
+                  throw new RuntimeException(Messages.MESSAGES.couldNotFindMethod(method));
+               }
+            };
+         }
+         invokers[i] = invoker;
+      }
+      try
+      {
+         return proxyClass.constructor.newInstance(invokers, handler);
+      }
+      catch (Exception e)
+      {
+         throw new RuntimeException(e);
+      }
+   }
+
+   private static ProxyClass generate(Class<?> iface) throws Exception
+   {
+      if (iface.getClassLoader() == null || !isPublic(iface)) return null;
+      List<Method> methods = new ArrayList<Method>();
+      Set<String> signatures = new HashSet<String>();
+      for (Method method : iface.getMethods())
+      {
+         if (Modifier.isStatic(method.getModifiers()) || isObjectMethod(method)
+               || ("as".equals(method.getName()) && Arrays.equals(method.getParameterTypes(), AS_PARAMETERS)))
+         {
+            continue;
+         }
+         // the same method inherited from several interfaces, possibly with covariant return types
+         if (!signatures.add(method.getName() + Arrays.toString(method.getParameterTypes()))) return null;
+         if (!isPublic(method.getReturnType())) return null;
+         for (Class<?> type : method.getParameterTypes())
+         {
+            if (!isPublic(type)) return null;
+         }
+         methods.add(method);
+      }
+
+      Class<?> proxyClass = JavassistGenerator.generate(iface, methods);
+      return new ProxyClass(proxyClass.getConstructor(MethodInvoker[].class, ClientProxy.class),
+            methods.toArray(new Method[methods.size()]));
+   }
+
+   private static boolean isObjectMethod(Method method)
+   {
+      try
+      {
+         Object.class.getMethod(method.getName(), method.getParameterTypes());
+         return true;
+      }
+      catch (NoSuchMethodException e)
+      {
+         return false;
+      }
+   }
+
+   private static boolean isPublic(Class<?> type)
+   {
+      while (type.isArray())
+      {
+         type = type.getComponentType();
+      }
+      return type.isPrimitive() || Modifier.isPublic(type.getModifiers());
+   }
+
+   private static String typeName(Class<?> type)
+   {
+      return type.isArray() ? typeName(type.getComponentType()) + "[]" : type.getName();
+   }
+
+   private static boolean isJavassistAvailable()
+   {
+      try
+      {
+         Class.forName("javassist.ClassPool", false, ClientProxyGenerator.class.getClassLoader());
+         return true;
+      }
+      catch (Throwable t)
+      {
+         return false;
+      }
+   }
+
+   /**
+    * Kept apart so that Javassist is only loaded when available.
+    */
+   private static class JavassistGenerator
+   {
+      static Class<?> generate(Class<?> iface, List<Method> methods) throws Exception
+      {
+         final ClassLoader parent = iface.getClassLoader();
+         ClassPool pool = new ClassPool(false);
+         pool.appendClassPath(new ClassClassPath(GeneratedClientProxy.class));
+         pool.appendClassPath(new LoaderClassPath(parent));
+         pool.appendSystemPath();
+         final String name = iface.getName() + "$ResteasyClientProxy$" + COUNTER.incrementAndGet();
+         CtClass proxy = pool.makeClass(name, pool.get(GeneratedClientProxy.class.getName()));
+         proxy.addInterface(pool.get(iface.getName()));
+
+         CtConstructor constructor = new CtConstructor(new CtClass[]{
+               pool.get(MethodInvoker.class.getName() + "[]"),
+               pool.get(ClientProxy.class.getName())}, proxy);
+         constructor.setBody("super($1, $2);");
+         proxy.addConstructor(constructor);
+
+         for (int i = 0; i < methods.size(); i++)
+         {
+            Method method = methods.get(i);
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            CtClass[] parameters = new CtClass[parameterTypes.length];
+            for (int j = 0; j < parameters.length; j++)
+            {
+               parameters[j] = pool.get(typeName(parameterTypes[j]));
+            }
+            CtMethod ctMethod = new CtMethod(pool.get(typeName(method.getReturnType())), method.getName(), parameters, proxy);
+            if (method.getReturnType() == void.class)
+            {
+               ctMethod.setBody("{ invokers[" + i + "].invoke($args); }");
+            }
+            else
+            {
+               ctMethod.setBody("{ return ($r) invokers[" + i + "].invoke($args); }");
+            }
+            proxy.addMethod(ctMethod);
+         }
+
+         final byte[] bytecode = proxy.toBytecode();
+         proxy.detach();
+         return AccessController.doPrivileged(new PrivilegedAction<Class<?>>()
+         {
+            @Override
+            public Class<?> run()
+            {
+               return new ProxyClassLoader(parent).define(name, bytecode);
+            }
+         });
+      }
+   }
+
+   private static class ProxyClass
+   {
+      private final Constructor<?> constructor;
+      private final Method[] methods;
+
+      ProxyClass(final Constructor<?> constructor, final Method[] methods)
+      {
+         this.constructor = constructor;
+         this.methods = methods;
+      }
+   }
+
+   /**
+    * Loads the types of the interface from its class loader, and the classes the proxy depends on from this one.
+    */
+   private static class ProxyClassLoader extends ClassLoader
+   {
+      private static final String PACKAGE = GeneratedClientProxy.class.getName().substring(0,
+            GeneratedClientProxy.class.getName().lastIndexOf('.') + 1);
+
+      ProxyClassLoader(final ClassLoader parent)
+      {
+         super(parent);
+      }
+
+      @Override
+      protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException
+      {
+         if (name.startsWith(PACKAGE))
+         {
+            return ClientProxyGenerator.class.getClassLoader().loadClass(name);
+         }
+         return super.loadClass(name, resolve);
+      }
+
+      Class<?> define(String name, byte[] bytecode)
+      {
+         return defineClass(name, bytecode, 0, bytecode.length);
+      }
+   }
+}
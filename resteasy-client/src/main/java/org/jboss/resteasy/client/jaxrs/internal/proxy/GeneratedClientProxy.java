@@ -0,0 +1,68 @@
+package org.jboss.resteasy.client.jaxrs.internal.proxy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Superclass of the proxy classes generated by {@link ClientProxyGenerator}: each method of the interface calls its
+ * invoker directly, the other methods behave as with a {@link ClientProxy}.
+ */
+public abstract class GeneratedClientProxy implements ResteasyClientProxy
+{
+   protected final MethodInvoker[] invokers;
+   private final ClientProxy handler;
+
+   protected GeneratedClientProxy(final MethodInvoker[] invokers, final ClientProxy handler)
+   {
+      this.invokers = invokers;
+      this.handler = handler;
+   }
+
+   @Override
+   public Collection<ClientInvoker> getResteasyClientInvokers()
+   {
+      List<ClientInvoker> clientInvokers = new ArrayList<ClientInvoker>();
+      for (MethodInvoker invoker : invokers)
+      {
+         if (invoker instanceof ClientInvoker)
+         {
+            clientInvokers.add((ClientInvoker) invoker);
+         }
+      }
+      return clientInvokers;
+   }
+
+   @Override
+   public void applyClientInvokerModifier(ClientInvokerModifier modifier)
+   {
+      for (ClientInvoker invoker : getResteasyClientInvokers())
+      {
+         modifier.modify(invoker);
+      }
+   }
+
+   @Override
+   public <T> T as(Class<T> iface)
+   {
+      return handler.as(iface);
+   }
+
+   @Override
+   public boolean equals(Object obj)
+   {
+      return obj == this;
+   }
+
+   @Override
+   public int hashCode()
+   {
+      return handler.hashCode();
+   }
+
+   @Override
+   public String toString()
+   {
+      return handler.toString();
+   }
+}
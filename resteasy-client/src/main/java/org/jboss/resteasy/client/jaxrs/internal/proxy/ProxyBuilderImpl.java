@@ -152,7 +152,21 @@ public class ProxyBuilderImpl<T> extends ProxyBuilder<T>
       // infrastructure had some problems without this.
       clientProxy.setClazz(iface);
 
+      if (isGeneratedProxy(base))
+      {
+         Object proxy = ClientProxyGenerator.newProxy(iface, methodMap, clientProxy);
+         if (proxy != null)
+         {
+            return (T) proxy;
+         }
+      }
       return (T) Proxy.newProxyInstance(config.getLoader(), intfs, clientProxy);
    }
 
+   private static boolean isGeneratedProxy(WebTarget target)
+   {
+      Object generated = target.getConfiguration().getProperty(GENERATED_PROXY);
+      return generated != null && Boolean.parseBoolean(generated.toString());
+   }
+
 }
@@ -3,6 +3,7 @@ package org.jboss.resteasy.client.jaxrs.internal.proxy.processors;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.util.Collection;
+import java.util.function.BiFunction;
 
 import javax.ws.rs.ext.ParamConverter;
 
@@ -34,8 +35,16 @@ public abstract class AbstractCollectionProcessor<T>
 
    protected abstract T apply(T target, Object object);
 
-   @SuppressWarnings("unchecked")
    public T buildIt(T target, Object object)
+   {
+      return buildIt(target, object, this::apply);
+   }
+
+   /**
+    * Applies each value of the parameter to the target with the given function.
+    */
+   @SuppressWarnings("unchecked")
+   protected <R> R buildIt(R target, Object object, BiFunction<R, Object, R> apply)
    {
       if (object == null) return target;
       if (object instanceof Collection)
@@ -46,13 +55,13 @@ public abstract class AbstractCollectionProcessor<T>
             if (paramConverter != null)
             {
                object = paramConverter.toString(object);
-               target = apply(target, object);
+               target = apply.apply(target, object);
             }
             else
             {
                for (Object obj : (Collection<?>) object)
                {
-                  target = apply(target, obj);
+                  target = apply.apply(target, obj);
                }
             }
          }
@@ -63,38 +72,38 @@ public abstract class AbstractCollectionProcessor<T>
          if (paramConverter != null)
          {
             object = paramConverter.toString(object);
-            target = apply(target, object);
+            target = apply.apply(target, object);
          }
          else if (object.getClass().getComponentType().isPrimitive())
          {
             Class<?> componentType = object.getClass().getComponentType();
             if (componentType.equals(boolean.class))
             {
-               for (boolean bool : (boolean[]) object) target = apply(target, bool);
+               for (boolean bool : (boolean[]) object) target = apply.apply(target, bool);
             }
             else if (componentType.equals(byte.class))
             {
-               for (byte val : (byte[]) object) target = apply(target, val);
+               for (byte val : (byte[]) object) target = apply.apply(target, val);
             }
             else if (componentType.equals(short.class))
             {
-               for (short val : (short[]) object) target = apply(target, val);
+               for (short val : (short[]) object) target = apply.apply(target, val);
             }
             else if (componentType.equals(int.class))
             {
-               for (int val : (int[]) object) target = apply(target, val);
+               for (int val : (int[]) object) target = apply.apply(target, val);
             }
             else if (componentType.equals(long.class))
             {
-               for (long val : (long[]) object) target = apply(target, val);
+               for (long val : (long[]) object) target = apply.apply(target, val);
             }
             else if (componentType.equals(float.class))
             {
-               for (float val : (float[]) object) target = apply(target, val);
+               for (float val : (float[]) object) target = apply.apply(target, val);
             }
             else if (componentType.equals(double.class))
             {
-               for (double val : (double[]) object) target = apply(target, val);
+               for (double val : (double[]) object) target = apply.apply(target, val);
             }
          }
          else
@@ -102,14 +111,14 @@ public abstract class AbstractCollectionProcessor<T>
             Object[] objs = (Object[]) object;
             for (Object obj : objs)
             {
-               target = apply(target, obj);
+               target = apply.apply(target, obj);
 
             }
          }
       }
       else
       {
-         target = apply(target, object);
+         target = apply.apply(target, object);
       }
       return target;
    }
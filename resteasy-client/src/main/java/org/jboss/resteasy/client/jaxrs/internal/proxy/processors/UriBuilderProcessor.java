@@ -0,0 +1,17 @@
+package org.jboss.resteasy.client.jaxrs.internal.proxy.processors;
+
+import javax.ws.rs.core.UriBuilder;
+
+/**
+ * {@link WebTargetProcessor} able to apply its parameter to a single UriBuilder, shared by all the parameters of an
+ * invocation, instead of creating a WebTarget for each of them.
+ */
+public interface UriBuilderProcessor
+{
+   /**
+    * @param builder builder of the request URI, which may be modified
+    * @param param value of the parameter
+    * @return the builder to apply the next parameters to
+    */
+   UriBuilder build(UriBuilder builder, Object param);
+}
@@ -2,18 +2,20 @@ package org.jboss.resteasy.client.jaxrs.internal.proxy.processors.webtarget;
 
 import org.jboss.resteasy.client.jaxrs.internal.ClientConfiguration;
 import org.jboss.resteasy.client.jaxrs.internal.proxy.processors.AbstractCollectionProcessor;
+import org.jboss.resteasy.client.jaxrs.internal.proxy.processors.UriBuilderProcessor;
 import org.jboss.resteasy.client.jaxrs.internal.proxy.processors.WebTargetProcessor;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.UriBuilder;
 
 /**
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
  * @version $Revision: 1 $
  */
-public abstract class AbstractWebTargetCollectionProcessor extends AbstractCollectionProcessor<WebTarget> implements WebTargetProcessor
+public abstract class AbstractWebTargetCollectionProcessor extends AbstractCollectionProcessor<WebTarget> implements WebTargetProcessor, UriBuilderProcessor
 {
    public AbstractWebTargetCollectionProcessor(final String paramName)
    {
@@ -30,4 +32,12 @@ public abstract class AbstractWebTargetCollectionProcessor extends AbstractColle
    {
       return buildIt(target, param);
    }
+
+   @Override
+   public UriBuilder build(UriBuilder builder, Object param)
+   {
+      return buildIt(builder, param, this::apply);
+   }
+
+   protected abstract UriBuilder apply(UriBuilder builder, Object object);
 }
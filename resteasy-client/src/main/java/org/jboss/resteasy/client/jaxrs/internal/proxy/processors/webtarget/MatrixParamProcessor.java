@@ -6,6 +6,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.UriBuilder;
 
 /**
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
@@ -30,4 +31,14 @@ public class MatrixParamProcessor extends AbstractWebTargetCollectionProcessor
       return target.matrixParam(paramName, object);
    }
 
+   @Override
+   protected UriBuilder apply(UriBuilder builder, Object object)
+   {
+      if (object == null)
+      {
+         return builder.replaceMatrixParam(paramName, (Object[]) null);
+      }
+      return builder.matrixParam(paramName, config.toString(object));
+   }
+
 }
@@ -1,18 +1,20 @@
 package org.jboss.resteasy.client.jaxrs.internal.proxy.processors.webtarget;
 
 import org.jboss.resteasy.client.jaxrs.internal.ClientConfiguration;
+import org.jboss.resteasy.client.jaxrs.internal.proxy.processors.UriBuilderProcessor;
 import org.jboss.resteasy.client.jaxrs.internal.proxy.processors.WebTargetProcessor;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.UriBuilder;
 
 /**
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
  * @version $Revision: 1 $
  */
-public class PathParamProcessor implements WebTargetProcessor
+public class PathParamProcessor implements WebTargetProcessor, UriBuilderProcessor
 {
    private final String paramName;
    private final Boolean encodeSlashInPath;
@@ -35,4 +37,10 @@ public class PathParamProcessor implements WebTargetProcessor
       Object param2 = configuration.toString(param, type, annotations);
       return target.resolveTemplate(paramName, param2, encodeSlashInPath);
    }
+
+   @Override
+   public UriBuilder build(UriBuilder builder, Object param)
+   {
+      return builder.resolveTemplate(paramName, configuration.toString(param, type, annotations), encodeSlashInPath);
+   }
 }
@@ -2,11 +2,13 @@ package org.jboss.resteasy.client.jaxrs.internal.proxy.processors.webtarget;
 
 import org.jboss.resteasy.client.jaxrs.ResteasyWebTarget;
 import org.jboss.resteasy.client.jaxrs.internal.ClientConfiguration;
+import org.jboss.resteasy.spi.ResteasyUriBuilder;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.UriBuilder;
 
 /**
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
@@ -31,5 +33,13 @@ public class QueryParamProcessor extends AbstractWebTargetCollectionProcessor
       return t.queryParamNoTemplate(paramName, object);
    }
 
+   @Override
+   protected UriBuilder apply(UriBuilder builder, Object object)
+   {
+      ResteasyUriBuilder b = builder instanceof ResteasyUriBuilder
+            ? (ResteasyUriBuilder) builder : ResteasyUriBuilder.fromTemplate(builder.toTemplate());
+      return b.clientQueryParam(paramName, config.toString(object));
+   }
+
 
 }
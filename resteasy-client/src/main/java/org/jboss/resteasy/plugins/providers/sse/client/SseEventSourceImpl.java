@@ -1,6 +1,7 @@
 package org.jboss.resteasy.plugins.providers.sse.client;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -10,6 +11,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
+import javax.ws.rs.ProcessingException;
 import javax.ws.rs.ServiceUnavailableException;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.Invocation;
@@ -20,13 +22,22 @@ import javax.ws.rs.sse.InboundSseEvent;
 import javax.ws.rs.sse.SseEventSource;
 
 import org.jboss.resteasy.client.jaxrs.ResteasyWebTarget;
+import org.jboss.resteasy.client.jaxrs.engines.StreamingAsyncClientHttpEngine;
 import org.jboss.resteasy.client.jaxrs.internal.ClientConfiguration;
 import org.jboss.resteasy.client.jaxrs.internal.ClientInvocation;
 import org.jboss.resteasy.client.jaxrs.internal.ClientResponse;
 import org.jboss.resteasy.plugins.providers.sse.SseConstants;
 import org.jboss.resteasy.plugins.providers.sse.SseEventInputImpl;
+import org.jboss.resteasy.plugins.providers.sse.SseEventParser;
+import org.jboss.resteasy.plugins.providers.sse.SseEventProvider;
 import org.jboss.resteasy.resteasy_jaxrs.i18n.Messages;
 
+/**
+ * SseEventSource reading the events of its target with a thread of its scheduler, which blocks reading the connection.
+ * If the client engine is a {@link StreamingAsyncClientHttpEngine} and no ReaderInterceptor is registered, the events
+ * are parsed from the io-threads of the engine instead, as they are received, and no thread is held while waiting for
+ * them.
+ */
 public class SseEventSourceImpl implements SseEventSource
 {
    public static final long RECONNECT_DEFAULT = 500;
@@ -53,6 +64,13 @@ public class SseEventSourceImpl implements SseEventSource
 
    private volatile ClientResponse response;
 
+   // guards the pausing and the content control of the current connection
+   private final Object pauseLock = new Object();
+
+   private boolean paused;
+
+   private StreamingAsyncClientHttpEngine.ContentControl contentControl;
+
    public static class SourceBuilder extends Builder
    {
       private WebTarget target = null;
@@ -244,12 +262,75 @@ public class SseEventSourceImpl implements SseEventSource
       }
    }
 
+   /**
+    * Stops reading events from the connection until {@link #resume()}, so that a slow consumer holds the events back
+    * in the connection instead of buffering them.  The events already received may still be delivered.
+    */
+   public void pause()
+   {
+      synchronized (pauseLock)
+      {
+         paused = true;
+         if (contentControl != null)
+         {
+            contentControl.suspend();
+         }
+      }
+   }
+
+   /**
+    * Reads events from the connection again after {@link #pause()}.
+    */
+   public void resume()
+   {
+      synchronized (pauseLock)
+      {
+         paused = false;
+         if (contentControl != null)
+         {
+            contentControl.resume();
+         }
+         pauseLock.notifyAll();
+      }
+   }
+
+   private void setContentControl(StreamingAsyncClientHttpEngine.ContentControl contentControl)
+   {
+      synchronized (pauseLock)
+      {
+         this.contentControl = contentControl;
+         if (paused)
+         {
+            contentControl.suspend();
+         }
+      }
+   }
+
+   private void awaitResumed() throws InterruptedException
+   {
+      synchronized (pauseLock)
+      {
+         while (paused && state.get() == State.OPEN)
+         {
+            pauseLock.wait();
+         }
+      }
+   }
+
    private void internalClose()
    {
       if (state.getAndSet(State.CLOSED) == State.CLOSED)
       {
          return;
       }
+      synchronized (pauseLock)
+      {
+         if (contentControl != null)
+         {
+            contentControl.cancel();
+         }
+         pauseLock.notifyAll();
+      }
       if (response != null)
       {
          try
@@ -312,6 +393,11 @@ public class SseEventSourceImpl implements SseEventSource
          {
             return;
          }
+         if (isStreaming())
+         {
+            submit();
+            return;
+         }
 
          SseEventInputImpl eventInput = null;
          long delay = reconnectDelay;
@@ -377,6 +463,7 @@ public class SseEventSourceImpl implements SseEventSource
             }
             try
             {
+               awaitResumed();
                eventInput.setProviders((ClientConfiguration) target.getConfiguration());
                InboundSseEvent event = eventInput.read();
                if (event != null)
@@ -402,6 +489,42 @@ public class SseEventSourceImpl implements SseEventSource
                reconnect(delay);
                break;
             }
+            catch (InterruptedException e)
+            {
+               Thread.currentThread().interrupt();
+            }
+         }
+      }
+
+      private boolean isStreaming()
+      {
+         return target instanceof ResteasyWebTarget
+               && ((ResteasyWebTarget) target).getResteasyClient().httpEngine() instanceof StreamingAsyncClientHttpEngine
+               && ((ClientConfiguration) target.getConfiguration()).getReaderInterceptors(null, null).length == 0;
+      }
+
+      /**
+       * Submits the request to the StreamingAsyncClientHttpEngine of the client, the events are parsed from its
+       * io-threads by an {@link EventContentHandler}.
+       */
+      private void submit()
+      {
+         try
+         {
+            final Invocation.Builder requestBuilder = buildRequest(mediaTypes);
+            Invocation request = entity == null ? requestBuilder.build(verb) : requestBuilder.build(verb, entity);
+            StreamingAsyncClientHttpEngine.ContentControl control = ((ClientInvocation) request)
+                  .submit(new EventContentHandler());
+            setContentControl(control);
+            if (state.get() != State.OPEN)
+            {
+               // closed meanwhile, before the content control was known
+               control.cancel();
+            }
+         }
+         catch (Throwable e)
+         {
+            onUnrecoverableError(e);
          }
       }
 
@@ -465,6 +588,135 @@ public class SseEventSourceImpl implements SseEventSource
          EventHandler processor = new EventHandler(this);
          sseEventSourceScheduler.schedule(processor, delay, TimeUnit.MILLISECONDS);
       }
+
+      /**
+       * Parses the events of a connection as its content is received, then reconnects like the blocking read loop.
+       */
+      private class EventContentHandler implements StreamingAsyncClientHttpEngine.ContentHandler
+      {
+         private long delay = reconnectDelay;
+
+         private boolean received;
+
+         private SseEventParser parser;
+
+         @Override
+         public boolean response(ClientResponse clientResponse)
+         {
+            received = true;
+            response = clientResponse;
+            if (!Family.SUCCESSFUL.equals(clientResponse.getStatusInfo().getFamily()))
+            {
+               //Let's buffer the entity in case the response contains an entity the user would like to retrieve from the exception.
+               return false;
+            }
+            onConnection();
+            MediaType streamType = clientResponse.getMediaType();
+            if (streamType == null)
+            {
+               streamType = MediaType.WILDCARD_TYPE;
+            }
+            else if (!MediaType.SERVER_SENT_EVENTS_TYPE.isCompatible(streamType)
+                  && !SseEventProvider.GENERAL_STREAM_TYPE.isCompatible(streamType))
+            {
+               onUnrecoverableError(new ProcessingException(
+                     Messages.MESSAGES.couldNotFindMessageBodyReader(SseEventInputImpl.class, streamType)));
+               return false;
+            }
+            String elementType = streamType.getParameters().get(SseConstants.SSE_ELEMENT_MEDIA_TYPE);
+            parser = new SseEventParser(clientResponse.getAnnotations(), streamType,
+                  elementType != null ? MediaType.valueOf(elementType) : streamType, clientResponse.getStringHeaders(),
+                  this::onEvent);
+            parser.setProviders((ClientConfiguration) target.getConfiguration());
+            return true;
+         }
+
+         @Override
+         public void content(ByteBuffer content)
+         {
+            if (state.get() == State.OPEN)
+            {
+               parser.parse(content);
+            }
+         }
+
+         @Override
+         public void completed()
+         {
+            if (parser != null)
+            {
+               //event sink closed
+               if (alwaysReconnect)
+               {
+                  reconnect(delay);
+               }
+               else
+               {
+                  internalClose();
+               }
+               return;
+            }
+            if (Family.SUCCESSFUL.equals(response.getStatusInfo().getFamily()))
+            {
+               // unreadable event stream, already closed
+               return;
+            }
+            try
+            {
+               //The entity buffered in memory stays readable from the exception once the connection is released.
+               response.bufferEntity();
+               //Throw an instance of WebApplicationException depending on the response.
+               ClientInvocation.handleErrorStatus(response);
+            }
+            catch (ServiceUnavailableException ex)
+            {
+               if (ex.hasRetryAfter())
+               {
+                  onConnection();
+                  Date requestTime = new Date();
+                  delay = ex.getRetryTime(requestTime).getTime() - requestTime.getTime();
+                  onErrorConsumers.forEach(consumer -> {
+                     consumer.accept(ex);
+                  });
+                  reconnect(delay);
+               }
+               else
+               {
+                  onUnrecoverableError(ex);
+               }
+            }
+            catch (Throwable e)
+            {
+               onUnrecoverableError(e);
+            }
+         }
+
+         @Override
+         public void failed(Throwable cause)
+         {
+            if (received)
+            {
+               // connection lost
+               reconnect(delay);
+            }
+            else
+            {
+               onUnrecoverableError(cause);
+            }
+         }
+
+         private void onEvent(InboundSseEvent event)
+         {
+            EventHandler.this.onEvent(event);
+            if (event.isReconnectDelaySet())
+            {
+               delay = event.getReconnectDelay();
+            }
+            onEventConsumers.forEach(consumer -> {
+               consumer.accept(event);
+            });
+         }
+      }
    }
 
 
@@ -17,4 +17,23 @@ public @interface Stream
    String INCLUDE_STREAMING_PARAMETER = "streaming";
    MODE value() default MODE.GENERAL;
    boolean includeStreaming() default false;
+
+   /**
+    * Number of elements requested from the publisher at once.  More are requested when half of them were written,
+    * so that a publisher of many small elements is not asked for each one separately.  Also applies to a resource
+    * method producing text/event-stream.
+    */
+   int prefetch() default 1;
+
+   /**
+    * Number of written bytes that are flushed to the client together.  0, the default, flushes every element as soon
+    * as it is written.
+    */
+   int flushSize() default 0;
+
+   /**
+    * Milliseconds an element waits at most for its flush when fewer than {@link #flushSize()} bytes are written after
+    * it.
+    */
+   long flushDelay() default 10;
 }
@@ -124,6 +124,10 @@ public interface LogMessages extends BasicLogger
    @Message(id = BASE + 138, value = "Invalid regex for {0}: {2}", format = Format.MESSAGE_FORMAT)
    void invalidRegex(String className, String regex);
 
+   @LogMessage(level = Level.WARN)
+   @Message(id = BASE + 139, value = "Virtual threads are not supported by this JVM, using platform threads")
+   void virtualThreadsNotSupported();
+
    @LogMessage(level = Level.WARN)
    @Message(id = BASE
          + 140, value = "JAX-RS annotations found at non-public method: {0}.{1}(); Only public methods may be exposed as resource methods.", format = Format.MESSAGE_FORMAT)
@@ -284,6 +288,10 @@ public interface LogMessages extends BasicLogger
    @Message(id = BASE + 335, value = "Unable to retrieve config: enableSecureProcessingFeature defaults to true")
    void unableToRetrieveConfigSecure();
 
+   @LogMessage(level = Level.DEBUG)
+   @Message(id = BASE + 340, value = "Failed to flush streamed response")
+   void failedToFlushStream(@Cause Throwable cause);
+
    ///////////////////////////////////////////////////////////////////////////////////////////////////////////
    //                                                  TRACE                                                //
    ///////////////////////////////////////////////////////////////////////////////////////////////////////////
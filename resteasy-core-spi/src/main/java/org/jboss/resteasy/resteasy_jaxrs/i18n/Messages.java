@@ -833,6 +833,9 @@ public interface Messages
    @Message(id = BASE + 1099, value = "MultiValuedCollectionParamConverter unable to parse: %s")
    String unableToParse(String s);
 
+   @Message(id = BASE + 1100, value = "SSE event dropped, the queue of the SseEventSink is full")
+   String sseEventDropped();
+
    @Message(id = BASE + 13, value = "Error creating array from %s")
    String errorCreatingArray(String s);
 }
@@ -0,0 +1,24 @@
+package org.jboss.resteasy.spi;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Implemented by the output streams of the containers able to send a region of a file without copying it through
+ * the Java heap, with a Netty FileRegion or sendfile for instance.  Entity providers fall back to copying the file
+ * when the stream they are given does not implement it or declines the region.
+ */
+public interface FileRegionOutput
+{
+   /**
+    * Sends a region of a file after the bytes already written to the stream.  Some containers can only do so before
+    * anything else was written and end the response once the region is sent.
+    *
+    * @param file file to send
+    * @param position offset of the region in the file
+    * @param count length of the region
+    * @return false if the region cannot be sent this way, nothing was written then
+    * @throws IOException if the file cannot be read or the response cannot be written
+    */
+   boolean writeFileRegion(Path file, long position, long count) throws IOException;
+}
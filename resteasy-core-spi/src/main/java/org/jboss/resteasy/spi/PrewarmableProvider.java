@@ -0,0 +1,22 @@
+package org.jboss.resteasy.spi;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import javax.ws.rs.core.MediaType;
+
+/**
+ * Implemented by MessageBodyReaders and MessageBodyWriters that can prepare, when the deployment starts, what they
+ * would otherwise create on the first request for a type, JAXBContexts for instance.  It is called for the entity
+ * parameters and return types of the resource methods when resteasy.prewarm.providers is enabled.
+ */
+public interface PrewarmableProvider
+{
+   /**
+    * @param type type of the entity
+    * @param genericType generic type of the entity
+    * @param annotations annotations of the parameter or of the resource method
+    * @param mediaType media type the resource method consumes or produces
+    */
+   void prewarm(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType);
+}
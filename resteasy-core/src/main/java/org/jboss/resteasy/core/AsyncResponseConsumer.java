@@ -1,6 +1,7 @@
 package org.jboss.resteasy.core;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -20,7 +21,9 @@ import javax.ws.rs.sse.SseEventSink;
 import org.jboss.resteasy.annotations.Stream;
 import org.jboss.resteasy.plugins.providers.sse.OutboundSseEventImpl;
 import org.jboss.resteasy.plugins.providers.sse.SseConstants;
+import org.jboss.resteasy.plugins.providers.sse.SseEventOutputImpl;
 import org.jboss.resteasy.plugins.providers.sse.SseImpl;
+import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
 import org.jboss.resteasy.resteasy_jaxrs.i18n.Messages;
 import org.jboss.resteasy.specimpl.BuiltResponse;
 import org.jboss.resteasy.specimpl.MultivaluedTreeMap;
@@ -252,11 +255,32 @@ public abstract class AsyncResponseConsumer
    {
       protected Subscription subscription;
       private AsyncStreamProvider<?> asyncStreamProvider;
+      // @Stream of the resource method, null if none
+      protected final Stream stream;
+      private final int prefetch;
+      // elements requested and not written yet
+      private long outstanding;
 
       AsyncStreamResponseConsumer(final ResourceMethodInvoker method, final AsyncStreamProvider<?> asyncStreamProvider)
       {
          super(method);
          this.asyncStreamProvider = asyncStreamProvider;
+         stream = method.getMethod().getAnnotation(Stream.class);
+         prefetch = stream != null ? Math.max(stream.prefetch(), 1) : 1;
+      }
+
+      /**
+       * Called once an element was written, requests the next ones when half of the prefetched elements were written.
+       */
+      protected synchronized void requestNext()
+      {
+         if (--outstanding <= prefetch / 2)
+         {
+            long n = prefetch - outstanding;
+            // the publisher may deliver them before request() returns
+            outstanding = prefetch;
+            subscription.request(n);
+         }
       }
 
       @Override
@@ -303,7 +327,11 @@ public abstract class AsyncResponseConsumer
       public void onSubscribe(Subscription subscription)
       {
          this.subscription = subscription;
-         subscription.request(1);
+         synchronized (this)
+         {
+            outstanding = prefetch;
+         }
+         subscription.request(prefetch);
       }
 
       @Override
@@ -323,12 +351,24 @@ public abstract class AsyncResponseConsumer
    private static class AsyncRawStreamingResponseConsumer extends AsyncStreamResponseConsumer
    {
       private boolean sentEntity;
+      // null when each element is flushed as the MessageBodyWriter does
+      private CoalescingOutputStream coalescingStream;
 
       AsyncRawStreamingResponseConsumer(final ResourceMethodInvoker method, final AsyncStreamProvider<?> asyncStreamProvider)
       {
          super(method, asyncStreamProvider);
       }
 
+      @Override
+      protected void doComplete()
+      {
+         if (coalescingStream != null)
+         {
+            coalescingStream.flushPending();
+         }
+         super.doComplete();
+      }
+
       @Override
       protected void sendBuiltResponse(BuiltResponse builtResponse, HttpRequest httpRequest, HttpResponse httpResponse, Consumer<Throwable> onComplete) throws IOException
       {
@@ -361,6 +401,12 @@ public abstract class AsyncResponseConsumer
             headerMap.add("Content-Type", mediaType);
             builtResponse.setMetadata(headerMap);
          }
+         if (!sentEntity && stream != null && stream.flushSize() > 0)
+         {
+            coalescingStream = new CoalescingOutputStream(httpResponse.getOutputStream(), stream.flushSize(),
+                  stream.flushDelay());
+            httpResponse.setOutputStream(coalescingStream);
+         }
          super.sendBuiltResponse(builtResponse, httpRequest, httpResponse, onComplete);
          sentEntity = true;
       }
@@ -374,7 +420,7 @@ public abstract class AsyncResponseConsumer
             }
             else
             {
-               subscription.request(1);
+               requestNext();
             }
          });
       }
@@ -386,6 +432,68 @@ public abstract class AsyncResponseConsumer
       }
    }
 
+   /*
+    * Output stream of a raw stream with @Stream(flushSize), which ignores the flushes of the MessageBodyWriters and
+    * leaves them to a StreamFlusher.
+    */
+   private static class CoalescingOutputStream extends OutputStream
+   {
+      private final OutputStream delegate;
+      private final StreamFlusher flusher;
+
+      CoalescingOutputStream(final OutputStream delegate, final int flushSize, final long flushDelay)
+      {
+         this.delegate = delegate;
+         flusher = new StreamFlusher(this, delegate::flush, flushSize, flushDelay);
+      }
+
+      @Override
+      public synchronized void write(int b) throws IOException
+      {
+         delegate.write(b);
+         flusher.written(1);
+      }
+
+      @Override
+      public synchronized void write(byte[] b, int off, int len) throws IOException
+      {
+         delegate.write(b, off, len);
+         flusher.written(len);
+      }
+
+      @Override
+      public void flush()
+      {
+         // flushed by the flusher once enough bytes are written
+      }
+
+      @Override
+      public void close() throws IOException
+      {
+         flushPending();
+         delegate.close();
+      }
+
+      synchronized void flushPending()
+      {
+         try
+         {
+            if (flusher.getPending() > 0)
+            {
+               flusher.flush();
+            }
+         }
+         catch (IOException e)
+         {
+            LogMessages.LOGGER.failedToFlushStream(e);
+         }
+         finally
+         {
+            flusher.cancel();
+         }
+      }
+   }
+
    /*
     * Rather than writing a stream of data items, AsyncStreamCollectorResponseConsumer collects a sequence
     * of data items into a list and writes the entire list when all data items have been collected.
@@ -405,11 +513,18 @@ public abstract class AsyncResponseConsumer
          return true;
       }
 
+      @Override
+      public void onSubscribe(Subscription subscription)
+      {
+         // everything is collected anyway, so there's no point in asking for each element
+         this.subscription = subscription;
+         subscription.request(Long.MAX_VALUE);
+      }
+
       @Override
       protected void addNextElement(Object element)
       {
          collector.add(element);
-         subscription.request(1);
       }
 
       @Override
@@ -465,6 +580,10 @@ public abstract class AsyncResponseConsumer
          super(method, asyncStreamProvider);
          sse = new SseImpl();
          sseEventSink = ResteasyContext.getContextData(SseEventSink.class);
+         if (stream != null && stream.flushSize() > 0 && sseEventSink instanceof SseEventOutputImpl)
+         {
+            ((SseEventOutputImpl) sseEventSink).coalesceFlushes(stream.flushSize(), stream.flushDelay());
+         }
       }
 
       @Override
@@ -554,8 +673,8 @@ public abstract class AsyncResponseConsumer
                   }
                   else
                   {
-                     // we're good, ask for the next one
-                     subscription.request(1);
+                     // we're good, ask for the next ones
+                     requestNext();
                      onComplete.accept(ex);
                   }
                }
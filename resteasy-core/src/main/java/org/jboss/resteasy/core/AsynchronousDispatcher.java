@@ -11,6 +11,7 @@ import org.jboss.resteasy.spi.InternalServerErrorException;
 import org.jboss.resteasy.spi.ResourceInvoker;
 import org.jboss.resteasy.spi.ResteasyProviderFactory;
 import org.jboss.resteasy.util.HttpHeaderNames;
+import org.jboss.resteasy.util.VirtualThreads;
 
 import javax.servlet.ServletContext;
 import javax.ws.rs.DELETE;
@@ -118,6 +119,7 @@ public class AsynchronousDispatcher extends SynchronousDispatcher
 
    protected ExecutorService executor;
    private int threadPoolSize = 100;
+   private boolean virtualThreads;
    private Map<String, Future<MockHttpResponse>> jobs;
    private Cache cache;
    private String basePath = "/asynch/jobs";
@@ -179,6 +181,17 @@ public class AsynchronousDispatcher extends SynchronousDispatcher
       this.threadPoolSize = threadPoolSize;
    }
 
+   /**
+    * Run each job on a new virtual thread instead of a fixed thread pool, if the JVM supports virtual threads.
+    *
+    * @param virtualThreads true to use virtual threads
+    * @see VirtualThreads
+    */
+   public void setVirtualThreads(boolean virtualThreads)
+   {
+      this.virtualThreads = virtualThreads;
+   }
+
    /**
     * Plug in your own executor to process requests.
     *
@@ -193,7 +206,11 @@ public class AsynchronousDispatcher extends SynchronousDispatcher
    {
       cache = new Cache(maxCacheSize);
       jobs = Collections.synchronizedMap(cache);
-      if (executor == null) executor = Executors.newFixedThreadPool(threadPoolSize);
+      if (executor == null)
+      {
+         executor = virtualThreads && VirtualThreads.isSupported()
+               ? VirtualThreads.newExecutor("resteasy-async-job-") : Executors.newFixedThreadPool(threadPoolSize);
+      }
       registry.addSingletonResource(this, basePath);
    }
 
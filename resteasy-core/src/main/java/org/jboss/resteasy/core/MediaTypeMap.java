@@ -1,5 +1,6 @@
 package org.jboss.resteasy.core;
 
+import org.jboss.resteasy.util.BoundedConcurrentCache;
 import org.jboss.resteasy.util.MediaTypeHelper;
 
 import javax.ws.rs.core.MediaType;
@@ -9,6 +10,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -236,11 +238,18 @@ public class MediaTypeMap<T>
    private volatile List<Entry<T>> wildcards = new ArrayList<Entry<T>>();
    private volatile List<Entry<T>> all = new ArrayList<Entry<T>>();
    private volatile List<T> everything = new ArrayList<T>();
-   private Map<CachedMediaTypeAndClass, List<T>> classCache = new ConcurrentHashMap<CachedMediaTypeAndClass, List<T>>();
+   private BoundedConcurrentCache<CachedMediaTypeAndClass, List<T>> classCache = createClassCache(cacheMaxSize, cacheMaxWeight);
+
+   private static <T> BoundedConcurrentCache<CachedMediaTypeAndClass, List<T>> createClassCache(int maxSize, long maxWeight)
+   {
+      // weigh entries by the number of providers they reference
+      return new BoundedConcurrentCache<CachedMediaTypeAndClass, List<T>>(maxSize, maxWeight, List::size);
+   }
 
    public MediaTypeMap<T> clone()
    {
       MediaTypeMap<T> clone = new MediaTypeMap<T>();
+      clone.classCache = createClassCache(classCache.getMaxSize(), classCache.getMaxWeight());
       for (Map.Entry<String, SubtypeMap<T>> entry : index.entrySet())
       {
          clone.index.put(entry.getKey(), entry.getValue().clone());
@@ -253,6 +262,17 @@ public class MediaTypeMap<T>
    }
 
    public Map<CachedMediaTypeAndClass, List<T>> getClassCache()
+   {
+      return classCache.asMap();
+   }
+
+   /**
+    * The cache of {@link #getPossible(MediaType, Class)} results.  Its limits can be changed and its hit, miss and
+    * eviction counters read at runtime.
+    *
+    * @return class cache
+    */
+   public BoundedConcurrentCache<CachedMediaTypeAndClass, List<T>> getBoundedClassCache()
    {
       return classCache;
    }
@@ -271,12 +291,18 @@ public class MediaTypeMap<T>
       private CachedMediaTypeAndClass(final Class clazz, final MediaType mediaType)
       {
          this.clazz = new WeakReference(clazz);
-         this.mediaType = mediaType;
+         // matching ignores parameters and case, normalize so that charset, q or version variants share one entry
+         this.mediaType = new MediaType(lowerCase(mediaType.getType()), lowerCase(mediaType.getSubtype()));
          int result = clazz.hashCode();
-         result = 31 * result + (mediaType.getType() != null ? mediaType.getType().hashCode() : 0) +  (mediaType.getSubtype() != null ? mediaType.getSubtype().hashCode() : 0);
+         result = 31 * result + (this.mediaType.getType() != null ? this.mediaType.getType().hashCode() : 0) +  (this.mediaType.getSubtype() != null ? this.mediaType.getSubtype().hashCode() : 0);
          hash = result;
       }
 
+      private static String lowerCase(String s)
+      {
+         return s == null ? null : s.toLowerCase(Locale.ENGLISH);
+      }
+
       private Class<?> getClazz()
       {
          return clazz.get();
@@ -404,6 +430,17 @@ public class MediaTypeMap<T>
     */
    public static boolean useCache = true;
 
+   /**
+    * Default maximum number of entries of the class cache of new MediaTypeMaps.
+    */
+   public static int cacheMaxSize = Integer.getInteger("resteasy.media.type.cache.max.size", 1000);
+
+   /**
+    * Default maximum weight, i.e. the total number of providers referenced by all entries,
+    * of the class cache of new MediaTypeMaps.
+    */
+   public static long cacheMaxWeight = Long.getLong("resteasy.media.type.cache.max.weight", 50000L);
+
    public List<T> getPossible(MediaType accept, Class<?> type)
    {
       List<T> cached = null;
@@ -13,6 +13,7 @@ import java.util.concurrent.CompletionStage;
 
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyReader;
 import javax.ws.rs.ext.ReaderInterceptor;
 
 import org.jboss.resteasy.core.interception.jaxrs.AbstractReaderInterceptorContext;
@@ -75,6 +76,7 @@ public class MessageBodyParameterInjector implements ValueInjector, JaxrsInterce
    private AccessibleObject target;
    private ReaderInterceptor[] interceptors;
    private boolean isMarshalledEntity;
+   private PinnedProviders<MessageBodyReader> pinnedReaders;
 
    public MessageBodyParameterInjector(final Class declaringClass, final AccessibleObject target, final Class type, final Type genericType, final Annotation[] annotations, final ResteasyProviderFactory factory)
    {
@@ -99,6 +101,11 @@ public class MessageBodyParameterInjector implements ValueInjector, JaxrsInterce
          this.genericType = genericType;
       }
       this.annotations = annotations;
+      if (PinnedProviders.isPinnable(factory))
+      {
+         this.pinnedReaders = new PinnedProviders<MessageBodyReader>(this.genericType, annotations,
+                 ResteasyProviderFactoryImpl::getServerMessageBodyReader);
+      }
       this.interceptors = this.factory
               .getServerReaderInterceptorRegistry().postMatch(
                       this.declaringClass, this.target);
@@ -200,7 +207,7 @@ public class MessageBodyParameterInjector implements ValueInjector, JaxrsInterce
          }
          AbstractReaderInterceptorContext messageBodyReaderContext = new ServerReaderInterceptorContext(interceptors, factory, type,
                  genericType, annotations, mediaType, request
-                 .getHttpHeaders().getRequestHeaders(), is, request);
+                 .getHttpHeaders().getRequestHeaders(), is, request, pinnedReaders);
 
          RESTEasyTracingLogger tracingLogger = RESTEasyTracingLogger.getInstance(request);
          final long timestamp = tracingLogger.timestamp("RI_SUMMARY");
@@ -0,0 +1,134 @@
+package org.jboss.resteasy.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+
+/**
+ * Binds resource methods, property setters and fields, and the String constructors and valueOf methods of parameter
+ * types to {@link MethodHandle}s at deployment time, so that requests do not go through core reflection.  The handles
+ * are adapted to a fixed erased type and called with invokeExact.  Each bind method returns null when the member is not
+ * accessible or does not have the expected kind, the caller then keeps using reflection.
+ *
+ * @see ResteasyContextParameters#RESTEASY_METHOD_HANDLES
+ */
+public final class MethodHandleBinder
+{
+   private static final MethodType METHOD_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+   private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+   private static final MethodType CONVERTER_TYPE = MethodType.methodType(Object.class, String.class);
+
+   private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+   private MethodHandleBinder()
+   {
+   }
+
+   /**
+    * Whether method handles are turned on by the provider factory property or the system property named
+    * {@link ResteasyContextParameters#RESTEASY_METHOD_HANDLES}.
+    *
+    * @param factory provider factory, may be null
+    * @return true if members should be bound to method handles
+    */
+   public static boolean isEnabled(ResteasyProviderFactory factory)
+   {
+      Object property = factory == null ? null : factory.getProperty(ResteasyContextParameters.RESTEASY_METHOD_HANDLES);
+      if (property == null)
+      {
+         property = System.getProperty(ResteasyContextParameters.RESTEASY_METHOD_HANDLES);
+      }
+      return Boolean.TRUE.equals(property) || "true".equals(property);
+   }
+
+   /**
+    * @param method instance method
+    * @return handle of type (Object target, Object[] args)Object, returning null for void methods
+    */
+   public static MethodHandle bindMethod(Method method)
+   {
+      try
+      {
+         return LOOKUP.unreflect(method)
+               .asSpreader(Object[].class, method.getParameterTypes().length)
+               .asType(METHOD_TYPE);
+      }
+      catch (IllegalAccessException | WrongMethodTypeException e)
+      {
+         return null;
+      }
+   }
+
+   /**
+    * @param setter instance method with a single parameter
+    * @return handle of type (Object target, Object value)void
+    */
+   public static MethodHandle bindSetter(Method setter)
+   {
+      try
+      {
+         return LOOKUP.unreflect(setter).asType(SETTER_TYPE);
+      }
+      catch (IllegalAccessException | WrongMethodTypeException e)
+      {
+         return null;
+      }
+   }
+
+   /**
+    * @param field instance field
+    * @return handle of type (Object target, Object value)void
+    */
+   public static MethodHandle bindSetter(Field field)
+   {
+      try
+      {
+         return LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+      }
+      catch (IllegalAccessException | WrongMethodTypeException e)
+      {
+         return null;
+      }
+   }
+
+   /**
+    * @param constructor constructor with a single String parameter
+    * @return handle of type (String)Object
+    */
+   public static MethodHandle bindConverter(Constructor<?> constructor)
+   {
+      if (Modifier.isAbstract(constructor.getDeclaringClass().getModifiers())) return null;
+      try
+      {
+         return LOOKUP.unreflectConstructor(constructor).asType(CONVERTER_TYPE);
+      }
+      catch (IllegalAccessException | WrongMethodTypeException e)
+      {
+         return null;
+      }
+   }
+
+   /**
+    * @param valueOf static method with a single String parameter
+    * @return handle of type (String)Object
+    */
+   public static MethodHandle bindConverter(Method valueOf)
+   {
+      try
+      {
+         return LOOKUP.unreflect(valueOf).asType(CONVERTER_TYPE);
+      }
+      catch (IllegalAccessException | WrongMethodTypeException e)
+      {
+         return null;
+      }
+   }
+}
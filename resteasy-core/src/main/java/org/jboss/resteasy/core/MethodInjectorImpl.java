@@ -17,9 +17,12 @@ import org.jboss.resteasy.spi.validation.GeneralValidatorCDI;
 
 import javax.ws.rs.WebApplicationException;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 
 /**
@@ -33,6 +36,10 @@ public class MethodInjectorImpl implements MethodInjector
    protected ResourceLocator method;
    protected Method interfaceBasedMethod;
    protected boolean expectsBody;
+   protected MethodHandle methodHandle;
+   protected MethodHandle interfaceBasedMethodHandle;
+   protected Class<?>[] parameterTypes;
+   protected Class<?>[] wrappedParameterTypes;
 
    public MethodInjectorImpl(final ResourceLocator resourceMethod, final ResteasyProviderFactory factory)
    {
@@ -47,6 +54,14 @@ public class MethodInjectorImpl implements MethodInjector
          if (params[i] instanceof MessageBodyParameterInjector) expectsBody = true;
          i++;
       }
+      if (MethodHandleBinder.isEnabled(factory))
+      {
+         methodHandle = MethodHandleBinder.bindMethod(resourceMethod.getMethod());
+         interfaceBasedMethodHandle = interfaceBasedMethod == resourceMethod.getMethod()
+               ? methodHandle : MethodHandleBinder.bindMethod(interfaceBasedMethod);
+         parameterTypes = resourceMethod.getMethod().getParameterTypes();
+         wrappedParameterTypes = MethodType.methodType(void.class, parameterTypes).wrap().parameterArray();
+      }
    }
 
    @Override
@@ -89,10 +104,38 @@ public class MethodInjectorImpl implements MethodInjector
          {
             Object[] args = new Object[params.length];
             int i = 0;
-            CompletionStage<Object> ret = CompletableFuture.completedFuture(null);
-            for (ValueInjector extractor : params)
+            // values already available are set directly, the stages are chained from the first one that is not
+            CompletionStage<Object> pending = null;
+            for (; i < params.length; i++)
+            {
+               CompletionStage<Object> value;
+               try
+               {
+                  value = params[i].inject(input, response, true);
+               }
+               catch (Throwable t)
+               {
+                  CompletableFuture<Object[]> failed = new CompletableFuture<Object[]>();
+                  failed.completeExceptionally(t instanceof CompletionException ? t : new CompletionException(t));
+                  return failed;
+               }
+               if (!isCompleted(value))
+               {
+                  pending = value;
+                  break;
+               }
+               args[i] = ((CompletableFuture<Object>) value).getNow(null);
+            }
+            if (pending == null)
             {
-               int j = i++;
+               return CompletableFuture.completedFuture(args);
+            }
+            int first = i;
+            CompletionStage<Object> ret = pending.thenApply(value -> args[first] = value);
+            for (i++; i < params.length; i++)
+            {
+               ValueInjector extractor = params[i];
+               int j = i;
                ret = ret.thenCompose(v -> extractor.inject(input, response, true)
                                        .thenApply(value -> args[j] = value));
             }
@@ -117,6 +160,13 @@ public class MethodInjectorImpl implements MethodInjector
       }
    }
 
+   private static boolean isCompleted(CompletionStage<?> stage)
+   {
+      if (!(stage instanceof CompletableFuture)) return false;
+      CompletableFuture<?> future = (CompletableFuture<?>) stage;
+      return future.isDone() && !future.isCompletedExceptionally();
+   }
+
    public CompletionStage<Object> invoke(HttpRequest request, HttpResponse httpResponse, Object resource) throws Failure, ApplicationException
    {
       return injectArguments(request, httpResponse)
@@ -132,6 +182,7 @@ public class MethodInjectorImpl implements MethodInjector
       }
 
       Method invokedMethod = method.getMethod();
+      MethodHandle handle = methodHandle;
       if (!invokedMethod.getDeclaringClass().isAssignableFrom(resource.getClass()))
       {
          // invokedMethod is for when the target object might be a proxy and
@@ -144,12 +195,15 @@ public class MethodInjectorImpl implements MethodInjector
          // }
          //
          invokedMethod = interfaceBasedMethod;
+         handle = interfaceBasedMethodHandle;
       }
 
       Object result = null;
       try
       {
-         result = invokedMethod.invoke(resource, args);
+         // the handle does not report arguments of the wrong type like reflection does, those go through reflection
+         result = handle != null && acceptsArguments(invokedMethod, resource, args)
+               ? invoke(handle, resource, args) : invokedMethod.invoke(resource, args);
       }
       catch (IllegalAccessException e)
       {
@@ -198,4 +252,37 @@ public class MethodInjectorImpl implements MethodInjector
       return result;
    }
 
+   /**
+    * Whether the method handle can be called with the target and arguments as they are: reflection also widens
+    * primitive values and reports the arguments it can't convert with an IllegalArgumentException.
+    */
+   private boolean acceptsArguments(Method invokedMethod, Object resource, Object[] args)
+   {
+      if (!invokedMethod.getDeclaringClass().isInstance(resource)) return false;
+      int length = args == null ? 0 : args.length;
+      if (length != parameterTypes.length) return false;
+      for (int i = 0; i < length; i++)
+      {
+         Object arg = args[i];
+         if (arg == null ? parameterTypes[i].isPrimitive() : !wrappedParameterTypes[i].isInstance(arg)) return false;
+      }
+      return true;
+   }
+
+   /**
+    * Anything thrown by the method is wrapped like {@link Method#invoke(Object, Object...)} does, the arguments must
+    * have been checked by {@link #acceptsArguments(Method, Object, Object[])}.
+    */
+   private static Object invoke(MethodHandle handle, Object resource, Object[] args) throws InvocationTargetException
+   {
+      try
+      {
+         return handle.invokeExact(resource, args);
+      }
+      catch (Throwable t)
+      {
+         throw new InvocationTargetException(t);
+      }
+   }
+
 }
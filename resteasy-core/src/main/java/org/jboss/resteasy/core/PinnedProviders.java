@@ -0,0 +1,164 @@
+package org.jboss.resteasy.core;
+
+import org.jboss.resteasy.tracing.RESTEasyTracingLogger;
+
+import javax.ws.rs.core.MediaType;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * MessageBodyReaders or MessageBodyWriters resolved for one resource method signature (generic type and annotations
+ * are fixed at deployment time), keyed by entity class and negotiated media type.  Once pinned, a provider is reused
+ * without going through {@link MediaTypeMap#getPossible(MediaType, Class)} and <code>isReadable()</code>/<code>isWriteable()</code>
+ * again.
+ * <p>
+ * Pins are only valid for the provider factory and {@link ResteasyProviderFactoryImpl#getMessageBodyProvidersVersion()}
+ * they were resolved with, registering a new reader or writer drops all of them.  Traced requests always resolve
+ * dynamically so that the tracing events are logged.
+ *
+ * @param <P> MessageBodyReader or MessageBodyWriter
+ */
+@SuppressWarnings("rawtypes")
+public class PinnedProviders<P>
+{
+   /**
+    * Media types can come from client headers, don't let them grow the pins without limit.
+    */
+   public static final int MAX_PINS = 32;
+
+   @FunctionalInterface
+   public interface Resolver<P>
+   {
+      P resolve(ResteasyProviderFactoryImpl factory, Class<?> type, Type genericType, Annotation[] annotations,
+                MediaType mediaType, RESTEasyTracingLogger tracingLogger);
+   }
+
+   private static final class Key
+   {
+      private final Class type;
+      private final MediaType mediaType;
+      private final int hash;
+
+      Key(final Class type, final MediaType mediaType)
+      {
+         this.type = type;
+         this.mediaType = mediaType;
+         this.hash = 31 * type.hashCode() + mediaType.hashCode();
+      }
+
+      @Override
+      public boolean equals(Object o)
+      {
+         if (this == o) return true;
+         if (!(o instanceof Key)) return false;
+         Key key = (Key) o;
+         return type == key.type && mediaType.equals(key.mediaType);
+      }
+
+      @Override
+      public int hashCode()
+      {
+         return hash;
+      }
+   }
+
+   private static final class Pins<P>
+   {
+      private final ResteasyProviderFactoryImpl factory;
+      private final long version;
+      private final ConcurrentHashMap<Key, P> providers = new ConcurrentHashMap<Key, P>();
+
+      Pins(final ResteasyProviderFactoryImpl factory, final long version)
+      {
+         this.factory = factory;
+         this.version = version;
+      }
+   }
+
+   private final Type genericType;
+   private final Annotation[] annotations;
+   private final Resolver<P> resolver;
+   private volatile Pins<P> pins;
+
+   /**
+    * @param genericType generic type of the method signature
+    * @param annotations annotations of the method signature
+    * @param resolver dynamic lookup
+    */
+   public PinnedProviders(final Type genericType, final Annotation[] annotations, final Resolver<P> resolver)
+   {
+      this.genericType = genericType;
+      this.annotations = annotations;
+      this.resolver = resolver;
+   }
+
+   public static boolean isPinnable(Object factory)
+   {
+      // the delegate of a ThreadLocalResteasyProviderFactory changes from thread to thread
+      return factory instanceof ResteasyProviderFactoryImpl && !(factory instanceof ThreadLocalResteasyProviderFactory);
+   }
+
+   /**
+    * @param genericType generic type of the entity
+    * @param annotations annotations of the entity, the method annotations may be appended to other annotations
+    * @return true if the entity still has the method signature, i.e. a filter or interceptor did not change it
+    */
+   public boolean matches(Type genericType, Annotation[] annotations)
+   {
+      if (genericType != this.genericType && (genericType == null || !genericType.equals(this.genericType)))
+         return false;
+      if (annotations == this.annotations) return true;
+      if (annotations == null || annotations.length != this.annotations.length) return false;
+      for (int i = 0; i < annotations.length; i++)
+      {
+         if (annotations[i] != this.annotations[i]) return false;
+      }
+      return true;
+   }
+
+   /**
+    * Return the pinned provider, resolving and pinning it if needed.  The caller must have checked
+    * {@link #matches(Type, Annotation[])}.
+    *
+    * @param factory provider factory
+    * @param type entity class
+    * @param mediaType negotiated media type
+    * @param tracingLogger tracing logger of the request
+    * @return provider or null if none can handle the entity
+    */
+   public P get(ResteasyProviderFactoryImpl factory, Class type, MediaType mediaType, RESTEasyTracingLogger tracingLogger)
+   {
+      if (tracingLogger != RESTEasyTracingLogger.empty() || type == null || mediaType == null)
+      {
+         return resolver.resolve(factory, type, genericType, annotations, mediaType, tracingLogger);
+      }
+      // read the version before resolving, a provider registered meanwhile makes these pins stale on the next call
+      long version = factory.getMessageBodyProvidersVersion();
+      Pins<P> current = pins;
+      if (current == null || current.factory != factory || current.version != version)
+      {
+         current = new Pins<P>(factory, version);
+         pins = current;
+      }
+      Key key = new Key(type, mediaType);
+      P provider = current.providers.get(key);
+      if (provider != null) return provider;
+      provider = resolver.resolve(factory, type, genericType, annotations, mediaType, tracingLogger);
+      if (provider != null && current.providers.size() < MAX_PINS)
+      {
+         current.providers.put(key, provider);
+      }
+      return provider;
+   }
+
+   /**
+    * @return number of pinned providers
+    */
+   public int size()
+   {
+      Pins<P> current = pins;
+      return current == null ? 0 : current.providers.size();
+   }
+}
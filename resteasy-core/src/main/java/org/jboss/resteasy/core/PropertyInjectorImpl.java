@@ -14,6 +14,7 @@ import org.jboss.resteasy.spi.util.MethodHashing;
 
 import java.beans.Introspector;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
@@ -37,26 +38,31 @@ import java.util.concurrent.CompletionStage;
 public class PropertyInjectorImpl implements PropertyInjector
 {
    protected HashMap<Field, ValueInjector> fieldMap = new HashMap<Field, ValueInjector>();
+   protected HashMap<Field, MethodHandle> fieldHandles = new HashMap<Field, MethodHandle>();
 
    private static class SetterMethod
    {
-      private SetterMethod(final Method method, final ValueInjector extractor)
+      private SetterMethod(final Method method, final ValueInjector extractor, final MethodHandle handle)
       {
          this.method = method;
          this.extractor = extractor;
+         this.handle = handle;
       }
 
       public Method method;
       public ValueInjector extractor;
+      public MethodHandle handle;
    }
 
    protected List<SetterMethod> setters = new ArrayList<SetterMethod>();
    protected HashMap<Long, Method> setterhashes = new HashMap<Long, Method>();
    protected Class<?> clazz;
+   protected boolean methodHandles;
 
    public PropertyInjectorImpl(final Class<?> clazz, final ResteasyProviderFactory factory)
    {
       this.clazz = clazz;
+      this.methodHandles = MethodHandleBinder.isEnabled(factory);
 
       populateMap(clazz, factory);
    }
@@ -78,6 +84,11 @@ public class PropertyInjectorImpl implements PropertyInjector
                setAccessible(field);
             }
             fieldMap.put(field, extractor);
+            MethodHandle handle = methodHandles ? MethodHandleBinder.bindSetter(field) : null;
+            if (handle != null)
+            {
+               fieldHandles.put(field, handle);
+            }
          }
       }
       for (Method method : getDeclaredMethods(clazz))
@@ -115,7 +126,7 @@ public class PropertyInjectorImpl implements PropertyInjector
             {
                setAccessible(method);
             }
-            setters.add(new SetterMethod(method, extractor));
+            setters.add(new SetterMethod(method, extractor, methodHandles ? MethodHandleBinder.bindSetter(method) : null));
             setterhashes.put(hash, method);
          }
 
@@ -143,32 +154,14 @@ public class PropertyInjectorImpl implements PropertyInjector
       {
          ret = ret.thenCompose(v -> entry.getValue().inject(request, response, unwrapAsync)
                .thenAccept(value -> {
-                  try
-                  {
-                     entry.getKey().set(target, value);
-                  }
-                  catch (IllegalAccessException e)
-                  {
-                     throw new InternalServerErrorException(e);
-                  }
+                  setField(entry.getKey(), target, value);
                }));
       }
       for (SetterMethod setter : setters)
       {
          ret = ret.thenCompose(v -> setter.extractor.inject(request, response, unwrapAsync)
                .thenAccept(value -> {
-                  try
-                  {
-                     setter.method.invoke(target, value);
-                  }
-                  catch (IllegalAccessException e)
-                  {
-                     throw new InternalServerErrorException(e);
-                  }
-                  catch (InvocationTargetException e)
-                  {
-                     throw new ApplicationException(e.getCause());
-                  }
+                  setProperty(setter, target, value);
                }));
       }
       return ret;
@@ -182,37 +175,75 @@ public class PropertyInjectorImpl implements PropertyInjector
       {
          ret = ret.thenCompose(v -> entry.getValue().inject(unwrapAsync)
                .thenAccept(value -> {
-                  try
-                  {
-                     entry.getKey().set(target, value);
-                  }
-                  catch (IllegalAccessException e)
-                  {
-                     throw new InternalServerErrorException(e);
-                  }
+                  setField(entry.getKey(), target, value);
                }));
       }
       for (SetterMethod setter : setters)
       {
          ret = ret.thenCompose(v -> setter.extractor.inject(unwrapAsync)
                .thenAccept(value -> {
-                  try
-                  {
-                     setter.method.invoke(target, value);
-                  }
-                  catch (IllegalAccessException e)
-                  {
-                     throw new InternalServerErrorException(e);
-                  }
-                  catch (InvocationTargetException e)
-                  {
-                     throw new ApplicationException(e.getCause());
-                  }
+                  setProperty(setter, target, value);
                }));
       }
       return ret;
    }
 
+   private void setField(Field field, Object target, Object value)
+   {
+      MethodHandle handle = fieldHandles.get(field);
+      try
+      {
+         if (handle != null)
+         {
+            handle.invokeExact(target, value);
+         }
+         else
+         {
+            field.set(target, value);
+         }
+      }
+      catch (IllegalAccessException e)
+      {
+         throw new InternalServerErrorException(e);
+      }
+      catch (RuntimeException | Error e)
+      {
+         throw e;
+      }
+      catch (Throwable t)
+      {
+         throw new InternalServerErrorException(t);
+      }
+   }
+
+   private static void setProperty(SetterMethod setter, Object target, Object value)
+   {
+      try
+      {
+         if (setter.handle != null)
+         {
+            setter.handle.invokeExact(target, value);
+         }
+         else
+         {
+            setter.method.invoke(target, value);
+         }
+      }
+      catch (IllegalAccessException e)
+      {
+         throw new InternalServerErrorException(e);
+      }
+      catch (InvocationTargetException e)
+      {
+         throw new ApplicationException(e.getCause());
+      }
+      catch (Throwable t)
+      {
+         // thrown by the setter through its method handle
+         throw new ApplicationException(t);
+      }
+   }
+
    private Field[] getDeclaredFields(final Class<?> clazz)
    {
       final SecurityManager sm = System.getSecurityManager();
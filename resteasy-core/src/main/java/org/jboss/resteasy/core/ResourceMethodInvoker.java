@@ -3,6 +3,7 @@ package org.jboss.resteasy.core;
 import org.jboss.resteasy.annotations.Stream;
 import org.jboss.resteasy.core.interception.jaxrs.PostMatchContainerRequestContext;
 import org.jboss.resteasy.core.registry.SegmentNode;
+import org.jboss.resteasy.plugins.providers.sse.SseEventSinkInterceptor;
 import org.jboss.resteasy.plugins.server.resourcefactory.SingletonResource;
 import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
 import org.jboss.resteasy.specimpl.BuiltResponse;
@@ -13,6 +14,7 @@ import org.jboss.resteasy.spi.HttpRequest;
 import org.jboss.resteasy.spi.HttpResponse;
 import org.jboss.resteasy.spi.InjectorFactory;
 import org.jboss.resteasy.spi.MethodInjector;
+import org.jboss.resteasy.spi.PrewarmableProvider;
 import org.jboss.resteasy.spi.ResourceFactory;
 import org.jboss.resteasy.spi.ResourceInvoker;
 import org.jboss.resteasy.spi.ResteasyAsynchronousResponse;
@@ -38,12 +40,15 @@ import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
 import javax.ws.rs.ext.WriterInterceptor;
 import javax.ws.rs.sse.SseEventSink;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -79,6 +84,8 @@ public class ResourceMethodInvoker implements ResourceInvoker, JaxrsInterceptorR
    AsyncStreamProvider asyncStreamProvider;
    protected boolean isSse;
    protected ResourceInfo resourceInfo;
+   @SuppressWarnings("rawtypes")
+   protected PinnedProviders<MessageBodyWriter> pinnedWriters;
 
    protected boolean expectsBody;
 
@@ -119,7 +126,6 @@ public class ResourceMethodInvoker implements ResourceInvoker, JaxrsInterceptorR
       // and @Consumes is on the class
       expectsBody = this.methodInjector.expectsBody();
 
-      requestFilters = resourceMethodProviderFactory.getContainerRequestFilterRegistry().postMatch(method.getResourceClass().getClazz(), method.getAnnotatedMethod());
       responseFilters = resourceMethodProviderFactory.getContainerResponseFilterRegistry().postMatch(method.getResourceClass().getClazz(), method.getAnnotatedMethod());
       writerInterceptors = resourceMethodProviderFactory.getServerWriterInterceptorRegistry().postMatch(method.getResourceClass().getClazz(), method.getAnnotatedMethod());
 
@@ -155,6 +161,40 @@ public class ResourceMethodInvoker implements ResourceInvoker, JaxrsInterceptorR
          isSse = true;
          method.markAsynchronous();
       }
+      requestFilters = matchRequestFilters();
+
+      // the writer of Object and Response methods depends on the returned entity, keep resolving it dynamically
+      Class<?> returnType = method.getReturnType();
+      if (asyncResponseProvider == null && asyncStreamProvider == null && !isSse
+            && returnType != Object.class && returnType != void.class
+            && !Response.class.isAssignableFrom(returnType) && !GenericEntity.class.isAssignableFrom(returnType))
+      {
+         pinnedWriters = new PinnedProviders<MessageBodyWriter>(method.getGenericReturnType(), methodAnnotations,
+               ResteasyProviderFactoryImpl::getServerMessageBodyWriter);
+      }
+   }
+
+   /**
+    * The SseEventSinkInterceptor registered with the builtin providers only acts on SSE and general stream methods,
+    * it is left out of the chain of the others so that it can be empty and skipped.
+    */
+   private ContainerRequestFilter[] matchRequestFilters()
+   {
+      ContainerRequestFilter[] filters = resourceMethodProviderFactory.getContainerRequestFilterRegistry().postMatch(method.getResourceClass().getClazz(), method.getAnnotatedMethod());
+      Stream stream = method.getMethod().getAnnotation(Stream.class);
+      if (isSse || (stream != null && stream.value() == Stream.MODE.GENERAL))
+      {
+         return filters;
+      }
+      List<ContainerRequestFilter> matched = new ArrayList<ContainerRequestFilter>(filters.length);
+      for (ContainerRequestFilter filter : filters)
+      {
+         if (filter.getClass() != SseEventSinkInterceptor.class)
+         {
+            matched.add(filter);
+         }
+      }
+      return matched.size() == filters.length ? filters : matched.toArray(new ContainerRequestFilter[matched.size()]);
    }
 
    // spec section 9.3 Server API:
@@ -234,7 +274,7 @@ public class ResourceMethodInvoker implements ResourceInvoker, JaxrsInterceptorR
       }
       else if (registry.getIntf().equals(ContainerRequestFilter.class))
       {
-         requestFilters = resourceMethodProviderFactory.getContainerRequestFilterRegistry().postMatch(method.getResourceClass().getClazz(), method.getAnnotatedMethod());
+         requestFilters = matchRequestFilters();
       }
       else if (registry.getIntf().equals(ContainerResponseFilter.class))
       {
@@ -292,11 +332,80 @@ public class ResourceMethodInvoker implements ResourceInvoker, JaxrsInterceptorR
       return method.getResourceClass().getClazz();
    }
 
+   /**
+    * The MessageBodyWriters pinned for the entities returned by this method.
+    *
+    * @param providerFactory provider factory used to write the response
+    * @param genericType generic type of the response entity
+    * @param annotations annotations of the response entity
+    * @return pinned writers or null if the writer has to be looked up dynamically
+    */
+   @SuppressWarnings("rawtypes")
+   public PinnedProviders<MessageBodyWriter> getPinnedWriters(ResteasyProviderFactory providerFactory, Type genericType, Annotation[] annotations)
+   {
+      PinnedProviders<MessageBodyWriter> writers = pinnedWriters;
+      if (writers == null || !PinnedProviders.isPinnable(providerFactory) || !writers.matches(genericType, annotations))
+         return null;
+      return writers;
+   }
+
    public Annotation[] getMethodAnnotations()
    {
       return methodAnnotations;
    }
 
+   /**
+    * Lets the MessageBodyReader of the entity parameter and the MessageBodyWriter of the return type prepare for
+    * them, for each concrete media type the method consumes or produces, when they are
+    * {@link PrewarmableProvider}s.
+    *
+    * @return number of providers that were prewarmed
+    */
+   @SuppressWarnings("rawtypes")
+   public int prewarmProviders()
+   {
+      int count = 0;
+      for (MethodParameter param : method.getParams())
+      {
+         if (param.getParamType() != Parameter.ParamType.MESSAGE_BODY) continue;
+         for (MediaType mediaType : method.getConsumes())
+         {
+            if (mediaType.isWildcardType() || mediaType.isWildcardSubtype()) continue;
+            MessageBodyReader reader = resourceMethodProviderFactory.getMessageBodyReader(param.getType(),
+                  param.getGenericType(), param.getAnnotations(), mediaType);
+            count += prewarm(reader, param.getType(), param.getGenericType(), param.getAnnotations(), mediaType);
+         }
+      }
+      // same return types as the ones whose writers are pinned
+      if (pinnedWriters != null)
+      {
+         for (MediaType mediaType : method.getProduces())
+         {
+            if (mediaType.isWildcardType() || mediaType.isWildcardSubtype()) continue;
+            MessageBodyWriter writer = resourceMethodProviderFactory.getMessageBodyWriter(method.getReturnType(),
+                  method.getGenericReturnType(), methodAnnotations, mediaType);
+            count += prewarm(writer, method.getReturnType(), method.getGenericReturnType(), methodAnnotations, mediaType);
+         }
+      }
+      return count;
+   }
+
+   private int prewarm(Object provider, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType)
+   {
+      if (!(provider instanceof PrewarmableProvider)) return 0;
+      try
+      {
+         ((PrewarmableProvider) provider).prewarm(type, genericType, annotations, mediaType);
+         return 1;
+      }
+      catch (RuntimeException e)
+      {
+         // the first request will fail the same way, with the error reported to the client
+         LogMessages.LOGGER.debugf(e, "Could not prewarm %s for %s", provider.getClass().getName(), type.getName());
+         return 0;
+      }
+   }
+
 
 
    @Override
@@ -368,6 +477,10 @@ public class ResourceMethodInvoker implements ResourceInvoker, JaxrsInterceptorR
       try {
          ResteasyContext.pushContext(ResourceInfo.class, resourceInfo);  // we don't pop so writer interceptors can get at this
 
+         if (requestFilters.length == 0) {
+            // nothing can suspend or abort the request, no need for a filter context
+            return invokeOnTargetAfterFilter(request, response, target);
+         }
          PostMatchContainerRequestContext requestContext = new PostMatchContainerRequestContext(request, this, requestFilters,
             () -> invokeOnTargetAfterFilter(request, response, target));
          // let it handle the continuation
@@ -695,6 +808,15 @@ public class ResourceMethodInvoker implements ResourceInvoker, JaxrsInterceptorR
       return isSse;
    }
 
+   /**
+    * @return true if the method completes its response asynchronously: it injects an AsyncResponse or an SseEventSink,
+    * or returns a type with an AsyncResponseProvider or AsyncStreamProvider such as CompletionStage
+    */
+   public boolean isAsynchronous()
+   {
+      return method.isAsynchronous() || asyncResponseProvider != null || asyncStreamProvider != null;
+   }
+
    public void markMethodAsAsync()
    {
       method.markAsynchronous();
@@ -68,6 +68,23 @@ public class ResourceMethodRegistry implements Registry
       this.widerMatching = widerMatching;
    }
 
+   public boolean isCompiledMatching()
+   {
+      return root.isCompiledMatching();
+   }
+
+   /**
+    * Match requests with regex-free {@link org.jboss.resteasy.core.registry.CompiledPathTemplate}s compiled
+    * at registration time. Must be set before resources are registered.
+    *
+    * @param compiledMatching compile path expressions
+    */
+   public void setCompiledMatching(boolean compiledMatching)
+   {
+      root.setCompiledMatching(compiledMatching);
+      rootNode.setCompiledMatching(compiledMatching);
+   }
+
    public void addPerRequestResource(Class clazz, String basePath)
    {
       addResourceFactory(new POJOResourceFactory(resourceBuilder, clazz), basePath);
@@ -423,6 +440,30 @@ public class ResourceMethodRegistry implements Registry
       else return root.getBounded();
    }
 
+   /**
+    * Scans the entity parameters and return types of the registered resource methods so that their
+    * MessageBodyReaders and MessageBodyWriters prepare for them before the first request.  Sub-resources are not
+    * scanned.
+    *
+    * @return number of providers that were prewarmed
+    * @see ResourceMethodInvoker#prewarmProviders()
+    */
+   public int prewarmProviders()
+   {
+      int count = 0;
+      for (List<ResourceInvoker> invokers : getBounded().values())
+      {
+         for (ResourceInvoker invoker : invokers)
+         {
+            if (invoker instanceof ResourceMethodInvoker)
+            {
+               count += ((ResourceMethodInvoker) invoker).prewarmProviders();
+            }
+         }
+      }
+      return count;
+   }
+
    /**
     * Number of endpoints registered.
     *
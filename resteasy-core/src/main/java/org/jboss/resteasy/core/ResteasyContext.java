@@ -33,12 +33,14 @@ public final class ResteasyContext
 
    public static <T> T getContextData(Class<T> type)
    {
-      return (T) getContextDataMap().get(type);
+      Map<Class<?>, Object> map = getContextDataMap(false);
+      return map == null ? null : (T) map.get(type);
    }
 
    public static <T> T popContextData(Class<T> type)
    {
-      return (T) getContextDataMap().remove(type);
+      Map<Class<?>, Object> map = getContextDataMap(false);
+      return map == null ? null : (T) map.remove(type);
    }
 
    public static void clearContextData()
@@ -49,7 +51,8 @@ public final class ResteasyContext
    private static Map<Class<?>, Object> getContextDataMap(boolean create)
    {
       Map<Class<?>, Object> map = contextualData.get();
-      if (map == null)
+      // lookups don't leave an empty map on threads without context
+      if (map == null && create)
       {
          contextualData.setLast(map = new HashMap<Class<?>, Object>());
       }
@@ -16,6 +16,7 @@ import org.jboss.resteasy.spi.ResteasyConfiguration;
 import org.jboss.resteasy.spi.ResteasyDeployment;
 import org.jboss.resteasy.spi.ResteasyProviderFactory;
 import org.jboss.resteasy.util.GetRestful;
+import org.jboss.resteasy.util.VirtualThreads;
 
 import javax.ws.rs.core.Application;
 import javax.ws.rs.core.Configurable;
@@ -128,6 +129,12 @@ public class ResteasyDeploymentImpl implements ResteasyDeployment
          }
       }
 
+      // read by the injectors created for the resources, see MethodHandleBinder
+      if (Boolean.TRUE.equals(getProperty(ResteasyContextParameters.RESTEASY_METHOD_HANDLES)))
+      {
+         providerFactory.property(ResteasyContextParameters.RESTEASY_METHOD_HANDLES, true);
+      }
+
       if (deploymentSensitiveFactoryEnabled)
       {
          // the ThreadLocalResteasyProviderFactory pushes and pops this deployments parentProviderFactory
@@ -169,6 +176,7 @@ public class ResteasyDeploymentImpl implements ResteasyDeployment
          asyncDispatcher.setMaxCacheSize(asyncJobServiceMaxJobResults);
          asyncDispatcher.setMaxWaitMilliSeconds(asyncJobServiceMaxWait);
          asyncDispatcher.setThreadPoolSize(asyncJobServiceThreadPoolSize);
+         asyncDispatcher.setVirtualThreads(VirtualThreads.isEnabled(this));
          asyncDispatcher.setBasePath(asyncJobServiceBasePath);
          asyncDispatcher.getUnwrappedExceptions().addAll(unwrappedExceptions);
          asyncDispatcher.start();
@@ -189,6 +197,10 @@ public class ResteasyDeploymentImpl implements ResteasyDeployment
       {
          ((ResourceMethodRegistry)registry).setWiderMatching(widerRequestMatching);
       }
+      if (Boolean.TRUE.equals(getProperty(ResteasyContextParameters.RESTEASY_COMPILED_REQUEST_MATCHING)))
+      {
+         ((ResourceMethodRegistry)registry).setCompiledMatching(true);
+      }
 
 
       dispatcher.getDefaultContextObjects().putAll(defaultContextObjects);
@@ -281,13 +293,22 @@ public class ResteasyDeploymentImpl implements ResteasyDeployment
          // register all providers
          registration();
 
+         if (Boolean.TRUE.equals(getProperty(ResteasyContextParameters.RESTEASY_PREWARM_PROVIDERS))
+               && registry instanceof ResourceMethodRegistry)
+         {
+            long start = System.nanoTime();
+            int count = ((ResourceMethodRegistry) registry).prewarmProviders();
+            LogMessages.LOGGER.debugf("Prewarmed %d providers in %d ms", count, (System.nanoTime() - start) / 1000000);
+         }
+
          if (paramMapping != null)
          {
             providerFactory.getContainerRequestFilterRegistry().registerSingleton(new AcceptParameterHttpPreprocessor(paramMapping));
          }
 
+         // an empty mapping would only add a pre-matching filter to every request
          AcceptHeaderByFileSuffixFilter suffixNegotiationFilter = null;
-         if (mediaTypeMappings != null)
+         if (mediaTypeMappings != null && !mediaTypeMappings.isEmpty())
          {
             Map<String, MediaType> extMap = new HashMap<String, MediaType>();
             for (Map.Entry<String, String> ext : mediaTypeMappings.entrySet())
@@ -305,7 +326,7 @@ public class ResteasyDeploymentImpl implements ResteasyDeployment
          }
 
 
-         if (languageExtensions != null)
+         if (languageExtensions != null && !languageExtensions.isEmpty())
          {
             if (suffixNegotiationFilter == null)
             {
@@ -42,6 +42,7 @@ import org.jboss.resteasy.spi.metadata.ResourceClassProcessor;
 import org.jboss.resteasy.spi.util.PickConstructor;
 import org.jboss.resteasy.spi.util.Types;
 import org.jboss.resteasy.tracing.RESTEasyTracingLogger;
+import org.jboss.resteasy.util.BoundedConcurrentCache;
 import org.jboss.resteasy.util.FeatureContextDelegate;
 
 import javax.annotation.Priority;
@@ -103,6 +104,7 @@ import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
@@ -251,6 +253,7 @@ public class ResteasyProviderFactoryImpl extends ResteasyProviderFactory impleme
    protected Set<Feature> enabledFeatures;
    protected Set<Class<?>> providerClasses;
    protected Set<Object> providerInstances;
+   private final AtomicLong messageBodyProvidersVersion = new AtomicLong();
 
    public ResteasyProviderFactoryImpl()
    {
@@ -414,6 +417,35 @@ public class ResteasyProviderFactoryImpl extends ResteasyProviderFactory impleme
       return clientMessageBodyWriters;
    }
 
+   /**
+    * Caches of the MessageBodyReader/MessageBodyWriter lookups by media type and class.  Their limits can be tuned
+    * and their hit, miss and eviction counters read at runtime.
+    *
+    * @return class caches keyed by "server.readers", "server.writers", "client.readers" and "client.writers"
+    */
+   public Map<String, BoundedConcurrentCache<?, ?>> getMediaTypeClassCaches()
+   {
+      Map<String, BoundedConcurrentCache<?, ?>> caches = new HashMap<String, BoundedConcurrentCache<?, ?>>();
+      caches.put("server.readers", getServerMessageBodyReaders().getBoundedClassCache());
+      caches.put("server.writers", getServerMessageBodyWriters().getBoundedClassCache());
+      caches.put("client.readers", getClientMessageBodyReaders().getBoundedClassCache());
+      caches.put("client.writers", getClientMessageBodyWriters().getBoundedClassCache());
+      return caches;
+   }
+
+   /**
+    * Incremented every time a MessageBodyReader or MessageBodyWriter is registered with this factory or its parent,
+    * so that callers pinning resolved readers and writers know when they have to resolve them again.
+    *
+    * @return version of the registered message body providers
+    */
+   public long getMessageBodyProvidersVersion()
+   {
+      long version = messageBodyProvidersVersion.get();
+      if (parent != null) version += parent.getMessageBodyProvidersVersion();
+      return version;
+   }
+
    public Map<Class<?>, ExceptionMapper> getExceptionMappers()
    {
       if (exceptionMappers != null)
@@ -809,6 +841,7 @@ public class ResteasyProviderFactoryImpl extends ResteasyProviderFactory impleme
             serverMessageBodyReaders.add(new MediaType("*", "*"), key);
          }
       }
+      messageBodyProvidersVersion.incrementAndGet();
    }
 
    /**
@@ -877,6 +910,7 @@ public class ResteasyProviderFactoryImpl extends ResteasyProviderFactory impleme
             serverMessageBodyWriters.add(new MediaType("*", "*"), key);
          }
       }
+      messageBodyProvidersVersion.incrementAndGet();
    }
 
    @Deprecated
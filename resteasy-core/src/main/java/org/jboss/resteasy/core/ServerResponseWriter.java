@@ -96,8 +96,11 @@ public class ServerResponseWriter
          Annotation[] annotations = jaxrsResponse.getAnnotations();
          @SuppressWarnings(value = "unchecked")
          final MediaType mt = jaxrsResponse.getMediaType();
-         MessageBodyWriter writer = providerFactory.getMessageBodyWriter(
-               type, generic, annotations, mt);
+         PinnedProviders<MessageBodyWriter> pinnedWriters = method == null ? null
+               : method.getPinnedWriters(providerFactory, generic, annotations);
+         MessageBodyWriter writer = pinnedWriters != null
+               ? pinnedWriters.get((ResteasyProviderFactoryImpl) providerFactory, type, mt, RESTEasyTracingLogger.empty())
+               : providerFactory.getMessageBodyWriter(type, generic, annotations, mt);
          if (writer!=null)
             LogMessages.LOGGER.debugf("MessageBodyWriter: %s", writer.getClass().getName());
 
@@ -135,7 +138,7 @@ public class ServerResponseWriter
 
          AbstractWriterInterceptorContext writerContext =  new ServerWriterInterceptorContext(writerInterceptors,
                providerFactory, entity, type, generic, annotations, mt,
-               jaxrsResponse.getMetadata(), os, request);
+               jaxrsResponse.getMetadata(), os, request, pinnedWriters);
 
          RESTEasyTracingLogger tracingLogger = RESTEasyTracingLogger.getInstance(request);
          final long timestamp = tracingLogger.timestamp("WI_SUMMARY");
@@ -206,7 +209,13 @@ public class ServerResponseWriter
          responseFilters = providerFactory.getContainerResponseFilterRegistry().postMatch(null, null);
       }
 
-      if (responseFilters != null)
+      if (responseFilters != null && responseFilters.length == 0)
+      {
+         // same as filtering through an empty chain, without creating the contexts
+         continuation.run();
+         onComplete.accept(null);
+      }
+      else if (responseFilters != null)
       {
          ResponseContainerRequestContext requestContext = new ResponseContainerRequestContext(request);
          ContainerResponseContextImpl responseContext = new ContainerResponseContextImpl(request, response, jaxrsResponse,
@@ -0,0 +1,132 @@
+package org.jboss.resteasy.core;
+
+import java.io.IOException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
+
+/**
+ * Coalesces the flushes of a streamed response.  The elements written are flushed together once
+ * <code>flushSize</code> bytes are pending, or <code>flushDelay</code> milliseconds after the first pending one was
+ * written, rather than one flush per element.  A <code>flushSize</code> of 0 or less flushes every element.
+ * <p>
+ * {@link #written(int)} and {@link #flush()} must be called holding the lock given to the constructor, the delayed
+ * flushes take it too.
+ */
+public class StreamFlusher
+{
+   @FunctionalInterface
+   public interface Flush
+   {
+      void flush() throws IOException;
+   }
+
+   private static final class Scheduler
+   {
+      private static final ScheduledThreadPoolExecutor INSTANCE = new ScheduledThreadPoolExecutor(1, runnable -> {
+         Thread thread = new Thread(runnable, "resteasy-stream-flusher");
+         thread.setDaemon(true);
+         return thread;
+      });
+
+      static
+      {
+         INSTANCE.setRemoveOnCancelPolicy(true);
+      }
+   }
+
+   private final Object lock;
+   private final Flush flush;
+   private final int flushSize;
+   private final long flushDelay;
+   private int pending;
+   private ScheduledFuture<?> scheduled;
+
+   /**
+    * @param lock lock guarding the writes to the response
+    * @param flush flushes the response
+    * @param flushSize number of pending bytes that are flushed at once
+    * @param flushDelay milliseconds pending bytes wait at most for their flush
+    */
+   public StreamFlusher(final Object lock, final Flush flush, final int flushSize, final long flushDelay)
+   {
+      this.lock = lock;
+      this.flush = flush;
+      this.flushSize = flushSize;
+      this.flushDelay = flushDelay;
+   }
+
+   /**
+    * Called once an element was written, flushes the response if enough bytes are pending.
+    *
+    * @param bytes size of the element
+    * @throws IOException if the response cannot be flushed
+    */
+   public void written(int bytes) throws IOException
+   {
+      pending += bytes;
+      if (pending >= flushSize)
+      {
+         flush();
+      }
+      else if (scheduled == null && pending > 0)
+      {
+         scheduled = Scheduler.INSTANCE.schedule(this::delayedFlush, flushDelay, TimeUnit.MILLISECONDS);
+      }
+   }
+
+   /**
+    * Flushes the response now.
+    *
+    * @throws IOException if the response cannot be flushed
+    */
+   public void flush() throws IOException
+   {
+      cancel();
+      flush.flush();
+   }
+
+   /**
+    * Forgets the pending bytes without flushing them, for a response that is completed instead.
+    */
+   public void cancel()
+   {
+      pending = 0;
+      if (scheduled != null)
+      {
+         scheduled.cancel(false);
+         scheduled = null;
+      }
+   }
+
+   /**
+    * @return number of bytes written and not flushed yet
+    */
+   public int getPending()
+   {
+      return pending;
+   }
+
+   private void delayedFlush()
+   {
+      synchronized (lock)
+      {
+         scheduled = null;
+         if (pending == 0)
+         {
+            return;
+         }
+         try
+         {
+            flush();
+         }
+         catch (IOException e)
+         {
+            // the next write fails too and ends the stream
+            LogMessages.LOGGER.failedToFlushStream(e);
+         }
+      }
+   }
+}
@@ -1,6 +1,7 @@
 package org.jboss.resteasy.core;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
@@ -376,6 +377,7 @@ public class StringParameterInjector
    protected Type baseGenericType;
    protected Constructor<?> constructor;
    protected Method valueOf;
+   protected MethodHandle converter;
    protected String defaultValue;
    protected String paramName;
    protected Class<?> paramType;
@@ -522,6 +524,7 @@ public class StringParameterInjector
          }
          else
          {
+            if (MethodHandleBinder.isEnabled(factory)) converter = MethodHandleBinder.bindConverter(constructor);
             return true;
          }
       }
@@ -591,6 +594,7 @@ public class StringParameterInjector
          }
       }
 
+      if (valueOf != null && MethodHandleBinder.isEnabled(factory)) converter = MethodHandleBinder.bindConverter(valueOf);
       return valueOf != null;
    }
 
@@ -699,6 +703,21 @@ public class StringParameterInjector
       {
          return delegate.fromString(strVal);
       }
+      else if (converter != null)
+      {
+         try
+         {
+            return converter.invokeExact(strVal);
+         }
+         catch (WebApplicationException e)
+         {
+            throw e;
+         }
+         catch (Throwable t)
+         {
+            throwProcessingException(Messages.MESSAGES.unableToExtractParameter(getParamSignature(), strVal, target), t);
+         }
+      }
       else if (constructor != null)
       {
          try
@@ -114,9 +114,11 @@ public class SynchronousDispatcher implements Dispatcher
          }
          tracingLogger.logDuration("PRE_MATCH_SUMMARY", totalTimestamp, this.requestPreprocessors.size());
          ContainerRequestFilter[] requestFilters = providerFactory.getContainerRequestFilterRegistry().preMatch();
-         // FIXME: support async
-         PreMatchContainerRequestContext requestContext = new PreMatchContainerRequestContext(request, requestFilters, null);
-         aborted = requestContext.filter();
+         if (requestFilters.length > 0) {
+            // FIXME: support async
+            PreMatchContainerRequestContext requestContext = new PreMatchContainerRequestContext(request, requestFilters, null);
+            aborted = requestContext.filter();
+         }
       } catch (Exception e) {
          //logger.error("Failed in preprocess, mapping exception", e);
          aborted = new ExceptionHandler(providerFactory, unwrappedExceptions).handleException(request, e);
@@ -148,12 +150,14 @@ public class SynchronousDispatcher implements Dispatcher
          }
          tracingLogger.logDuration("PRE_MATCH_SUMMARY", totalTimestamp, this.requestPreprocessors.size());
          ContainerRequestFilter[] requestFilters = providerFactory.getContainerRequestFilterRegistry().preMatch();
-         requestContext = new PreMatchContainerRequestContext(request, requestFilters,
-            () -> {
-               continuation.run();
-               return null;
-            });
-         aborted = requestContext.filter();
+         if (requestFilters.length > 0) {
+            requestContext = new PreMatchContainerRequestContext(request, requestFilters,
+               () -> {
+                  continuation.run();
+                  return null;
+               });
+            aborted = requestContext.filter();
+         }
       } catch (Exception e) {
          //logger.error("Failed in preprocess, mapping exception", e);
          // we only want to catch exceptions happening in the filters, not in the continuation
@@ -166,6 +170,11 @@ public class SynchronousDispatcher implements Dispatcher
             rethrow(e);
          }
       }
+      if (requestContext == null) {
+         // no pre-matching filter, so the continuation runs outside of the try block
+         continuation.run();
+         return;
+      }
       if (aborted != null) {
          tracingLogger.log("FINISHED", response.getStatus());
          tracingLogger.flush(response.getOutputHeaders());
@@ -110,13 +110,25 @@ public class JaxrsInterceptorRegistryImpl<T> implements JaxrsInterceptorRegistry
          {
             if (nameBound.size() > 0)
             {
-               Application application = ResteasyContext.getContextData(Application.class);
                // must match all namebound annotations
+               Class<?> applicationClass = null;
                for (Class<? extends Annotation> annotation : nameBound)
                {
-                  if (!targetClass.isAnnotationPresent(annotation) &&
-                          !target.isAnnotationPresent(annotation)
-                          && (application == null || !getNonSyntheticClass(application.getClass()).isAnnotationPresent(annotation)))
+                  if (targetClass.isAnnotationPresent(annotation) || target.isAnnotationPresent(annotation))
+                  {
+                     continue;
+                  }
+                  // only look up the Application when the resource itself is not bound
+                  if (applicationClass == null)
+                  {
+                     Application application = ResteasyContext.getContextData(Application.class);
+                     if (application == null)
+                     {
+                        return null;
+                     }
+                     applicationClass = getNonSyntheticClass(application.getClass());
+                  }
+                  if (!applicationClass.isAnnotationPresent(annotation))
                   {
                      return null;
                   }
@@ -227,6 +239,8 @@ public class JaxrsInterceptorRegistryImpl<T> implements JaxrsInterceptorRegistry
    protected ResteasyProviderFactory providerFactory;
    protected Class<T> intf;
    protected volatile T[] cachedPreMatch;
+   // interceptors matching no resource method, which don't depend on the Application
+   protected volatile T[] cachedPostMatch;
 
    public JaxrsInterceptorRegistryImpl(final ResteasyProviderFactory providerFactory, final Class<T> intf)
    {
@@ -271,6 +285,20 @@ public class JaxrsInterceptorRegistryImpl<T> implements JaxrsInterceptorRegistry
 
 
    public T[] postMatch(Class declaring, AccessibleObject target)
+   {
+      if (declaring == null || target == null)
+      {
+         T[] tmp = cachedPostMatch;
+         if (tmp == null)
+         {
+            tmp = cachedPostMatch = match(declaring, target);
+         }
+         return tmp;
+      }
+      return match(declaring, target);
+   }
+
+   private T[] match(Class declaring, AccessibleObject target)
    {
       List<Match> matches = new ArrayList<Match>();
       for (InterceptorFactory factory : interceptors)
@@ -304,6 +332,7 @@ public class JaxrsInterceptorRegistryImpl<T> implements JaxrsInterceptorRegistry
    {
       interceptors.add(factory);
       cachedPreMatch = null;
+      cachedPostMatch = null;
       for (JaxrsInterceptorRegistryListener listener : listeners)
       {
          listener.registryUpdated(this);
@@ -1,5 +1,6 @@
 package org.jboss.resteasy.core.interception.jaxrs;
 
+import org.jboss.resteasy.core.PinnedProviders;
 import org.jboss.resteasy.core.ResteasyProviderFactoryImpl;
 import org.jboss.resteasy.resteasy_jaxrs.i18n.Messages;
 import org.jboss.resteasy.spi.HttpRequest;
@@ -30,6 +31,7 @@ import java.util.Enumeration;
 public class ServerReaderInterceptorContext extends AbstractReaderInterceptorContext
 {
    private HttpRequest request;
+   private PinnedProviders<MessageBodyReader> pinnedReaders;
 
    public ServerReaderInterceptorContext(final ReaderInterceptor[] interceptors, final ResteasyProviderFactory providerFactory, final Class type,
                                          final Type genericType, final Annotation[] annotations, final MediaType mediaType,
@@ -40,9 +42,26 @@ public class ServerReaderInterceptorContext extends AbstractReaderInterceptorCon
       this.request = request;
    }
 
+   /**
+    * @param pinnedReaders readers pinned by the injected parameter, used as long as interceptors don't change the generic
+    *                      type and annotations of the entity. May be null.
+    */
+   public ServerReaderInterceptorContext(final ReaderInterceptor[] interceptors, final ResteasyProviderFactory providerFactory, final Class type,
+                                         final Type genericType, final Annotation[] annotations, final MediaType mediaType,
+                                         final MultivaluedMap<String, String> headers, final InputStream inputStream,
+                                         final HttpRequest request, final PinnedProviders<MessageBodyReader> pinnedReaders)
+   {
+      this(interceptors, providerFactory, type, genericType, annotations, mediaType, headers, inputStream, request);
+      this.pinnedReaders = pinnedReaders;
+   }
+
    @Override
    protected MessageBodyReader resolveReader(MediaType mediaType)
    {
+      if (pinnedReaders != null && pinnedReaders.matches(genericType, annotations))
+      {
+         return pinnedReaders.get((ResteasyProviderFactoryImpl) providerFactory, type, mediaType, tracingLogger);
+      }
       @SuppressWarnings(value = "unchecked")
       MessageBodyReader reader =  ((ResteasyProviderFactoryImpl)providerFactory).getServerMessageBodyReader(type,
               genericType, annotations, mediaType, tracingLogger);
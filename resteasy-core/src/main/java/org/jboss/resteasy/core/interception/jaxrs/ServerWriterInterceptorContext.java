@@ -1,6 +1,7 @@
 package org.jboss.resteasy.core.interception.jaxrs;
 
 import org.jboss.resteasy.core.NoMessageBodyWriterFoundFailure;
+import org.jboss.resteasy.core.PinnedProviders;
 import org.jboss.resteasy.core.ResteasyProviderFactoryImpl;
 import org.jboss.resteasy.spi.HttpRequest;
 import org.jboss.resteasy.spi.ResteasyProviderFactory;
@@ -26,6 +27,7 @@ import java.util.Enumeration;
 public class ServerWriterInterceptorContext extends AbstractWriterInterceptorContext
 {
    private HttpRequest request;
+   private PinnedProviders<MessageBodyWriter> pinnedWriters;
 
    public ServerWriterInterceptorContext(final WriterInterceptor[] interceptors, final ResteasyProviderFactory providerFactory,
                                          final Object entity, final Class type, final Type genericType, final Annotation[] annotations,
@@ -38,10 +40,28 @@ public class ServerWriterInterceptorContext extends AbstractWriterInterceptorCon
       this.request = request;
    }
 
+   /**
+    * @param pinnedWriters writers pinned by the resource method, used as long as interceptors don't change the generic
+    *                      type and annotations of the entity. May be null.
+    */
+   public ServerWriterInterceptorContext(final WriterInterceptor[] interceptors, final ResteasyProviderFactory providerFactory,
+                                         final Object entity, final Class type, final Type genericType, final Annotation[] annotations,
+                                         final MediaType mediaType, final MultivaluedMap<String, Object> headers,
+                                         final OutputStream outputStream,
+                                         final HttpRequest request, final PinnedProviders<MessageBodyWriter> pinnedWriters)
+   {
+      this(interceptors, providerFactory, entity, type, genericType, annotations, mediaType, headers, outputStream, request);
+      this.pinnedWriters = pinnedWriters;
+   }
+
    @SuppressWarnings(value = "unchecked")
    @Override
    protected MessageBodyWriter resolveWriter()
    {
+      if (pinnedWriters != null && pinnedWriters.matches(genericType, annotations))
+      {
+         return pinnedWriters.get((ResteasyProviderFactoryImpl) providerFactory, type, mediaType, tracingLogger);
+      }
       return ((ResteasyProviderFactoryImpl)providerFactory).getServerMessageBodyWriter(
               type, genericType, annotations, mediaType, tracingLogger);
 
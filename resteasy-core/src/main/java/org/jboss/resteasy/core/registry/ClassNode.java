@@ -11,8 +11,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.regex.MatchResult;
 
 /**
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
@@ -22,7 +21,8 @@ public class ClassNode
 {
    protected String segment;
    protected Map<String, ClassNode> children = new HashMap<String, ClassNode>();
-   protected List<ClassExpression> targets = new ArrayList<ClassExpression>();
+   // sorted and replaced, never modified, when expressions are added or removed
+   protected volatile List<ClassExpression> targets = Collections.emptyList();
 
    public ClassNode(final String segment)
    {
@@ -33,17 +33,16 @@ public class ClassNode
    {
       String path = ((ResteasyUriInfo) request.getUri()).getMatchingPath();
       if (start < path.length() && path.charAt(start) == '/') start++;
-      List<ClassExpression> potentials = new ArrayList<ClassExpression>();
-      potentials(path, start, potentials);
-      Collections.sort(potentials);
+      // the targets of every node are sorted when they are added, merging them keeps the order of a full sort
+      List<List<ClassExpression>> runs = new ArrayList<List<ClassExpression>>(4);
+      sortedPotentials(path, start, runs);
+      List<ClassExpression> potentials = runs.isEmpty() ? Collections.<ClassExpression>emptyList() : Expression.merge(runs);
 
       for (ClassExpression expression : potentials)
       {
-         Pattern pattern = expression.getPattern();
-         Matcher matcher = pattern.matcher(path);
-         matcher.region(start, path.length());
+         MatchResult matcher = expression.match(path, start);
 
-         if (matcher.matches())
+         if (matcher != null)
          {
             ResteasyUriInfo uriInfo = (ResteasyUriInfo) request.getUri();
             int length = matcher.start(expression.getNumGroups() + 1);
@@ -97,4 +96,33 @@ public class ClassNode
          matches.add(exp);
       }
    }
+
+   protected void sortedPotentials(String path, int start, List<List<ClassExpression>> runs)
+   {
+      if (start < path.length())
+      {
+         String simpleSegment = null;
+         int endOfSegmentIndex = path.indexOf('/', start);
+         if (endOfSegmentIndex > -1) simpleSegment = path.substring(start, endOfSegmentIndex);
+         else simpleSegment = path.substring(start);
+         ClassNode child = children.get(simpleSegment);
+         if (child != null)
+         {
+            int next = start + simpleSegment.length();
+            if (endOfSegmentIndex > -1) next++; // go past '/'
+            child.sortedPotentials(path, next, runs);
+         }
+      }
+      if (!targets.isEmpty()) runs.add(targets);
+   }
+
+   protected void addExpression(ClassExpression expression)
+   {
+      targets = Expression.add(targets, expression);
+   }
+
+   protected void removeExpression(ClassExpression expression)
+   {
+      targets = Expression.remove(targets, expression);
+   }
 }
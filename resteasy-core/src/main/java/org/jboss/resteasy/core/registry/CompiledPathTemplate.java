@@ -0,0 +1,213 @@
+package org.jboss.resteasy.core.registry;
+
+import org.jboss.resteasy.util.PathHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+
+/**
+ * A regex-free matcher for an {@link Expression}.  The path template is compiled once at deployment time into
+ * alternating literal parts and path parameters.  Request time matching only compares characters, following the
+ * same greedy, backtracking semantics as the <code>[^/]+</code> groups generated by {@link Expression} so that
+ * extracted path parameters are identical to the ones produced by the regular expression.
+ * <p>
+ * Only templates whose parameters use the default JAX-RS regular expression can be compiled.  Templates containing
+ * custom regular expressions, e.g. <code>{id: [0-9]+}</code>, must keep using {@link Expression#getPattern()}.
+ */
+public class CompiledPathTemplate
+{
+   protected static final int TAIL_NONE = 0;
+   /**
+    * The <code>(.*)</code> group appended for resource locators and root class expressions.
+    */
+   protected static final int TAIL_ANY = 1;
+   /**
+    * The <code>(/.+)?</code> group appended for locators and class expressions that have sub paths.
+    */
+   protected static final int TAIL_SUB_PATH = 2;
+
+   protected final String[] literals;
+   protected final int numParams;
+   protected final int tail;
+
+   protected CompiledPathTemplate(final String[] literals, final int tail)
+   {
+      this.literals = literals;
+      this.numParams = literals.length - 1;
+      this.tail = tail;
+   }
+
+   /**
+    * Compile a path expression.
+    *
+    * @param pathExpression path template as passed to {@link Expression}
+    * @param additionalRegex regular expression appended to the template, may be null
+    * @return compiled template or null if the expression requires a regular expression to be matched
+    */
+   public static CompiledPathTemplate compile(String pathExpression, String additionalRegex)
+   {
+      int tail;
+      if (additionalRegex == null) tail = TAIL_NONE;
+      else if ("(.*)".equals(additionalRegex)) tail = TAIL_ANY;
+      else if ("(/.+)?".equals(additionalRegex)) tail = TAIL_SUB_PATH;
+      else return null;
+
+      CharSequence replacedCurlySegment = PathHelper.replaceEnclosedCurlyBracesCS(pathExpression);
+      String[] split = PathHelper.URI_PARAM_PATTERN.split(replacedCurlySegment);
+      Matcher withPathParam = PathHelper.URI_PARAM_PATTERN.matcher(replacedCurlySegment);
+      List<String> literals = new ArrayList<String>();
+      int i = 0;
+      literals.add(i < split.length ? split[i++] : "");
+      while (withPathParam.find())
+      {
+         if (withPathParam.group(3) != null) return null;
+         literals.add(i < split.length ? split[i++] : "");
+      }
+      return new CompiledPathTemplate(literals.toArray(new String[literals.size()]), tail);
+   }
+
+   /**
+    * Match the region of <code>path</code> starting at <code>start</code> up to the end of the string.
+    *
+    * @param path matching path
+    * @param start start of the region
+    * @return match result with one group per path parameter (plus the trailing group if any), or null
+    */
+   public MatchResult match(String path, int start)
+   {
+      int[] bounds = new int[(numParams + 2) * 2];
+      for (int i = 2; i < bounds.length; i++) bounds[i] = -1;
+      bounds[0] = start;
+      bounds[1] = path.length();
+      if (!match(path, start, 0, bounds)) return null;
+      return new Result(path, bounds, tail == TAIL_NONE ? numParams : numParams + 1);
+   }
+
+   private boolean match(String path, int pos, int part, int[] bounds)
+   {
+      String literal = literals[part];
+      if (!path.startsWith(literal, pos)) return false;
+      pos += literal.length();
+      if (part == numParams) return matchTail(path, pos, bounds);
+
+      int group = (part + 1) * 2;
+      int segmentEnd = path.indexOf('/', pos);
+      if (segmentEnd < 0) segmentEnd = path.length();
+      // [^/]+ is greedy, so try the longest value first and backtrack
+      for (int end = segmentEnd; end > pos; end--)
+      {
+         bounds[group] = pos;
+         bounds[group + 1] = end;
+         if (match(path, end, part + 1, bounds)) return true;
+      }
+      bounds[group] = -1;
+      bounds[group + 1] = -1;
+      return false;
+   }
+
+   private boolean matchTail(String path, int pos, int[] bounds)
+   {
+      int length = path.length();
+      int group = (numParams + 1) * 2;
+      switch (tail)
+      {
+         case TAIL_ANY:
+            if (hasLineTerminator(path, pos)) return false;
+            bounds[group] = pos;
+            bounds[group + 1] = length;
+            return true;
+         case TAIL_SUB_PATH:
+            if (pos == length) return true;
+            if (length - pos < 2 || path.charAt(pos) != '/' || hasLineTerminator(path, pos)) return false;
+            bounds[group] = pos;
+            bounds[group + 1] = length;
+            return true;
+         default:
+            return pos == length;
+      }
+   }
+
+   /**
+    * '.' does not match line terminators, keep that behavior for the trailing groups.
+    */
+   private static boolean hasLineTerminator(String path, int from)
+   {
+      for (int i = from; i < path.length(); i++)
+      {
+         char c = path.charAt(i);
+         if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') return true;
+      }
+      return false;
+   }
+
+   public int getNumParams()
+   {
+      return numParams;
+   }
+
+   protected static class Result implements MatchResult
+   {
+      private final String path;
+      private final int[] bounds;
+      private final int groupCount;
+
+      protected Result(final String path, final int[] bounds, final int groupCount)
+      {
+         this.path = path;
+         this.bounds = bounds;
+         this.groupCount = groupCount;
+      }
+
+      private int check(int group)
+      {
+         if (group < 0 || group > groupCount) throw new IndexOutOfBoundsException("No group " + group);
+         return group * 2;
+      }
+
+      @Override
+      public int start()
+      {
+         return bounds[0];
+      }
+
+      @Override
+      public int start(int group)
+      {
+         return bounds[check(group)];
+      }
+
+      @Override
+      public int end()
+      {
+         return bounds[1];
+      }
+
+      @Override
+      public int end(int group)
+      {
+         return bounds[check(group) + 1];
+      }
+
+      @Override
+      public String group()
+      {
+         return group(0);
+      }
+
+      @Override
+      public String group(int group)
+      {
+         int idx = check(group);
+         if (bounds[idx] == -1) return null;
+         return path.substring(bounds[idx], bounds[idx + 1]);
+      }
+
+      @Override
+      public int groupCount()
+      {
+         return groupCount;
+      }
+   }
+}
@@ -3,7 +3,9 @@ package org.jboss.resteasy.core.registry;
 import org.jboss.resteasy.util.PathHelper;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -17,7 +19,9 @@ public abstract class Expression implements Comparable<Expression>
    public static final Pattern GROUP = Pattern.compile("[^\\\\]\\([^?]");
    protected String pathExpression;
    protected String regex;
+   protected String additionalRegex;
    protected Pattern pattern;
+   protected CompiledPathTemplate template;
    protected List<Group> groups = new ArrayList<Group>();
    protected int literalCharacters;
    protected int numCapturingGroups;
@@ -26,6 +30,7 @@ public abstract class Expression implements Comparable<Expression>
    public Expression(final String segment, final String additionalRegex)
    {
       this.pathExpression = segment;
+      this.additionalRegex = additionalRegex;
       CharSequence replacedCurlySegment = PathHelper.replaceEnclosedCurlyBracesCS(segment);
       literalCharacters = PathHelper.URI_PARAM_PATTERN.matcher(replacedCurlySegment).replaceAll("").length();
 
@@ -77,6 +82,75 @@ public abstract class Expression implements Comparable<Expression>
       return 0;
    }
 
+   /**
+    * Merges lists that are each already sorted into one sorted list.  On ties the element of the earlier list wins,
+    * so the result is the same as a stable sort of the lists concatenated in order.
+    *
+    * @param runs sorted lists
+    * @param <T> expression type
+    * @return merged list, one of the given lists if there is only one, which is fine as they are never modified
+    */
+   static <T extends Expression> List<T> merge(List<List<T>> runs)
+   {
+      if (runs.size() == 1) return runs.get(0);
+      int size = 0;
+      for (List<T> run : runs) size += run.size();
+      List<T> merged = new ArrayList<T>(size);
+      int[] positions = new int[runs.size()];
+      while (merged.size() < size)
+      {
+         int next = -1;
+         T min = null;
+         for (int i = 0; i < runs.size(); i++)
+         {
+            List<T> run = runs.get(i);
+            if (positions[i] == run.size()) continue;
+            T candidate = run.get(positions[i]);
+            if (min == null || candidate.compareTo(min) < 0)
+            {
+               min = candidate;
+               next = i;
+            }
+         }
+         merged.add(min);
+         positions[next]++;
+      }
+      return merged;
+   }
+
+   /**
+    * Copy a sorted list of expressions with one more expression.  The lists of the nodes are replaced rather than
+    * modified so requests can keep reading them while resources are registered.
+    *
+    * @param sorted sorted list
+    * @param expression expression to add
+    * @param <T> expression type
+    * @return new unmodifiable sorted list
+    */
+   static <T extends Expression> List<T> add(List<T> sorted, T expression)
+   {
+      List<T> list = new ArrayList<T>(sorted.size() + 1);
+      list.addAll(sorted);
+      list.add(expression);
+      Collections.sort(list);
+      return Collections.unmodifiableList(list);
+   }
+
+   /**
+    * Copy a sorted list of expressions without the given expression.
+    *
+    * @param sorted sorted list
+    * @param expression expression to remove
+    * @param <T> expression type
+    * @return new unmodifiable sorted list
+    */
+   static <T extends Expression> List<T> remove(List<T> sorted, T expression)
+   {
+      List<T> list = new ArrayList<T>(sorted);
+      list.remove(expression);
+      return Collections.unmodifiableList(list);
+   }
+
    /**
     * Find the number of groups in the regular expression
     * don't count escaped '('.
@@ -123,6 +197,35 @@ public abstract class Expression implements Comparable<Expression>
       return pattern;
    }
 
+   /**
+    * Compile this expression into a {@link CompiledPathTemplate} so that {@link #match(String, int)} does not need
+    * a regular expression.  Expressions with custom path parameter regular expressions keep using the pattern.
+    */
+   public void compile()
+   {
+      template = CompiledPathTemplate.compile(pathExpression, additionalRegex);
+   }
+
+   public boolean isCompiled()
+   {
+      return template != null;
+   }
+
+   /**
+    * Match the region of path starting at start.
+    *
+    * @param path matching path
+    * @param start start of the region
+    * @return match result or null if the expression does not match
+    */
+   public MatchResult match(String path, int start)
+   {
+      if (template != null) return template.match(path, start);
+      Matcher matcher = pattern.matcher(path);
+      matcher.region(start, path.length());
+      return matcher.matches() ? matcher : null;
+   }
+
    protected static class Group
    {
       int group;
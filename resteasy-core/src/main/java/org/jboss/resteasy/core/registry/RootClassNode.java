@@ -18,6 +18,24 @@ public class RootClassNode
 {
    protected ClassNode root = new ClassNode("");
    protected Map<String, ClassExpression> bounded = new HashMap<String, org.jboss.resteasy.core.registry.ClassExpression>();
+   protected boolean compiledMatching;
+
+   public boolean isCompiledMatching()
+   {
+      return compiledMatching;
+   }
+
+   /**
+    * If true, class and method expressions added after this call are compiled into regex-free
+    * {@link CompiledPathTemplate}s.
+    *
+    * @param compiledMatching compile expressions
+    */
+   public void setCompiledMatching(boolean compiledMatching)
+   {
+      this.compiledMatching = compiledMatching;
+   }
+
    public int getSize()
    {
       int size = 0;
@@ -57,7 +75,7 @@ public class RootClassNode
       ce.getRoot().removeBinding(path, method);
       if (ce.getRoot().getSize() == 0)
       {
-         ce.getParent().targets.remove(ce);
+         ce.getParent().removeExpression(ce);
          bounded.remove(regex);
       }
    }
@@ -71,6 +89,11 @@ public class RootClassNode
       ClassExpression existing = bounded.get(regex);
       if (existing == null)
       {
+         if (compiledMatching)
+         {
+            newce.compile();
+            newce.getRoot().setCompiledMatching(true);
+         }
          newce.getRoot().addInvoker(fullpath, invoker);
          addExpression(classExpression, newce);
          bounded.put(regex, newce);
@@ -87,7 +110,7 @@ public class RootClassNode
       if ("".equals(path))
       {
          ce.parent = root;
-         root.targets.add(ce);
+         root.addExpression(ce);
          return;
       }
       //Matcher param = PathHelper.URI_PARAM_PATTERN.matcher(path);
@@ -121,7 +144,7 @@ public class RootClassNode
             }
          }
          ce.parent = node;
-         node.targets.add(ce);
+         node.addExpression(ce);
       }
       else
       {
@@ -138,7 +161,7 @@ public class RootClassNode
             node = tmp;
          }
          ce.parent = node;
-         node.targets.add(ce);
+         node.addExpression(ce);
       }
    }
 }
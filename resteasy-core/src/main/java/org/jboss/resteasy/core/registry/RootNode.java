@@ -19,6 +19,22 @@ public class RootNode
    protected SegmentNode root = new SegmentNode("");
    protected int size = 0;
    protected MultivaluedMap<String, MethodExpression> bounded = new MultivaluedHashMap<String, MethodExpression>();
+   protected boolean compiledMatching;
+
+   public boolean isCompiledMatching()
+   {
+      return compiledMatching;
+   }
+
+   /**
+    * If true, expressions added after this call are compiled into regex-free {@link CompiledPathTemplate}s.
+    *
+    * @param compiledMatching compile expressions
+    */
+   public void setCompiledMatching(boolean compiledMatching)
+   {
+      this.compiledMatching = compiledMatching;
+   }
 
    public int getSize()
    {
@@ -52,7 +68,7 @@ public class RootNode
          ResourceInvoker invoker = expression.getInvoker();
          if (invoker.getMethod().equals(method))
          {
-            expression.parent.targets.remove(expression);
+            expression.parent.removeExpression(expression);
             expressions.remove(expression);
             if (expressions.size() == 0) bounded.remove(path);
             size--;
@@ -68,6 +84,7 @@ public class RootNode
    public void addInvoker(String path, ResourceInvoker invoker)
    {
       MethodExpression expression = addExpression(path, invoker);
+      if (compiledMatching) expression.compile();
       size++;
       bounded.add(path, expression);
    }
@@ -33,6 +33,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -53,7 +54,10 @@ public class SegmentNode
    }
    protected String segment;
    protected Map<String, SegmentNode> children = new HashMap<String, SegmentNode>();
-   protected List<MethodExpression> targets = new ArrayList<MethodExpression>();
+   // both lists are sorted and replaced, never modified, when expressions are added or removed
+   protected volatile List<MethodExpression> targets = Collections.emptyList();
+   // sorted subset of targets that can match a path going past this node
+   protected volatile List<MethodExpression> groupTargets = Collections.emptyList();
 
    public SegmentNode(final String segment)
    {
@@ -63,9 +67,9 @@ public class SegmentNode
    protected static class Match
    {
       MethodExpression expression;
-      Matcher matcher;
+      MatchResult matcher;
 
-      public Match(final MethodExpression expression, final Matcher matcher)
+      public Match(final MethodExpression expression, final MatchResult matcher)
       {
          this.expression = expression;
          this.matcher = matcher;
@@ -79,9 +83,10 @@ public class SegmentNode
       logger.log("MATCH_PATH_FIND", ((ResteasyUriInfo)request.getUri()).getMatchingPath());
 
       if (start < path.length() && path.charAt(start) == '/') start++;
-      List<MethodExpression> potentials = new ArrayList<MethodExpression>();
-      potentials(path, start, potentials);
-      Collections.sort(potentials);
+      // the targets of every node are sorted when they are added, merging them keeps the order of a full sort
+      List<List<MethodExpression>> runs = new ArrayList<List<MethodExpression>>(4);
+      sortedPotentials(path, start, runs);
+      List<MethodExpression> potentials = runs.isEmpty() ? Collections.<MethodExpression>emptyList() : Expression.merge(runs);
 
       boolean expressionMatched = false;
       List<Match> matches = new ArrayList<Match>();
@@ -93,11 +98,9 @@ public class SegmentNode
             continue;
          }
 
-         Pattern pattern = expression.getPattern();
-         Matcher matcher = pattern.matcher(path);
-         matcher.region(start, path.length());
+         MatchResult matcher = expression.match(path, start);
 
-         if (matcher.matches())
+         if (matcher != null)
          {
             expressionMatched = true;
             ResourceInvoker invoker = expression.getInvoker();
@@ -112,19 +115,28 @@ public class SegmentNode
                }
                else
                {
-                  // must find the end of the matched pattern
-                  // and get the substring from 1st char thru end
-                  // of matched chars
-                  Pattern p = expression.getPattern();
-                  Matcher m = p.matcher(path);
-                  m.region(start, path.length());
                   String substring = path;
-                  while(m.find()) {
-                     String endText = m.group(m.groupCount());
-                     if (endText != null && !endText.isEmpty()) {
-                        int indx = path.indexOf(endText, length);
-                        if (indx > -1) {
-                           substring = path.substring(0, indx);
+                  if (expression.isCompiled())
+                  {
+                     // the locator group is the last group of a compiled template, it starts where the matched chars end
+                     String endText = matcher.group(matcher.groupCount());
+                     if (endText != null && !endText.isEmpty()) substring = path.substring(0, length);
+                  }
+                  else
+                  {
+                     // must find the end of the matched pattern
+                     // and get the substring from 1st char thru end
+                     // of matched chars
+                     Pattern p = expression.getPattern();
+                     Matcher m = p.matcher(path);
+                     m.region(start, path.length());
+                     while(m.find()) {
+                        String endText = m.group(m.groupCount());
+                        if (endText != null && !endText.isEmpty()) {
+                           int indx = path.indexOf(endText, length);
+                           if (indx > -1) {
+                              substring = path.substring(0, indx);
+                           }
                         }
                      }
                   }
@@ -188,6 +200,31 @@ public class SegmentNode
       }
    }
 
+   protected void sortedPotentials(String path, int start, List<List<MethodExpression>> runs)
+   {
+      if (start == path.length()) // we've reached end of string
+      {
+         if (!targets.isEmpty()) runs.add(targets);
+         return;
+      }
+
+      if (start < path.length())
+      {
+         String simpleSegment = null;
+         int endOfSegmentIndex = path.indexOf('/', start);
+         if (endOfSegmentIndex > -1) simpleSegment = path.substring(start, endOfSegmentIndex);
+         else simpleSegment = path.substring(start);
+         SegmentNode child = children.get(simpleSegment);
+         if (child != null)
+         {
+            int next = start + simpleSegment.length();
+            if (endOfSegmentIndex > -1) next++; // go past '/'
+            child.sortedPotentials(path, next, runs);
+         }
+      }
+      if (!groupTargets.isEmpty()) runs.add(groupTargets);
+   }
+
    public static class SortFactor
    {
       public float q = 1.0f;
@@ -533,9 +570,18 @@ public class SegmentNode
 
    protected void addExpression(MethodExpression expression)
    {
-      targets.add(expression);
-      Collections.sort(targets);
+      targets = Expression.add(targets, expression);
+      // skip any static matches as they will not match a longer path anyways
+      if (expression.getNumGroups() > 0 || expression.getInvoker() instanceof ResourceLocatorInvoker)
+      {
+         groupTargets = Expression.add(groupTargets, expression);
+      }
+   }
 
+   protected void removeExpression(MethodExpression expression)
+   {
+      targets = Expression.remove(targets, expression);
+      groupTargets = Expression.remove(groupTargets, expression);
    }
 
    private String requestToString(HttpRequest request) {
@@ -0,0 +1,35 @@
+package org.jboss.resteasy.plugins.interceptors;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Content-Encoding applied to entities by {@link GZIPEncodingInterceptor} and removed by
+ * {@link GZIPDecodingInterceptor}.  The gzip and deflate codecs are built in, others are found with the
+ * {@link java.util.ServiceLoader} by listing them in META-INF/services/org.jboss.resteasy.plugins.interceptors.ContentCodec.
+ *
+ * @see ContentCodecs
+ */
+public interface ContentCodec
+{
+   /**
+    * @return the Content-Encoding token of this codec, compared ignoring case
+    */
+   String getEncoding();
+
+   /**
+    * @param out stream the encoded bytes are written to, closing it only flushes it
+    * @param level compression level, from 0 to 9, or -1 for the default level of the codec
+    * @return stream encoding what is written to it, closing it writes what remains of the encoded entity
+    * @throws IOException if the stream cannot be created
+    */
+   OutputStream encode(OutputStream out, int level) throws IOException;
+
+   /**
+    * @param in encoded stream
+    * @return stream of the decoded bytes
+    * @throws IOException if the stream cannot be created
+    */
+   InputStream decode(InputStream in) throws IOException;
+}
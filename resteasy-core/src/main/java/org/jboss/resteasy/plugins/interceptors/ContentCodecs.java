@@ -0,0 +1,231 @@
+package org.jboss.resteasy.plugins.interceptors;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The available {@link ContentCodec}s, by Content-Encoding.  The gzip and deflate (zlib) codecs use pooled Deflaters
+ * and Inflaters.
+ */
+public final class ContentCodecs
+{
+   private static final int BUFFER_SIZE = 8192;
+
+   private static final Map<String, ContentCodec> CODECS = load();
+
+   private ContentCodecs()
+   {
+   }
+
+   /**
+    * @param encoding Content-Encoding, may be null
+    * @return the codec for the encoding or null if there is none
+    */
+   public static ContentCodec get(String encoding)
+   {
+      return encoding == null ? null : CODECS.get(encoding.trim().toLowerCase(Locale.ENGLISH));
+   }
+
+   /**
+    * @return the lower case Content-Encodings that have a codec
+    */
+   public static Set<String> getEncodings()
+   {
+      return CODECS.keySet();
+   }
+
+   private static Map<String, ContentCodec> load()
+   {
+      Map<String, ContentCodec> codecs = new HashMap<String, ContentCodec>();
+      codecs.put("gzip", new GzipCodec());
+      codecs.put("deflate", new DeflateCodec());
+      for (ContentCodec codec : ServiceLoader.load(ContentCodec.class, ContentCodecs.class.getClassLoader()))
+      {
+         codecs.put(codec.getEncoding().toLowerCase(Locale.ENGLISH), codec);
+      }
+      return Collections.unmodifiableMap(codecs);
+   }
+
+   private static class GzipCodec implements ContentCodec
+   {
+      @Override
+      public String getEncoding()
+      {
+         return "gzip";
+      }
+
+      @Override
+      public OutputStream encode(OutputStream out, int level) throws IOException
+      {
+         return new PooledGZIPOutputStream(out, level);
+      }
+
+      @Override
+      public InputStream decode(InputStream in) throws IOException
+      {
+         return new GZIPInputStream(in, BUFFER_SIZE);
+      }
+   }
+
+   private static class DeflateCodec implements ContentCodec
+   {
+      @Override
+      public String getEncoding()
+      {
+         return "deflate";
+      }
+
+      @Override
+      public OutputStream encode(OutputStream out, int level) throws IOException
+      {
+         return new PooledDeflaterOutputStream(out, level, false);
+      }
+
+      @Override
+      public InputStream decode(InputStream in) throws IOException
+      {
+         return new PooledInflaterInputStream(in, false);
+      }
+   }
+
+   /**
+    * Gives its Deflater back to the pool once finished, it can no longer be written to.
+    */
+   static class PooledDeflaterOutputStream extends DeflaterOutputStream
+   {
+      private final int level;
+      private final boolean nowrap;
+      private boolean finished;
+
+      PooledDeflaterOutputStream(final OutputStream out, final int level, final boolean nowrap)
+      {
+         super(out, ZlibPool.deflater(level, nowrap), BUFFER_SIZE);
+         this.level = level;
+         this.nowrap = nowrap;
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException
+      {
+         if (finished) throw new IOException("write beyond end of stream");
+         super.write(b, off, len);
+      }
+
+      @Override
+      public void finish() throws IOException
+      {
+         if (finished) return;
+         finished = true;
+         try
+         {
+            super.finish();
+         }
+         finally
+         {
+            ZlibPool.release(def, level, nowrap);
+         }
+      }
+   }
+
+   /**
+    * Writes the gzip header and trailer (RFC 1952) around the deflated bytes, like
+    * {@link java.util.zip.GZIPOutputStream} does.
+    */
+   static class PooledGZIPOutputStream extends PooledDeflaterOutputStream
+   {
+      private static final byte[] HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, 0};
+
+      private final CRC32 crc = new CRC32();
+      private long size;
+      private boolean trailed;
+
+      PooledGZIPOutputStream(final OutputStream out, final int level) throws IOException
+      {
+         super(out, level, true);
+         out.write(HEADER);
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException
+      {
+         super.write(b, off, len);
+         crc.update(b, off, len);
+         size += len;
+      }
+
+      @Override
+      public void finish() throws IOException
+      {
+         super.finish();
+         if (trailed) return;
+         trailed = true;
+         byte[] trailer = new byte[8];
+         writeInt((int) crc.getValue(), trailer, 0);
+         writeInt((int) size, trailer, 4);
+         out.write(trailer);
+      }
+
+      private static void writeInt(int value, byte[] buf, int offset)
+      {
+         buf[offset] = (byte) value;
+         buf[offset + 1] = (byte) (value >> 8);
+         buf[offset + 2] = (byte) (value >> 16);
+         buf[offset + 3] = (byte) (value >> 24);
+      }
+   }
+
+   /**
+    * Gives its Inflater back to the pool at the end of the stream or when closed, whichever comes first.
+    */
+   static class PooledInflaterInputStream extends InflaterInputStream
+   {
+      private final boolean nowrap;
+      private boolean released;
+
+      PooledInflaterInputStream(final InputStream in, final boolean nowrap)
+      {
+         super(in, ZlibPool.inflater(nowrap), BUFFER_SIZE);
+         this.nowrap = nowrap;
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException
+      {
+         if (released) return -1;
+         int n = super.read(b, off, len);
+         if (n < 0) release();
+         return n;
+      }
+
+      @Override
+      public int available() throws IOException
+      {
+         return released ? 0 : super.available();
+      }
+
+      @Override
+      public void close() throws IOException
+      {
+         release();
+         super.close();
+      }
+
+      private void release()
+      {
+         if (released) return;
+         released = true;
+         ZlibPool.release(inf, nowrap);
+      }
+   }
+}
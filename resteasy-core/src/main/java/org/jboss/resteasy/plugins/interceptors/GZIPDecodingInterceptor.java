@@ -1,5 +1,6 @@
 package org.jboss.resteasy.plugins.interceptors;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.zip.GZIPInputStream;
@@ -23,6 +24,9 @@ import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
 import org.jboss.resteasy.resteasy_jaxrs.i18n.Messages;
 
 /**
+ * Decodes entities with the {@link ContentCodec} of their Content-Encoding header, limiting the size of the decoded
+ * entities.
+ *
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
  * @version $Revision: 1 $
  */
@@ -96,6 +100,53 @@ public class GZIPDecodingInterceptor implements ReaderInterceptor
       }
    }
 
+   /**
+    * Limits the size of the entities decoded by codecs other than gzip.
+    */
+   private static class LimitedInputStream extends FilterInputStream
+   {
+      private final int maxSize;
+      private final boolean server;
+      private int count;
+
+      LimitedInputStream(final InputStream in, final boolean server, final int maxSize)
+      {
+         super(in);
+         this.server = server;
+         this.maxSize = maxSize;
+      }
+
+      @Override
+      public int read() throws IOException
+      {
+         byte[] b = new byte[1];
+         return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+      }
+
+      @Override
+      public int read(byte[] buf, int off, int len) throws IOException
+      {
+         int n = super.read(buf, off, len);
+         if (n > -1)
+         {
+            count += n;
+         }
+         if (count > maxSize)
+         {
+            close();
+            if (server)
+            {
+               throw new WebApplicationException(Response.status(Status.REQUEST_ENTITY_TOO_LARGE).entity(Messages.MESSAGES.gzipExceedsMaxSize(maxSize)).build());
+            }
+            else
+            {
+               throw new ProcessingException(Messages.MESSAGES.gzipExceedsMaxSize(maxSize));
+            }
+         }
+         return n;
+      }
+   }
+
    @Override
    public Object aroundReadFrom(ReaderInterceptorContext context) throws IOException, WebApplicationException
    {
@@ -118,6 +169,21 @@ public class GZIPDecodingInterceptor implements ReaderInterceptor
             context.setInputStream(old);
          }
       }
+      ContentCodec codec = encoding == null ? null : ContentCodecs.get(encoding.toString());
+      if (codec != null)
+      {
+         InputStream old = context.getInputStream();
+         InputStream is = new LimitedInputStream(codec.decode(old), context instanceof ServerReaderInterceptorContext, getMaxSize());
+         context.setInputStream(is);
+         try
+         {
+            return context.proceed();
+         }
+         finally
+         {
+            context.setInputStream(old);
+         }
+      }
       else
       {
          return context.proceed();
@@ -1,20 +1,37 @@
 package org.jboss.resteasy.plugins.interceptors;
 
+import org.jboss.resteasy.core.ResteasyContext;
+import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
 import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
+import org.jboss.resteasy.spi.ResteasyConfiguration;
 import org.jboss.resteasy.util.CommitHeaderOutputStream;
 
 import javax.annotation.Priority;
 import javax.ws.rs.Priorities;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.Provider;
 import javax.ws.rs.ext.WriterInterceptor;
 import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
 import java.util.zip.GZIPOutputStream;
 
 /**
+ * Encodes entities with the {@link ContentCodec} of their Content-Encoding header, gzip and deflate being built in.
+ * <p>
+ * The compression level and the minimum size of the entities to encode, by media type, are set on the interceptor or
+ * with the resteasy.compression.level and resteasy.compression.min.size parameters.  The minimum sizes are a comma
+ * separated list of media type=size pairs and of a default size, <code>text/*=512, application/json=1024, 256</code>
+ * for instance.  Smaller entities are sent as they are, without the Content-Encoding header.
+ *
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
  * @version $Revision: 1 $
  */
@@ -22,6 +39,17 @@ import java.util.zip.GZIPOutputStream;
 @Priority(Priorities.ENTITY_CODER)
 public class GZIPEncodingInterceptor implements WriterInterceptor
 {
+   /**
+    * Property of requests whose entity is already encoded with its Content-Encoding, by a cache for instance.
+    */
+   public static final String ENCODED_ENTITY = GZIPEncodingInterceptor.class.getName() + ".encoded";
+
+   private static final String ANY_TYPE = "*/*";
+
+   // sizes by type/subtype, type/* and */*
+   private final Map<String, Integer> minimumSizes = new ConcurrentHashMap<String, Integer>();
+   private volatile int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+
    public static class EndableGZIPOutputStream extends GZIPOutputStream
    {
       public EndableGZIPOutputStream(final OutputStream os) throws IOException
@@ -70,30 +98,191 @@ public class GZIPEncodingInterceptor implements WriterInterceptor
       }
    }
 
+   /**
+    * Encodes the entity once it reaches the minimum size, smaller entities are written as they are, without the
+    * Content-Encoding header.  An entity flushed before reaching the minimum size, a streamed one, is written as it is
+    * too, so that the bytes flushed are sent right away.
+    */
+   public static class ThresholdEncodingOutputStream extends OutputStream
+   {
+      private final OutputStream delegate;
+      private final ContentCodec codec;
+      private final int level;
+      private final MultivaluedMap<String, Object> headers;
+      private byte[] buffer;
+      private int count;
+      private OutputStream encoder;
+      private boolean finished;
+
+      public ThresholdEncodingOutputStream(final OutputStream delegate, final ContentCodec codec, final int level,
+                                           final int minimumSize, final MultivaluedMap<String, Object> headers)
+      {
+         this.delegate = delegate;
+         this.codec = codec;
+         this.level = level;
+         this.headers = headers;
+         if (minimumSize > 0) buffer = new byte[minimumSize];
+      }
+
+      @Override
+      public void write(int b) throws IOException
+      {
+         write(new byte[]{(byte) b}, 0, 1);
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException
+      {
+         if (encoder == null)
+         {
+            if (buffer != null && count + len < buffer.length)
+            {
+               System.arraycopy(b, off, buffer, count, len);
+               count += len;
+               return;
+            }
+            // the codec writes its header, committing the response headers
+            encoder = codec.encode(new UnclosableOutputStream(delegate), level);
+            if (count > 0) encoder.write(buffer, 0, count);
+            buffer = null;
+         }
+         encoder.write(b, off, len);
+      }
+
+      @Override
+      public void flush() throws IOException
+      {
+         if (encoder == null && buffer != null && !finished)
+         {
+            headers.remove(HttpHeaders.CONTENT_ENCODING);
+            encoder = new UnclosableOutputStream(delegate);
+            if (count > 0) encoder.write(buffer, 0, count);
+            buffer = null;
+         }
+         if (encoder != null) encoder.flush();
+      }
+
+      @Override
+      public void close() throws IOException
+      {
+         finish();
+         delegate.close();
+      }
+
+      /**
+       * Writes the end of the entity, without closing the underlying stream.
+       *
+       * @throws IOException if the entity cannot be written
+       */
+      public void finish() throws IOException
+      {
+         if (finished) return;
+         finished = true;
+         if (encoder != null)
+         {
+            encoder.close();
+         }
+         else if (buffer != null)
+         {
+            headers.remove(HttpHeaders.CONTENT_ENCODING);
+            delegate.write(buffer, 0, count);
+            buffer = null;
+         }
+      }
+   }
+
+   private static class UnclosableOutputStream extends FilterOutputStream
+   {
+      UnclosableOutputStream(final OutputStream out)
+      {
+         super(out);
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException
+      {
+         out.write(b, off, len);
+      }
+
+      @Override
+      public void close() throws IOException
+      {
+         out.flush();
+      }
+   }
+
+   public GZIPEncodingInterceptor()
+   {
+      configure();
+   }
+
+   public int getCompressionLevel()
+   {
+      return compressionLevel;
+   }
+
+   /**
+    * @param compressionLevel from 0 to 9, or -1 for the default level of each codec
+    */
+   public void setCompressionLevel(int compressionLevel)
+   {
+      this.compressionLevel = compressionLevel;
+   }
+
+   /**
+    * @param minimumSize size in bytes under which entities of any media type are not encoded
+    */
+   public void setMinimumSize(int minimumSize)
+   {
+      minimumSizes.put(ANY_TYPE, minimumSize);
+   }
+
+   /**
+    * @param mediaType media type, its subtype can be a wildcard
+    * @param minimumSize size in bytes under which entities of the media type are not encoded
+    */
+   public void setMinimumSize(MediaType mediaType, int minimumSize)
+   {
+      minimumSizes.put(key(mediaType.getType(), mediaType.getSubtype()), minimumSize);
+   }
+
+   public int getMinimumSize(MediaType mediaType)
+   {
+      Integer size = null;
+      if (mediaType != null)
+      {
+         size = minimumSizes.get(key(mediaType.getType(), mediaType.getSubtype()));
+         if (size == null) size = minimumSizes.get(key(mediaType.getType(), "*"));
+      }
+      if (size == null) size = minimumSizes.get(ANY_TYPE);
+      return size == null ? 0 : size;
+   }
+
    @Override
    public void aroundWriteTo(WriterInterceptorContext context) throws IOException, WebApplicationException
    {
       LogMessages.LOGGER.debugf("Interceptor : %s,  Method : aroundWriteTo", getClass().getName());
 
       Object encoding = context.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+      ContentCodec codec = encoding == null ? null : ContentCodecs.get(encoding.toString());
 
-      if (encoding != null && encoding.toString().equalsIgnoreCase("gzip"))
+      if (codec != null && context.getProperty(ENCODED_ENTITY) == null)
       {
          OutputStream old = context.getOutputStream();
-         // GZIPOutputStream constructor writes to underlying OS causing headers to be written.
-         CommittedGZIPOutputStream gzipOutputStream = new CommittedGZIPOutputStream(old, null);
+         ThresholdEncodingOutputStream encodingOutputStream = new ThresholdEncodingOutputStream(old, codec,
+               compressionLevel, getMinimumSize(context.getMediaType()), context.getHeaders());
 
          // Any content length set will be obsolete
          context.getHeaders().remove("Content-Length");
 
-         context.setOutputStream(gzipOutputStream);
+         context.setOutputStream(encodingOutputStream);
          try
          {
             context.proceed();
          }
          finally
          {
-            if (gzipOutputStream.getGzip() != null) gzipOutputStream.getGzip().finish();
+            encodingOutputStream.finish();
             context.setOutputStream(old);
          }
          return;
@@ -103,4 +292,55 @@ public class GZIPEncodingInterceptor implements WriterInterceptor
          context.proceed();
       }
    }
+
+   /**
+    * Reads the parameters of the deployment creating the interceptor, or the system properties.
+    */
+   private void configure()
+   {
+      ResteasyConfiguration config = ResteasyContext.getContextData(ResteasyConfiguration.class);
+      String level = getParameter(config, ResteasyContextParameters.RESTEASY_COMPRESSION_LEVEL);
+      if (level != null)
+      {
+         try
+         {
+            compressionLevel = Integer.parseInt(level.trim());
+         }
+         catch (NumberFormatException e)
+         {
+            LogMessages.LOGGER.invalidFormat(ResteasyContextParameters.RESTEASY_COMPRESSION_LEVEL,
+                  Integer.toString(Deflater.DEFAULT_COMPRESSION));
+         }
+      }
+      String sizes = getParameter(config, ResteasyContextParameters.RESTEASY_COMPRESSION_MIN_SIZE);
+      if (sizes != null)
+      {
+         try
+         {
+            for (String size : sizes.split(","))
+            {
+               int eq = size.indexOf('=');
+               if (eq < 0) minimumSizes.put(ANY_TYPE, Integer.parseInt(size.trim()));
+               else minimumSizes.put(MediaType.valueOf(size.substring(0, eq).trim()).toString().toLowerCase(Locale.ENGLISH),
+                     Integer.parseInt(size.substring(eq + 1).trim()));
+            }
+         }
+         catch (IllegalArgumentException e)
+         {
+            minimumSizes.clear();
+            LogMessages.LOGGER.invalidFormat(ResteasyContextParameters.RESTEASY_COMPRESSION_MIN_SIZE, "0");
+         }
+      }
+   }
+
+   private static String getParameter(ResteasyConfiguration config, String name)
+   {
+      String value = config == null ? null : config.getParameter(name);
+      return value != null ? value : System.getProperty(name);
+   }
+
+   private static String key(String type, String subtype)
+   {
+      return (type + "/" + subtype).toLowerCase(Locale.ENGLISH);
+   }
 }
@@ -0,0 +1,55 @@
+package org.jboss.resteasy.plugins.interceptors;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflaters and Inflaters reused across entities, so that their native zlib streams are not allocated and freed for
+ * each one.  The pools are bounded, what does not fit is ended.
+ */
+final class ZlibPool
+{
+   private static final int CAPACITY = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+   // keyed by compression level, from -1 to 9, and by format
+   private static final ConcurrentMap<Integer, BlockingQueue<Deflater>> DEFLATERS = new ConcurrentHashMap<>();
+   private static final BlockingQueue<Inflater> INFLATERS = new ArrayBlockingQueue<>(CAPACITY);
+   private static final BlockingQueue<Inflater> RAW_INFLATERS = new ArrayBlockingQueue<>(CAPACITY);
+
+   private ZlibPool()
+   {
+   }
+
+   static Deflater deflater(int level, boolean nowrap)
+   {
+      Deflater deflater = deflaters(level, nowrap).poll();
+      return deflater != null ? deflater : new Deflater(level, nowrap);
+   }
+
+   static void release(Deflater deflater, int level, boolean nowrap)
+   {
+      deflater.reset();
+      if (!deflaters(level, nowrap).offer(deflater)) deflater.end();
+   }
+
+   static Inflater inflater(boolean nowrap)
+   {
+      Inflater inflater = (nowrap ? RAW_INFLATERS : INFLATERS).poll();
+      return inflater != null ? inflater : new Inflater(nowrap);
+   }
+
+   static void release(Inflater inflater, boolean nowrap)
+   {
+      inflater.reset();
+      if (!(nowrap ? RAW_INFLATERS : INFLATERS).offer(inflater)) inflater.end();
+   }
+
+   private static BlockingQueue<Deflater> deflaters(int level, boolean nowrap)
+   {
+      return DEFLATERS.computeIfAbsent(nowrap ? level + 11 : level, key -> new ArrayBlockingQueue<>(CAPACITY));
+   }
+}
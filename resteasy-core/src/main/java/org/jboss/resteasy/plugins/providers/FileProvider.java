@@ -1,15 +1,18 @@
 package org.jboss.resteasy.plugins.providers;
 
-import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Produces;
@@ -17,6 +20,7 @@ import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.ext.MessageBodyReader;
 import javax.ws.rs.ext.MessageBodyWriter;
 import javax.ws.rs.ext.Provider;
@@ -42,6 +46,11 @@ public class FileProvider implements MessageBodyReader<File>,
 
    private static final String SUFFIX = "sfx";
 
+   /**
+    * Range headers with more ranges than that are ignored, as allowed by RFC 7233 section 6.1.
+    */
+   static final int MAX_RANGES = 100;
+
    private String _downloadDirectory = null; // by default temp dir, but
    // consider allowing it to be
    // defined at runtime
@@ -122,98 +131,144 @@ public class FileProvider implements MessageBodyReader<File>,
    {
       LogMessages.LOGGER.debugf("Provider : %s,  Method : readFrom", getClass().getName());
       HttpHeaders headers = ResteasyContext.getContextData(HttpHeaders.class);
-      if (headers == null)
-      {
-         writeIt(uploadFile, entityStream);
-         return;
-      }
-      String range = headers.getRequestHeaders().getFirst("Range");
-      if (range == null)
+      if (headers != null)
       {
-         writeIt(uploadFile, entityStream);
-         return;
+         String range = headers.getRequestHeaders().getFirst("Range");
+         if (range != null) checkRanges(range, mediaType, uploadFile);
       }
+      writeIt(uploadFile, entityStream);
+   }
+
+   /**
+    * Throws a {@link FileRangeException} when the Range header asks for part of the file, for a single range or
+    * for a multipart/byteranges entity, and a 416 response when no range is satisfiable.  Returns when the whole
+    * file is sent, with a Range header that is not understood, that has more than {@link #MAX_RANGES} ranges or
+    * whose ranges cover the whole file.  Overlapping and adjacent ranges are coalesced.
+    */
+   static void checkRanges(String range, MediaType mediaType, File file)
+   {
       range = range.trim();
-      int byteUnit = range.indexOf("bytes=");
-      if ( byteUnit < 0)
+      if (!range.startsWith("bytes="))
       {
          //must start with 'bytes'
-         writeIt(uploadFile, entityStream);
-         return;
-      }
-      range = range.substring("bytes=".length());
-      if (range.indexOf(',') > -1)
-      {
-         // we don't support this
-         writeIt(uploadFile, entityStream);
          return;
       }
-      int separator = range.indexOf('-');
-      if (separator < 0)
+      String[] specs = range.substring("bytes=".length()).split(",");
+      if (specs.length > MAX_RANGES)
       {
-         writeIt(uploadFile, entityStream);
          return;
       }
-      else if (separator == 0)
+      long fileSize = file.length();
+      List<FileRange> ranges = new ArrayList<FileRange>();
+      for (String spec : specs)
       {
-         long fileSize = uploadFile.length();
-         long begin = Long.parseLong(range);
-         if (fileSize + begin < 1)
+         spec = spec.trim();
+         int separator = spec.indexOf('-');
+         if (separator < 0)
          {
-            writeIt(uploadFile, entityStream);
             return;
          }
-         throw new FileRangeException(mediaType, uploadFile, fileSize + begin, fileSize - 1);
-      }
-      else
-      {
          try
          {
-            long fileSize = uploadFile.length();
-            long begin = Long.parseLong(range.substring(0, separator));
-            if (begin >= fileSize)
-            {
-               throw new WebApplicationException(416);
-            }
+            long begin;
             long end;
-            if (range.endsWith("-"))
+            if (separator == 0)
             {
+               long suffix = Long.parseLong(spec.substring(1));
+               if (suffix >= fileSize)
+               {
+                  return;
+               }
+               if (suffix <= 0)
+               {
+                  continue;
+               }
+               begin = fileSize - suffix;
                end = fileSize - 1;
             }
             else
             {
-               String substring = range.substring(separator + 1);
-               end = Long.parseLong(substring);
+               begin = Long.parseLong(spec.substring(0, separator));
+               end = separator == spec.length() - 1 ? Long.MAX_VALUE : Long.parseLong(spec.substring(separator + 1));
+               if (end < begin)
+               {
+                  return;
+               }
+               if (begin >= fileSize)
+               {
+                  continue;
+               }
+               end = Math.min(end, fileSize - 1);
             }
-            /*
-            if (begin == 0 && end + 1 >= fileSize)
-            {
-               writeIt(uploadFile, entityStream);
-               return;
-            }
-            */
-            throw new FileRangeException(mediaType, uploadFile, begin, end);
+            ranges.add(new FileRange(file, begin, end));
          }
          catch (NumberFormatException e)
          {
-            writeIt(uploadFile, entityStream);
             return;
          }
       }
+      if (ranges.isEmpty())
+      {
+         throw new WebApplicationException(Response.status(416).header("Content-Range", "bytes */" + fileSize).build());
+      }
+      ranges = coalesce(ranges);
+      if (ranges.size() == 1)
+      {
+         FileRange single = ranges.get(0);
+         if (single.getBegin() == 0 && single.getEnd() == fileSize - 1)
+         {
+            return;
+         }
+         throw new FileRangeException(mediaType, file, single.getBegin(), single.getEnd());
+      }
+      throw new FileRangeException(mediaType, file, ranges);
    }
 
-   protected void writeIt(File uploadFile, OutputStream entityStream) throws IOException
+   /**
+    * Merges the overlapping and adjacent ranges.  The parts keep the order in which their first range was asked
+    * for, as RFC 7233 recommends.
+    */
+   private static List<FileRange> coalesce(List<FileRange> ranges)
    {
-      InputStream inputStream = new BufferedInputStream(new FileInputStream(uploadFile));
-
-      try
+      List<FileRange> sorted = new ArrayList<FileRange>(ranges);
+      sorted.sort(Comparator.comparingLong(FileRange::getBegin));
+      Map<FileRange, FileRange> parts = new IdentityHashMap<FileRange, FileRange>();
+      int start = 0;
+      long end = sorted.get(0).getEnd();
+      for (int i = 1; i <= sorted.size(); i++)
       {
-         ProviderHelper.writeTo(inputStream, entityStream);
+         if (i < sorted.size() && sorted.get(i).getBegin() <= end + 1)
+         {
+            end = Math.max(end, sorted.get(i).getEnd());
+            continue;
+         }
+         FileRange first = sorted.get(start);
+         FileRange part = i - start == 1 ? first : new FileRange(first.getFile(), first.getBegin(), end);
+         for (int j = start; j < i; j++)
+         {
+            parts.put(sorted.get(j), part);
+         }
+         if (i < sorted.size())
+         {
+            start = i;
+            end = sorted.get(i).getEnd();
+         }
       }
-      finally
+      List<FileRange> coalesced = new ArrayList<FileRange>();
+      for (FileRange range : ranges)
       {
-         inputStream.close();
+         FileRange part = parts.get(range);
+         if (!coalesced.contains(part))
+         {
+            coalesced.add(part);
+         }
       }
+      return coalesced;
+   }
+
+   protected void writeIt(File uploadFile, OutputStream entityStream) throws IOException
+   {
+      ProviderHelper.writeTo(uploadFile.toPath(), 0, uploadFile.length(), entityStream);
    }
 
    private static class FileHolder implements Cleanable
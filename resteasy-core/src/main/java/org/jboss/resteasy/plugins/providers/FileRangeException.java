@@ -4,6 +4,7 @@ import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.io.File;
+import java.util.List;
 
 /**
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
@@ -15,4 +16,19 @@ public class FileRangeException extends WebApplicationException
    {
       super(Response.status(206).entity(new FileRange(file, begin, end)).type(mediaType).build());
    }
+
+   /**
+    * @param mediaType media type of the file
+    * @param file file
+    * @param ranges ranges of the file, sent as a multipart/byteranges entity
+    */
+   public FileRangeException(final MediaType mediaType, final File file, final List<FileRange> ranges)
+   {
+      super(response(new FileRanges(file, mediaType, ranges)));
+   }
+
+   private static Response response(FileRanges ranges)
+   {
+      return Response.status(206).entity(ranges).type(ranges.getMultipartMediaType()).build();
+   }
 }
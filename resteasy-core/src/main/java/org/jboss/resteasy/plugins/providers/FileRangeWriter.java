@@ -5,7 +5,6 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.MessageBodyWriter;
 import javax.ws.rs.ext.Provider;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
@@ -38,30 +37,6 @@ public class FileRangeWriter implements MessageBodyWriter<FileRange>
       long length = (fileRange.getEnd() - fileRange.getBegin()) + 1;
       httpHeaders.putSingle("Content-Range", contentRange);
       httpHeaders.putSingle("Content-Length", length);
-      FileInputStream fis = new FileInputStream(fileRange.getFile());
-      try
-      {
-         if (fileRange.getBegin() > 0)
-         {
-            fis.getChannel().position(fileRange.getBegin());
-         }
-         final byte[] buf = new byte[2048];
-         while (length > 0)
-         {
-            int len = 2048 > length ? (int)length : 2048;
-            int read = fis.read(buf, 0, len);
-            if (read == -1)
-            {
-               break;
-            }
-            entityStream.write(buf, 0, read);
-            length -= len;
-         }
-      }
-      finally
-      {
-         fis.close();
-      }
-
+      ProviderHelper.writeTo(fileRange.getFile().toPath(), fileRange.getBegin(), length, entityStream);
    }
 }
@@ -0,0 +1,58 @@
+package org.jboss.resteasy.plugins.providers;
+
+import javax.ws.rs.core.MediaType;
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ranges of a file sent as a multipart/byteranges entity (RFC 7233).
+ */
+public class FileRanges
+{
+   private final File file;
+   private final MediaType mediaType;
+   private final List<FileRange> ranges;
+   private final String boundary = UUID.randomUUID().toString();
+
+   /**
+    * @param file file
+    * @param mediaType media type of the file, sent in each part
+    * @param ranges ranges of the file, in the order they are sent
+    */
+   public FileRanges(final File file, final MediaType mediaType, final List<FileRange> ranges)
+   {
+      this.file = file;
+      this.mediaType = mediaType;
+      this.ranges = Collections.unmodifiableList(ranges);
+   }
+
+   public File getFile()
+   {
+      return file;
+   }
+
+   public MediaType getMediaType()
+   {
+      return mediaType;
+   }
+
+   public List<FileRange> getRanges()
+   {
+      return ranges;
+   }
+
+   public String getBoundary()
+   {
+      return boundary;
+   }
+
+   /**
+    * @return multipart/byteranges media type with the boundary of the parts
+    */
+   public MediaType getMultipartMediaType()
+   {
+      return new MediaType("multipart", "byteranges", Collections.singletonMap("boundary", boundary));
+   }
+}
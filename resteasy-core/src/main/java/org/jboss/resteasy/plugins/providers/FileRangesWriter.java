@@ -0,0 +1,62 @@
+package org.jboss.resteasy.plugins.providers;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Writes the ranges of a file as a multipart/byteranges entity (RFC 7233), each part with its Content-Type and
+ * Content-Range headers.
+ */
+@Provider
+public class FileRangesWriter implements MessageBodyWriter<FileRanges>
+{
+   @Override
+   public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType)
+   {
+      return type.equals(FileRanges.class);
+   }
+
+   @Override
+   public long getSize(FileRanges fileRanges, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType)
+   {
+      return -1;
+   }
+
+   @Override
+   public void writeTo(FileRanges fileRanges, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException, WebApplicationException
+   {
+      long fileSize = fileRanges.getFile().length();
+      int count = fileRanges.getRanges().size();
+      byte[][] partHeaders = new byte[count][];
+      long length = 0;
+      for (int i = 0; i < count; i++)
+      {
+         FileRange range = fileRanges.getRanges().get(i);
+         partHeaders[i] = ((i == 0 ? "--" : "\r\n--") + fileRanges.getBoundary() + "\r\n"
+               + "Content-Type: " + fileRanges.getMediaType() + "\r\n"
+               + "Content-Range: bytes " + range.getBegin() + "-" + range.getEnd() + "/" + fileSize + "\r\n\r\n")
+               .getBytes(StandardCharsets.US_ASCII);
+         length += partHeaders[i].length + range.getEnd() - range.getBegin() + 1;
+      }
+      byte[] end = ("\r\n--" + fileRanges.getBoundary() + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+      httpHeaders.putSingle("Content-Length", length + end.length);
+
+      Path file = fileRanges.getFile().toPath();
+      for (int i = 0; i < count; i++)
+      {
+         FileRange range = fileRanges.getRanges().get(i);
+         entityStream.write(partHeaders[i]);
+         ProviderHelper.writeTo(file, range.getBegin(), range.getEnd() - range.getBegin() + 1, entityStream);
+      }
+      entityStream.write(end);
+   }
+}
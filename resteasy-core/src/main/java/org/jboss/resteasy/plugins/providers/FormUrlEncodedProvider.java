@@ -16,13 +16,13 @@ import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.MessageBodyReader;
 import javax.ws.rs.ext.MessageBodyWriter;
 import javax.ws.rs.ext.Provider;
-import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Reader;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.net.URLEncoder;
@@ -72,40 +72,44 @@ public class FormUrlEncodedProvider implements MessageBodyReader<MultivaluedMap>
    public static MultivaluedMap<String, String> parseForm(InputStream entityStream, String charset)
          throws IOException
    {
-      char[] buffer = new char[100];
-      StringBuffer buf = new StringBuffer();
+      char[] buffer = new char[4096];
+      StringBuilder buf = new StringBuilder();
       if (charset == null)
       {
          charset = StandardCharsets.UTF_8.name();
       }
-      BufferedReader reader = new BufferedReader(new InputStreamReader(entityStream, charset));
+      Reader reader = new InputStreamReader(entityStream, charset);
 
       int wasRead = 0;
       do
       {
-         wasRead = reader.read(buffer, 0, 100);
+         wasRead = reader.read(buffer, 0, buffer.length);
          if (wasRead > 0) buf.append(buffer, 0, wasRead);
       } while (wasRead > -1);
 
-      String form = buf.toString();
-
       MultivaluedMap<String, String> formData = new MultivaluedMapImpl<String, String>();
-      if ("".equals(form)) return formData;
-
-      String[] params = form.split("&");
 
-      for (String param : params)
+      // single pass over the form, empty parameters at the end are ignored and a value ends at the next '='
+      int end = buf.length();
+      while (end > 0 && buf.charAt(end - 1) == '&') end--;
+      int start = 0;
+      while (start < end)
       {
-         if (param.indexOf('=') >= 0)
+         int amp = buf.indexOf("&", start);
+         if (amp < 0 || amp > end) amp = end;
+         int eq = start;
+         while (eq < amp && buf.charAt(eq) != '=') eq++;
+         if (eq < amp)
          {
-            String[] nv = param.split("=");
-            String val = nv.length > 1 ? nv[1] : "";
-            formData.add(nv[0], val);
+            int valueEnd = eq + 1;
+            while (valueEnd < amp && buf.charAt(valueEnd) != '=') valueEnd++;
+            formData.add(buf.substring(start, eq), buf.substring(eq + 1, valueEnd));
          }
          else
          {
-            formData.add(param, "");
+            formData.add(buf.substring(start, amp), "");
          }
+         start = amp + 1;
       }
       return formData;
    }
@@ -0,0 +1,67 @@
+package org.jboss.resteasy.plugins.providers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+
+import org.jboss.resteasy.core.ResteasyContext;
+import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
+
+/**
+ * Writes {@link Path} entities like {@link FileProvider} writes files, Range headers included.  Paths of other file
+ * systems than the default one are copied as they are.
+ */
+@Provider
+@Produces("*/*")
+public class PathProvider implements MessageBodyWriter<Path>
+{
+   public boolean isWriteable(Class<?> type, Type genericType,
+                              Annotation[] annotations, MediaType mediaType)
+   {
+      return Path.class.isAssignableFrom(type);
+   }
+
+   public long getSize(Path o, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType)
+   {
+      try
+      {
+         return Files.size(o);
+      }
+      catch (IOException e)
+      {
+         return -1;
+      }
+   }
+
+   public void writeTo(Path path, Class<?> type, Type genericType,
+                       Annotation[] annotations, MediaType mediaType,
+                       MultivaluedMap<String, Object> httpHeaders,
+                       OutputStream entityStream) throws IOException, WebApplicationException
+   {
+      LogMessages.LOGGER.debugf("Provider : %s,  Method : writeTo", getClass().getName());
+      if (path.getFileSystem() != FileSystems.getDefault())
+      {
+         Files.copy(path, entityStream);
+         return;
+      }
+      HttpHeaders headers = ResteasyContext.getContextData(HttpHeaders.class);
+      if (headers != null)
+      {
+         String range = headers.getRequestHeaders().getFirst("Range");
+         if (range != null) FileProvider.checkRanges(range, mediaType, path.toFile());
+      }
+      ProviderHelper.writeTo(path, 0, Files.size(path), entityStream);
+   }
+}
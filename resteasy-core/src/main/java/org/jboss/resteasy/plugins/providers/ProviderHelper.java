@@ -1,5 +1,7 @@
 package org.jboss.resteasy.plugins.providers;
 
+import org.jboss.resteasy.spi.FileRegionOutput;
+
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Variant;
 import javax.ws.rs.core.Variant.VariantListBuilder;
@@ -9,7 +11,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -128,4 +134,39 @@ public final class ProviderHelper
          out.write(buf, 0, read);
       }
    }
-}
+
+   /**
+    * Writes a region of a file, without copying it when the output stream is a {@link FileRegionOutput} that
+    * accepts it.
+    *
+    * @param file file
+    * @param position offset of the region in the file
+    * @param count length of the region, what is past the end of the file is left out
+    * @param out output stream
+    * @throws IOException if I/O error occurred
+    */
+   public static void writeTo(final Path file, final long position, final long count, final OutputStream out) throws IOException
+   {
+      if (out instanceof FileRegionOutput && ((FileRegionOutput) out).writeFileRegion(file, position, count))
+      {
+         return;
+      }
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+      {
+         final byte[] buf = new byte[(int) Math.max(1, Math.min(count, 8192))];
+         long offset = position;
+         long remaining = count;
+         while (remaining > 0)
+         {
+            int read = channel.read(ByteBuffer.wrap(buf, 0, (int) Math.min(remaining, buf.length)), offset);
+            if (read == -1)
+            {
+               break;
+            }
+            out.write(buf, 0, read);
+            offset += read;
+            remaining -= read;
+         }
+      }
+   }
+}
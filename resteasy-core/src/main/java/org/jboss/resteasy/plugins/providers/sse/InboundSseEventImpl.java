@@ -46,7 +46,11 @@ public class InboundSseEventImpl implements InboundSseEvent
 
       private long reconnectDelay = -1;
 
-      private final ByteArrayOutputStream dataStream;
+      // data of a single write, kept as is
+      private byte[] data;
+
+      // data of several writes, null until the second one
+      private ByteArrayOutputStream dataStream;
 
       private final Annotation[] annotations;
 
@@ -63,7 +67,6 @@ public class InboundSseEventImpl implements InboundSseEvent
          this.headers = headers;
 
          this.commentBuilder = new StringBuilder();
-         this.dataStream = new ByteArrayOutputStream();
       }
 
       public Builder name(String name)
@@ -100,8 +103,18 @@ public class InboundSseEventImpl implements InboundSseEvent
          {
             return this;
          }
+         if (this.data == null)
+         {
+            this.data = data;
+            return this;
+         }
          try
          {
+            if (dataStream == null)
+            {
+               dataStream = new ByteArrayOutputStream();
+               dataStream.write(this.data);
+            }
             this.dataStream.write(data);
          }
          catch (IOException ex)
@@ -117,8 +130,9 @@ public class InboundSseEventImpl implements InboundSseEvent
          //If the data buffer's last character is a U+000A LINE FEED (LF) character,
          //then remove the last character from the data buffer
          return new InboundSseEventImpl(name, id, commentBuilder.length() > 0 ? commentBuilder.substring(0,
-               commentBuilder.length() - 1) : null, reconnectDelay, dataStream.toByteArray(), annotations, mediaType,
-               headers);
+               commentBuilder.length() - 1) : null, reconnectDelay,
+               dataStream != null ? dataStream.toByteArray() : data != null ? data : new byte[0], annotations,
+               mediaType, headers);
       }
    }
 
@@ -1,27 +1,112 @@
 package org.jboss.resteasy.plugins.providers.sse;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.sse.OutboundSseEvent;
 import javax.ws.rs.sse.SseBroadcaster;
 import javax.ws.rs.sse.SseEventSink;
 
+import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
 import org.jboss.resteasy.resteasy_jaxrs.i18n.Messages;
 
+/**
+ * Broadcaster writing the events to each registered sink through a bounded queue, so that a slow client does not
+ * hold back the others.  The queues are drained on an executor by at most one task per sink, which writes a few events
+ * and then gives its thread to the next sink.  The default executor is a bounded pool of daemon threads dedicated to
+ * the broadcasters, {@link #DEFAULT_EXECUTOR_THREADS} of them: the writes block, so a client which stops reading holds
+ * a thread for as long as its write takes, and as many stalled clients as threads hold back the other sinks.
+ * {@link #broadcast(OutboundSseEvent)} never blocks: what happens when the queue of a sink is full depends on the
+ * {@link OverflowPolicy}.
+ * <p>
+ * An event broadcast to {@link SseEventOutputImpl} sinks is serialized once per media type, on the broadcasting
+ * thread, and the same bytes are written to all of them.
+ */
 public class SseBroadcasterImpl implements SseBroadcaster
 {
-   private ConcurrentLinkedQueue<SseEventSink> outputQueue = new ConcurrentLinkedQueue<>();
+   public enum OverflowPolicy
+   {
+      /**
+       * Drops the oldest event of the queue.
+       */
+      DROP_OLDEST,
+      /**
+       * Drops the event being broadcast, the queue keeping its events.
+       */
+      FAIL,
+      /**
+       * Keeps the event being broadcast until the queue has room.  The stage returned for it completes once it enters
+       * the queue, rather than once it is written, so that callers waiting for the stage before broadcasting again
+       * are held back by the slowest sink.  The events of callers which do not wait are all kept.
+       */
+      BLOCK,
+      /**
+       * Closes the sink, dropping the events of its queue.
+       */
+      CLOSE
+   }
+
+   public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+   public static final OverflowPolicy DEFAULT_OVERFLOW_POLICY = OverflowPolicy.DROP_OLDEST;
+
+   /**
+    * Number of threads of the default executor.
+    */
+   public static final int DEFAULT_EXECUTOR_THREADS = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+   // events written by a task before it lets the tasks of the other sinks run
+   private static final int WRITES_PER_TASK = 16;
+
+   private static final class DefaultExecutor
+   {
+      private static final ThreadPoolExecutor INSTANCE;
+
+      static
+      {
+         AtomicInteger count = new AtomicInteger();
+         // at most one task per sink is queued
+         INSTANCE = new ThreadPoolExecutor(DEFAULT_EXECUTOR_THREADS, DEFAULT_EXECUTOR_THREADS, 60, TimeUnit.SECONDS,
+               new LinkedBlockingQueue<>(), runnable -> {
+                  Thread thread = new Thread(runnable, "resteasy-sse-broadcaster-" + count.incrementAndGet());
+                  thread.setDaemon(true);
+                  return thread;
+               });
+         INSTANCE.allowCoreThreadTimeOut(true);
+      }
+   }
+
+   private final Map<SseEventSink, SinkQueue> sinks = new ConcurrentHashMap<>();
+
+   private final int queueCapacity;
+
+   private final OverflowPolicy overflowPolicy;
+
+   private final Executor executor;
+
+   private final AtomicLong droppedCount = new AtomicLong();
 
    private final List<BiConsumer<SseEventSink, Throwable>> onErrorConsumers = new CopyOnWriteArrayList<>();
 
@@ -43,11 +128,41 @@ public class SseBroadcasterImpl implements SseBroadcaster
 
    public SseBroadcasterImpl()
    {
+      this(DEFAULT_QUEUE_CAPACITY, DEFAULT_OVERFLOW_POLICY);
+   }
+
+   /**
+    * @param queueCapacity max. number of events waiting to be written to a sink
+    * @param overflowPolicy what to do with an event broadcast to a sink whose queue is full
+    */
+   public SseBroadcasterImpl(final int queueCapacity, final OverflowPolicy overflowPolicy)
+   {
+      this(queueCapacity, overflowPolicy, defaultExecutor());
+   }
+
+   /**
+    * @param queueCapacity max. number of events waiting to be written to a sink
+    * @param overflowPolicy what to do with an event broadcast to a sink whose queue is full
+    * @param executor drains the queues, a write to a slow client blocking its thread
+    */
+   public SseBroadcasterImpl(final int queueCapacity, final OverflowPolicy overflowPolicy, final Executor executor)
+   {
+      this.queueCapacity = queueCapacity;
+      this.overflowPolicy = overflowPolicy;
+      this.executor = executor;
       ReadWriteLock readWriteLock = new ReentrantReadWriteLock(true);
       this.readLock = readWriteLock.readLock();
       this.writeLock = readWriteLock.writeLock();
    }
 
+   /**
+    * @return the executor draining the queues of the broadcasters which are not given one
+    */
+   public static Executor defaultExecutor()
+   {
+      return DefaultExecutor.INSTANCE;
+   }
+
    @Override
    public void close()
    {
@@ -60,7 +175,7 @@ public class SseBroadcasterImpl implements SseBroadcaster
       {
          //Javadoc says close the broadcaster and all subscribed {@link SseEventSink} instances.
          //is it necessay to close the subsribed SseEventSink ?
-         outputQueue.forEach(eventSink -> {
+         sinks.keySet().forEach(eventSink -> {
             eventSink.close();
             notifyOnCloseListeners(eventSink);
          });
@@ -81,11 +196,13 @@ public class SseBroadcasterImpl implements SseBroadcaster
 
    private void notifyOnCloseListeners(SseEventSink eventSink)
    {
-      // First remove the eventSink from the outputQueue to ensure that
+      // First remove the eventSink from the sinks to ensure that
       // concurrent calls to this method will notify listeners only once for a
       // given eventSink instance.
-      if (outputQueue.remove(eventSink))
+      SinkQueue queue = sinks.remove(eventSink);
+      if (queue != null)
       {
+         queue.discard();
          closeConsumers.forEach(consumer -> {
             consumer.accept(eventSink);
          });
@@ -129,7 +246,7 @@ public class SseBroadcasterImpl implements SseBroadcaster
       try
       {
          checkClosed();
-         outputQueue.add(sseEventSink);
+         sinks.computeIfAbsent(sseEventSink, SinkQueue::new);
       }
       finally
       {
@@ -141,25 +258,291 @@ public class SseBroadcasterImpl implements SseBroadcaster
    public CompletionStage<?> broadcast(OutboundSseEvent event)
    {
       checkClosed();
-      //return event immediately and doesn't block anything
-      return CompletableFuture.runAsync(() -> {
-         outputQueue.forEach(eventSink -> {
-            SseEventSink outputImpl = eventSink;
-            try
+      List<SinkQueue> queues = new ArrayList<>(sinks.values());
+      // resolved before serializing, which sets the media type of the event
+      List<MediaType> mediaTypes = new ArrayList<>(queues.size());
+      for (SinkQueue queue : queues)
+      {
+         mediaTypes.add(queue.sink instanceof SseEventOutputImpl
+               ? ((SseEventOutputImpl) queue.sink).getEventMediaType(event) : null);
+      }
+      Map<MediaType, byte[]> serialized = new HashMap<>();
+      Map<MediaType, Exception> failures = new HashMap<>();
+      CompletableFuture<?>[] futures = new CompletableFuture<?>[queues.size()];
+      for (int i = 0; i < futures.length; i++)
+      {
+         SinkQueue queue = queues.get(i);
+         MediaType mediaType = mediaTypes.get(i);
+         byte[] data = null;
+         if (mediaType != null)
+         {
+            data = serialized.get(mediaType);
+            Exception failure = failures.get(mediaType);
+            if (data == null && failure == null)
             {
-               outputImpl.send(event).whenComplete((object, err) -> {
-                  if (err != null)
+               try
+               {
+                  data = ((SseEventOutputImpl) queue.sink).serializeEvent(event, mediaType);
+                  serialized.put(mediaType, data);
+               }
+               catch (Exception e)
+               {
+                  LogMessages.LOGGER.failedToWriteSseEvent(event.toString(), e);
+                  failure = e;
+                  failures.put(mediaType, e);
+               }
+            }
+            if (failure != null)
+            {
+               CompletableFuture<Void> future = new CompletableFuture<>();
+               future.completeExceptionally(failure);
+               futures[i] = future;
+               notifyOnErrorListeners(queue.sink, failure);
+               continue;
+            }
+         }
+         // sinks not flushed yet serialize the event themselves
+         futures[i] = queue.offer(new QueuedEvent(event, data));
+      }
+      return CompletableFuture.allOf(futures);
+   }
+
+   /**
+    * @return the number of events waiting to be written to the sink, including the ones waiting for room in its queue
+    */
+   public int getQueueSize(SseEventSink sseEventSink)
+   {
+      SinkQueue queue = sinks.get(sseEventSink);
+      return queue == null ? 0 : queue.size();
+   }
+
+   /**
+    * @return the number of events dropped for the sink because its queue was full
+    */
+   public long getDroppedCount(SseEventSink sseEventSink)
+   {
+      SinkQueue queue = sinks.get(sseEventSink);
+      return queue == null ? 0 : queue.dropped.get();
+   }
+
+   /**
+    * @return the number of events dropped for all the sinks, including the ones no longer registered
+    */
+   public long getDroppedCount()
+   {
+      return droppedCount.get();
+   }
+
+   public int getQueueCapacity()
+   {
+      return queueCapacity;
+   }
+
+   public OverflowPolicy getOverflowPolicy()
+   {
+      return overflowPolicy;
+   }
+
+   private static class QueuedEvent
+   {
+      private final OutboundSseEvent event;
+      private final byte[] data;
+      private final CompletableFuture<Void> future = new CompletableFuture<>();
+      // completed when the event enters the queue, if it had to wait for room
+      private CompletableFuture<Void> admitted;
+
+      QueuedEvent(final OutboundSseEvent event, final byte[] data)
+      {
+         this.event = event;
+         this.data = data;
+      }
+   }
+
+   private class SinkQueue implements Runnable
+   {
+      private final SseEventSink sink;
+      private final AtomicLong dropped = new AtomicLong();
+      // guarded by this
+      private final Deque<QueuedEvent> events = new ArrayDeque<>();
+      // events waiting for room in the queue with the BLOCK policy, guarded by this
+      private final Deque<QueuedEvent> waiting = new ArrayDeque<>();
+      private boolean draining;
+      private boolean discarded;
+
+      SinkQueue(final SseEventSink sink)
+      {
+         this.sink = sink;
+      }
+
+      CompletableFuture<Void> offer(QueuedEvent queued)
+      {
+         QueuedEvent oldest = null;
+         boolean overflow = false;
+         boolean drain = false;
+         synchronized (this)
+         {
+            if (discarded)
+            {
+               queued.future.completeExceptionally(new IllegalStateException(Messages.MESSAGES.sseEventSinkIsClosed()));
+               return queued.future;
+            }
+            if (overflowPolicy == OverflowPolicy.BLOCK)
+            {
+               // a queue of at least one event, or nothing would ever leave the waiting events
+               if (events.size() >= Math.max(queueCapacity, 1) || !waiting.isEmpty())
+               {
+                  queued.admitted = new CompletableFuture<>();
+                  waiting.add(queued);
+                  return queued.admitted;
+               }
+            }
+            else if (events.size() >= queueCapacity)
+            {
+               if (overflowPolicy == OverflowPolicy.DROP_OLDEST && queueCapacity > 0)
+               {
+                  oldest = events.poll();
+               }
+               else
+               {
+                  overflow = true;
+               }
+            }
+            if (!overflow)
+            {
+               events.add(queued);
+               drain = !draining;
+               draining = true;
+            }
+         }
+         if (oldest != null)
+         {
+            drop(oldest, Messages.MESSAGES.sseEventDropped());
+         }
+         if (overflow)
+         {
+            drop(queued, Messages.MESSAGES.sseEventDropped());
+            if (overflowPolicy == OverflowPolicy.CLOSE)
+            {
+               // closing waits for the write in progress
+               executor.execute(sink::close);
+               notifyOnCloseListeners(sink);
+            }
+         }
+         else if (drain)
+         {
+            executor.execute(this);
+         }
+         return queued.future;
+      }
+
+      @Override
+      public void run()
+      {
+         for (int written = 0; ; written++)
+         {
+            QueuedEvent queued;
+            QueuedEvent admitted;
+            synchronized (this)
+            {
+               if (written == WRITES_PER_TASK && !events.isEmpty())
+               {
+                  queued = null;
+                  admitted = null;
+               }
+               else
+               {
+                  queued = events.poll();
+                  if (queued == null)
                   {
-                     notifyOnErrorListeners(eventSink, err);
+                     draining = false;
+                     return;
                   }
-               });
+                  admitted = waiting.poll();
+                  if (admitted != null)
+                  {
+                     events.add(admitted);
+                  }
+               }
             }
-            catch (IllegalStateException e)
+            if (queued == null)
             {
-               notifyOnErrorListeners(eventSink, e);
+               // still draining, the sinks sharing the executor get their turn first
+               executor.execute(this);
+               return;
             }
-         });
-      });
-   }
+            if (admitted != null)
+            {
+               admitted.admitted.complete(null);
+            }
+            write(queued);
+         }
+      }
+
+      synchronized int size()
+      {
+         return events.size() + waiting.size();
+      }
+
+      void discard()
+      {
+         List<QueuedEvent> pending;
+         synchronized (this)
+         {
+            discarded = true;
+            pending = new ArrayList<>(events);
+            pending.addAll(waiting);
+            events.clear();
+            waiting.clear();
+         }
+         String message = Messages.MESSAGES.sseEventSinkIsClosed();
+         pending.forEach(queued -> drop(queued, message));
+      }
+
+      private void drop(QueuedEvent queued, String message)
+      {
+         dropped.incrementAndGet();
+         droppedCount.incrementAndGet();
+         IllegalStateException exception = new IllegalStateException(message);
+         queued.future.completeExceptionally(exception);
+         if (queued.admitted != null)
+         {
+            queued.admitted.completeExceptionally(exception);
+         }
+      }
+
+      private void write(QueuedEvent queued)
+      {
+         try
+         {
+            if (queued.data != null)
+            {
+               ((SseEventOutputImpl) sink).writeSerializedEvent(queued.event, queued.data);
+               queued.future.complete(null);
+            }
+            else
+            {
+               sink.send(queued.event).whenComplete((object, err) -> {
+                  if (err != null)
+                  {
+                     failed(queued, err);
+                  }
+                  else
+                  {
+                     queued.future.complete(null);
+                  }
+               });
+            }
+         }
+         catch (Exception e)
+         {
+            failed(queued, e);
+         }
+      }
 
+      private void failed(QueuedEvent queued, Throwable throwable)
+      {
+         queued.future.completeExceptionally(throwable);
+         notifyOnErrorListeners(sink, throwable);
+      }
+   }
 }
@@ -1,55 +1,42 @@
 package org.jboss.resteasy.plugins.providers.sse;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.lang.annotation.Annotation;
-import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.Providers;
 import javax.ws.rs.sse.InboundSseEvent;
 
-import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
-import org.jboss.resteasy.resteasy_jaxrs.i18n.Messages;
 import org.jboss.resteasy.util.MediaTypeHelper;
 
 public class SseEventInputImpl implements EventInput, Closeable
 {
-   private Annotation[] annotations;
-
-   private MediaType mediaType;
-
    private boolean textLike;
 
-   private MultivaluedMap<String, String> httpHeaders;
-
    private InputStream inputStream;
 
    private volatile boolean isClosed = false;
 
-   private boolean lastFieldWasData;
+   private final String DELIMITER = new String(SseConstants.EVENT_DELIMITER, StandardCharsets.UTF_8);
 
-   private boolean escape = false;
+   private final byte[] buffer = new byte[8192];
 
-   private Providers providers;
+   // events parsed from the last bytes read and not returned yet
+   private final ArrayDeque<InboundSseEvent> events = new ArrayDeque<>();
 
-   private final String DELIMITER = new String(SseConstants.EVENT_DELIMITER, StandardCharsets.UTF_8);
+   private final SseEventParser parser;
 
    public SseEventInputImpl(final Annotation[] annotations, final MediaType streamType, final MediaType elementType,
                             final MultivaluedMap<String, String> httpHeaders, final InputStream inputStream)
    {
-      this.annotations = annotations;
-      this.mediaType = elementType;
-      this.httpHeaders = httpHeaders;
       this.inputStream = inputStream;
       this.textLike = MediaTypeHelper.isTextLike(streamType);
-      this.escape = streamType != null && streamType.toString().startsWith("application/x-stream-general");
+      this.parser = new SseEventParser(annotations, streamType, elementType, httpHeaders, events::add);
    }
 
    @Override
@@ -66,16 +53,10 @@ public class SseEventInputImpl implements EventInput, Closeable
 
    public InboundSseEvent read() throws IOException
    {
-      byte[] chunk = null;
+      InboundSseEvent event;
       try
       {
-         lastFieldWasData = false;
-         chunk = readEvent(inputStream);
-         if (chunk == null)
-         {
-            close();
-            return null;
-         }
+         event = readNextEvent();
       }
       catch (IOException e1)
       {
@@ -89,166 +70,33 @@ public class SseEventInputImpl implements EventInput, Closeable
             //TODO: add a log message
          }
          throw e1;
-
-      }
-
-      final ByteArrayInputStream entityStream = new ByteArrayInputStream(chunk);
-      final ByteArrayOutputStream temSave = new ByteArrayOutputStream();
-      Charset charset = StandardCharsets.UTF_8;
-      if (mediaType != null && mediaType.getParameters().get(MediaType.CHARSET_PARAMETER) != null)
-      {
-         charset = Charset.forName(mediaType.getParameters().get(MediaType.CHARSET_PARAMETER));
-      }
-
-      final InboundSseEventImpl.Builder eventBuilder = new InboundSseEventImpl.Builder(annotations, mediaType,
-            httpHeaders);
-      //TODO: Look at if this can be improved
-      int b = -1;
-      SseConstants.EVENT currentState = SseConstants.EVENT.START;
-      while ((b = entityStream.read()) != -1)
-      {
-         try
-         {
-            if (currentState == SseConstants.EVENT.START)
-            {
-               if (b == '\r' || b == '\n')
-               {
-                  continue;
-               }
-
-               if (b == ':')
-               {
-                  currentState = SseConstants.EVENT.COMMENT;
-                  continue;
-               }
-               else
-               {
-                  temSave.write(b);
-                  currentState = SseConstants.EVENT.FIELD;
-                  continue;
-               }
-            }
-            if (currentState == SseConstants.EVENT.COMMENT)
-            {
-
-               b = readLine(entityStream, '\n', temSave);
-               String commentLine = temSave.toString(charset.name());
-               eventBuilder.commentLine(commentLine);
-               temSave.reset();
-               currentState = SseConstants.EVENT.START;
-               continue;
-            }
-            if (currentState == SseConstants.EVENT.FIELD)
-            {
-               temSave.write(b);
-               b = readLine(entityStream, ':', temSave);
-               String fieldName = temSave.toString(StandardCharsets.UTF_8.name());
-               temSave.reset();
-               if (b == ':')
-               {
-                  //spec says there is space after colon
-                  do
-                  {
-                     b = entityStream.read();
-                  }
-                  while (b == ' ');
-
-                  if (b != '\n' && b != '\r' && b != -1)
-                  {
-                     temSave.write(b);
-                     b = readLine(entityStream, '\n', temSave);
-                  }
-               }
-
-               processField(eventBuilder, fieldName, mediaType, temSave.toByteArray());
-               temSave.reset();
-               currentState = SseConstants.EVENT.START;
-               continue;
-            }
-         }
-         catch (IOException e)
-         {
-            throw new IOException(Messages.MESSAGES.readEventException(), e);
-         }
       }
-      InboundSseEventImpl event = (InboundSseEventImpl) eventBuilder.build();
-      if (this.providers != null)
+      if (event == null)
       {
-         event.setProvider(this.providers);
+         close();
       }
       return event;
    }
 
-   private int readLine(final InputStream in, final int delimiter, final OutputStream out) throws IOException
-   {
-      int b;
-      while ((b = in.read()) != -1)
-      {
-         if (!textLike && escape && b == '\\')
-         {
-            b = in.read();
-            if (b != '\\' && b != '\n' && b != '\r')
-            {
-               throw new RuntimeException(Messages.MESSAGES.expectedExcapedCharacter(b));
-            }
-            out.write(b);
-            continue;
-         }
-         if (b == delimiter || b == '\n' || b == '\r')
-         {
-            break;
-         }
-         else if (out != null)
-         {
-            out.write(b);
-         }
-      }
-      return b;
-   }
-
-   private void processField(final InboundSseEventImpl.Builder inboundEventBuilder, final String name,
-         final MediaType mediaType, final byte[] value)
+   private InboundSseEvent readNextEvent() throws IOException
    {
-      Charset charset = StandardCharsets.UTF_8;
-      if (mediaType != null && mediaType.getParameters().get(MediaType.CHARSET_PARAMETER) != null)
-      {
-         charset = Charset.forName(mediaType.getParameters().get(MediaType.CHARSET_PARAMETER));
-      }
-      String valueString = new String(value, charset);
-      boolean newLastFieldWasData = false;
-      if ("event".equals(name))
-      {
-         inboundEventBuilder.name(valueString);
-      }
-      else if ("data".equals(name))
-      {
-         if (lastFieldWasData)
-            inboundEventBuilder.write(SseConstants.EOL);
-         inboundEventBuilder.write(value);
-         newLastFieldWasData = true;
-      }
-      else if ("id".equals(name))
+      while (events.isEmpty())
       {
-         inboundEventBuilder.id(valueString);
-      }
-      else if ("retry".equals(name))
-      {
-         try
-         {
-            inboundEventBuilder.reconnectDelay(Long.parseLong(valueString));
-         }
-         catch (final NumberFormatException ex)
+         int n = inputStream.read(buffer, 0, buffer.length);
+         if (n == -1)
          {
-            LogMessages.LOGGER.skipIllegalField("retry", valueString);
+            // an incomplete event at the end of the stream is dropped
+            return null;
          }
+         parser.parse(buffer, 0, n);
       }
-      else
-      {
-         LogMessages.LOGGER.skipUnkownFiled(name);
-      }
-      lastFieldWasData = newLastFieldWasData;
+      return events.poll();
    }
 
+   /**
+    * @deprecated events are parsed from a buffer by {@link #read()}, this method reads the stream one byte at a time
+    */
+   @Deprecated
    public byte[] readEvent(final InputStream in) throws IOException
    {
       @SuppressWarnings("resource")
@@ -306,6 +154,6 @@ public class SseEventInputImpl implements EventInput, Closeable
 
    public void setProviders(Providers providers)
    {
-      this.providers = providers;
+      parser.setProviders(providers);
    }
 }
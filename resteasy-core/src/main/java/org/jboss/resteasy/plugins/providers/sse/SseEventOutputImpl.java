@@ -22,6 +22,7 @@ import org.jboss.resteasy.annotations.Stream;
 import org.jboss.resteasy.core.ResourceMethodInvoker;
 import org.jboss.resteasy.core.ResteasyContext;
 import org.jboss.resteasy.core.ServerResponseWriter;
+import org.jboss.resteasy.core.StreamFlusher;
 import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
 import org.jboss.resteasy.resteasy_jaxrs.i18n.Messages;
 import org.jboss.resteasy.specimpl.BuiltResponse;
@@ -47,8 +48,14 @@ public class SseEventOutputImpl extends GenericType<OutboundSseEvent> implements
 
    private boolean responseFlushed = false;
 
+   // media type of the events without one, known once the response is flushed
+   private volatile MediaType elementMediaType;
+
    private final Object lock = new Object();
 
+   // null flushes every event as soon as it is written
+   private StreamFlusher flusher;
+
    public SseEventOutputImpl(final MessageBodyWriter<OutboundSseEvent> writer)
    {
       this.writer = writer;
@@ -78,6 +85,10 @@ public class SseEventOutputImpl extends GenericType<OutboundSseEvent> implements
       synchronized (lock)
       {
          closed = true;
+         if (flusher != null)
+         {
+            flushPending();
+         }
          if (asyncContext.isSuspended())
          {
             ResteasyAsynchronousResponse asyncResponse = asyncContext.getAsyncResponse();
@@ -89,6 +100,52 @@ public class SseEventOutputImpl extends GenericType<OutboundSseEvent> implements
       }
    }
 
+   /**
+    * Flushes the events written together once <code>flushSize</code> bytes are pending, or
+    * <code>flushDelay</code> milliseconds after the first pending one, instead of flushing each event.
+    *
+    * @param flushSize number of pending bytes flushed at once, 0 or less to flush each event
+    * @param flushDelay milliseconds an event waits at most for its flush
+    */
+   public void coalesceFlushes(int flushSize, long flushDelay)
+   {
+      synchronized (lock)
+      {
+         flusher = flushSize > 0 ? new StreamFlusher(lock, response::flushBuffer, flushSize, flushDelay) : null;
+      }
+   }
+
+   private void flushPending()
+   {
+      try
+      {
+         if (flusher.getPending() > 0)
+         {
+            flusher.flush();
+         }
+      }
+      catch (IOException e)
+      {
+         LogMessages.LOGGER.failedToFlushStream(e);
+      }
+      finally
+      {
+         flusher.cancel();
+      }
+   }
+
+   private void flushEvent(int size) throws IOException
+   {
+      if (flusher != null)
+      {
+         flusher.written(size);
+      }
+      else
+      {
+         response.flushBuffer();
+      }
+   }
+
    protected void flushResponseToClient()
    {
       try
@@ -164,6 +221,7 @@ public class SseEventOutputImpl extends GenericType<OutboundSseEvent> implements
                response.getOutputStream().write(SseConstants.EOL);
                response.flushBuffer();
                responseFlushed = true;
+               elementMediaType = getResponseElementMediaType();
             }
             catch (IOException e)
             {
@@ -218,50 +276,15 @@ public class SseEventOutputImpl extends GenericType<OutboundSseEvent> implements
          {
             if (event != null)
             {
-               //// Check media type?
-               ByteArrayOutputStream bout = new ByteArrayOutputStream();
                MediaType mediaType = event.getMediaType();
                boolean mediaTypeSet = event instanceof OutboundSseEventImpl ? ((OutboundSseEventImpl) event).isMediaTypeSet() : true;
                if (mediaType == null || !mediaTypeSet)
                {
-                  Object o = response.getOutputHeaders().getFirst("Content-Type");
-                  if (o != null)
-                  {
-                     if (o instanceof MediaType)
-                     {
-                        MediaType mt = (MediaType) o;
-                        String s = mt.getParameters().get(SseConstants.SSE_ELEMENT_MEDIA_TYPE);
-                        if (s != null)
-                        {
-                           mediaType = MediaType.valueOf(s);
-                        }
-                     }
-                     else if (o instanceof String)
-                     {
-                        MediaType mt = MediaType.valueOf((String) o);
-                        String s = mt.getParameters().get(SseConstants.SSE_ELEMENT_MEDIA_TYPE);
-                        if (s != null)
-                        {
-                           mediaType = MediaType.valueOf(s);
-                        }
-                     }
-                     else
-                     {
-                        throw new RuntimeException(Messages.MESSAGES.expectedStringOrMediaType(o));
-                     }
-                  }
+                  mediaType = getResponseElementMediaType();
                }
-               if (mediaType == null)
-               {
-                  mediaType = MediaType.TEXT_PLAIN_TYPE;
-               }
-               if (event instanceof OutboundSseEventImpl)
-               {
-                  ((OutboundSseEventImpl) event).setMediaType(mediaType);
-               }
-               writer.writeTo(event, event.getClass(), null, new Annotation[]{}, mediaType, null, bout);
-               response.getOutputStream().write(bout.toByteArray());
-               response.flushBuffer();
+               byte[] data = serializeEvent(event, mediaType);
+               response.getOutputStream().write(data);
+               flushEvent(data.length);
             }
          }
          catch (IOException e)
@@ -284,6 +307,97 @@ public class SseEventOutputImpl extends GenericType<OutboundSseEvent> implements
       }
    }
 
+   /**
+    * Returns the media type the event is written with, or null until the response is flushed.
+    */
+   MediaType getEventMediaType(OutboundSseEvent event)
+   {
+      MediaType mediaType = event.getMediaType();
+      boolean mediaTypeSet = event instanceof OutboundSseEventImpl ? ((OutboundSseEventImpl) event).isMediaTypeSet() : true;
+      return mediaType != null && mediaTypeSet ? mediaType : elementMediaType;
+   }
+
+   /**
+    * Serializes the event as it is written to this sink, without writing it, so that
+    * {@link SseBroadcasterImpl} serializes a broadcast event once for all the sinks sharing its media type.
+    */
+   byte[] serializeEvent(OutboundSseEvent event, MediaType mediaType) throws IOException
+   {
+      ResteasyContext.pushContextDataMap(contextDataMap);
+      try
+      {
+         if (event instanceof OutboundSseEventImpl)
+         {
+            ((OutboundSseEventImpl) event).setMediaType(mediaType);
+         }
+         ByteArrayOutputStream bout = new ByteArrayOutputStream();
+         writer.writeTo(event, event.getClass(), null, new Annotation[]{}, mediaType, null, bout);
+         return bout.toByteArray();
+      }
+      finally
+      {
+         ResteasyContext.removeContextDataLevel();
+      }
+   }
+
+   /**
+    * Writes an event serialized by {@link #serializeEvent(OutboundSseEvent, MediaType)}.
+    */
+   void writeSerializedEvent(OutboundSseEvent event, byte[] data) throws IOException
+   {
+      synchronized (lock)
+      {
+         if (closed)
+         {
+            throw new IllegalStateException(Messages.MESSAGES.sseEventSinkIsClosed());
+         }
+         internalFlushResponseToClient(true);
+         try
+         {
+            response.getOutputStream().write(data);
+            flushEvent(data.length);
+         }
+         catch (IOException e)
+         {
+            close();
+            LogMessages.LOGGER.failedToWriteSseEvent(event.toString(), e);
+            throw e;
+         }
+      }
+   }
+
+   private MediaType getResponseElementMediaType()
+   {
+      MediaType mediaType = null;
+      Object o = response.getOutputHeaders().getFirst("Content-Type");
+      if (o != null)
+      {
+         if (o instanceof MediaType)
+         {
+            MediaType mt = (MediaType) o;
+            String s = mt.getParameters().get(SseConstants.SSE_ELEMENT_MEDIA_TYPE);
+            if (s != null)
+            {
+               mediaType = MediaType.valueOf(s);
+            }
+         }
+         else if (o instanceof String)
+         {
+            MediaType mt = MediaType.valueOf((String) o);
+            String s = mt.getParameters().get(SseConstants.SSE_ELEMENT_MEDIA_TYPE);
+            if (s != null)
+            {
+               mediaType = MediaType.valueOf(s);
+            }
+         }
+         else
+         {
+            throw new RuntimeException(Messages.MESSAGES.expectedStringOrMediaType(o));
+         }
+      }
+      return mediaType == null ? MediaType.TEXT_PLAIN_TYPE : mediaType;
+   }
+
    private String[] getStreamType(ResourceMethodInvoker method)
    {
       Stream stream = method.getMethod().getAnnotation(Stream.class);
@@ -0,0 +1,306 @@
+package org.jboss.resteasy.plugins.providers.sse;
+
+import java.lang.annotation.Annotation;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.Providers;
+import javax.ws.rs.sse.InboundSseEvent;
+
+import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
+import org.jboss.resteasy.resteasy_jaxrs.i18n.Messages;
+import org.jboss.resteasy.util.MediaTypeHelper;
+
+/**
+ * Parses a stream of server-sent events fed in chunks of any size, as they are received.  The lines and events split
+ * between chunks are kept until the next ones, and each complete event is handed to the consumer given to the
+ * constructor, from the thread calling {@link #parse(byte[], int, int)}.
+ * <p>
+ * A parser is not thread safe, the chunks of a stream must be fed in order.
+ */
+public class SseEventParser
+{
+   private static final byte[] DATA_FIELD = "data".getBytes(StandardCharsets.US_ASCII);
+
+   private static final byte[] EVENT_FIELD = "event".getBytes(StandardCharsets.US_ASCII);
+
+   private static final byte[] ID_FIELD = "id".getBytes(StandardCharsets.US_ASCII);
+
+   private static final byte[] RETRY_FIELD = "retry".getBytes(StandardCharsets.US_ASCII);
+
+   private final Annotation[] annotations;
+
+   private final MediaType mediaType;
+
+   private final MultivaluedMap<String, String> httpHeaders;
+
+   private final Consumer<InboundSseEvent> onEvent;
+
+   private final boolean textLike;
+
+   private final boolean escape;
+
+   private final Charset charset;
+
+   private Providers providers;
+
+   // the last line ended with \r, so a \n right after it is part of the same line end
+   private boolean skipLineFeed;
+
+   // the last chunk ended with a backslash escaping the first byte of the next one
+   private boolean escaping;
+
+   private byte[] line = new byte[256];
+
+   private int lineLength;
+
+   private InboundSseEventImpl.Builder eventBuilder;
+
+   private boolean hasData;
+
+   private byte[] chunk;
+
+   /**
+    * @param annotations annotations of the event stream
+    * @param streamType media type of the event stream
+    * @param elementType media type of the data of the events
+    * @param httpHeaders headers of the event stream
+    * @param onEvent receives the events parsed
+    */
+   public SseEventParser(final Annotation[] annotations, final MediaType streamType, final MediaType elementType,
+                         final MultivaluedMap<String, String> httpHeaders, final Consumer<InboundSseEvent> onEvent)
+   {
+      this.annotations = annotations;
+      this.mediaType = elementType;
+      this.httpHeaders = httpHeaders;
+      this.onEvent = onEvent;
+      this.textLike = MediaTypeHelper.isTextLike(streamType);
+      this.escape = streamType != null && streamType.toString().startsWith("application/x-stream-general");
+      String charsetName = elementType != null ? elementType.getParameters().get(MediaType.CHARSET_PARAMETER) : null;
+      this.charset = charsetName != null ? Charset.forName(charsetName) : StandardCharsets.UTF_8;
+   }
+
+   /**
+    * @param providers providers reading the data of the events parsed from now on
+    */
+   public void setProviders(Providers providers)
+   {
+      this.providers = providers;
+   }
+
+   /**
+    * Parses the next bytes of the stream, handing the events they complete to the consumer.
+    *
+    * @param bytes buffer holding the bytes
+    * @param offset position of the first byte in the buffer
+    * @param length number of bytes
+    */
+   public void parse(byte[] bytes, int offset, int length)
+   {
+      int position = offset;
+      int limit = offset + length;
+      while (position < limit)
+      {
+         if (skipLineFeed)
+         {
+            // \r\n ends a single line
+            skipLineFeed = false;
+            if (bytes[position] == '\n')
+            {
+               position++;
+               continue;
+            }
+         }
+         if (escaping)
+         {
+            escaping = false;
+            byte escaped = bytes[position++];
+            if (escape && escaped != '\\' && escaped != '\n' && escaped != '\r')
+            {
+               throw new RuntimeException(Messages.MESSAGES.expectedExcapedCharacter(escaped));
+            }
+            appendLine(escaped);
+            continue;
+         }
+         int end = position;
+         while (end < limit)
+         {
+            byte b = bytes[end];
+            if (b == '\n' || b == '\r' || (b == '\\' && !textLike))
+            {
+               break;
+            }
+            end++;
+         }
+         appendLine(bytes, position, end - position);
+         position = end;
+         if (position == limit)
+         {
+            break;
+         }
+         byte b = bytes[position++];
+         if (b == '\\')
+         {
+            escaping = true;
+            if (!escape)
+            {
+               appendLine(b);
+            }
+            continue;
+         }
+         skipLineFeed = b == '\r';
+         processLine();
+         lineLength = 0;
+      }
+   }
+
+   /**
+    * Parses the remaining bytes of the buffer, handing the events they complete to the consumer.
+    *
+    * @param buffer next bytes of the stream
+    */
+   public void parse(ByteBuffer buffer)
+   {
+      if (buffer.hasArray())
+      {
+         parse(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+         buffer.position(buffer.limit());
+         return;
+      }
+      if (chunk == null)
+      {
+         chunk = new byte[8192];
+      }
+      while (buffer.hasRemaining())
+      {
+         int length = Math.min(buffer.remaining(), chunk.length);
+         buffer.get(chunk, 0, length);
+         parse(chunk, 0, length);
+      }
+   }
+
+   private void processLine()
+   {
+      if (lineLength == 0)
+      {
+         // a blank line dispatches the event, if any
+         if (eventBuilder != null)
+         {
+            InboundSseEventImpl event = (InboundSseEventImpl) eventBuilder.build();
+            if (providers != null)
+            {
+               event.setProvider(providers);
+            }
+            eventBuilder = null;
+            hasData = false;
+            onEvent.accept(event);
+         }
+         return;
+      }
+      if (eventBuilder == null)
+      {
+         eventBuilder = new InboundSseEventImpl.Builder(annotations, mediaType, httpHeaders);
+      }
+      if (line[0] == ':')
+      {
+         int start = lineLength > 1 && line[1] == ' ' ? 2 : 1;
+         eventBuilder.commentLine(new String(line, start, lineLength - start, charset));
+         return;
+      }
+      int colon = 0;
+      while (colon < lineLength && line[colon] != ':')
+      {
+         colon++;
+      }
+      int valueStart = colon;
+      if (colon < lineLength)
+      {
+         //spec says there is space after colon
+         do
+         {
+            valueStart++;
+         }
+         while (valueStart < lineLength && line[valueStart] == ' ');
+      }
+      if (isField(DATA_FIELD, colon))
+      {
+         if (hasData)
+         {
+            eventBuilder.write(SseConstants.EOL);
+         }
+         eventBuilder.write(Arrays.copyOfRange(line, valueStart, lineLength));
+         hasData = true;
+      }
+      else
+      {
+         processField(colon, new String(line, valueStart, lineLength - valueStart, charset));
+      }
+   }
+
+   private void appendLine(byte[] bytes, int offset, int length)
+   {
+      if (lineLength + length > line.length)
+      {
+         line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+      }
+      System.arraycopy(bytes, offset, line, lineLength, length);
+      lineLength += length;
+   }
+
+   private void appendLine(byte b)
+   {
+      if (lineLength == line.length)
+      {
+         line = Arrays.copyOf(line, line.length * 2);
+      }
+      line[lineLength++] = b;
+   }
+
+   private boolean isField(byte[] name, int length)
+   {
+      if (length != name.length)
+      {
+         return false;
+      }
+      for (int i = 0; i < length; i++)
+      {
+         if (line[i] != name[i])
+         {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   private void processField(final int nameLength, final String valueString)
+   {
+      if (isField(EVENT_FIELD, nameLength))
+      {
+         eventBuilder.name(valueString);
+      }
+      else if (isField(ID_FIELD, nameLength))
+      {
+         eventBuilder.id(valueString);
+      }
+      else if (isField(RETRY_FIELD, nameLength))
+      {
+         try
+         {
+            eventBuilder.reconnectDelay(Long.parseLong(valueString));
+         }
+         catch (final NumberFormatException ex)
+         {
+            LogMessages.LOGGER.skipIllegalField("retry", valueString);
+         }
+      }
+      else
+      {
+         LogMessages.LOGGER.skipUnkownFiled(new String(line, 0, nameLength, StandardCharsets.UTF_8));
+      }
+   }
+}
@@ -1,9 +1,17 @@
 package org.jboss.resteasy.plugins.providers.sse;
 
+import java.util.Locale;
+
 import javax.ws.rs.sse.OutboundSseEvent;
 import javax.ws.rs.sse.Sse;
 import javax.ws.rs.sse.SseBroadcaster;
 
+import org.jboss.resteasy.core.ResteasyContext;
+import org.jboss.resteasy.plugins.providers.sse.SseBroadcasterImpl.OverflowPolicy;
+import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
+import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
+import org.jboss.resteasy.spi.ResteasyConfiguration;
+
 public class SseImpl implements Sse
 {
 
@@ -16,6 +24,36 @@ public class SseImpl implements Sse
    @Override
    public SseBroadcaster newBroadcaster()
    {
-      return new SseBroadcasterImpl();
+      int queueCapacity = SseBroadcasterImpl.DEFAULT_QUEUE_CAPACITY;
+      OverflowPolicy overflowPolicy = SseBroadcasterImpl.DEFAULT_OVERFLOW_POLICY;
+      ResteasyConfiguration context = ResteasyContext.getContextData(ResteasyConfiguration.class);
+      if (context != null)
+      {
+         String s = context.getParameter(ResteasyContextParameters.RESTEASY_SSE_BROADCASTER_QUEUE_CAPACITY);
+         if (s != null)
+         {
+            try
+            {
+               queueCapacity = Integer.parseInt(s);
+            }
+            catch (NumberFormatException e)
+            {
+               LogMessages.LOGGER.invalidFormat(ResteasyContextParameters.RESTEASY_SSE_BROADCASTER_QUEUE_CAPACITY, Integer.toString(queueCapacity));
+            }
+         }
+         s = context.getParameter(ResteasyContextParameters.RESTEASY_SSE_BROADCASTER_OVERFLOW_POLICY);
+         if (s != null)
+         {
+            try
+            {
+               overflowPolicy = OverflowPolicy.valueOf(s.trim().toUpperCase(Locale.ENGLISH));
+            }
+            catch (IllegalArgumentException e)
+            {
+               LogMessages.LOGGER.invalidFormat(ResteasyContextParameters.RESTEASY_SSE_BROADCASTER_OVERFLOW_POLICY, overflowPolicy.name());
+            }
+         }
+      }
+      return new SseBroadcasterImpl(queueCapacity, overflowPolicy);
    }
 }
@@ -211,6 +211,34 @@ public abstract class ConfigurationBootstrap implements ResteasyConfiguration
          deployment.setWiderRequestMatching(wider);
       }
 
+      String compiledMatching = getParameter(ResteasyContextParameters.RESTEASY_COMPILED_REQUEST_MATCHING);
+      if (compiledMatching != null)
+      {
+         boolean compiled = parseBooleanParam(ResteasyContextParameters.RESTEASY_COMPILED_REQUEST_MATCHING, compiledMatching);
+         deployment.setProperty(ResteasyContextParameters.RESTEASY_COMPILED_REQUEST_MATCHING, compiled);
+      }
+
+      String virtualThreads = getParameter(ResteasyContextParameters.RESTEASY_VIRTUAL_THREADS);
+      if (virtualThreads != null)
+      {
+         boolean virtual = parseBooleanParam(ResteasyContextParameters.RESTEASY_VIRTUAL_THREADS, virtualThreads);
+         deployment.setProperty(ResteasyContextParameters.RESTEASY_VIRTUAL_THREADS, virtual);
+      }
+
+      String methodHandles = getParameter(ResteasyContextParameters.RESTEASY_METHOD_HANDLES);
+      if (methodHandles != null)
+      {
+         boolean handles = parseBooleanParam(ResteasyContextParameters.RESTEASY_METHOD_HANDLES, methodHandles);
+         deployment.setProperty(ResteasyContextParameters.RESTEASY_METHOD_HANDLES, handles);
+      }
+
+      String prewarmProviders = getParameter(ResteasyContextParameters.RESTEASY_PREWARM_PROVIDERS);
+      if (prewarmProviders != null)
+      {
+         boolean prewarm = parseBooleanParam(ResteasyContextParameters.RESTEASY_PREWARM_PROVIDERS, prewarmProviders);
+         deployment.setProperty(ResteasyContextParameters.RESTEASY_PREWARM_PROVIDERS, prewarm);
+      }
+
       String addCharset = getParameter(ResteasyContextParameters.RESTEASY_ADD_CHARSET);
       if (addCharset != null)
       {
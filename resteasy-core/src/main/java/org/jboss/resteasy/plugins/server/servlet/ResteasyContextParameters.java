@@ -26,6 +26,8 @@ public interface ResteasyContextParameters {
    String RESTEASY_SECURE_PROCESSING_FEATURE = "resteasy.document.secure.processing.feature";
    String RESTEASY_DISABLE_DTDS = "resteasy.document.secure.disableDTDs";
    String RESTEASY_GZIP_MAX_INPUT = "resteasy.gzip.max.input";
+   String RESTEASY_COMPRESSION_LEVEL = "resteasy.compression.level";
+   String RESTEASY_COMPRESSION_MIN_SIZE = "resteasy.compression.min.size";
    String RESTEASY_SECURE_RANDOM_MAX_USE = "resteasy.secure.random.max.use";
    String RESTEASY_ADD_CHARSET = "resteasy.add.charset";
    String RESTEASY_DISABLE_HTML_SANITIZER = "resteasy.disable.html.sanitizer";
@@ -92,6 +94,13 @@ public interface ResteasyContextParameters {
    String RESTEASY_DEPLOYMENTS = "resteasy.deployments";
    String RESTEASY_SERVLET_MAPPING_PREFIX = "resteasy.servlet.mapping.prefix";
    String RESTEASY_WIDER_REQUEST_MATCHING = "resteasy.wider.request.matching";
+   String RESTEASY_COMPILED_REQUEST_MATCHING = "resteasy.compiled.request.matching";
+   String RESTEASY_SSE_BROADCASTER_QUEUE_CAPACITY = "resteasy.sse.broadcaster.queue.capacity";
+   String RESTEASY_SSE_BROADCASTER_OVERFLOW_POLICY = "resteasy.sse.broadcaster.overflow.policy";
+   String RESTEASY_VIRTUAL_THREADS = "resteasy.virtual.threads";
+   String RESTEASY_METHOD_HANDLES = "resteasy.method.handles";
+   String RESTEASY_PREWARM_PROVIDERS = "resteasy.prewarm.providers";
+   String RESTEASY_JAXB_CONTEXT_CACHE_SIZE = "resteasy.jaxb.context.cache.size";
 
    String RESTEASY_PREFER_JACKSON_OVER_JSONB = "resteasy.preferJacksonOverJsonB";
 }
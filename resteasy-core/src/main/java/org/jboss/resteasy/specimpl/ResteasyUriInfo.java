@@ -4,14 +4,14 @@ import org.jboss.resteasy.spi.ResteasyUriBuilder;
 import org.jboss.resteasy.util.Encode;
 import org.jboss.resteasy.util.PathHelper;
 
-import java.io.UnsupportedEncodingException;
 import java.net.URI;
-import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
+import javax.ws.rs.BadRequestException;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.PathSegment;
 import javax.ws.rs.core.UriBuilder;
@@ -19,7 +19,8 @@ import javax.ws.rs.core.UriInfo;
 import javax.ws.rs.ext.RuntimeDelegate;
 
 /**
- * UriInfo implementation with some added extra methods to help process requests.
+ * UriInfo implementation with some added extra methods to help process requests.  The path segments, the matching path
+ * and the query parameters are parsed when they are first asked for, query parameters are decoded at most once.
  *
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
  * @version $Revision: 1 $
@@ -29,8 +30,8 @@ public class ResteasyUriInfo implements UriInfo
    private String path;
    private String encodedPath;
    private String matchingPath;
-   private MultivaluedMap<String, String> queryParameters = new MultivaluedMapImpl<>();
-   private MultivaluedMap<String, String> encodedQueryParameters = new MultivaluedMapImpl<>();
+   private MultivaluedMap<String, String> queryParameters;
+   private MultivaluedMap<String, String> encodedQueryParameters;
    private MultivaluedMap<String, String> pathParameters;
    private MultivaluedMap<String, String> encodedPathParameters;
    private MultivaluedMap<String, PathSegment[]> pathParameterPathSegments;
@@ -75,7 +76,7 @@ public class ResteasyUriInfo implements UriInfo
       {
          encodedPath = "/" + encodedPath;
       }
-      path = UriBuilder.fromPath(encodedPath).build().getPath();
+      path = null;
       processPath();
    }
 
@@ -103,34 +104,21 @@ public class ResteasyUriInfo implements UriInfo
 
    public void setUri(URI base, URI relative)
    {
-      clearQueryParameters(true);
-      clearQueryParameters(false);
-
       URI rel = base.resolve(relative);
       String absoluteUri = UriBuilder.fromUri(rel).replaceQuery(null).toTemplate();
       initialize(absoluteUri, rel.getRawQuery(), base.getRawPath());
    }
 
+   /**
+    * Resets what is derived from the path and the query of the request uri, it is parsed again when asked for.
+    */
    protected void processPath()
    {
-      PathSegmentImpl.SegmentParse parse = PathSegmentImpl.parseSegmentsOptimization(encodedPath, false);
-      encodedPathSegments = parse.segments;
-      this.pathSegments = new ArrayList<PathSegment>(encodedPathSegments.size());
-      for (PathSegment segment : encodedPathSegments)
-      {
-         pathSegments.add(new PathSegmentImpl(((PathSegmentImpl) segment).getOriginal(), true));
-      }
-      extractParameters(requestURI.getRawQuery());
-      if (parse.hasMatrixParams) extractMatchingPath(encodedPathSegments);
-      else
-      {
-         matchingPath = encodedPath;
-         if (matchingPath.length() > 1 && matchingPath.endsWith("/"))
-         {
-            matchingPath = matchingPath.substring(0, matchingPath.length() - 1);
-         }
-      }
-
+      pathSegments = null;
+      encodedPathSegments = null;
+      matchingPath = null;
+      queryParameters = null;
+      encodedQueryParameters = null;
    }
 
    public ResteasyUriInfo(final URI requestURI)
@@ -180,6 +168,13 @@ public class ResteasyUriInfo implements UriInfo
     */
    public String getMatchingPath()
    {
+      if (matchingPath == null)
+      {
+         if (encodedPath.indexOf(';') >= 0) extractMatchingPath(getPathSegments(false));
+         else if (encodedPath.length() > 1 && encodedPath.endsWith("/"))
+            matchingPath = encodedPath.substring(0, encodedPath.length() - 1);
+         else matchingPath = encodedPath;
+      }
       return matchingPath;
    }
 
@@ -195,6 +190,7 @@ public class ResteasyUriInfo implements UriInfo
 
    public String getPath()
    {
+      if (path == null) path = UriBuilder.fromPath(encodedPath).build().getPath();
       return path;
    }
 
@@ -206,12 +202,23 @@ public class ResteasyUriInfo implements UriInfo
 
    public List<PathSegment> getPathSegments()
    {
+      if (pathSegments == null)
+      {
+         List<PathSegment> encoded = getPathSegments(false);
+         List<PathSegment> decoded = new ArrayList<PathSegment>(encoded.size());
+         for (PathSegment segment : encoded)
+         {
+            decoded.add(new PathSegmentImpl(((PathSegmentImpl) segment).getOriginal(), true));
+         }
+         pathSegments = decoded;
+      }
       return pathSegments;
    }
 
    public List<PathSegment> getPathSegments(boolean decode)
    {
       if (decode) return getPathSegments();
+      if (encodedPathSegments == null) encodedPathSegments = PathSegmentImpl.parseSegments(encodedPath, false);
       return encodedPathSegments;
    }
 
@@ -296,12 +303,49 @@ public class ResteasyUriInfo implements UriInfo
 
    public MultivaluedMap<String, String> getQueryParameters()
    {
-      return new UnmodifiableMultivaluedMap<>(queryParameters);
+      return new UnmodifiableMultivaluedMap<>(queryParameters());
    }
 
    protected MultivaluedMap<String, String> getEncodedQueryParameters()
    {
-      return new UnmodifiableMultivaluedMap<>(encodedQueryParameters);
+      return new UnmodifiableMultivaluedMap<>(encodedQueryParameters());
+   }
+
+   private MultivaluedMap<String, String> encodedQueryParameters()
+   {
+      if (encodedQueryParameters == null)
+      {
+         MultivaluedMap<String, String> encoded = new MultivaluedMapImpl<>();
+         try
+         {
+            parseQueryParameters(requestURI.getRawQuery(), encoded);
+         }
+         catch (IllegalArgumentException e)
+         {
+            // the request was accepted before its query was parsed
+            throw new BadRequestException(e);
+         }
+         encodedQueryParameters = encoded;
+      }
+      return encodedQueryParameters;
+   }
+
+   private MultivaluedMap<String, String> queryParameters()
+   {
+      if (queryParameters == null)
+      {
+         MultivaluedMap<String, String> decoded = new MultivaluedMapImpl<>();
+         try
+         {
+            decodeQueryParameters(encodedQueryParameters(), decoded);
+         }
+         catch (IllegalArgumentException e)
+         {
+            throw new BadRequestException(e);
+         }
+         queryParameters = decoded;
+      }
+      return queryParameters;
    }
 
 
@@ -317,52 +361,72 @@ public class ResteasyUriInfo implements UriInfo
    }
 
    private void clearQueryParameters() {
-      if (queryParameters != null) {
+      if (queryParameters == null) {
+         queryParameters = new MultivaluedMapImpl<>();
+      } else {
          queryParameters.clear();
       }
    }
 
    private void clearEncodedQueryParameters() {
-      if (encodedQueryParameters != null) {
-         encodedQueryParameters.clear();
-      }
+      // the decoded parameters are derived from the encoded ones
+      queryParameters();
+      encodedQueryParameters.clear();
    }
 
+   /**
+    * Adds the parameters of a query string to the query parameters.
+    *
+    * @param queryString encoded query string
+    */
    protected void extractParameters(String queryString)
    {
-      if (queryString == null || queryString.equals("")) return;
-
-      String[] params = queryString.split("&");
+      MultivaluedMap<String, String> encoded = new MultivaluedMapImpl<>();
+      parseQueryParameters(queryString, encoded);
+      decodeQueryParameters(encoded, queryParameters());
+      for (Map.Entry<String, List<String>> entry : encoded.entrySet())
+      {
+         encodedQueryParameters().addAll(entry.getKey(), entry.getValue());
+      }
+   }
 
-      for (String param : params)
+   /**
+    * Splits a query string in a single pass, the names are decoded and the values are kept encoded.  Empty
+    * parameters at the end of the query string are ignored.
+    */
+   private static void parseQueryParameters(String queryString, MultivaluedMap<String, String> encoded)
+   {
+      if (queryString == null) return;
+      int end = queryString.length();
+      while (end > 0 && queryString.charAt(end - 1) == '&') end--;
+      int start = 0;
+      while (start < end)
       {
-         if (param.indexOf('=') >= 0)
+         int amp = queryString.indexOf('&', start);
+         if (amp < 0 || amp > end) amp = end;
+         int eq = start;
+         while (eq < amp && queryString.charAt(eq) != '=') eq++;
+         if (eq < amp)
          {
-            String[] nv = param.split("=", 2);
-            try
-            {
-               String name = URLDecoder.decode(nv[0], StandardCharsets.UTF_8.name());
-               String val = nv.length > 1 ? nv[1] : "";
-               encodedQueryParameters.add(name, val);
-               queryParameters.add(name, URLDecoder.decode(val, StandardCharsets.UTF_8.name()));
-            }
-            catch (UnsupportedEncodingException e)
-            {
-               throw new RuntimeException(e);
-            }
+            String name = Encode.decode(queryString.substring(start, eq), StandardCharsets.UTF_8);
+            encoded.add(name, queryString.substring(eq + 1, amp));
          }
          else
          {
-            try
-            {
-               String name = URLDecoder.decode(param, StandardCharsets.UTF_8.name());
-               encodedQueryParameters.add(name, "");
-               queryParameters.add(name, "");
-            }
-            catch (UnsupportedEncodingException e)
-            {
-               throw new RuntimeException(e);
-            }
+            encoded.add(Encode.decode(queryString.substring(start, amp), StandardCharsets.UTF_8), "");
+         }
+         start = amp + 1;
+      }
+   }
+
+   private static void decodeQueryParameters(MultivaluedMap<String, String> encoded,
+                                             MultivaluedMap<String, String> decoded)
+   {
+      for (Map.Entry<String, List<String>> entry : encoded.entrySet())
+      {
+         for (String value : entry.getValue())
+         {
+            decoded.add(entry.getKey(), Encode.decode(value, StandardCharsets.UTF_8));
          }
       }
    }
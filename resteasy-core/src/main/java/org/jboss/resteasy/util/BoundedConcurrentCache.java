@@ -0,0 +1,336 @@
+package org.jboss.resteasy.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * A concurrent cache bounded by number of entries and by total weight.  Lookups are lock free.  When a limit is
+ * exceeded entries are evicted using the CLOCK (second chance) approximation of LRU: entries that were read since the
+ * last eviction pass survive one more pass.
+ * <p>
+ * Hits, misses and evictions are counted so they can be monitored at runtime.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class BoundedConcurrentCache<K, V>
+{
+   private static class Node<V>
+   {
+      final V value;
+      final long weight;
+      volatile boolean accessed;
+
+      Node(final V value, final long weight)
+      {
+         this.value = value;
+         this.weight = weight;
+      }
+   }
+
+   private final ConcurrentHashMap<K, Node<V>> map = new ConcurrentHashMap<K, Node<V>>();
+   private final ReentrantLock evictionLock = new ReentrantLock();
+   private final ToLongFunction<V> weigher;
+   private volatile int maxSize;
+   private volatile long maxWeight;
+   private final AtomicLong weight = new AtomicLong();
+   // counted on every lookup, adders do not make concurrent readers contend on one cache line
+   private final LongAdder hits = new LongAdder();
+   private final LongAdder misses = new LongAdder();
+   private final LongAdder evictions = new LongAdder();
+   private final Map<K, V> mapView = new MapView();
+
+   /**
+    * Create a cache where every entry weighs 1.
+    *
+    * @param maxSize maximum number of entries
+    */
+   public BoundedConcurrentCache(final int maxSize)
+   {
+      this(maxSize, Long.MAX_VALUE, null);
+   }
+
+   /**
+    * @param maxSize maximum number of entries
+    * @param maxWeight maximum total weight of all entries
+    * @param weigher computes the weight of a value, if null every entry weighs 1
+    */
+   public BoundedConcurrentCache(final int maxSize, final long maxWeight, final ToLongFunction<V> weigher)
+   {
+      this.maxSize = maxSize;
+      this.maxWeight = maxWeight;
+      this.weigher = weigher;
+   }
+
+   public V get(K key)
+   {
+      Node<V> node = map.get(key);
+      if (node == null)
+      {
+         misses.increment();
+         return null;
+      }
+      hits.increment();
+      node.accessed = true;
+      return node.value;
+   }
+
+   public void put(K key, V value)
+   {
+      long w = weigh(value);
+      if (w > maxWeight)
+      {
+         // too heavy to be cached, do not leave the key mapped to its previous value
+         remove(key);
+         return;
+      }
+      Node<V> old = map.put(key, new Node<V>(value, w));
+      weight.addAndGet(old == null ? w : w - old.weight);
+      evictIfNeeded();
+   }
+
+   /**
+    * Return the cached value, or compute and cache it.  The mapping function is invoked at most once per key
+    * even if several threads miss concurrently.
+    *
+    * @param key key
+    * @param mappingFunction creates the value, may return null in which case nothing is cached
+    * @return value
+    */
+   public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction)
+   {
+      V value = get(key);
+      if (value != null) return value;
+      Node<V> node = map.computeIfAbsent(key, k ->
+      {
+         V v = mappingFunction.apply(k);
+         if (v == null) return null;
+         long w = weigh(v);
+         weight.addAndGet(w);
+         return new Node<V>(v, w);
+      });
+      if (node == null) return null;
+      evictIfNeeded();
+      return node.value;
+   }
+
+   public V remove(Object key)
+   {
+      Node<V> node = map.remove(key);
+      if (node == null) return null;
+      weight.addAndGet(-node.weight);
+      return node.value;
+   }
+
+   public void clear()
+   {
+      for (K key : map.keySet())
+      {
+         remove(key);
+      }
+   }
+
+   private long weigh(V value)
+   {
+      return weigher == null ? 1 : weigher.applyAsLong(value);
+   }
+
+   private boolean isOverLimit()
+   {
+      return map.size() > maxSize || weight.get() > maxWeight;
+   }
+
+   private void evictIfNeeded()
+   {
+      if (!isOverLimit()) return;
+      // only one thread evicts, the others go on without waiting
+      if (!evictionLock.tryLock()) return;
+      try
+      {
+         while (isOverLimit() && !map.isEmpty())
+         {
+            Iterator<Map.Entry<K, Node<V>>> it = map.entrySet().iterator();
+            while (it.hasNext() && isOverLimit())
+            {
+               Map.Entry<K, Node<V>> entry = it.next();
+               Node<V> node = entry.getValue();
+               if (node.accessed)
+               {
+                  node.accessed = false;
+                  continue;
+               }
+               if (map.remove(entry.getKey(), node))
+               {
+                  weight.addAndGet(-node.weight);
+                  evictions.increment();
+               }
+            }
+         }
+      }
+      finally
+      {
+         evictionLock.unlock();
+      }
+   }
+
+   public int size()
+   {
+      return map.size();
+   }
+
+   public long getWeight()
+   {
+      return weight.get();
+   }
+
+   public int getMaxSize()
+   {
+      return maxSize;
+   }
+
+   public void setMaxSize(int maxSize)
+   {
+      this.maxSize = maxSize;
+      evictIfNeeded();
+   }
+
+   public long getMaxWeight()
+   {
+      return maxWeight;
+   }
+
+   public void setMaxWeight(long maxWeight)
+   {
+      this.maxWeight = maxWeight;
+      evictIfNeeded();
+   }
+
+   public long getHitCount()
+   {
+      return hits.sum();
+   }
+
+   public long getMissCount()
+   {
+      return misses.sum();
+   }
+
+   public long getEvictionCount()
+   {
+      return evictions.sum();
+   }
+
+   /**
+    * A {@link Map} view of this cache.  Writes through the view respect the limits of the cache, reads through it
+    * are not counted as hits or misses.
+    *
+    * @return map view
+    */
+   public Map<K, V> asMap()
+   {
+      return mapView;
+   }
+
+   private class MapView extends AbstractMap<K, V>
+   {
+      @Override
+      public V get(Object key)
+      {
+         Node<V> node = map.get(key);
+         return node == null ? null : node.value;
+      }
+
+      @Override
+      public boolean containsKey(Object key)
+      {
+         return map.containsKey(key);
+      }
+
+      @Override
+      public V put(K key, V value)
+      {
+         V old = get(key);
+         BoundedConcurrentCache.this.put(key, value);
+         return old;
+      }
+
+      @Override
+      public V remove(Object key)
+      {
+         return BoundedConcurrentCache.this.remove(key);
+      }
+
+      @Override
+      public void clear()
+      {
+         BoundedConcurrentCache.this.clear();
+      }
+
+      @Override
+      public int size()
+      {
+         return map.size();
+      }
+
+      @Override
+      public Set<Map.Entry<K, V>> entrySet()
+      {
+         return new AbstractSet<Map.Entry<K, V>>()
+         {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator()
+            {
+               Iterator<Map.Entry<K, Node<V>>> it = map.entrySet().iterator();
+               return new Iterator<Map.Entry<K, V>>()
+               {
+                  private K last;
+
+                  @Override
+                  public boolean hasNext()
+                  {
+                     return it.hasNext();
+                  }
+
+                  @Override
+                  public Map.Entry<K, V> next()
+                  {
+                     Map.Entry<K, Node<V>> entry = it.next();
+                     last = entry.getKey();
+                     return new AbstractMap.SimpleImmutableEntry<K, V>(last, entry.getValue().value);
+                  }
+
+                  @Override
+                  public void remove()
+                  {
+                     if (last == null) throw new IllegalStateException();
+                     BoundedConcurrentCache.this.remove(last);
+                     last = null;
+                  }
+               };
+            }
+
+            @Override
+            public int size()
+            {
+               return map.size();
+            }
+         };
+      }
+   }
+
+   @Override
+   public String toString()
+   {
+      return "BoundedConcurrentCache[size=" + size() + ", weight=" + getWeight() + ", hits=" + getHitCount()
+            + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + "]";
+   }
+}
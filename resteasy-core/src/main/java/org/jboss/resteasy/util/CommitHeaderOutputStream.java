@@ -1,13 +1,16 @@
 package org.jboss.resteasy.util;
 
+import org.jboss.resteasy.spi.FileRegionOutput;
+
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.file.Path;
 
 /**
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
  * @version $Revision: 1 $
  */
-public class CommitHeaderOutputStream extends OutputStream
+public class CommitHeaderOutputStream extends OutputStream implements FileRegionOutput
 {
    protected OutputStream delegate;
    protected boolean isHeadersCommitted;
@@ -71,6 +74,14 @@ public class CommitHeaderOutputStream extends OutputStream
       delegate.write(bytes, i, i1);
    }
 
+   @Override
+   public boolean writeFileRegion(Path file, long position, long count) throws IOException
+   {
+      if (!(delegate instanceof FileRegionOutput)) return false;
+      commit();
+      return ((FileRegionOutput) delegate).writeFileRegion(file, position, count);
+   }
+
    @Override
    public void flush() throws IOException
    {
@@ -10,7 +10,6 @@ import java.net.URLEncoder;
 import java.nio.ByteBuffer;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
-import java.nio.charset.CharsetDecoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -209,40 +208,93 @@ public class Encode
 
    //private static final Pattern nonCodes = Pattern.compile("%([^a-fA-F0-9]|$)");
    private static final Pattern nonCodes = Pattern.compile("%([^a-fA-F0-9]|[a-fA-F0-9]$|$|[a-fA-F0-9][^a-fA-F0-9])");
-   private static final Pattern encodedChars = Pattern.compile("%([a-fA-F0-9][a-fA-F0-9])");
-   private static final Pattern encodedCharsMulti = Pattern.compile("((%[a-fA-F0-9][a-fA-F0-9])+)");
 
+   /**
+    * Decodes the escape sequences of a path as UTF-8, '%' characters that do not start one are kept.
+    *
+    * @param path encoded path
+    * @return decoded path, the same instance when there is nothing to decode
+    */
    public static String decodePath(String path)
    {
-      Matcher matcher = encodedCharsMulti.matcher(path);
-      int start=0;
-      StringBuilder builder = new StringBuilder();
-      CharsetDecoder decoder = Charset.forName(UTF_8).newDecoder();
-      while (matcher.find())
+      int escape = path.indexOf('%');
+      if (escape < 0) return path;
+      return decode(path, escape, StandardCharsets.UTF_8, false);
+   }
+
+   /**
+    * Decodes an application/x-www-form-urlencoded name or value like {@link URLDecoder#decode(String, String)}.
+    *
+    * @param string encoded value
+    * @param charset charset of the escaped bytes
+    * @return decoded value, the same instance when there is nothing to decode
+    * @throws IllegalArgumentException if an escape sequence is not valid
+    */
+   public static String decode(String string, Charset charset)
+   {
+      for (int i = 0; i < string.length(); i++)
       {
-         builder.append(path, start, matcher.start());
-         decoder.reset();
-         String decoded = decodeBytes(matcher.group(1), decoder);
-         builder.append(decoded);
-         start = matcher.end();
+         char c = string.charAt(i);
+         if (c == '%' || c == '+') return decode(string, i, charset, true);
       }
-      builder.append(path, start, path.length());
-      return builder.toString();
+      return string;
    }
 
-   private static String decodeBytes(String enc, CharsetDecoder decoder)
+   /**
+    * Single pass decoder, consecutive escape sequences are decoded together as they may encode a single character.
+    */
+   private static String decode(String string, int from, Charset charset, boolean form)
    {
-      Matcher matcher = encodedChars.matcher(enc);
-      ByteBuffer bytes = ByteBuffer.allocate(enc.length() / 3);
-      while (matcher.find())
+      int length = string.length();
+      StringBuilder builder = new StringBuilder(length);
+      builder.append(string, 0, from);
+      byte[] bytes = null;
+      int i = from;
+      while (i < length)
       {
-         int b = Integer.parseInt(matcher.group(1), 16);
-         bytes.put((byte) b);
+         char c = string.charAt(i);
+         if (c == '%')
+         {
+            if (bytes == null) bytes = new byte[(length - i) / 3];
+            int count = 0;
+            while (i + 2 < length && string.charAt(i) == '%')
+            {
+               int high = hexDigit(string.charAt(i + 1));
+               int low = hexDigit(string.charAt(i + 2));
+               if (high < 0 || low < 0) break;
+               bytes[count++] = (byte) ((high << 4) + low);
+               i += 3;
+            }
+            if (count > 0)
+            {
+               builder.append(decodeBytes(bytes, count, charset, form));
+            }
+            else if (form)
+            {
+               throw new IllegalArgumentException("Illegal escape (%) pattern: " + string);
+            }
+            else
+            {
+               builder.append(c);
+               i++;
+            }
+         }
+         else
+         {
+            builder.append(form && c == '+' ? ' ' : c);
+            i++;
+         }
       }
-      bytes.flip();
+      return builder.toString();
+   }
+
+   private static String decodeBytes(byte[] bytes, int count, Charset charset, boolean form)
+   {
+      // form values are decoded leniently like URLDecoder does
+      if (form) return new String(bytes, 0, count, charset);
       try
       {
-         return decoder.decode(bytes).toString();
+         return charset.newDecoder().decode(ByteBuffer.wrap(bytes, 0, count)).toString();
       }
       catch (CharacterCodingException e)
       {
@@ -250,6 +302,14 @@ public class Encode
       }
    }
 
+   private static int hexDigit(char c)
+   {
+      if (c >= '0' && c <= '9') return c - '0';
+      if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+      if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+      return -1;
+   }
+
    /**
     * Encode '%' if it is not an encoding sequence
     *
@@ -495,14 +555,7 @@ public class Encode
          List<String> values = entry.getValue();
          for (String value : values)
          {
-            try
-            {
-               decoded.add(URLDecoder.decode(entry.getKey(), UTF_8), URLDecoder.decode(value, UTF_8));
-            }
-            catch (UnsupportedEncodingException e)
-            {
-               throw new RuntimeException(e);
-            }
+            decoded.add(decode(entry.getKey(), StandardCharsets.UTF_8), decode(value, StandardCharsets.UTF_8));
          }
       }
       return decoded;
@@ -517,24 +570,14 @@ public class Encode
     */
    public static MultivaluedMap<String, String> decode(MultivaluedMap<String, String> map, String charset)
    {
-      if (charset == null)
-      {
-         charset = UTF_8;
-      }
+      Charset decodeCharset = charset == null ? StandardCharsets.UTF_8 : Charset.forName(charset);
       MultivaluedMapImpl<String, String> decoded = new MultivaluedMapImpl<String, String>();
       for (Map.Entry<String, List<String>> entry : map.entrySet())
       {
          List<String> values = entry.getValue();
          for (String value : values)
          {
-            try
-            {
-               decoded.add(URLDecoder.decode(entry.getKey(), charset), URLDecoder.decode(value, charset));
-            }
-            catch (UnsupportedEncodingException e)
-            {
-               throw new RuntimeException(e);
-            }
+            decoded.add(decode(entry.getKey(), decodeCharset), decode(value, decodeCharset));
          }
       }
       return decoded;
@@ -563,14 +606,7 @@ public class Encode
 
    public static String decode(String string)
    {
-      try
-      {
-         return URLDecoder.decode(string, UTF_8);
-      }
-      catch (UnsupportedEncodingException e)
-      {
-         throw new RuntimeException(e);
-      }
+      return decode(string, StandardCharsets.UTF_8);
    }
 
 }
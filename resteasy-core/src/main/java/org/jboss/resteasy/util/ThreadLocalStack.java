@@ -3,7 +3,8 @@ package org.jboss.resteasy.util;
 import java.util.ArrayList;
 
 /**
- * Comment
+ * The thread local is removed when the stack is emptied, so that threads used for a single request, such as virtual
+ * threads, don't keep an empty stack around.
  *
  * @author <a href="mailto:bill@jboss.org">Bill Burke</a>
  * @version $Revision$
@@ -22,7 +23,7 @@ public class ThreadLocalStack<T>
       ArrayList<T> stack = local.get();
       if (stack == null && create)
       {
-         stack = new ArrayList<T>();
+         stack = new ArrayList<T>(4);
          local.set(stack);
       }
       return stack;
@@ -39,7 +40,9 @@ public class ThreadLocalStack<T>
    {
       ArrayList<T> stack = local.get();
       if (stack == null || stack.isEmpty()) return null;
-      return stack.remove(stack.size() - 1);
+      T obj = stack.remove(stack.size() - 1);
+      if (stack.isEmpty()) local.remove();
+      return obj;
    }
 
    public void setLast(T obj)
@@ -69,6 +72,6 @@ public class ThreadLocalStack<T>
 
    public void clear()
    {
-      local.set(null);
+      local.remove();
    }
 }
@@ -0,0 +1,129 @@
+package org.jboss.resteasy.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
+import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
+import org.jboss.resteasy.spi.ResteasyDeployment;
+
+/**
+ * Creates the executors running blocking resource methods on virtual threads, when the JVM supports them (JDK 21+).
+ * They are looked up reflectively so that RESTEasy still runs on older JVMs.
+ *
+ * @see ResteasyContextParameters#RESTEASY_VIRTUAL_THREADS
+ */
+public final class VirtualThreads
+{
+   private static final Method OF_VIRTUAL;
+   private static final Method NAME;
+   private static final Method FACTORY;
+   private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+   static
+   {
+      Method ofVirtual = null;
+      Method name = null;
+      Method factory = null;
+      Method newThreadPerTaskExecutor = null;
+      try
+      {
+         ofVirtual = Thread.class.getMethod("ofVirtual");
+         Class<?> builder = Class.forName("java.lang.Thread$Builder");
+         name = builder.getMethod("name", String.class, long.class);
+         factory = builder.getMethod("factory");
+         newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+      }
+      catch (ReflectiveOperationException e)
+      {
+         ofVirtual = null;
+      }
+      OF_VIRTUAL = ofVirtual;
+      NAME = name;
+      FACTORY = factory;
+      NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+   }
+
+   private static volatile boolean warned;
+
+   private VirtualThreads()
+   {
+   }
+
+   public static boolean isSupported()
+   {
+      return OF_VIRTUAL != null;
+   }
+
+   /**
+    * Whether virtual threads are turned on by the deployment property or the system property named
+    * {@link ResteasyContextParameters#RESTEASY_VIRTUAL_THREADS} and supported by the JVM.
+    *
+    * @param deployment deployment, may be null
+    * @return true if blocking resource methods should run on virtual threads
+    */
+   public static boolean isEnabled(ResteasyDeployment deployment)
+   {
+      Object property = deployment == null ? null : deployment.getProperty(ResteasyContextParameters.RESTEASY_VIRTUAL_THREADS);
+      if (property == null)
+      {
+         property = System.getProperty(ResteasyContextParameters.RESTEASY_VIRTUAL_THREADS);
+      }
+      if (!Boolean.TRUE.equals(property) && !"true".equals(property))
+      {
+         return false;
+      }
+      if (!isSupported())
+      {
+         if (!warned)
+         {
+            warned = true;
+            LogMessages.LOGGER.virtualThreadsNotSupported();
+         }
+         return false;
+      }
+      return true;
+   }
+
+   /**
+    * @param prefix prefix of the thread names, followed by a counter
+    * @return factory of virtual threads
+    * @throws UnsupportedOperationException if the JVM doesn't support virtual threads
+    */
+   public static ThreadFactory newThreadFactory(String prefix)
+   {
+      if (!isSupported())
+      {
+         throw new UnsupportedOperationException();
+      }
+      try
+      {
+         Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), prefix, 0L);
+         return (ThreadFactory) FACTORY.invoke(builder);
+      }
+      catch (ReflectiveOperationException e)
+      {
+         throw new IllegalStateException(e);
+      }
+   }
+
+   /**
+    * @param prefix prefix of the thread names, followed by a counter
+    * @return executor starting a new virtual thread for each task
+    * @throws UnsupportedOperationException if the JVM doesn't support virtual threads
+    */
+   public static ExecutorService newExecutor(String prefix)
+   {
+      ThreadFactory factory = newThreadFactory(prefix);
+      try
+      {
+         return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, factory);
+      }
+      catch (ReflectiveOperationException e)
+      {
+         throw new IllegalStateException(e);
+      }
+   }
+}
@@ -20,6 +20,7 @@ import javax.ws.rs.sse.SseEventSource;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class FlowableRxInvokerImpl implements FlowableRxInvoker
 {
@@ -204,14 +205,57 @@ public class FlowableRxInvokerImpl implements FlowableRxInvoker
       this.backpressureStrategy = backpressureStrategy;
    }
 
+   /**
+    * Pauses the event source while the events requested by the subscriber are all emitted, so that the events wait in
+    * the connection rather than in the buffer of the backpressure strategy.  Only the events received before the
+    * source is paused go through the strategy.
+    */
+   private static class Demand
+   {
+      private final SseEventSourceImpl sseEventSource;
+      // less than 0 when events beyond the requested ones were emitted
+      private final AtomicLong requested = new AtomicLong();
+
+      Demand(final SseEventSourceImpl sseEventSource)
+      {
+         this.sseEventSource = sseEventSource;
+      }
+
+      void request(long n)
+      {
+         long r = requested.accumulateAndGet(n, (current, added) -> {
+            long sum = current + added;
+            return current > 0 && sum < 0 ? Long.MAX_VALUE : sum;
+         });
+         if (r > 0)
+         {
+            sseEventSource.resume();
+         }
+      }
+
+      void emitted()
+      {
+         if (requested.get() != Long.MAX_VALUE && requested.decrementAndGet() <= 0)
+         {
+            sseEventSource.pause();
+            // a request may have come before the pause
+            if (requested.get() > 0)
+            {
+               sseEventSource.resume();
+            }
+         }
+      }
+   }
+
    private <T> Flowable<T> eventSourceToObservable(SseEventSourceImpl sseEventSource, Class<T> clazz, String verb, Entity<?> entity, MediaType[] mediaTypes)
    {
+      Demand demand = new Demand(sseEventSource);
       Flowable<T> flowable = Flowable.create(
          new FlowableOnSubscribe<T>() {
             @Override
             public void subscribe(FlowableEmitter<T> emitter) throws Exception {
                sseEventSource.register(
-                  (InboundSseEvent e) -> {T t = e.readData(clazz, ((InboundSseEventImpl) e).getMediaType()); emitter.onNext(t);},
+                  (InboundSseEvent e) -> {T t = e.readData(clazz, ((InboundSseEventImpl) e).getMediaType()); emitter.onNext(t); demand.emitted();},
                   (Throwable t) -> emitter.onError(t),
                   () -> emitter.onComplete());
                   synchronized (monitor)
@@ -223,19 +267,20 @@ public class FlowableRxInvokerImpl implements FlowableRxInvoker
                   }
             }
          },
-         backpressureStrategy);
+         backpressureStrategy).doOnRequest(demand::request);
       return flowable;
    }
 
    private <T> Flowable<T> eventSourceToObservable(SseEventSourceImpl sseEventSource, GenericType<T> type, String verb, Entity<?> entity, MediaType[] mediaTypes)
    {
+      Demand demand = new Demand(sseEventSource);
       Flowable<T> flowable = Flowable.create(
          new FlowableOnSubscribe<T>() {
 
                @Override
                public void subscribe(FlowableEmitter<T> emitter) throws Exception {
                   sseEventSource.register(
-                     (InboundSseEvent e) -> {T t = e.readData(type, ((InboundSseEventImpl) e).getMediaType()); emitter.onNext(t);},
+                     (InboundSseEvent e) -> {T t = e.readData(type, ((InboundSseEventImpl) e).getMediaType()); emitter.onNext(t); demand.emitted();},
                      (Throwable t) -> emitter.onError(t),
                      () -> emitter.onComplete());
                   synchronized (monitor) {
@@ -245,7 +290,7 @@ public class FlowableRxInvokerImpl implements FlowableRxInvoker
                   }
                }
          },
-         backpressureStrategy);
+         backpressureStrategy).doOnRequest(demand::request);
       return flowable;
    }
 
@@ -1,5 +1,6 @@
 package org.jboss.resteasy.rxjava2;
 
+import java.util.Arrays;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -20,6 +21,8 @@ import io.reactivex.Single;
 @Path("/")
 public class RxResource
 {
+   public static final int LARGE_ELEMENTS = 100;
+
    @Path("single")
    @GET
    public Single<String> single()
@@ -45,6 +48,18 @@ public class RxResource
       return Flowable.fromArray("one", "two");
    }
 
+   @Produces(MediaType.APPLICATION_JSON)
+   @Path("flowable/large")
+   @GET
+   @Stream
+   public Flowable<String> largeFlowable()
+   {
+      char[] chars = new char[64 * 1024];
+      Arrays.fill(chars, 'x');
+      String element = new String(chars);
+      return Flowable.range(0, LARGE_ELEMENTS).map(i -> element);
+   }
+
    @Path("context/single")
    @GET
    public Single<String> contextSingle(@Context UriInfo uriInfo)
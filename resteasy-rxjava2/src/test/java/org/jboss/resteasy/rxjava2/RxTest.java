@@ -25,9 +25,11 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import io.reactivex.BackpressureStrategy;
 import io.reactivex.Flowable;
 import io.reactivex.Observable;
 import io.reactivex.Single;
+import io.reactivex.subscribers.TestSubscriber;
 
 
 public class RxTest
@@ -151,6 +153,29 @@ public class RxTest
       assertArrayEquals(new String[] {"one", "two"}, data.toArray());
    }
 
+   @Test
+   public void testFlowableBackpressure() throws Exception {
+      ResteasyClient asyncClient = ((ResteasyClientBuilder)ClientBuilder.newBuilder()).useAsyncHttpEngine().build();
+      try {
+         FlowableRxInvoker invoker = asyncClient.target(generateURL("/flowable/large")).request().rx(FlowableRxInvoker.class);
+         // fails if an element comes before it is requested
+         invoker.setBackpressureStrategy(BackpressureStrategy.ERROR);
+         @SuppressWarnings("unchecked")
+         Flowable<String> flowable = (Flowable<String>) invoker.get();
+         TestSubscriber<String> subscriber = flowable.test(5);
+         subscriber.awaitCount(5);
+         // the event source stops reading the connection once the requested elements are received
+         Thread.sleep(500);
+         subscriber.assertNoErrors();
+         subscriber.assertValueCount(5);
+         subscriber.request(Long.MAX_VALUE);
+         assertTrue(subscriber.awaitTerminalEvent(10, TimeUnit.SECONDS));
+         subscriber.assertValueCount(RxResource.LARGE_ELEMENTS);
+      } finally {
+         asyncClient.close();
+      }
+   }
+
    // @Test
    public void testChunked() throws Exception
    {
@@ -4,9 +4,11 @@ import com.sun.net.httpserver.HttpServer;
 import org.jboss.resteasy.plugins.server.embedded.EmbeddedJaxrsServer;
 import org.jboss.resteasy.plugins.server.embedded.SecurityDomain;
 import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.jboss.resteasy.util.VirtualThreads;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
 
 /**
  * com.sun.net.httpserver.HttpServer adapter for Resteasy.  You may instead want to create and manage your own HttpServer.
@@ -21,6 +23,7 @@ public class SunHttpJaxrsServer implements EmbeddedJaxrsServer
    protected HttpServer httpServer;
    protected int configuredPort = 8080;
    protected int runtimePort = -1;
+   protected ExecutorService executor;
 
    public void setRootResourcePath(String rootResourcePath)
    {
@@ -48,7 +51,9 @@ public class SunHttpJaxrsServer implements EmbeddedJaxrsServer
    }
 
    /**
-    * If you do not provide an HttpServer instance, one will be created on startup
+    * If you do not provide an HttpServer instance, one will be created on startup.  It runs the requests on virtual
+    * threads if the {@link org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters#RESTEASY_VIRTUAL_THREADS}
+    * deployment or system property is true.
     *
     * @param httpServer
     */
@@ -86,6 +91,12 @@ public class SunHttpJaxrsServer implements EmbeddedJaxrsServer
          {
             httpServer = HttpServer.create(new InetSocketAddress(configuredPort), 10);
             runtimePort = httpServer.getAddress().getPort();
+            // the default executor handles the exchanges on the dispatcher thread
+            if (VirtualThreads.isEnabled(getDeployment()))
+            {
+               executor = VirtualThreads.newExecutor("resteasy-http-");
+               httpServer.setExecutor(executor);
+            }
          }
          catch (IOException e)
          {
@@ -102,5 +113,10 @@ public class SunHttpJaxrsServer implements EmbeddedJaxrsServer
       runtimePort = -1;
       httpServer.stop(0);
       context.cleanup();
+      if (executor != null)
+      {
+         executor.shutdown();
+         executor = null;
+      }
    }
 }
@@ -0,0 +1,147 @@
+package org.jboss.resteasy.plugins.server.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.jboss.resteasy.plugins.server.netty.i18n.Messages;
+
+/**
+ * Request body fed with the {@link io.netty.handler.codec.http.HttpContent} chunks of a request as they are received,
+ * the counterpart of {@link ChunkOutputStream}.
+ * <p>
+ * The chunks are queued by the event loop and read by the thread running the request.  When more than
+ * <code>bufferSize</code> bytes are waiting to be read, auto read is turned off on the channel so that the
+ * client is slowed down by TCP flow control, it is turned back on once half of them were read.
+ *
+ * @see NettyJaxrsServer#setStreamingRequests(boolean)
+ */
+public class ChunkInputStream extends InputStream
+{
+   private final Channel channel;
+   private final int bufferSize;
+   // guarded by this
+   private final Deque<ByteBuf> chunks = new ArrayDeque<ByteBuf>();
+   private int buffered;
+   private boolean ended;
+   private boolean closed;
+   private IOException failure;
+
+   public ChunkInputStream(final Channel channel, final int bufferSize)
+   {
+      this.channel = channel;
+      this.bufferSize = bufferSize;
+   }
+
+   /**
+    * Called by the event loop with a retained chunk, the stream releases it.
+    */
+   synchronized void offer(ByteBuf chunk)
+   {
+      if (closed || !chunk.isReadable())
+      {
+         chunk.release();
+         return;
+      }
+      chunks.add(chunk);
+      buffered += chunk.readableBytes();
+      if (buffered > bufferSize) channel.config().setAutoRead(false);
+      notifyAll();
+   }
+
+   synchronized void end()
+   {
+      ended = true;
+      notifyAll();
+   }
+
+   synchronized void fail(IOException e)
+   {
+      if (ended) return;
+      failure = e;
+      notifyAll();
+   }
+
+   @Override
+   public synchronized int read() throws IOException
+   {
+      ByteBuf chunk = awaitChunk();
+      if (chunk == null) return -1;
+      int b = chunk.readUnsignedByte();
+      consumed(chunk, 1);
+      return b;
+   }
+
+   @Override
+   public synchronized int read(byte[] b, int off, int len) throws IOException
+   {
+      if (len == 0) return 0;
+      ByteBuf chunk = awaitChunk();
+      if (chunk == null) return -1;
+      int read = Math.min(len, chunk.readableBytes());
+      chunk.readBytes(b, off, read);
+      consumed(chunk, read);
+      return read;
+   }
+
+   @Override
+   public synchronized int available() throws IOException
+   {
+      return buffered;
+   }
+
+   /**
+    * Discards the rest of the body, chunks still to be received are released as they arrive.
+    */
+   @Override
+   public synchronized void close()
+   {
+      if (closed) return;
+      closed = true;
+      for (ByteBuf chunk : chunks)
+      {
+         chunk.release();
+      }
+      chunks.clear();
+      buffered = 0;
+      channel.config().setAutoRead(true);
+      notifyAll();
+   }
+
+   private ByteBuf awaitChunk() throws IOException
+   {
+      for (;;)
+      {
+         if (closed) throw new IOException(Messages.MESSAGES.requestBodyClosed());
+         ByteBuf chunk = chunks.peek();
+         if (chunk != null) return chunk;
+         if (ended) return null;
+         if (failure != null) throw failure;
+         try
+         {
+            wait();
+         }
+         catch (InterruptedException e)
+         {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+         }
+      }
+   }
+
+   private void consumed(ByteBuf chunk, int read)
+   {
+      buffered -= read;
+      if (!chunk.isReadable())
+      {
+         chunks.poll();
+         chunk.release();
+      }
+      if (buffered <= bufferSize / 2 && !channel.config().isAutoRead()) channel.config().setAutoRead(true);
+   }
+}
@@ -3,12 +3,21 @@ package org.jboss.resteasy.plugins.server.netty;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.DefaultFileRegion;
 import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.HttpContentEncoder;
+import io.netty.handler.ssl.SslHandler;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 import org.jboss.resteasy.plugins.server.netty.i18n.Messages;
+import org.jboss.resteasy.spi.FileRegionOutput;
 /**
  * Class to help application that are built to write to an
  * OutputStream to chunk the content
@@ -25,10 +34,13 @@ import org.jboss.resteasy.plugins.server.netty.i18n.Messages;
  * ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT).addListener(ChannelFutureListener.CLOSE);
  * }
  * </pre>
+ * Regions of files are sent as a {@link DefaultFileRegion}, without copying them, unless the connection is
+ * encrypted or the responses compressed.
+ *
  * @author tbussier
  *
  */
-public class ChunkOutputStream extends OutputStream {
+public class ChunkOutputStream extends OutputStream implements FileRegionOutput {
    final ByteBuf buffer;
    final ChannelHandlerContext ctx;
    final NettyHttpResponse response;
@@ -79,6 +91,31 @@ public class ChunkOutputStream extends OutputStream {
       }
    }
 
+   @Override
+   public boolean writeFileRegion(Path file, long position, long count) throws IOException {
+      ChannelPipeline pipeline = ctx.pipeline();
+      if (file.getFileSystem() != FileSystems.getDefault() || pipeline.get(SslHandler.class) != null
+            || pipeline.get(HttpContentEncoder.class) != null) {
+         return false;
+      }
+      FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+      long length = Math.min(count, channel.size() - position);
+      if (length <= 0) {
+         channel.close();
+         return true;
+      }
+      try {
+         flush();
+         if (!response.isCommitted()) response.prepareChunkStream();
+      } catch (IOException | RuntimeException e) {
+         channel.close();
+         throw e;
+      }
+      // the region closes the channel once written
+      ctx.writeAndFlush(new DefaultFileRegion(channel, position, length));
+      return true;
+   }
+
    @Override
    public void flush() throws IOException {
       int readable = buffer.readableBytes();
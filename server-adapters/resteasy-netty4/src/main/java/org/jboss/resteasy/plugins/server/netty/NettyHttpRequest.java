@@ -54,6 +54,7 @@ public class NettyHttpRequest extends BaseHttpRequest
    private final ChannelHandlerContext ctx;
    private volatile boolean flushed;
    private ByteBuf content;
+   private ChunkInputStream contentStream;
 
    public NettyHttpRequest(final ChannelHandlerContext ctx, final ResteasyHttpHeaders httpHeaders, final ResteasyUriInfo uri, final String httpMethod, final SynchronousDispatcher dispatcher, final NettyHttpResponse response, final boolean is100ContinueExpected)
    {
@@ -185,9 +186,20 @@ public class NettyHttpRequest extends BaseHttpRequest
       this.inputStream = new ByteBufInputStream(content);
    }
 
-   public void releaseContentBuffer() {
+   public void setContentStream(ChunkInputStream contentStream) {
+      this.contentStream = contentStream;
+      this.inputStream = contentStream;
+   }
+
+   public synchronized void releaseContentBuffer() {
       if (content != null) {
          this.content.release();
+         this.content = null;
+      }
+      if (contentStream != null) {
+         // let the rest of the body be discarded so that the connection can be reused
+         contentStream.close();
+         contentStream = null;
       }
    }
 
@@ -331,6 +343,10 @@ public class NettyHttpRequest extends BaseHttpRequest
             {
                throw new RuntimeException(e);
             }
+            finally
+            {
+               releaseContentBuffer();
+            }
          }
 
          @Override
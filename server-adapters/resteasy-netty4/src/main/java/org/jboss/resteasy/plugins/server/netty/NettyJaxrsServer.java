@@ -13,6 +13,7 @@ import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpRequestDecoder;
 import io.netty.handler.codec.http.HttpResponseEncoder;
+import io.netty.handler.codec.http.HttpServerExpectContinueHandler;
 import io.netty.handler.ssl.SniHandler;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.IdleStateHandler;
@@ -23,6 +24,7 @@ import org.jboss.resteasy.core.SynchronousDispatcher;
 import org.jboss.resteasy.plugins.server.embedded.EmbeddedJaxrsServer;
 import org.jboss.resteasy.plugins.server.embedded.SecurityDomain;
 import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.jboss.resteasy.util.VirtualThreads;
 
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLEngine;
@@ -32,6 +34,7 @@ import java.net.InetSocketAddress;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import static org.jboss.resteasy.plugins.server.netty.RestEasyHttpRequestDecoder.Protocol.HTTP;
 import static org.jboss.resteasy.plugins.server.netty.RestEasyHttpRequestDecoder.Protocol.HTTPS;
@@ -57,6 +60,7 @@ public class NettyJaxrsServer implements EmbeddedJaxrsServer
    protected SecurityDomain domain;
    private EventLoopGroup eventLoopGroup;
    private EventLoopGroup eventExecutor;
+   private ExecutorService virtualThreadExecutor;
    private int ioWorkerCount = Runtime.getRuntime().availableProcessors() * 2;
    private int executorThreadCount = 16;
    private SSLContext sslContext;
@@ -65,6 +69,8 @@ public class NettyJaxrsServer implements EmbeddedJaxrsServer
    private int maxInitialLineLength = 4096;
    private int maxHeaderSize = 8192;
    private int maxChunkSize = 8192;
+   private boolean streamingRequests;
+   private int streamingBufferSize = 1024 * 64;
    private int backlog = 128;
    // default no idle timeout.
    private int idleTimeout = -1;
@@ -102,6 +108,9 @@ public class NettyJaxrsServer implements EmbeddedJaxrsServer
     * Set the number of threads to use for the EventExecutor. For more information please see the javadocs of {@link EventExecutor}.
     * If you want to disable the use of the {@link EventExecutor} specify a value {@literal <=} 0.  This should only be done if you are 100% sure that you don't have any blocking
     * code in there.
+    * <p>
+    * Ignored when the {@link org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters#RESTEASY_VIRTUAL_THREADS}
+    * deployment or system property is true, each request then runs on a new virtual thread.
     *
     * @param executorThreadCount thread count
     */
@@ -119,6 +128,31 @@ public class NettyJaxrsServer implements EmbeddedJaxrsServer
       this.maxRequestSize = maxRequestSize;
    }
 
+   /**
+    * Don't aggregate the requests, their body is read as it is received instead of being buffered first.  The max.
+    * request size doesn't apply to these requests.
+    *
+    * @param streamingRequests true to stream the request bodies. This is false by default.
+    * @see ChunkInputStream
+    */
+   public void setStreamingRequests(boolean streamingRequests) {
+      this.streamingRequests = streamingRequests;
+   }
+
+   public boolean isStreamingRequests() {
+      return streamingRequests;
+   }
+
+   /**
+    * Set how many bytes of a streamed request body may be received before being read.  Beyond that, the server stops
+    * reading from the connection until the resource catches up.
+    *
+    * @param streamingBufferSize the buffer size in bytes. This is 64kb by default.
+    */
+   public void setStreamingBufferSize(int streamingBufferSize) {
+      this.streamingBufferSize = streamingBufferSize;
+   }
+
    public void setMaxInitialLineLength(int maxInitialLineLength) {
       this.maxInitialLineLength = maxInitialLineLength;
    }
@@ -241,7 +275,11 @@ public class NettyJaxrsServer implements EmbeddedJaxrsServer
    @Override
    public void start() {
       eventLoopGroup = new NioEventLoopGroup(ioWorkerCount);
-      eventExecutor = new NioEventLoopGroup(executorThreadCount);
+      if (VirtualThreads.isEnabled(deployment)) {
+         virtualThreadExecutor = VirtualThreads.newExecutor("resteasy-netty-");
+      } else {
+         eventExecutor = new NioEventLoopGroup(executorThreadCount);
+      }
       deployment.start();
       // dynamically set the root path (the user can rewrite it by calling setRootResourcePath)
       if (deployment.getApplication() != null) {
@@ -313,14 +351,27 @@ public class NettyJaxrsServer implements EmbeddedJaxrsServer
       channelPipeline.addLast(channelHandlers.toArray(new ChannelHandler[channelHandlers.size()]));
       channelPipeline.addLast(new HttpRequestDecoder(maxInitialLineLength, maxHeaderSize, maxChunkSize));
       channelPipeline.addLast(new HttpResponseEncoder());
-      channelPipeline.addLast(new HttpObjectAggregator(maxRequestSize));
+      if (streamingRequests) {
+         channelPipeline.addLast(new HttpServerExpectContinueHandler());
+      } else {
+         channelPipeline.addLast(new HttpObjectAggregator(maxRequestSize));
+      }
       channelPipeline.addLast(httpChannelHandlers.toArray(new ChannelHandler[httpChannelHandlers.size()]));
-      channelPipeline.addLast(new RestEasyHttpRequestDecoder(dispatcher.getDispatcher(), root, protocol));
+      channelPipeline.addLast(new RestEasyHttpRequestDecoder(dispatcher.getDispatcher(), root, protocol,
+            streamingRequests ? streamingBufferSize : 0));
+      if (streamingRequests) {
+         // on the event loop, the RequestHandler blocks reading the body
+         channelPipeline.addLast(new RequestContentHandler());
+      }
       channelPipeline.addLast(new RestEasyHttpResponseEncoder());
       if (idleTimeout > 0) {
          channelPipeline.addLast("idleStateHandler", new IdleStateHandler(0, 0, idleTimeout));
       }
-      channelPipeline.addLast(eventExecutor, new RequestHandler(dispatcher));
+      if (virtualThreadExecutor != null) {
+         channelPipeline.addLast(new RequestHandler(dispatcher, virtualThreadExecutor));
+      } else {
+         channelPipeline.addLast(eventExecutor, new RequestHandler(dispatcher));
+      }
    }
 
    @Override
@@ -328,6 +379,13 @@ public class NettyJaxrsServer implements EmbeddedJaxrsServer
    {
       runtimePort = -1;
       eventLoopGroup.shutdownGracefully();
-      eventExecutor.shutdownGracefully();
+      if (eventExecutor != null) {
+         eventExecutor.shutdownGracefully();
+         eventExecutor = null;
+      }
+      if (virtualThreadExecutor != null) {
+         virtualThreadExecutor.shutdown();
+         virtualThreadExecutor = null;
+      }
    }
 }
@@ -0,0 +1,65 @@
+package org.jboss.resteasy.plugins.server.netty;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.AttributeKey;
+
+import java.io.IOException;
+
+import org.jboss.resteasy.plugins.server.netty.i18n.Messages;
+
+/**
+ * Feeds the {@link HttpContent} chunks of a request to the {@link ChunkInputStream} of the {@link NettyHttpRequest}
+ * created by {@link RestEasyHttpRequestDecoder}, when requests are not aggregated.
+ * <p>
+ * Must run on the event loop, not on the executor of the {@link RequestHandler} reading the stream.
+ *
+ * @see NettyJaxrsServer#setStreamingRequests(boolean)
+ */
+public class RequestContentHandler extends ChannelInboundHandlerAdapter
+{
+   /**
+    * Body of the request being received on the channel.
+    */
+   public static final AttributeKey<ChunkInputStream> BODY = AttributeKey.valueOf(ChunkInputStream.class.getName());
+
+   @Override
+   public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception
+   {
+      if (!(msg instanceof HttpContent))
+      {
+         ctx.fireChannelRead(msg);
+         return;
+      }
+      HttpContent content = (HttpContent) msg;
+      ChunkInputStream body = ctx.channel().attr(BODY).get();
+      if (body == null)
+      {
+         content.release();
+         return;
+      }
+      if (content.decoderResult().isFailure())
+      {
+         content.release();
+         ctx.channel().attr(BODY).set(null);
+         body.fail(new IOException(content.decoderResult().cause()));
+         return;
+      }
+      body.offer(content.content());
+      if (content instanceof LastHttpContent)
+      {
+         ctx.channel().attr(BODY).set(null);
+         body.end();
+      }
+   }
+
+   @Override
+   public void channelInactive(ChannelHandlerContext ctx) throws Exception
+   {
+      ChunkInputStream body = ctx.channel().attr(BODY).getAndSet(null);
+      if (body != null) body.fail(new IOException(Messages.MESSAGES.connectionClosedBeforeEndOfRequestBody()));
+      super.channelInactive(ctx);
+   }
+}
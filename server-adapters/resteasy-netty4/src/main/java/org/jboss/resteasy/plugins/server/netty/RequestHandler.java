@@ -7,10 +7,14 @@ import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.TooLongFrameException;
 import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.util.AttributeKey;
 import org.jboss.resteasy.plugins.server.netty.i18n.LogMessages;
 import org.jboss.resteasy.plugins.server.netty.i18n.Messages;
 import org.jboss.resteasy.spi.Failure;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 import static io.netty.handler.codec.http.HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE;
 import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
 
@@ -28,43 +32,80 @@ import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
 @Sharable
 public class RequestHandler extends SimpleChannelInboundHandler
 {
+   // last request handed to the executor, the next one of the connection runs once it is done
+   private static final AttributeKey<CompletableFuture<Void>> LAST_REQUEST = AttributeKey.valueOf(RequestHandler.class.getName() + ".LAST_REQUEST");
+
    protected final RequestDispatcher dispatcher;
+   protected final Executor executor;
 
    public RequestHandler(final RequestDispatcher dispatcher)
+   {
+      this(dispatcher, null);
+   }
+
+   /**
+    * @param dispatcher dispatcher
+    * @param executor runs the requests, one at a time per connection, the thread of the handler if null
+    */
+   public RequestHandler(final RequestDispatcher dispatcher, final Executor executor)
    {
       this.dispatcher = dispatcher;
+      this.executor = executor;
    }
 
    @Override
    protected void channelRead0(ChannelHandlerContext ctx, Object msg) throws Exception {
       if (msg instanceof NettyHttpRequest) {
          NettyHttpRequest request = (NettyHttpRequest) msg;
-         try {
-
-            // Not necessary, since io.netty.handler.codec.MessageAggregator has already done it.
-            //                if (request.is100ContinueExpected()) {
-            //                    send100Continue(ctx);
-            //                }
-
-            NettyHttpResponse response = request.getResponse();
+         if (executor == null) {
+            handle(ctx, request);
+            return;
+         }
+         Runnable task = () -> {
             try {
-               dispatcher.service(ctx, request, response, true);
-            } catch (Failure e1) {
-               response.reset();
-               response.setStatus(e1.getErrorCode());
-            } catch (Exception ex) {
-               response.reset();
-               response.setStatus(500);
-               LogMessages.LOGGER.error(Messages.MESSAGES.unexpected(), ex);
+               handle(ctx, request);
+            } catch (Exception e) {
+               try {
+                  exceptionCaught(ctx, e);
+               } catch (Exception ex) {
+                  LogMessages.LOGGER.error(Messages.MESSAGES.unexpected(), ex);
+               }
             }
+         };
+         CompletableFuture<Void> previous = ctx.channel().attr(LAST_REQUEST).get();
+         ctx.channel().attr(LAST_REQUEST).set(previous == null || previous.isDone()
+               ? CompletableFuture.runAsync(task, executor) : previous.thenRunAsync(task, executor));
+      }
+   }
 
-            if (!request.getAsyncContext().isSuspended()) {
-               response.finish();
-            }
-         } finally {
-            request.releaseContentBuffer();
+   protected void handle(ChannelHandlerContext ctx, NettyHttpRequest request) throws Exception {
+      try {
+
+         // Not necessary, since io.netty.handler.codec.MessageAggregator has already done it.
+         //                if (request.is100ContinueExpected()) {
+         //                    send100Continue(ctx);
+         //                }
+
+         NettyHttpResponse response = request.getResponse();
+         try {
+            dispatcher.service(ctx, request, response, true);
+         } catch (Failure e1) {
+            response.reset();
+            response.setStatus(e1.getErrorCode());
+         } catch (Exception ex) {
+            response.reset();
+            response.setStatus(500);
+            LogMessages.LOGGER.error(Messages.MESSAGES.unexpected(), ex);
          }
 
+         if (!request.getAsyncContext().isSuspended()) {
+            response.finish();
+         }
+      } finally {
+         // a suspended request can still read its body, it is released once the response is sent
+         if (!request.getAsyncContext().isSuspended() || request.isFlushed()) {
+            request.releaseContentBuffer();
+         }
       }
    }
 
@@ -22,6 +22,9 @@ import org.jboss.resteasy.specimpl.ResteasyUriInfo;
  *
  * This implementation is {@link Sharable}
  *
+ * When the requests are not aggregated, the body of the {@link NettyHttpRequest} is a {@link ChunkInputStream} fed by
+ * {@link RequestContentHandler}.
+ *
  * @author Norman Maurer
  *
  */
@@ -31,6 +34,7 @@ public class RestEasyHttpRequestDecoder extends MessageToMessageDecoder<io.netty
    private final SynchronousDispatcher dispatcher;
    private final String servletMappingPrefix;
    private final String proto;
+   private final int streamingBufferSize;
 
    public enum Protocol
    {
@@ -39,8 +43,18 @@ public class RestEasyHttpRequestDecoder extends MessageToMessageDecoder<io.netty
    }
 
    public RestEasyHttpRequestDecoder(final SynchronousDispatcher dispatcher, final String servletMappingPrefix, final Protocol protocol)
+   {
+      this(dispatcher, servletMappingPrefix, protocol, 0);
+   }
+
+   /**
+    * @param streamingBufferSize bytes of a request body buffered before the channel stops reading, for requests that
+    *                            are not aggregated
+    */
+   public RestEasyHttpRequestDecoder(final SynchronousDispatcher dispatcher, final String servletMappingPrefix, final Protocol protocol, final int streamingBufferSize)
    {
       this.dispatcher = dispatcher;
+      this.streamingBufferSize = streamingBufferSize;
       this.servletMappingPrefix = servletMappingPrefix;
       if (protocol == Protocol.HTTP)
       {
@@ -94,6 +108,14 @@ public class RestEasyHttpRequestDecoder extends MessageToMessageDecoder<io.netty
 
             out.add(nettyRequest);
          }
+         else if (streamingBufferSize > 0)
+         {
+            // the body follows in HttpContent chunks
+            ChunkInputStream body = new ChunkInputStream(ctx.channel(), streamingBufferSize);
+            ctx.channel().attr(RequestContentHandler.BODY).set(body);
+            nettyRequest.setContentStream(body);
+            out.add(nettyRequest);
+         }
       }
       catch (Exception e)
       {
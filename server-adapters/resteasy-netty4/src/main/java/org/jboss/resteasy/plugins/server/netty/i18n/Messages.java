@@ -36,4 +36,10 @@ public interface Messages
 
    @Message(id = BASE + 25, value = "Unexpected")
    String unexpected();
+
+   @Message(id = BASE + 30, value = "Request body stream closed")
+   String requestBodyClosed();
+
+   @Message(id = BASE + 35, value = "Connection closed before the end of the request body")
+   String connectionClosedBeforeEndOfRequestBody();
 }
@@ -0,0 +1,150 @@
+package org.jboss.resteasy.test;
+
+import static org.jboss.resteasy.test.TestPortProvider.generateURL;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Produces;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.jboss.resteasy.plugins.server.netty.NettyContainer;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * File, Path and range entities sent as Netty file regions.
+ */
+public class FileRegionTest
+{
+   private static Client client;
+   private static File file;
+   private static byte[] content;
+
+   @javax.ws.rs.Path("/")
+   public static class Resource
+   {
+      @GET
+      @javax.ws.rs.Path("file")
+      @Produces("application/octet-stream")
+      public File file()
+      {
+         return file;
+      }
+
+      @GET
+      @javax.ws.rs.Path("path")
+      @Produces("application/octet-stream")
+      public Path path()
+      {
+         return file.toPath();
+      }
+   }
+
+   @BeforeClass
+   public static void setup() throws Exception
+   {
+      content = new byte[100000];
+      for (int i = 0; i < content.length; i++) content[i] = (byte) ('a' + i % 26);
+      file = File.createTempFile("region", ".txt");
+      Files.write(file.toPath(), content);
+      NettyContainer.start().getRegistry().addPerRequestResource(Resource.class);
+      client = ClientBuilder.newClient();
+   }
+
+   @AfterClass
+   public static void end() throws Exception
+   {
+      client.close();
+      NettyContainer.stop();
+      file.delete();
+   }
+
+   @Test
+   public void testWholeFile() throws Exception
+   {
+      for (String path : new String[]{"/file", "/path"})
+      {
+         Response response = client.target(generateURL(path)).request().get();
+         Assert.assertEquals(200, response.getStatus());
+         Assert.assertArrayEquals(content, response.readEntity(byte[].class));
+      }
+   }
+
+   @Test
+   public void testRange() throws Exception
+   {
+      for (String path : new String[]{"/file", "/path"})
+      {
+         Response response = client.target(generateURL(path)).request().header("Range", "bytes=10-19999").get();
+         Assert.assertEquals(206, response.getStatus());
+         Assert.assertEquals("bytes 10-19999/100000", response.getHeaderString("Content-Range"));
+         Assert.assertArrayEquals(Arrays.copyOfRange(content, 10, 20000), response.readEntity(byte[].class));
+      }
+   }
+
+   @Test
+   public void testMultipleRanges() throws Exception
+   {
+      Response response = client.target(generateURL("/file")).request().header("Range", "bytes=0-4, -3").get();
+      Assert.assertEquals(206, response.getStatus());
+      MediaType type = response.getMediaType();
+      Assert.assertEquals("multipart/byteranges", type.getType() + "/" + type.getSubtype());
+      String boundary = type.getParameters().get("boundary");
+      String expected = "--" + boundary + "\r\n"
+            + "Content-Type: application/octet-stream\r\n"
+            + "Content-Range: bytes 0-4/100000\r\n\r\n"
+            + "abcde\r\n"
+            + "--" + boundary + "\r\n"
+            + "Content-Type: application/octet-stream\r\n"
+            + "Content-Range: bytes 99997-99999/100000\r\n\r\n"
+            + new String(content, 99997, 3, StandardCharsets.US_ASCII) + "\r\n"
+            + "--" + boundary + "--\r\n";
+      Assert.assertEquals(expected, new String(response.readEntity(byte[].class), StandardCharsets.US_ASCII));
+   }
+
+   @Test
+   public void testCoalescedRanges() throws Exception
+   {
+      Response response = client.target(generateURL("/file")).request().header("Range", "bytes=0-4, 3-9, 10-14").get();
+      Assert.assertEquals(206, response.getStatus());
+      Assert.assertEquals("bytes 0-14/100000", response.getHeaderString("Content-Range"));
+      Assert.assertArrayEquals(Arrays.copyOfRange(content, 0, 15), response.readEntity(byte[].class));
+
+      response = client.target(generateURL("/file")).request().header("Range", "bytes=50-59, 0-4, 2-6").get();
+      Assert.assertEquals(206, response.getStatus());
+      String body = new String(response.readEntity(byte[].class), StandardCharsets.US_ASCII);
+      int first = body.indexOf("Content-Range: bytes 50-59/100000");
+      int second = body.indexOf("Content-Range: bytes 0-6/100000");
+      Assert.assertTrue(body, first >= 0 && second > first);
+      Assert.assertEquals(body, 2, body.split("Content-Range").length - 1);
+   }
+
+   @Test
+   public void testTooManyRanges() throws Exception
+   {
+      StringBuilder range = new StringBuilder("bytes=0-0");
+      for (int i = 1; i <= 100; i++) range.append(", ").append(i * 2).append('-').append(i * 2);
+      Response response = client.target(generateURL("/file")).request().header("Range", range.toString()).get();
+      Assert.assertEquals(200, response.getStatus());
+      Assert.assertArrayEquals(content, response.readEntity(byte[].class));
+   }
+
+   @Test
+   public void testUnsatisfiableRange() throws Exception
+   {
+      Response response = client.target(generateURL("/file")).request().header("Range", "bytes=100000-").get();
+      Assert.assertEquals(416, response.getStatus());
+      Assert.assertEquals("bytes */100000", response.getHeaderString("Content-Range"));
+      response.close();
+   }
+}
@@ -0,0 +1,138 @@
+package org.jboss.resteasy.test;
+
+import static org.jboss.resteasy.test.TestPortProvider.generateURL;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.jboss.resteasy.core.ResteasyDeploymentImpl;
+import org.jboss.resteasy.plugins.server.netty.NettyJaxrsServer;
+import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Request bodies larger than the max. request size are read as they are received when requests are not aggregated.
+ */
+public class StreamingRequestTest
+{
+   private static final int SIZE = 4 * 1024 * 1024;
+
+   private static NettyJaxrsServer server;
+   private static Client client;
+
+   @Path("/")
+   public static class Resource
+   {
+      @POST
+      @Path("count")
+      @Produces("text/plain")
+      public String count(InputStream in) throws IOException
+      {
+         return String.valueOf(count(in, SIZE));
+      }
+
+      @POST
+      @Path("prefix")
+      @Produces("text/plain")
+      public String prefix(InputStream in) throws IOException
+      {
+         // the rest of the body is discarded
+         return String.valueOf(count(in, 10));
+      }
+
+      @POST
+      @Path("async")
+      @Produces("text/plain")
+      public void async(InputStream in, @Suspended AsyncResponse response)
+      {
+         new Thread(() ->
+         {
+            try
+            {
+               response.resume(String.valueOf(count(in, SIZE)));
+            }
+            catch (IOException e)
+            {
+               response.resume(e);
+            }
+         }).start();
+      }
+
+      private static long count(InputStream in, long max) throws IOException
+      {
+         byte[] buffer = new byte[1000];
+         long count = 0;
+         int read;
+         while (count < max && (read = in.read(buffer, 0, (int) Math.min(buffer.length, max - count))) != -1)
+         {
+            count += read;
+         }
+         return count;
+      }
+   }
+
+   @BeforeClass
+   public static void setup() throws Exception
+   {
+      server = new NettyJaxrsServer();
+      ResteasyDeployment deployment = new ResteasyDeploymentImpl();
+      server.setDeployment(deployment);
+      server.setPort(TestPortProvider.getPort());
+      server.setRootResourcePath("");
+      server.setStreamingRequests(true);
+      server.setStreamingBufferSize(16 * 1024);
+      server.setMaxRequestSize(1024);
+      server.start();
+      deployment.getRegistry().addPerRequestResource(Resource.class);
+      client = ClientBuilder.newClient();
+   }
+
+   @AfterClass
+   public static void end() throws Exception
+   {
+      client.close();
+      server.stop();
+   }
+
+   @Test
+   public void testLargeBody() throws Exception
+   {
+      Assert.assertEquals(String.valueOf(SIZE), post("count"));
+   }
+
+   @Test
+   public void testAsync() throws Exception
+   {
+      Assert.assertEquals(String.valueOf(SIZE), post("async"));
+   }
+
+   @Test
+   public void testUnreadBody() throws Exception
+   {
+      Assert.assertEquals("10", post("prefix"));
+      // the connection is still usable
+      Assert.assertEquals(String.valueOf(SIZE), post("count"));
+   }
+
+   private String post(String path)
+   {
+      Response response = client.target(generateURL("/" + path)).request()
+            .post(Entity.entity(new byte[SIZE], MediaType.APPLICATION_OCTET_STREAM_TYPE));
+      Assert.assertEquals(200, response.getStatus());
+      return response.readEntity(String.class);
+   }
+}
@@ -0,0 +1,20 @@
+package org.jboss.resteasy.plugins.server.vertx;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The resource method, or all the methods of the resource class, is invoked on a worker thread by
+ * {@link VertxDispatcher}, even if it is asynchronous.
+ *
+ * @see NonBlocking
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Blocking
+{
+}
@@ -2,9 +2,13 @@ package org.jboss.resteasy.plugins.server.vertx;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import io.vertx.core.buffer.Buffer;
 import org.jboss.resteasy.plugins.server.vertx.i18n.Messages;
+import org.jboss.resteasy.spi.FileRegionOutput;
 
 /**
  * Class to help application that are built to write to an
@@ -21,10 +25,11 @@ import org.jboss.resteasy.plugins.server.vertx.i18n.Messages;
  * ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT).addListener(ChannelFutureListener.CLOSE);
  * }
  * </pre>
+ * A region of a file written before anything else is sent with sendfile, which ends the response.
  *
  * @author tbussier
  */
-public class ChunkOutputStream extends OutputStream
+public class ChunkOutputStream extends OutputStream implements FileRegionOutput
 {
    private Buffer buffer;
    private final VertxHttpResponse response;
@@ -84,6 +89,19 @@ public class ChunkOutputStream extends OutputStream
       }
    }
 
+   @Override
+   public boolean writeFileRegion(Path file, long position, long count) throws IOException
+   {
+      if (response.isCommitted() || buffer.length() > 0 || file.getFileSystem() != FileSystems.getDefault()
+            || !Files.isRegularFile(file))
+      {
+         return false;
+      }
+      response.checkException();
+      response.sendFile(file, position, count);
+      return true;
+   }
+
    @Override
    public void flush() throws IOException
    {
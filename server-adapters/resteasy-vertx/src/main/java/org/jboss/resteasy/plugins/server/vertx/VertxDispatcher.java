@@ -0,0 +1,141 @@
+package org.jboss.resteasy.plugins.server.vertx;
+
+import io.vertx.core.Context;
+
+import org.jboss.resteasy.core.ResourceMethodInvoker;
+import org.jboss.resteasy.core.ResteasyContext;
+import org.jboss.resteasy.core.SynchronousDispatcher;
+import org.jboss.resteasy.core.ThreadLocalResteasyProviderFactory;
+import org.jboss.resteasy.plugins.server.vertx.i18n.LogMessages;
+import org.jboss.resteasy.plugins.server.vertx.i18n.Messages;
+import org.jboss.resteasy.spi.Failure;
+import org.jboss.resteasy.spi.HttpRequest;
+import org.jboss.resteasy.spi.HttpResponse;
+import org.jboss.resteasy.spi.ResourceInvoker;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Dispatcher that keeps asynchronous resource methods on the event loop and invokes the others on worker threads,
+ * once the request is matched.
+ * <p>
+ * A resource method runs on the event loop if it injects an AsyncResponse or an SseEventSink, or returns a
+ * CompletionStage or another type with an AsyncResponseProvider or AsyncStreamProvider, unless it or its class is
+ * annotated with {@link Blocking}.  {@link NonBlocking} keeps a synchronous method on the event loop.  Resource
+ * locators always run on worker threads.  The decision is taken once per resource method.
+ * <p>
+ * Worker threads come from the Vert.x worker pool unless an executor is set.
+ *
+ * @see VertxJaxrsServer#setNonBlockingDispatch(boolean)
+ */
+public class VertxDispatcher extends SynchronousDispatcher
+{
+   // resource methods that run on the event loop
+   protected final Map<Method, Boolean> eventLoopMethods = new ConcurrentHashMap<Method, Boolean>();
+   protected Executor blockingExecutor;
+
+   public VertxDispatcher(final ResteasyProviderFactory providerFactory)
+   {
+      super(providerFactory);
+   }
+
+   public Executor getBlockingExecutor()
+   {
+      return blockingExecutor;
+   }
+
+   /**
+    * @param blockingExecutor runs the blocking resource methods, the Vert.x worker pool if null
+    */
+   public void setBlockingExecutor(Executor blockingExecutor)
+   {
+      this.blockingExecutor = blockingExecutor;
+   }
+
+   @Override
+   public void invoke(HttpRequest request, HttpResponse response, ResourceInvoker invoker)
+   {
+      Context context = ResteasyContext.getContextData(Context.class);
+      if (context == null || !Context.isOnEventLoopThread() || !(request instanceof VertxHttpRequest)
+            || !(response instanceof VertxHttpResponse) || isEventLoopInvoker(invoker))
+      {
+         super.invoke(request, response, invoker);
+         return;
+      }
+
+      VertxHttpRequest vertxRequest = (VertxHttpRequest) request;
+      VertxHttpResponse vertxResponse = (VertxHttpResponse) response;
+      // the request handler leaves the response to the worker
+      vertxRequest.setDispatchedToWorker();
+      Map<Class<?>, Object> contextData = new HashMap<Class<?>, Object>(ResteasyContext.getContextDataMap());
+      Runnable task = () ->
+      {
+         boolean threadLocalFactory = ResteasyProviderFactory.getInstance() instanceof ThreadLocalResteasyProviderFactory;
+         if (threadLocalFactory) ThreadLocalResteasyProviderFactory.push(providerFactory);
+         ResteasyContext.pushContextDataMap(contextData);
+         try
+         {
+            try
+            {
+               super.invoke(request, response, invoker);
+            }
+            catch (Failure e)
+            {
+               vertxResponse.setStatus(e.getErrorCode());
+            }
+            catch (Exception e)
+            {
+               // unhandled exceptions, the request handler no longer sees them
+               vertxResponse.setStatus(500);
+               LogMessages.LOGGER.error(Messages.MESSAGES.unexpected(), e);
+            }
+            if (!vertxRequest.getAsyncContext().isSuspended()) vertxResponse.finish();
+         }
+         catch (IOException e)
+         {
+            LogMessages.LOGGER.error(Messages.MESSAGES.unexpected(), e);
+         }
+         finally
+         {
+            ResteasyContext.clearContextData();
+            if (threadLocalFactory) ThreadLocalResteasyProviderFactory.pop();
+         }
+      };
+      if (blockingExecutor != null)
+      {
+         blockingExecutor.execute(task);
+      }
+      else
+      {
+         context.executeBlocking(future ->
+         {
+            task.run();
+            future.complete();
+         }, false, null);
+      }
+   }
+
+   protected boolean isEventLoopInvoker(ResourceInvoker invoker)
+   {
+      if (!(invoker instanceof ResourceMethodInvoker)) return false;
+      ResourceMethodInvoker method = (ResourceMethodInvoker) invoker;
+      return eventLoopMethods.computeIfAbsent(method.getMethod(), m -> runsOnEventLoop(method));
+   }
+
+   protected boolean runsOnEventLoop(ResourceMethodInvoker invoker)
+   {
+      Method method = invoker.getMethod();
+      if (method.isAnnotationPresent(Blocking.class)) return false;
+      if (method.isAnnotationPresent(NonBlocking.class)) return true;
+      Class<?> resourceClass = invoker.getResourceClass();
+      if (resourceClass.isAnnotationPresent(Blocking.class)) return false;
+      if (resourceClass.isAnnotationPresent(NonBlocking.class)) return true;
+      return invoker.isAsynchronous();
+   }
+}
@@ -49,6 +49,7 @@ public class VertxHttpRequest extends BaseHttpRequest
    private VertxExecutionContext executionContext;
    private final Context context;
    private volatile boolean flushed;
+   private volatile boolean dispatchedToWorker;
 
    public VertxHttpRequest(final Context context, final ResteasyHttpHeaders httpHeaders, final ResteasyUriInfo uri, final String httpMethod, final SynchronousDispatcher dispatcher, final VertxHttpResponse response, final boolean is100ContinueExpected)
    {
@@ -107,6 +108,20 @@ public class VertxHttpRequest extends BaseHttpRequest
       return flushed;
    }
 
+   /**
+    * @return true if the request is invoked on a worker thread, which finishes the response
+    * @see VertxDispatcher
+    */
+   public boolean isDispatchedToWorker()
+   {
+      return dispatchedToWorker;
+   }
+
+   void setDispatchedToWorker()
+   {
+      dispatchedToWorker = true;
+   }
+
    @Override
    public Object getAttribute(String attribute)
    {
@@ -14,6 +14,7 @@ import javax.ws.rs.ext.RuntimeDelegate;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
@@ -27,6 +28,7 @@ public class VertxHttpResponse implements HttpResponse
    private ResteasyProviderFactory providerFactory;
    private final HttpMethod method;
    private Throwable vertxException;
+   private boolean fileSent;
 
    public VertxHttpResponse(final HttpServerResponse response, final ResteasyProviderFactory providerFactory)
    {
@@ -158,6 +160,20 @@ public class VertxHttpResponse implements HttpResponse
       transformHeaders(this, response, providerFactory);
    }
 
+   /**
+    * Sends a region of a file with sendfile and ends the response.  Nothing can be written before or after.
+    */
+   void sendFile(Path file, long position, long count)
+   {
+      committed = true;
+      fileSent = true;
+      response.setStatusCode(getStatus());
+      transformHeaders(this, response, providerFactory);
+      response.sendFile(file.toString(), position, count, result -> {
+         if (result.failed()) vertxException = result.cause();
+      });
+   }
+
    private void prepareEmptyResponse()
    {
       committed = true;
@@ -171,6 +187,7 @@ public class VertxHttpResponse implements HttpResponse
 
    public void finish() throws IOException
    {
+      if (fileSent) return;
       checkException();
       if (os != null) {
          os.flush();
@@ -4,6 +4,8 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -21,6 +23,8 @@ import io.vertx.core.json.JsonObject;
 import org.jboss.resteasy.plugins.server.embedded.EmbeddedJaxrsServer;
 import org.jboss.resteasy.plugins.server.embedded.SecurityDomain;
 import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+import org.jboss.resteasy.util.VirtualThreads;
 
 /**
  * An HTTP server that sends back the content of the received HTTP request
@@ -42,6 +46,9 @@ public class VertxJaxrsServer implements EmbeddedJaxrsServer
    protected String root = "";
    protected SecurityDomain domain;
    private String deploymentID;
+   private boolean nonBlockingDispatch;
+   private Executor blockingExecutor;
+   private ExecutorService virtualThreadExecutor;
    // default no idle timeout.
 
    public String getHostname()
@@ -96,6 +103,36 @@ public class VertxJaxrsServer implements EmbeddedJaxrsServer
       return serverOptions;
    }
 
+   public boolean isNonBlockingDispatch()
+   {
+      return nonBlockingDispatch;
+   }
+
+   /**
+    * Keep the asynchronous resource methods on the event loop and invoke the others on worker threads instead of
+    * invoking all of them on the event loop.  The deployment must not have a dispatcher already.
+    * <p>
+    * Also enabled by the {@link org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters#RESTEASY_VIRTUAL_THREADS}
+    * deployment or system property, the blocking resource methods then run on virtual threads unless a blocking
+    * executor is set.
+    *
+    * @param nonBlockingDispatch true to dispatch with a {@link VertxDispatcher}. This is false by default.
+    */
+   public void setNonBlockingDispatch(boolean nonBlockingDispatch)
+   {
+      this.nonBlockingDispatch = nonBlockingDispatch;
+   }
+
+   /**
+    * Set the executor of the blocking resource methods when {@link #setNonBlockingDispatch(boolean)} is enabled.
+    *
+    * @param blockingExecutor the executor, the Vert.x worker pool by default.
+    */
+   public void setBlockingExecutor(Executor blockingExecutor)
+   {
+      this.blockingExecutor = blockingExecutor;
+   }
+
    @Override
    public void setDeployment(ResteasyDeployment deployment)
    {
@@ -126,6 +163,22 @@ public class VertxJaxrsServer implements EmbeddedJaxrsServer
    public void start()
    {
       vertx = Vertx.vertx(vertxOptions);
+      boolean virtualThreads = VirtualThreads.isEnabled(deployment);
+      if ((nonBlockingDispatch || virtualThreads) && deployment.getDispatcher() == null && !deployment.isAsyncJobServiceEnabled())
+      {
+         if (deployment.getProviderFactory() == null) deployment.setProviderFactory(ResteasyProviderFactory.newInstance());
+         VertxDispatcher dispatcher = new VertxDispatcher(deployment.getProviderFactory());
+         if (blockingExecutor == null && virtualThreads)
+         {
+            virtualThreadExecutor = VirtualThreads.newExecutor("resteasy-vertx-");
+            dispatcher.setBlockingExecutor(virtualThreadExecutor);
+         }
+         else
+         {
+            dispatcher.setBlockingExecutor(blockingExecutor);
+         }
+         deployment.setDispatcher(dispatcher);
+      }
       deployment.start();
       String key = UUID.randomUUID().toString();
       deploymentMap.put(key, new Helper(root, serverOptions, deployment, domain));
@@ -180,6 +233,11 @@ public class VertxJaxrsServer implements EmbeddedJaxrsServer
          {
          }
       }
+      if (virtualThreadExecutor != null)
+      {
+         virtualThreadExecutor.shutdown();
+         virtualThreadExecutor = null;
+      }
    }
 
    private static class Helper
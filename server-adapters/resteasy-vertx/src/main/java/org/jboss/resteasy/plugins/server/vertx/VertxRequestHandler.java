@@ -72,7 +72,7 @@ public class VertxRequestHandler implements Handler<HttpServerRequest>
             LogMessages.LOGGER.error(Messages.MESSAGES.unexpected(), ex);
          }
 
-         if (!vertxRequest.getAsyncContext().isSuspended())
+         if (!vertxRequest.getAsyncContext().isSuspended() && !vertxRequest.isDispatchedToWorker())
          {
             try
             {
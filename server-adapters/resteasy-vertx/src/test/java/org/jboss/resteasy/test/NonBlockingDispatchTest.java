@@ -0,0 +1,124 @@
+package org.jboss.resteasy.test;
+
+import io.vertx.core.Context;
+
+import org.jboss.resteasy.plugins.server.vertx.Blocking;
+import org.jboss.resteasy.plugins.server.vertx.NonBlocking;
+import org.jboss.resteasy.plugins.server.vertx.VertxJaxrsServer;
+import org.jboss.resteasy.plugins.server.vertx.VertxResteasyDeployment;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static org.jboss.resteasy.test.TestPortProvider.generateURL;
+
+/**
+ * Asynchronous resource methods run on the event loop, the others on worker threads, unless annotated.
+ */
+public class NonBlockingDispatchTest
+{
+   @Path("/")
+   @Produces("text/plain")
+   public static class Resource
+   {
+      @GET
+      @Path("sync")
+      public String sync()
+      {
+         return String.valueOf(Context.isOnEventLoopThread());
+      }
+
+      @GET
+      @Path("sync/nonblocking")
+      @NonBlocking
+      public String syncNonBlocking()
+      {
+         return String.valueOf(Context.isOnEventLoopThread());
+      }
+
+      @GET
+      @Path("async")
+      public CompletionStage<String> async()
+      {
+         return CompletableFuture.completedFuture(String.valueOf(Context.isOnEventLoopThread()));
+      }
+
+      @GET
+      @Path("async/blocking")
+      @Blocking
+      public CompletionStage<String> asyncBlocking()
+      {
+         return CompletableFuture.completedFuture(String.valueOf(Context.isOnEventLoopThread()));
+      }
+
+      @GET
+      @Path("suspended")
+      public void suspended(@Suspended AsyncResponse response)
+      {
+         response.resume(String.valueOf(Context.isOnEventLoopThread()));
+      }
+
+      @GET
+      @Path("exception")
+      public String exception()
+      {
+         throw new IllegalStateException();
+      }
+   }
+
+   private static VertxJaxrsServer server;
+   private static Client client;
+
+   @BeforeClass
+   public static void setup() throws Exception
+   {
+      server = new VertxJaxrsServer();
+      VertxResteasyDeployment deployment = new VertxResteasyDeployment();
+      server.setDeployment(deployment);
+      server.setPort(TestPortProvider.getPort());
+      server.setRootResourcePath("");
+      server.setNonBlockingDispatch(true);
+      server.start();
+      deployment.getRegistry().addPerRequestResource(Resource.class);
+      client = ClientBuilder.newClient();
+   }
+
+   @AfterClass
+   public static void end() throws Exception
+   {
+      client.close();
+      server.stop();
+   }
+
+   @Test
+   public void testDispatch() throws Exception
+   {
+      Assert.assertEquals("false", get("sync"));
+      Assert.assertEquals("true", get("sync/nonblocking"));
+      Assert.assertEquals("true", get("async"));
+      Assert.assertEquals("false", get("async/blocking"));
+      Assert.assertEquals("true", get("suspended"));
+   }
+
+   @Test
+   public void testException() throws Exception
+   {
+      Assert.assertEquals(500, client.target(generateURL("/exception")).request().get().getStatus());
+   }
+
+   private String get(String path)
+   {
+      return client.target(generateURL("/" + path)).request().get(String.class);
+   }
+}
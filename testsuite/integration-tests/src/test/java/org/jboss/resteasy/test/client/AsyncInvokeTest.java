@@ -20,6 +20,7 @@ import javax.ws.rs.HttpMethod;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -162,6 +163,20 @@ public class AsyncInvokeTest extends ClientTestBase{
       }
    }
 
+   /**
+    * @tpTestDetails Client sends async POST request with an entity larger than the request buffer of the async engine,
+    * the entity is streamed in chunks
+    * @tpPassCrit Successful response is returned, the whole entity was received
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void AsyncLargePostTest() throws Exception {
+      byte[] body = new byte[4 * 1024 * 1024];
+      Future<String> future = nioClient.target(generateURL("/test/count")).request().async()
+            .post(Entity.entity(body, MediaType.APPLICATION_OCTET_STREAM_TYPE), String.class);
+      Assert.assertEquals(String.valueOf(body.length), future.get());
+   }
+
    /**
     * @tpTestDetails Client sends async custom PATCH requests. First request expects Response object in return,
     * the second expects String object in return
@@ -9,6 +9,8 @@ import javax.ws.rs.DELETE;
 import javax.ws.rs.Produces;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Path;
+import java.io.IOException;
+import java.io.InputStream;
 
 
 @Path("/test")
@@ -34,6 +36,20 @@ public class AsyncInvokeResource {
       return "post " + str;
    }
 
+   @POST
+   @Path("count")
+   @Consumes("application/octet-stream")
+   @Produces("text/plain")
+   public String count(InputStream in) throws IOException {
+      byte[] buffer = new byte[8192];
+      long count = 0;
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+         count += read;
+      }
+      return String.valueOf(count);
+   }
+
    @DELETE
    @Produces("text/plain")
    public String delete() throws Exception {
@@ -1,9 +1,15 @@
 package org.jboss.resteasy.test.providers.sse;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import javax.ws.rs.sse.OutboundSseEvent;
@@ -11,6 +17,7 @@ import javax.ws.rs.sse.SseEventSink;
 
 import org.jboss.resteasy.plugins.providers.sse.OutboundSseEventImpl;
 import org.jboss.resteasy.plugins.providers.sse.SseBroadcasterImpl;
+import org.jboss.resteasy.plugins.providers.sse.SseBroadcasterImpl.OverflowPolicy;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -186,6 +193,319 @@ public class SseBroadcasterTest
       }
    }
 
+   // We are expecting this test to drop the oldest queued event for a slow
+   // event sink without holding back the broadcast
+   @Test
+   public void testDropOldestOnOverflow() throws Exception
+   {
+      ExecutorService executor = Executors.newCachedThreadPool();
+      try
+      {
+         SseBroadcasterImpl sseBroadcasterImpl = new SseBroadcasterImpl(2, OverflowPolicy.DROP_OLDEST, executor);
+         CountDownLatch sending = new CountDownLatch(1);
+         CountDownLatch release = new CountDownLatch(1);
+         List<Object> received = new CopyOnWriteArrayList<>();
+         SseEventSink sseEventSink = newSlowSseEventSink(sending, release, received);
+         sseBroadcasterImpl.register(sseEventSink);
+
+         sseBroadcasterImpl.broadcast(new OutboundSseEventImpl.BuilderImpl().data("1").build());
+         Assert.assertTrue(sending.await(3, TimeUnit.SECONDS));
+         CompletionStage<?> second = sseBroadcasterImpl.broadcast(new OutboundSseEventImpl.BuilderImpl().data("2").build());
+         for (int i = 3; i <= 4; i++)
+         {
+            sseBroadcasterImpl.broadcast(new OutboundSseEventImpl.BuilderImpl().data(Integer.toString(i)).build());
+         }
+         Assert.assertEquals(2, sseBroadcasterImpl.getQueueSize(sseEventSink));
+         Assert.assertEquals(1, sseBroadcasterImpl.getDroppedCount(sseEventSink));
+         assertDropped(second);
+
+         CompletionStage<?> last = sseBroadcasterImpl.broadcast(new OutboundSseEventImpl.BuilderImpl().data("5").build());
+         release.countDown();
+         last.toCompletableFuture().get(3, TimeUnit.SECONDS);
+         Assert.assertEquals(Arrays.asList("1", "4", "5"), received);
+         Assert.assertEquals(2, sseBroadcasterImpl.getDroppedCount());
+      }
+      finally
+      {
+         executor.shutdownNow();
+      }
+   }
+
+   // We are expecting this test to fail the event broadcast to a slow event
+   // sink whose queue is full, keeping the queued events
+   @Test
+   public void testFailOnOverflow() throws Exception
+   {
+      ExecutorService executor = Executors.newCachedThreadPool();
+      try
+      {
+         SseBroadcasterImpl sseBroadcasterImpl = new SseBroadcasterImpl(1, OverflowPolicy.FAIL, executor);
+         CountDownLatch sending = new CountDownLatch(1);
+         CountDownLatch release = new CountDownLatch(1);
+         List<Object> received = new CopyOnWriteArrayList<>();
+         SseEventSink sseEventSink = newSlowSseEventSink(sending, release, received);
+         sseBroadcasterImpl.register(sseEventSink);
+
+         sseBroadcasterImpl.broadcast(new OutboundSseEventImpl.BuilderImpl().data("1").build());
+         Assert.assertTrue(sending.await(3, TimeUnit.SECONDS));
+         CompletionStage<?> queued = sseBroadcasterImpl.broadcast(new OutboundSseEventImpl.BuilderImpl().data("2").build());
+         assertDropped(sseBroadcasterImpl.broadcast(new OutboundSseEventImpl.BuilderImpl().data("3").build()));
+         Assert.assertEquals(1, sseBroadcasterImpl.getQueueSize(sseEventSink));
+
+         release.countDown();
+         queued.toCompletableFuture().get(3, TimeUnit.SECONDS);
+         Assert.assertEquals(Arrays.asList("1", "2"), received);
+         Assert.assertEquals(1, sseBroadcasterImpl.getDroppedCount());
+         Assert.assertFalse(sseEventSink.isClosed());
+      }
+      finally
+      {
+         executor.shutdownNow();
+      }
+   }
+
+   // We are expecting this test to keep the events broadcast to a slow event
+   // sink whose queue is full, their stage completing once they enter the
+   // queue, without holding back the broadcast
+   @Test
+   public void testBlockOnOverflow() throws Exception
+   {
+      ExecutorService executor = Executors.newCachedThreadPool();
+      try
+      {
+         SseBroadcasterImpl sseBroadcasterImpl = new SseBroadcasterImpl(1, OverflowPolicy.BLOCK, executor);
+         CountDownLatch sending = new CountDownLatch(1);
+         CountDownLatch release = new CountDownLatch(1);
+         List<Object> received = new CopyOnWriteArrayList<>();
+         SseEventSink sseEventSink = newSlowSseEventSink(sending, release, received);
+         sseBroadcasterImpl.register(sseEventSink);
+
+         sseBroadcasterImpl.broadcast(new OutboundSseEventImpl.BuilderImpl().data("1").build());
+         Assert.assertTrue(sending.await(3, TimeUnit.SECONDS));
+         sseBroadcasterImpl.broadcast(new OutboundSseEventImpl.BuilderImpl().data("2").build());
+         CompletionStage<?> third = sseBroadcasterImpl.broadcast(new OutboundSseEventImpl.BuilderImpl().data("3").build());
+         CompletionStage<?> fourth = sseBroadcasterImpl.broadcast(new OutboundSseEventImpl.BuilderImpl().data("4").build());
+         Assert.assertFalse(third.toCompletableFuture().isDone());
+         Assert.assertEquals(3, sseBroadcasterImpl.getQueueSize(sseEventSink));
+
+         release.countDown();
+         third.toCompletableFuture().get(3, TimeUnit.SECONDS);
+         fourth.toCompletableFuture().get(3, TimeUnit.SECONDS);
+         sseBroadcasterImpl.broadcast(new OutboundSseEventImpl.BuilderImpl().data("5").build())
+               .toCompletableFuture().get(3, TimeUnit.SECONDS);
+         // the stages of events which waited complete before they are written
+         for (int i = 0; i < 300 && received.size() < 5; i++)
+         {
+            Thread.sleep(10);
+         }
+         Assert.assertEquals(Arrays.asList("1", "2", "3", "4", "5"), received);
+         Assert.assertEquals(0, sseBroadcasterImpl.getDroppedCount());
+      }
+      finally
+      {
+         executor.shutdownNow();
+      }
+   }
+
+   // We are expecting this test to fail the stage of the events still waiting
+   // for room in the queue when the event sink is closed
+   @Test
+   public void testBlockedEventsOfClosedEventSink() throws Exception
+   {
+      ExecutorService executor = Executors.newCachedThreadPool();
+      try
+      {
+         SseBroadcasterImpl sseBroadcasterImpl = new SseBroadcasterImpl(1, OverflowPolicy.BLOCK, executor);
+         CountDownLatch sending = new CountDownLatch(1);
+         CountDownLatch release = new CountDownLatch(1);
+         SseEventSink sseEventSink = newSlowSseEventSink(sending, release, new CopyOnWriteArrayList<>());
+         sseBroadcasterImpl.register(sseEventSink);
+
+         sseBroadcasterImpl.broadcast(new OutboundSseEventImpl.BuilderImpl().data("1").build());
+         Assert.assertTrue(sending.await(3, TimeUnit.SECONDS));
+         sseBroadcasterImpl.broadcast(new OutboundSseEventImpl.BuilderImpl().data("2").build());
+         CompletionStage<?> waiting = sseBroadcasterImpl.broadcast(new OutboundSseEventImpl.BuilderImpl().data("3").build());
+         sseBroadcasterImpl.close();
+         assertDropped(waiting);
+         release.countDown();
+      }
+      finally
+      {
+         executor.shutdownNow();
+      }
+   }
+
+   // We are expecting this test to let the other event sinks be written to
+   // while a single thread drains a long queue
+   @Test
+   public void testSinksShareExecutor() throws Exception
+   {
+      ExecutorService executor = Executors.newSingleThreadExecutor();
+      try
+      {
+         SseBroadcasterImpl sseBroadcasterImpl = new SseBroadcasterImpl(100, OverflowPolicy.FAIL, executor);
+         List<Object> order = new CopyOnWriteArrayList<>();
+         SseEventSink first = newRecordingSseEventSink("first", order);
+         SseEventSink second = newRecordingSseEventSink("second", order);
+         CountDownLatch blocked = new CountDownLatch(1);
+         CountDownLatch release = new CountDownLatch(1);
+         // hold the only thread until all the events are queued
+         executor.execute(() -> {
+            blocked.countDown();
+            try
+            {
+               release.await();
+            }
+            catch (InterruptedException e)
+            {
+               Thread.currentThread().interrupt();
+            }
+         });
+         Assert.assertTrue(blocked.await(3, TimeUnit.SECONDS));
+         sseBroadcasterImpl.register(first);
+         sseBroadcasterImpl.register(second);
+         CompletionStage<?> last = null;
+         for (int i = 0; i < 40; i++)
+         {
+            last = sseBroadcasterImpl.broadcast(new OutboundSseEventImpl.BuilderImpl().data(Integer.toString(i)).build());
+         }
+         release.countDown();
+         last.toCompletableFuture().get(3, TimeUnit.SECONDS);
+         Assert.assertEquals(80, order.size());
+         // the second sink was written to before the first one was done
+         Assert.assertTrue(order.indexOf("second") < order.lastIndexOf("first"));
+      }
+      finally
+      {
+         executor.shutdownNow();
+      }
+   }
+
+   // We are expecting this test to drop the oldest event by default rather
+   // than to block the broadcast
+   @Test
+   public void testDefaultOverflowPolicy() throws Exception
+   {
+      SseBroadcasterImpl sseBroadcasterImpl = new SseBroadcasterImpl();
+      Assert.assertEquals(OverflowPolicy.DROP_OLDEST, sseBroadcasterImpl.getOverflowPolicy());
+      Assert.assertEquals(SseBroadcasterImpl.DEFAULT_QUEUE_CAPACITY, sseBroadcasterImpl.getQueueCapacity());
+   }
+
+   // We are expecting this test to close a slow event sink whose queue is full
+   // and to invoke close listeners
+   @Test
+   public void testCloseOnOverflow() throws Exception
+   {
+      ExecutorService executor = Executors.newCachedThreadPool();
+      try
+      {
+         SseBroadcasterImpl sseBroadcasterImpl = new SseBroadcasterImpl(1, OverflowPolicy.CLOSE, executor);
+         CountDownLatch sending = new CountDownLatch(1);
+         CountDownLatch release = new CountDownLatch(1);
+         SseEventSink sseEventSink = newSlowSseEventSink(sending, release, new CopyOnWriteArrayList<>());
+         sseBroadcasterImpl.register(sseEventSink);
+         CountDownLatch closed = new CountDownLatch(1);
+         sseBroadcasterImpl.onClose(ses -> {
+            closed.countDown();
+         });
+
+         sseBroadcasterImpl.broadcast(new OutboundSseEventImpl.BuilderImpl().data("1").build());
+         Assert.assertTrue(sending.await(3, TimeUnit.SECONDS));
+         CompletionStage<?> queued = sseBroadcasterImpl.broadcast(new OutboundSseEventImpl.BuilderImpl().data("2").build());
+         assertDropped(sseBroadcasterImpl.broadcast(new OutboundSseEventImpl.BuilderImpl().data("3").build()));
+         if (!closed.await(3, TimeUnit.SECONDS))
+         {
+            Assert.fail("Close listeners should have been notified");
+         }
+         assertDropped(queued);
+         Assert.assertEquals(2, sseBroadcasterImpl.getDroppedCount());
+         release.countDown();
+      }
+      finally
+      {
+         executor.shutdownNow();
+      }
+   }
+
+   private void assertDropped(CompletionStage<?> stage) throws Exception
+   {
+      try
+      {
+         stage.toCompletableFuture().get(3, TimeUnit.SECONDS);
+         Assert.fail("The stage of a dropped event should have completed exceptionally");
+      }
+      catch (ExecutionException e)
+      {
+         Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+      }
+   }
+
+   private SseEventSink newSlowSseEventSink(CountDownLatch sending, CountDownLatch release, List<Object> received)
+   {
+      return new SseEventSink()
+      {
+
+         private volatile boolean closed;
+
+         @Override
+         public CompletionStage<?> send(OutboundSseEvent event)
+         {
+            if (closed)
+            {
+               throw new IllegalStateException();
+            }
+            sending.countDown();
+            try
+            {
+               release.await();
+            }
+            catch (InterruptedException e)
+            {
+               Thread.currentThread().interrupt();
+            }
+            received.add(event.getData());
+            return CompletableFuture.completedFuture(null);
+         }
+
+         @Override
+         public boolean isClosed()
+         {
+            return closed;
+         }
+
+         @Override
+         public void close()
+         {
+            closed = true;
+         }
+      };
+   }
+
+   private SseEventSink newRecordingSseEventSink(String name, List<Object> order)
+   {
+      return new SseEventSink()
+      {
+
+         @Override
+         public CompletionStage<?> send(OutboundSseEvent event)
+         {
+            order.add(name);
+            return CompletableFuture.completedFuture(null);
+         }
+
+         @Override
+         public boolean isClosed()
+         {
+            return false;
+         }
+
+         @Override
+         public void close()
+         {
+         }
+      };
+   }
+
    private SseEventSink newSseEventSink()
    {
       return newSseEventSink(null);
@@ -3,6 +3,7 @@ package org.jboss.resteasy.test.providers.sse;
 import org.jboss.arquillian.container.test.api.Deployment;
 import org.jboss.arquillian.container.test.api.RunAsClient;
 import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
 import org.jboss.resteasy.test.providers.sse.resource.SseReconnectResource;
 import org.jboss.resteasy.spi.HttpResponseCodes;
 import org.jboss.resteasy.utils.PortProviderUtil;
@@ -89,10 +90,23 @@ public class SseReconnectTest {
     */
    @Test
    public void testSseEndpointUnavailable() throws Exception {
+      checkSseEndpointUnavailable(ClientBuilder.newBuilder().build());
+   }
+
+   /**
+    * @tpTestDetails SseEventSource reading its events from the io-threads of the async engine receives HTTP 503 +
+    * "Retry-After" from the SSE endpoint. Check that SseEventSource retries after the specified period
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testSseEndpointUnavailableAsyncEngine() throws Exception {
+      checkSseEndpointUnavailable(((ResteasyClientBuilder) ClientBuilder.newBuilder()).useAsyncHttpEngine().build());
+   }
+
+   private void checkSseEndpointUnavailable(Client client) throws Exception {
       final CountDownLatch latch = new CountDownLatch(1);
       final AtomicInteger errors = new AtomicInteger(0);
       final List<String> results = new ArrayList<String>();
-      Client client = ClientBuilder.newBuilder().build();
       try {
          WebTarget target = client.target(generateURL("/reconnect/unavailable"));
          SseEventSource msgEventSource = SseEventSource.target(target).build();
@@ -83,6 +83,25 @@ public class PublisherResponseRawStreamTest {
       Assert.assertEquals("onetwo", entity);
    }
 
+   /**
+    * @tpTestDetails Resource method returns Publisher<String>, whose elements are prefetched and flushed together.
+    * @tpSince RESTEasy 4.0
+    */
+   @Test
+   public void testChunkedCoalesced() throws Exception
+   {
+      Invocation.Builder request = client.target(generateURL("/chunked-coalesced")).request();
+      Response response = request.get();
+      String entity = response.readEntity(String.class);
+      Assert.assertEquals(200, response.getStatus());
+      StringBuilder expected = new StringBuilder();
+      for (int i = 0; i < 1000; i++)
+      {
+         expected.append(i);
+      }
+      Assert.assertEquals(expected.toString(), entity);
+   }
+
    /**
     * @tpTestDetails Resource method unsubscribes on close for infinite streams.
     * @tpSince RESTEasy 4.0
@@ -37,6 +37,7 @@ import java.util.List;
 import java.util.PropertyPermission;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -209,6 +210,40 @@ public class PublisherResponseTest {
       Assert.assertEquals("two", collector.get(1));
    }
 
+   /**
+    * @tpTestDetails Resource method returns Publisher<String>, whose events are prefetched and flushed together.
+    * @tpSince RESTEasy 4.0
+    */
+   @Test
+   public void testSseCoalesced() throws Exception
+   {
+      WebTarget target = client.target(generateURL("/sse-coalesced"));
+      List<String> collector = new ArrayList<>();
+      List<Throwable> errors = new ArrayList<>();
+      CompletableFuture<Void> future = new CompletableFuture<Void>();
+      SseEventSource source = SseEventSource.target(target).build();
+      source.register(evt -> {
+         String data = evt.readData(String.class);
+         collector.add(data);
+         if(collector.size() >= 100) {
+            future.complete(null);
+         }
+      }, t -> {
+            logger.error(t.getMessage(), t);
+            errors.add(t);
+         }, () -> {
+            future.complete(null);
+         });
+      source.open();
+      future.get(10, TimeUnit.SECONDS);
+      source.close();
+      Assert.assertEquals(100, collector.size());
+      Assert.assertEquals(0, errors.size());
+      for (int i = 0; i < 100; i++) {
+         Assert.assertEquals(String.valueOf(i), collector.get(i));
+      }
+   }
+
    /**
     * @tpTestDetails Resource method unsubscribes on close for infinite streams.
     * @tpSince RESTEasy 4.0
@@ -25,6 +25,14 @@ public class PublisherResponseRawStreamResource {
       return Flowable.fromArray("one", "two");
    }
 
+   @GET
+   @Path("chunked-coalesced")
+   @Produces("application/json")
+   @Stream(value = Stream.MODE.RAW, prefetch = 16, flushSize = 1024)
+   public Publisher<String> chunkedCoalesced() {
+      return Flowable.range(0, 1000).map(String::valueOf);
+   }
+
    @GET
    @Path("chunked-infinite")
    @Produces("application/json")
@@ -109,6 +109,14 @@ public class PublisherResponseResource {
       return Flowable.fromArray("one", "two");
    }
 
+   @GET
+   @Path("sse-coalesced")
+   @Produces(MediaType.SERVER_SENT_EVENTS)
+   @Stream(prefetch = 16, flushSize = 1024)
+   public Publisher<String> sseCoalesced() {
+      return Flowable.range(0, 100).map(String::valueOf);
+   }
+
    @GET
    @Path("sse-infinite")
    @Produces(MediaType.SERVER_SENT_EVENTS)
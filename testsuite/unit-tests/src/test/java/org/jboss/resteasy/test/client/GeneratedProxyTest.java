@@ -0,0 +1,142 @@
+package org.jboss.resteasy.test.client;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.MatrixParam;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.jboss.resteasy.client.jaxrs.ProxyBuilder;
+import org.jboss.resteasy.client.jaxrs.ResteasyWebTarget;
+import org.jboss.resteasy.client.jaxrs.internal.proxy.ResteasyClientProxy;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * @tpSubChapter Resteasy-client proxy
+ * @tpChapter Unit tests
+ * @tpSince RESTEasy 4.0.0
+ */
+public class GeneratedProxyTest
+{
+   @Path("/resource")
+   public interface Resource
+   {
+      @GET
+      @Path("{id}/{name}")
+      String get(@PathParam("id") int id, @PathParam("name") String name, @QueryParam("q") List<String> q,
+                 @MatrixParam("m") String m);
+
+      @POST
+      @Consumes("text/plain")
+      void post(String body);
+
+      @GET
+      @Path("count")
+      long count();
+
+      String notMapped();
+   }
+
+   public interface Other
+   {
+      @GET
+      @Path("other")
+      String get();
+   }
+
+   /**
+    * Answers with the request URI, and the entity if any.
+    */
+   public static class EchoUriFilter implements ClientRequestFilter
+   {
+      @Override
+      public void filter(ClientRequestContext requestContext) throws IOException
+      {
+         String uri = requestContext.getUri().toString();
+         if (requestContext.hasEntity())
+         {
+            uri += " " + requestContext.getEntity();
+         }
+         requestContext.abortWith(Response.ok(uri.endsWith("/count") ? "42" : uri, MediaType.TEXT_PLAIN_TYPE).build());
+      }
+   }
+
+   private static Client client;
+
+   @BeforeClass
+   public static void setupClient()
+   {
+      client = ClientBuilder.newClient().register(EchoUriFilter.class).property(ProxyBuilder.GENERATED_PROXY, true);
+   }
+
+   @AfterClass
+   public static void close()
+   {
+      client.close();
+   }
+
+   /**
+    * @tpTestDetails Client creates a proxy with the generated proxy property set, the path, query and matrix
+    * parameters are applied to the request URI
+    * @tpPassCrit The proxy is not a java.lang.reflect.Proxy and returns the expected URI
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testParameters()
+   {
+      Resource proxy = ((ResteasyWebTarget) client.target("http://localhost/base")).proxy(Resource.class);
+      Assert.assertFalse(Proxy.isProxyClass(proxy.getClass()));
+      Assert.assertEquals("http://localhost/base/resource/1/a%20b;m=x?q=c&q=d",
+            proxy.get(1, "a b", Arrays.asList("c", "d"), "x"));
+      Assert.assertEquals("http://localhost/base/resource/2/b", proxy.get(2, "b", null, null));
+      Assert.assertEquals(42L, proxy.count());
+      proxy.post("hello");
+   }
+
+   /**
+    * @tpTestDetails Client creates a generated proxy and calls the methods it inherits
+    * @tpPassCrit equals, hashCode, toString and as behave as with a java.lang.reflect.Proxy, a method without HTTP
+    * method fails
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testProxyMethods()
+   {
+      ResteasyWebTarget target = (ResteasyWebTarget) client.target("http://localhost/base");
+      Resource proxy1 = target.proxy(Resource.class);
+      Resource proxy2 = target.proxy(Resource.class);
+      Assert.assertSame(proxy1.getClass(), proxy2.getClass());
+      Assert.assertTrue(proxy1.equals(proxy1));
+      Assert.assertFalse(proxy1.equals(proxy2));
+      Assert.assertEquals(proxy1.hashCode(), proxy2.hashCode());
+      Assert.assertTrue(proxy1.toString().contains(Resource.class.getName()));
+      Assert.assertEquals(3, ((ResteasyClientProxy) proxy1).getResteasyClientInvokers().size());
+      Other other = ((ResteasyClientProxy) proxy1).as(Other.class);
+      Assert.assertEquals("http://localhost/base/resource/other", other.get());
+      try
+      {
+         proxy1.notMapped();
+         Assert.fail();
+      }
+      catch (RuntimeException e)
+      {
+         // expected
+      }
+   }
+}
@@ -0,0 +1,177 @@
+package org.jboss.resteasy.test.client;
+
+import org.jboss.resteasy.client.jaxrs.ClientHttpEngine;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.jboss.resteasy.client.jaxrs.cache.BrowserCacheFeature;
+import org.jboss.resteasy.client.jaxrs.cache.LightweightBrowserCache;
+import org.jboss.resteasy.specimpl.MultivaluedMapImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @tpSubChapter Resteasy-client
+ * @tpChapter Unit tests
+ * @tpTestCaseDetails LightweightBrowserCache evicts entries by size instead of wiping itself when it is full
+ * @tpSince RESTEasy 4.0.0
+ */
+public class LightweightBrowserCacheTest {
+
+   private static void put(LightweightBrowserCache cache, String key, int size, int expires) {
+      cache.put(key, MediaType.TEXT_PLAIN_TYPE, new MultivaluedMapImpl<String, String>(), new byte[size], expires, null, null);
+   }
+
+   /**
+    * @tpTestDetails Full cache keeps recently read entries and stays within its byte limit
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testEviction() {
+      LightweightBrowserCache cache = new LightweightBrowserCache();
+      cache.setMaxBytes(300);
+      put(cache, "a", 100, 60);
+      put(cache, "b", 100, 60);
+      put(cache, "c", 100, 60);
+      Assert.assertNotNull(cache.get("a", MediaType.TEXT_PLAIN_TYPE));
+
+      put(cache, "d", 100, 60);
+      Assert.assertEquals("Wrong byte count", 300, cache.getByteCount());
+      Assert.assertEquals("Wrong entry count", 3, cache.getEntryCount());
+      Assert.assertEquals("Wrong eviction count", 1, cache.getEvictionCount());
+      Assert.assertNotNull("Recently read entry evicted", cache.get("a", MediaType.TEXT_PLAIN_TYPE));
+      Assert.assertNotNull("New entry evicted", cache.get("d", MediaType.TEXT_PLAIN_TYPE));
+   }
+
+   /**
+    * @tpTestDetails Expired entries are evicted before fresh ones
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testExpiredFirst() {
+      LightweightBrowserCache cache = new LightweightBrowserCache();
+      cache.setMaxBytes(200);
+      put(cache, "fresh", 100, 60);
+      put(cache, "expired", 100, -1);
+      put(cache, "new", 100, 60);
+      Assert.assertNotNull("Fresh entry evicted", cache.get("fresh", MediaType.TEXT_PLAIN_TYPE));
+      Assert.assertNull("Expired entry kept", cache.get("expired", MediaType.TEXT_PLAIN_TYPE));
+      Assert.assertEquals("Wrong byte count", 200, cache.getByteCount());
+   }
+
+   /**
+    * @tpTestDetails Replacing, removing and oversized entries keep the statistics consistent
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testStatistics() {
+      LightweightBrowserCache cache = new LightweightBrowserCache();
+      cache.setMaxBytes(100);
+      put(cache, "a", 10, 60);
+      put(cache, "a", 20, 60);
+      Assert.assertEquals("Wrong byte count", 20, cache.getByteCount());
+      put(cache, "big", 200, 60);
+      Assert.assertNull("Oversized entry cached", cache.get("big", MediaType.TEXT_PLAIN_TYPE));
+      Assert.assertNotNull(cache.get("a", MediaType.TEXT_PLAIN_TYPE));
+      Assert.assertEquals("Wrong hit count", 1, cache.getHitCount());
+      Assert.assertEquals("Wrong miss count", 1, cache.getMissCount());
+      cache.remove("a", MediaType.TEXT_PLAIN_TYPE);
+      Assert.assertEquals("Wrong byte count", 0, cache.getByteCount());
+      Assert.assertEquals("Wrong entry count", 0, cache.getEntryCount());
+   }
+
+   /**
+    * Engine failing every request, the first one once it is released.
+    */
+   private static class FailingEngine implements ClientHttpEngine {
+      final AtomicInteger invocations = new AtomicInteger();
+      final CountDownLatch entered = new CountDownLatch(1);
+      final CountDownLatch release = new CountDownLatch(1);
+
+      @Override
+      public SSLContext getSslContext() {
+         return null;
+      }
+
+      @Override
+      public HostnameVerifier getHostnameVerifier() {
+         return null;
+      }
+
+      @Override
+      public Response invoke(Invocation request) {
+         if (invocations.incrementAndGet() == 1) {
+            entered.countDown();
+            try {
+               release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+            }
+         }
+         throw new ProcessingException("connection refused");
+      }
+
+      @Override
+      public void close() {
+      }
+   }
+
+   /**
+    * @tpTestDetails A coalesced miss does not wait for the timeout when the request it waits for fails
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testCoalescedMissAfterFailure() throws Exception {
+      FailingEngine engine = new FailingEngine();
+      BrowserCacheFeature feature = new BrowserCacheFeature();
+      feature.setMissCoalescingTimeout(60000);
+      Client client = ((ResteasyClientBuilder) ClientBuilder.newBuilder()).httpEngine(engine).build().register(feature);
+      ExecutorService executor = Executors.newFixedThreadPool(2);
+      try {
+         Future<?> leader = executor.submit(() -> client.target("http://localhost/cached").request().get());
+         Assert.assertTrue("Leading request not sent", engine.entered.await(10, TimeUnit.SECONDS));
+         Thread[] waiter = new Thread[1];
+         Future<?> follower = executor.submit(() -> {
+            waiter[0] = Thread.currentThread();
+            return client.target("http://localhost/cached").request().get();
+         });
+         long deadline = System.currentTimeMillis() + 10000;
+         while ((waiter[0] == null || waiter[0].getState() != Thread.State.TIMED_WAITING)
+               && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+         }
+         Assert.assertEquals("Concurrent miss went to the server", 1, engine.invocations.get());
+
+         engine.release.countDown();
+         assertFails(leader);
+         assertFails(follower);
+         Assert.assertEquals("Concurrent miss did not go to the server after the failure", 2, engine.invocations.get());
+      } finally {
+         executor.shutdownNow();
+         client.close();
+      }
+   }
+
+   private static void assertFails(Future<?> future) throws Exception {
+      try {
+         future.get(10, TimeUnit.SECONDS);
+         Assert.fail("Request did not fail");
+      } catch (ExecutionException e) {
+         Assert.assertTrue("Unexpected failure " + e.getCause(), e.getCause() instanceof ProcessingException);
+      }
+   }
+}
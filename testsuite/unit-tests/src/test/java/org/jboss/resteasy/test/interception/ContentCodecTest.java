@@ -0,0 +1,150 @@
+package org.jboss.resteasy.test.interception;
+
+import org.jboss.resteasy.plugins.interceptors.ContentCodec;
+import org.jboss.resteasy.plugins.interceptors.ContentCodecs;
+import org.jboss.resteasy.plugins.interceptors.GZIPEncodingInterceptor;
+import org.jboss.resteasy.specimpl.MultivaluedMapImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * @tpSubChapter Interception tests
+ * @tpChapter Unit tests
+ * @tpTestCaseDetails Test for the content codecs used by GZIPEncodingInterceptor and GZIPDecodingInterceptor.
+ * @tpSince RESTEasy 4.0.0
+ */
+public class ContentCodecTest {
+
+   private static byte[] entity(int size) {
+      byte[] bytes = new byte[size];
+      for (int i = 0; i < size; i++) {
+         bytes[i] = (byte) ("hello world ".charAt(i % 12));
+      }
+      return bytes;
+   }
+
+   private static byte[] read(InputStream in) throws IOException {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buffer = new byte[1024];
+      for (int n = in.read(buffer); n > -1; n = in.read(buffer)) {
+         out.write(buffer, 0, n);
+      }
+      in.close();
+      return out.toByteArray();
+   }
+
+   private static byte[] encode(ContentCodec codec, byte[] entity, int level) throws IOException {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      OutputStream encoder = codec.encode(out, level);
+      encoder.write(entity, 0, 100);
+      encoder.write(entity, 100, entity.length - 100);
+      encoder.close();
+      return out.toByteArray();
+   }
+
+   /**
+    * @tpTestDetails Entities encoded with the gzip and deflate codecs are decoded back, by the codecs and for gzip by
+    *                GZIPInputStream, with the deflaters and inflaters reused from one entity to the next.
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testRoundTrip() throws Exception {
+      Assert.assertTrue(ContentCodecs.getEncodings().containsAll(Arrays.asList("gzip", "deflate")));
+      Assert.assertSame(ContentCodecs.get("gzip"), ContentCodecs.get(" GZIP "));
+      Assert.assertNull(ContentCodecs.get("identity"));
+      byte[] entity = entity(10000);
+      for (String encoding : new String[]{"gzip", "deflate"}) {
+         ContentCodec codec = ContentCodecs.get(encoding);
+         for (int i = 0; i < 3; i++) {
+            byte[] encoded = encode(codec, entity, Deflater.BEST_SPEED);
+            Assert.assertTrue(encoding, encoded.length < entity.length);
+            Assert.assertArrayEquals(encoding, entity, read(codec.decode(new ByteArrayInputStream(encoded))));
+         }
+      }
+      byte[] gzipped = encode(ContentCodecs.get("gzip"), entity, Deflater.DEFAULT_COMPRESSION);
+      Assert.assertArrayEquals(entity, read(new GZIPInputStream(new ByteArrayInputStream(gzipped))));
+   }
+
+   /**
+    * @tpTestDetails Entities smaller than the minimum size of their media type are written as they are, without the
+    *                Content-Encoding header, larger ones are encoded.
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testMinimumSize() throws Exception {
+      GZIPEncodingInterceptor interceptor = new GZIPEncodingInterceptor();
+      interceptor.setMinimumSize(100);
+      interceptor.setMinimumSize(MediaType.valueOf("text/*"), 1000);
+      interceptor.setMinimumSize(MediaType.TEXT_HTML_TYPE, 2000);
+      Assert.assertEquals(100, interceptor.getMinimumSize(MediaType.APPLICATION_JSON_TYPE));
+      Assert.assertEquals(1000, interceptor.getMinimumSize(MediaType.TEXT_PLAIN_TYPE));
+      Assert.assertEquals(2000, interceptor.getMinimumSize(MediaType.TEXT_HTML_TYPE));
+
+      ContentCodec gzip = ContentCodecs.get("gzip");
+      byte[] entity = entity(1500);
+      for (int size : new int[]{1000, 2000}) {
+         MultivaluedMap<String, Object> headers = new MultivaluedMapImpl<String, Object>();
+         headers.putSingle(HttpHeaders.CONTENT_ENCODING, "gzip");
+         ByteArrayOutputStream out = new ByteArrayOutputStream();
+         GZIPEncodingInterceptor.ThresholdEncodingOutputStream stream =
+               new GZIPEncodingInterceptor.ThresholdEncodingOutputStream(out, gzip, Deflater.DEFAULT_COMPRESSION, size, headers);
+         stream.write(entity, 0, 500);
+         stream.write(entity, 500, 1000);
+         stream.finish();
+         if (size < entity.length) {
+            Assert.assertEquals("gzip", headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+            Assert.assertArrayEquals(entity, read(gzip.decode(new ByteArrayInputStream(out.toByteArray()))));
+         } else {
+            Assert.assertNull(headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+            Assert.assertArrayEquals(entity, out.toByteArray());
+         }
+      }
+   }
+
+   /**
+    * @tpTestDetails An entity flushed before reaching the minimum size is streamed as it is, the bytes written until
+    *                then are sent by the flush.  Flushing an entity already encoded keeps the encoding.
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testFlush() throws Exception {
+      ContentCodec gzip = ContentCodecs.get("gzip");
+      byte[] entity = entity(1500);
+
+      MultivaluedMap<String, Object> headers = new MultivaluedMapImpl<String, Object>();
+      headers.putSingle(HttpHeaders.CONTENT_ENCODING, "gzip");
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      GZIPEncodingInterceptor.ThresholdEncodingOutputStream stream =
+            new GZIPEncodingInterceptor.ThresholdEncodingOutputStream(out, gzip, Deflater.DEFAULT_COMPRESSION, 1000, headers);
+      stream.write(entity, 0, 500);
+      Assert.assertEquals("Bytes written before the flush", 0, out.size());
+      stream.flush();
+      Assert.assertNull(headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+      Assert.assertEquals("Buffered bytes not flushed", 500, out.size());
+      stream.write(entity, 500, 1000);
+      stream.finish();
+      Assert.assertArrayEquals(entity, out.toByteArray());
+
+      headers.putSingle(HttpHeaders.CONTENT_ENCODING, "gzip");
+      out = new ByteArrayOutputStream();
+      stream = new GZIPEncodingInterceptor.ThresholdEncodingOutputStream(out, gzip, Deflater.DEFAULT_COMPRESSION, 1000, headers);
+      stream.write(entity, 0, 1200);
+      stream.flush();
+      stream.write(entity, 1200, 300);
+      stream.finish();
+      Assert.assertEquals("gzip", headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+      Assert.assertArrayEquals(entity, read(gzip.decode(new ByteArrayInputStream(out.toByteArray()))));
+   }
+}
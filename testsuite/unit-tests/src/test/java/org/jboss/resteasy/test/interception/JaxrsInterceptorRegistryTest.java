@@ -1,6 +1,8 @@
 package org.jboss.resteasy.test.interception;
 
+import org.jboss.resteasy.core.interception.jaxrs.ContainerRequestFilterRegistryImpl;
 import org.jboss.resteasy.core.interception.jaxrs.JaxrsInterceptorRegistryImpl;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
 import org.jboss.resteasy.spi.interception.JaxrsInterceptorRegistry;
 import org.junit.Assert;
 import org.junit.Test;
@@ -71,6 +73,28 @@ public class JaxrsInterceptorRegistryTest {
 
    }
 
+   /**
+    * @tpTestDetails The filters bound to no resource method are matched once, until another filter is registered
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testUnboundMatchesFollowRegistration() throws Exception {
+      JaxrsInterceptorRegistry<ContainerRequestFilter> registry = new ContainerRequestFilterRegistryImpl(ResteasyProviderFactory.newInstance());
+      Assert.assertEquals(0, registry.postMatch(null, null).length);
+
+      JaxrsInterceptorRegistryTestGlobalFilter global = new JaxrsInterceptorRegistryTestGlobalFilter();
+      registry.registerSingleton(global);
+      registry.registerSingleton(new JaxrsInterceptorRegistryTestFilter());
+      ContainerRequestFilter[] unbound = registry.postMatch(null, null);
+      Assert.assertArrayEquals(new ContainerRequestFilter[] {global}, unbound);
+      Assert.assertSame("Unbound filters matched again", unbound, registry.postMatch(null, null));
+      Assert.assertEquals(2, registry.postMatch(JaxrsInterceptorRegistryTestResource.class,
+            JaxrsInterceptorRegistryTestResource.class.getMethod("get")).length);
+
+      registry.registerClass(JaxrsInterceptorRegistryTestGlobalFilter.class);
+      Assert.assertEquals("Registered filter not matched", 2, registry.postMatch(null, null).length);
+   }
+
    @NameBinding
    @Retention(RUNTIME)
    public static @interface JaxrsInterceptorRegistryTestNameBinding {
@@ -85,6 +109,14 @@ public class JaxrsInterceptorRegistryTest {
       }
    }
 
+   @Provider
+   public static class JaxrsInterceptorRegistryTestGlobalFilter implements ContainerRequestFilter {
+      @Override
+      public void filter(ContainerRequestContext requestContext) throws IOException {
+
+      }
+   }
+
    @Path("/")
    public static class JaxrsInterceptorRegistryTestResource {
 
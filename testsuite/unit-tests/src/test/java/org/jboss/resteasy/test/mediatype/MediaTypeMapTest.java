@@ -69,4 +69,31 @@ public class MediaTypeMapTest {
       Assert.assertTrue(list.get(3) == wildcard);
    }
 
+   /**
+    * @tpTestDetails Parameter and case variants of a media type share one class cache entry and the cache
+    *                is bounded
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testClassCache() {
+      MediaTypeMap<String> map = new MediaTypeMap<String>();
+      map.add(new MediaType("text", "plain"), "plain");
+      map.add(new MediaType("*", "*"), "wildcard");
+      map.getBoundedClassCache().setMaxSize(2);
+
+      List<String> list = map.getPossible(MediaType.valueOf("text/plain;charset=UTF-8"), String.class);
+      Assert.assertEquals("Unexpected number of possible entries", 2, list.size());
+      Assert.assertSame("Parameter variant was not cached", list, map.getPossible(MediaType.valueOf("text/plain;q=0.5"), String.class));
+      Assert.assertSame("Case variant was not cached", list, map.getPossible(MediaType.valueOf("Text/Plain"), String.class));
+      Assert.assertEquals("Wrong number of cache hits", 2, map.getBoundedClassCache().getHitCount());
+      Assert.assertEquals("Wrong number of cache misses", 1, map.getBoundedClassCache().getMissCount());
+      Assert.assertEquals("Wrong cache weight", 2, map.getBoundedClassCache().getWeight());
+
+      map.getPossible(MediaType.TEXT_PLAIN_TYPE, Integer.class);
+      map.getPossible(MediaType.TEXT_PLAIN_TYPE, Long.class);
+      Assert.assertEquals("Cache exceeded its maximum size", 2, map.getBoundedClassCache().size());
+      Assert.assertEquals("Wrong number of evictions", 1, map.getBoundedClassCache().getEvictionCount());
+      Assert.assertEquals("Map view does not show the cache", 2, map.getClassCache().size());
+   }
+
 }
@@ -0,0 +1,119 @@
+package org.jboss.resteasy.test.providers;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+import org.jboss.resteasy.plugins.providers.jaxb.XmlJAXBContextFinder;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+import org.jboss.resteasy.test.providers.resource.JAXBContextPrewarmItem;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @tpSubChapter Providers
+ * @tpChapter Unit tests
+ * @tpTestCaseDetails XmlJAXBContextFinder creates a missing JAXBContext once, however many threads ask for it.
+ * @tpSince RESTEasy 4.0.0
+ */
+public class JAXBContextCacheTest {
+
+   private static final int THREADS = 8;
+
+   private static class CountingFinder extends XmlJAXBContextFinder {
+      final AtomicInteger created = new AtomicInteger();
+      final CountDownLatch release = new CountDownLatch(1);
+      volatile boolean fail;
+
+      CountingFinder() {
+         providers = ResteasyProviderFactory.newInstance();
+      }
+
+      @Override
+      protected JAXBContext createContextObject(Annotation[] parameterAnnotations, Class... classes) throws JAXBException {
+         created.incrementAndGet();
+         try {
+            release.await(10, TimeUnit.SECONDS);
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+         }
+         if (fail) {
+            throw new JAXBException("failed");
+         }
+         return super.createContextObject(parameterAnnotations, classes);
+      }
+   }
+
+   private static List<Future<JAXBContext>> find(ExecutorService executor, CountingFinder finder) {
+      List<Future<JAXBContext>> contexts = new ArrayList<>();
+      for (int i = 0; i < THREADS; i++) {
+         contexts.add(executor.submit(() -> finder.findCachedContext(JAXBContextPrewarmItem.class, null, new Annotation[0])));
+      }
+      return contexts;
+   }
+
+   /**
+    * @tpTestDetails Concurrent misses wait for the context created by the first one
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testConcurrentMisses() throws Exception {
+      CountingFinder finder = new CountingFinder();
+      ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+      try {
+         List<Future<JAXBContext>> contexts = find(executor, finder);
+         Thread.sleep(200);
+         finder.release.countDown();
+         JAXBContext context = contexts.get(0).get(10, TimeUnit.SECONDS);
+         for (Future<JAXBContext> other : contexts) {
+            Assert.assertSame("Different contexts returned", context, other.get(10, TimeUnit.SECONDS));
+         }
+         Assert.assertEquals("Context created more than once", 1, finder.created.get());
+         Assert.assertSame("Context not cached", context, finder.getCache().get(JAXBContextPrewarmItem.class));
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+
+   /**
+    * @tpTestDetails A failed creation is reported to the waiting threads and is not cached
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testFailedCreation() throws Exception {
+      CountingFinder finder = new CountingFinder();
+      finder.fail = true;
+      ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+      try {
+         List<Future<JAXBContext>> contexts = find(executor, finder);
+         Thread.sleep(200);
+         finder.release.countDown();
+         for (Future<JAXBContext> context : contexts) {
+            try {
+               context.get(10, TimeUnit.SECONDS);
+               Assert.fail("Failure not reported");
+            } catch (ExecutionException e) {
+               Assert.assertTrue("Wrong exception", e.getCause() instanceof JAXBException);
+            }
+         }
+         Assert.assertEquals("Context created more than once", 1, finder.created.get());
+         Assert.assertNull("Failure cached", finder.getCache().get(JAXBContextPrewarmItem.class));
+
+         finder.fail = false;
+         Assert.assertNotNull(finder.findCachedContext(JAXBContextPrewarmItem.class, null, new Annotation[0]));
+         Assert.assertEquals("Context not created again", 2, finder.created.get());
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+}
@@ -0,0 +1,73 @@
+package org.jboss.resteasy.test.providers;
+
+import javax.ws.rs.core.MediaType;
+
+import org.jboss.resteasy.core.ResteasyDeploymentImpl;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.mock.MockHttpResponse;
+import org.jboss.resteasy.plugins.providers.jaxb.JAXBContextFinder;
+import org.jboss.resteasy.plugins.providers.jaxb.XmlJAXBContextFinder;
+import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
+import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.jboss.resteasy.test.providers.resource.JAXBContextPrewarmItem;
+import org.jboss.resteasy.test.providers.resource.JAXBContextPrewarmResource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @tpSubChapter Providers
+ * @tpChapter Unit tests
+ * @tpTestCaseDetails JAXBContexts of the entity types of the resource methods are created when the deployment starts
+ *                    if resteasy.prewarm.providers is enabled.
+ * @tpSince RESTEasy 4.0.0
+ */
+public class JAXBContextPrewarmTest {
+
+   private ResteasyDeployment deployment;
+
+   @After
+   public void after() {
+      deployment.stop();
+   }
+
+   /**
+    * @tpTestDetails The context is cached on startup and reused by the first request
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testPrewarm() throws Exception {
+      XmlJAXBContextFinder finder = start(true);
+      Assert.assertNotNull("Context not created on startup", finder.getCache().get(JAXBContextPrewarmItem.class));
+
+      long misses = finder.getCache().getMissCount();
+      MockHttpRequest request = MockHttpRequest.post("/prewarm")
+            .content("<item><name>bill</name></item>".getBytes())
+            .contentType(MediaType.APPLICATION_XML);
+      MockHttpResponse response = new MockHttpResponse();
+      deployment.getDispatcher().invoke(request, response);
+      Assert.assertEquals(200, response.getStatus());
+      Assert.assertTrue("Wrong response", response.getContentAsString().contains("<name>bill</name>"));
+      Assert.assertEquals("Context created again", misses, finder.getCache().getMissCount());
+   }
+
+   /**
+    * @tpTestDetails Nothing is created on startup by default
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testNoPrewarm() throws Exception {
+      XmlJAXBContextFinder finder = start(false);
+      Assert.assertNull("Context created on startup", finder.getCache().get(JAXBContextPrewarmItem.class));
+   }
+
+   private XmlJAXBContextFinder start(boolean prewarm) {
+      deployment = new ResteasyDeploymentImpl();
+      deployment.setProperty(ResteasyContextParameters.RESTEASY_PREWARM_PROVIDERS, prewarm);
+      deployment.getResourceClasses().add(JAXBContextPrewarmResource.class.getName());
+      deployment.start();
+      return (XmlJAXBContextFinder) deployment.getProviderFactory()
+            .getContextResolver(JAXBContextFinder.class, MediaType.APPLICATION_XML_TYPE)
+            .getContext(JAXBContextPrewarmItem.class);
+   }
+}
@@ -0,0 +1,78 @@
+package org.jboss.resteasy.test.providers;
+
+import org.jboss.resteasy.core.ResteasyProviderFactoryImpl;
+import org.jboss.resteasy.mock.MockDispatcherFactory;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.mock.MockHttpResponse;
+import org.jboss.resteasy.spi.Dispatcher;
+import org.jboss.resteasy.test.providers.resource.PinnedProvidersResource;
+import org.jboss.resteasy.test.providers.resource.PinnedProvidersStringReader;
+import org.jboss.resteasy.test.providers.resource.PinnedProvidersStringWriter;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @tpSubChapter Providers
+ * @tpChapter Unit tests
+ * @tpTestCaseDetails MessageBodyReaders and MessageBodyWriters pinned by resource methods must be resolved again
+ *                    when providers are registered after the first request.
+ * @tpSince RESTEasy 4.0.0
+ */
+public class PinnedProvidersTest {
+
+   private Dispatcher dispatcher;
+
+   @Before
+   public void before() {
+      dispatcher = MockDispatcherFactory.createDispatcher();
+      dispatcher.getRegistry().addPerRequestResource(PinnedProvidersResource.class);
+   }
+
+   /**
+    * @tpTestDetails A writer registered after the first request replaces the pinned one
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testWriterInvalidation() throws Exception {
+      Assert.assertEquals("Wrong response", "hello", get());
+      Assert.assertEquals("Pinned writer not reused", "hello", get());
+
+      ResteasyProviderFactoryImpl factory = (ResteasyProviderFactoryImpl) dispatcher.getProviderFactory();
+      long version = factory.getMessageBodyProvidersVersion();
+      factory.registerProvider(PinnedProvidersStringWriter.class);
+      Assert.assertTrue("Provider version not incremented", factory.getMessageBodyProvidersVersion() > version);
+
+      Assert.assertEquals("Pinned writer not invalidated", "writer:hello", get());
+   }
+
+   /**
+    * @tpTestDetails A reader registered after the first request replaces the pinned one
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testReaderInvalidation() throws Exception {
+      Assert.assertEquals("Wrong response", "abc", post("abc"));
+      Assert.assertEquals("Pinned reader not reused", "abc", post("abc"));
+
+      dispatcher.getProviderFactory().registerProvider(PinnedProvidersStringReader.class);
+
+      Assert.assertEquals("Pinned reader not invalidated", "reader:abc", post("abc"));
+   }
+
+   private String get() throws Exception {
+      MockHttpRequest request = MockHttpRequest.get("/pinned");
+      MockHttpResponse response = new MockHttpResponse();
+      dispatcher.invoke(request, response);
+      Assert.assertEquals(200, response.getStatus());
+      return response.getContentAsString();
+   }
+
+   private String post(String body) throws Exception {
+      MockHttpRequest request = MockHttpRequest.post("/pinned").content(body.getBytes()).contentType("text/plain");
+      MockHttpResponse response = new MockHttpResponse();
+      dispatcher.invoke(request, response);
+      Assert.assertEquals(200, response.getStatus());
+      return response.getContentAsString();
+   }
+}
@@ -0,0 +1,239 @@
+package org.jboss.resteasy.test.providers;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.ws.rs.core.MediaType;
+
+import org.jboss.resteasy.mock.MockDispatcherFactory;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.mock.MockHttpResponse;
+import org.jboss.resteasy.plugins.providers.multipart.InputPart;
+import org.jboss.resteasy.plugins.providers.multipart.StreamingMultipartInputImpl;
+import org.jboss.resteasy.spi.Dispatcher;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+import org.jboss.resteasy.test.providers.resource.StreamingMultipartResource;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @tpSubChapter Providers
+ * @tpChapter Unit tests
+ * @tpTestCaseDetails StreamingMultipartInput reads the parts of a multipart entity from the request stream, one after
+ *                    the other, and only stores them when getParts() is called.
+ * @tpSince RESTEasy 4.0.0
+ */
+public class StreamingMultipartInputTest {
+
+   private static final String BOUNDARY = "B98hgCmKsQ-B5AUFnm2FnDRCgHPDE3";
+   private static final MediaType TYPE = new MediaType("multipart", "mixed",
+         Collections.singletonMap("boundary", BOUNDARY));
+   private static final String MESSAGE = "preamble\r\n"
+         + "--" + BOUNDARY + "  \r\n"
+         + "Content-Type: text/plain; charset=UTF-8\r\n"
+         + "X-Folded: a\r\n b\r\n"
+         + "\r\n"
+         + "value 1\r\n--" + BOUNDARY.substring(0, 10) + "\r\n"
+         + "--" + BOUNDARY + "\r\n"
+         + "Content-Transfer-Encoding: base64\r\n"
+         + "\r\n"
+         + "dmFsdWUgMg==\r\n"
+         + "--" + BOUNDARY + "\r\n"
+         + "\r\n"
+         + "\r\n"
+         + "--" + BOUNDARY + "--\r\n"
+         + "epilogue";
+
+   private static StreamingMultipartInputImpl parse(InputStream in) throws IOException {
+      StreamingMultipartInputImpl input = new StreamingMultipartInputImpl(TYPE, ResteasyProviderFactory.getInstance());
+      input.parse(in);
+      return input;
+   }
+
+   private static InputStream message(String message) {
+      return new ByteArrayInputStream(message.getBytes(StandardCharsets.UTF_8));
+   }
+
+   /**
+    * @tpTestDetails Headers, transfer encodings and bodies of the parts are read in order
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testParts() throws Exception {
+      StreamingMultipartInputImpl input = parse(message(MESSAGE));
+      Assert.assertEquals("preamble", input.getPreamble());
+      Iterator<InputPart> parts = input.iterator();
+
+      InputPart part = parts.next();
+      Assert.assertEquals("a b", part.getHeaders().getFirst("x-folded"));
+      Assert.assertTrue(part.isContentTypeFromMessage());
+      Assert.assertEquals("value 1\r\n--" + BOUNDARY.substring(0, 10), part.getBodyAsString());
+
+      part = parts.next();
+      Assert.assertEquals("text/plain;charset=us-ascii", part.getMediaType().toString());
+      Assert.assertFalse(part.isContentTypeFromMessage());
+      Assert.assertEquals("value 2", part.getBodyAsString());
+
+      part = parts.next();
+      Assert.assertTrue(part.getHeaders().isEmpty());
+      Assert.assertEquals("", part.getBodyAsString());
+
+      Assert.assertFalse(parts.hasNext());
+      Assert.assertNull(input.nextPart());
+   }
+
+   /**
+    * @tpTestDetails The body of a part is not read before it is requested and cannot be read once the next part is
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testStreamedBody() throws Exception {
+      final long size = 64L << 20;
+      CountingInputStream in = new CountingInputStream(new SequenceInputStream(
+            message("--" + BOUNDARY + "\r\nContent-Type: application/octet-stream\r\n\r\n"),
+            new SequenceInputStream(new PatternInputStream(size),
+                  message("\r\n--" + BOUNDARY + "\r\n\r\nlast\r\n--" + BOUNDARY + "--"))));
+      StreamingMultipartInputImpl input = parse(in);
+
+      InputPart part = input.nextPart();
+      Assert.assertTrue("Body read before it was requested", in.count < 16384);
+      InputStream body = part.getBody(InputStream.class, null);
+      byte[] buffer = new byte[5000];
+      long read = 0;
+      for (int n; (n = body.read(buffer)) != -1; read += n) {
+         for (int i = 0; i < n; i++) {
+            Assert.assertEquals((byte) ((read + i) % 251), buffer[i]);
+         }
+      }
+      Assert.assertEquals(size, read);
+
+      part = input.nextPart();
+      InputStream last = part.getBody(InputStream.class, null);
+      Assert.assertEquals('l', last.read());
+      Assert.assertNull(input.nextPart());
+      try {
+         last.read();
+         Assert.fail("Body read after the next part was requested");
+      } catch (IOException expected) {
+      }
+   }
+
+   /**
+    * @tpTestDetails Bodies left unread are skipped
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testSkippedBody() throws Exception {
+      StreamingMultipartInputImpl input = parse(message(MESSAGE));
+      Assert.assertNotNull(input.nextPart());
+      Assert.assertEquals("value 2", input.nextPart().getBodyAsString());
+      Assert.assertEquals("preamble", input.getPreamble());
+   }
+
+   /**
+    * @tpTestDetails getParts() stores the remaining parts, which can then be read in any order and more than once
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testStoredParts() throws Exception {
+      StringBuilder large = new StringBuilder();
+      while (large.length() < 10000) large.append("large part ");
+      StreamingMultipartInputImpl input = parse(message(MESSAGE.replace("value 1", large)));
+      List<InputPart> parts = input.getParts();
+      Assert.assertEquals(3, parts.size());
+      for (int i = 0; i < 2; i++) {
+         Assert.assertEquals("value 2", parts.get(1).getBodyAsString());
+         Assert.assertTrue(parts.get(0).getBodyAsString().startsWith(large.toString()));
+      }
+      Assert.assertSame(parts, input.getParts());
+      Assert.assertNull(input.nextPart());
+      input.close();
+   }
+
+   /**
+    * @tpTestDetails A malformed entity ends with an IOException
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test(expected = IOException.class)
+   public void testMissingBoundary() throws Exception {
+      StreamingMultipartInputImpl input = parse(message("--" + BOUNDARY + "\r\n\r\nno closing boundary"));
+      input.nextPart().getBodyAsString();
+   }
+
+   /**
+    * @tpTestDetails A resource method iterates over the parts of a multipart/form-data request
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testResourceMethod() throws Exception {
+      Dispatcher dispatcher = MockDispatcherFactory.createDispatcher();
+      dispatcher.getRegistry().addPerRequestResource(StreamingMultipartResource.class);
+      String entity = "--" + BOUNDARY + "\r\n"
+            + "Content-Disposition: form-data; name=\"a\"\r\n\r\n"
+            + "abc\r\n"
+            + "--" + BOUNDARY + "\r\n"
+            + "Content-Disposition: form-data; name=\"b\"; filename=\"b.bin\"\r\n"
+            + "Content-Type: application/octet-stream\r\n\r\n"
+            + "0123456789\r\n"
+            + "--" + BOUNDARY + "--\r\n";
+      MockHttpRequest request = MockHttpRequest.post("/streaming")
+            .contentType("multipart/form-data; boundary=" + BOUNDARY)
+            .content(entity.getBytes(StandardCharsets.UTF_8));
+      MockHttpResponse response = new MockHttpResponse();
+      dispatcher.invoke(request, response);
+      Assert.assertEquals(200, response.getStatus());
+      Assert.assertEquals("form-data; name=\"a\": 3\nform-data; name=\"b\"; filename=\"b.bin\": 10\n",
+            response.getContentAsString());
+   }
+
+   private static class PatternInputStream extends InputStream {
+      private final long size;
+      private long position;
+
+      PatternInputStream(final long size) {
+         this.size = size;
+      }
+
+      @Override
+      public int read() {
+         return position < size ? (int) (position++ % 251) : -1;
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) {
+         if (position == size) return -1;
+         int n = (int) Math.min(len, size - position);
+         for (int i = 0; i < n; i++) b[off + i] = (byte) (position++ % 251);
+         return n;
+      }
+   }
+
+   private static class CountingInputStream extends InputStream {
+      private final InputStream delegate;
+      private long count;
+
+      CountingInputStream(final InputStream delegate) {
+         this.delegate = delegate;
+      }
+
+      @Override
+      public int read() throws IOException {
+         int b = delegate.read();
+         if (b != -1) count++;
+         return b;
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+         int n = delegate.read(b, off, len);
+         if (n > 0) count += n;
+         return n;
+      }
+   }
+}
@@ -0,0 +1,16 @@
+package org.jboss.resteasy.test.providers.resource;
+
+import javax.xml.bind.annotation.XmlRootElement;
+
+@XmlRootElement(name = "item")
+public class JAXBContextPrewarmItem {
+   private String name;
+
+   public String getName() {
+      return name;
+   }
+
+   public void setName(String name) {
+      this.name = name;
+   }
+}
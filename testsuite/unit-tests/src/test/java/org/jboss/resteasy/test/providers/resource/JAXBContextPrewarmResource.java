@@ -0,0 +1,16 @@
+package org.jboss.resteasy.test.providers.resource;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+
+@Path("prewarm")
+public class JAXBContextPrewarmResource {
+   @POST
+   @Consumes("application/xml")
+   @Produces("application/xml")
+   public JAXBContextPrewarmItem post(JAXBContextPrewarmItem item) {
+      return item;
+   }
+}
@@ -0,0 +1,23 @@
+package org.jboss.resteasy.test.providers.resource;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+
+@Path("pinned")
+public class PinnedProvidersResource {
+   @GET
+   @Produces("text/plain")
+   public String get() {
+      return "hello";
+   }
+
+   @POST
+   @Consumes("text/plain")
+   @Produces("text/plain")
+   public String post(String body) {
+      return body;
+   }
+}
@@ -0,0 +1,29 @@
+package org.jboss.resteasy.test.providers.resource;
+
+import org.jboss.resteasy.util.ReadFromStream;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+@Provider
+@Consumes("text/plain")
+public class PinnedProvidersStringReader implements MessageBodyReader<String> {
+   @Override
+   public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+      return String.class.equals(type);
+   }
+
+   @Override
+   public String readFrom(Class<String> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                          MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException {
+      return "reader:" + new String(ReadFromStream.readFromStream(1024, entityStream), StandardCharsets.UTF_8);
+   }
+}
@@ -0,0 +1,27 @@
+package org.jboss.resteasy.test.providers.resource;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+@Provider
+@Produces("text/plain")
+public class PinnedProvidersStringWriter implements MessageBodyWriter<String> {
+   @Override
+   public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+      return String.class.equals(type);
+   }
+
+   @Override
+   public void writeTo(String s, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                       MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+      entityStream.write(("writer:" + s).getBytes(StandardCharsets.UTF_8));
+   }
+}
@@ -0,0 +1,29 @@
+package org.jboss.resteasy.test.providers.resource;
+
+import java.io.InputStream;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+
+import org.jboss.resteasy.plugins.providers.multipart.InputPart;
+import org.jboss.resteasy.plugins.providers.multipart.StreamingMultipartInput;
+
+@Path("streaming")
+public class StreamingMultipartResource {
+   @POST
+   @Consumes("multipart/form-data")
+   @Produces("text/plain")
+   public String post(StreamingMultipartInput input) throws Exception {
+      StringBuilder result = new StringBuilder();
+      for (InputPart part : input) {
+         long size = 0;
+         try (InputStream body = part.getBody(InputStream.class, null)) {
+            while (body.read() != -1) size++;
+         }
+         result.append(part.getHeaders().getFirst("Content-Disposition")).append(": ").append(size).append("\n");
+      }
+      return result.toString();
+   }
+}
@@ -0,0 +1,111 @@
+package org.jboss.resteasy.test.providers.sse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.sse.InboundSseEvent;
+
+import org.jboss.resteasy.plugins.providers.sse.SseEventInputImpl;
+import org.jboss.resteasy.plugins.providers.sse.SseEventProvider;
+import org.jboss.resteasy.specimpl.MultivaluedMapImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @tpSubChapter Providers
+ * @tpChapter Unit tests
+ * @tpTestCaseDetails SseEventInputImpl parses the events of a stream whatever the bytes returned by each read.
+ * @tpSince RESTEasy 4.0.0
+ */
+public class SseEventInputImplTest {
+
+   /**
+    * Returns at most the given number of bytes from each read.
+    */
+   private static class ChunkedInputStream extends ByteArrayInputStream {
+      private final int chunkSize;
+
+      ChunkedInputStream(final String data, final int chunkSize) {
+         super(data.getBytes(StandardCharsets.UTF_8));
+         this.chunkSize = chunkSize;
+      }
+
+      @Override
+      public synchronized int read(byte[] b, int off, int len) {
+         return super.read(b, off, Math.min(len, chunkSize));
+      }
+   }
+
+   private static SseEventInputImpl input(String mediaType, String data, int chunkSize) throws IOException {
+      return new SseEventProvider().readFrom(SseEventInputImpl.class, null, new Annotation[0],
+            MediaType.valueOf(mediaType), new MultivaluedMapImpl<String, String>(),
+            new ChunkedInputStream(data, chunkSize));
+   }
+
+   /**
+    * @tpTestDetails Fields, comments and multi-line data are parsed with any line end and any read size
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testEvents() throws Exception {
+      String stream = "\n: first comment\n:second\r\nid: 1\nevent: greeting\nretry: 500\ndata: hello\r\ndata:  world\n\n"
+            + "data: next\r\rid: 3\r\ndata\r\ndata:\r\n\r\n"
+            + "data: incomplete";
+      for (int chunkSize : new int[] {1, 2, 3, 7, 8192}) {
+         SseEventInputImpl input = input(MediaType.SERVER_SENT_EVENTS, stream, chunkSize);
+
+         InboundSseEvent event = input.read();
+         Assert.assertEquals("first comment\nsecond", event.getComment());
+         Assert.assertEquals("1", event.getId());
+         Assert.assertEquals("greeting", event.getName());
+         Assert.assertEquals(500, event.getReconnectDelay());
+         Assert.assertEquals("hello\nworld", event.readData());
+
+         event = input.read();
+         Assert.assertEquals("next", event.readData());
+         Assert.assertNull(event.getId());
+         Assert.assertNull(event.getComment());
+
+         event = input.read();
+         Assert.assertEquals("3", event.getId());
+         Assert.assertEquals("\n", event.readData());
+
+         Assert.assertNull("Incomplete event read with chunks of " + chunkSize, input.read());
+         Assert.assertTrue(input.isClosed());
+      }
+   }
+
+   /**
+    * @tpTestDetails The escaped line ends and backslashes of a general stream are part of the data
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testGeneralStream() throws Exception {
+      String stream = "data: a\\\\b\\\nc\\\rd\n\ndata: e\n\n";
+      for (int chunkSize : new int[] {1, 5, 8192}) {
+         SseEventInputImpl input = input("application/x-stream-general", stream, chunkSize);
+         Assert.assertEquals("a\\b\nc\rd", input.read().readData());
+         Assert.assertEquals("e", input.read().readData());
+         Assert.assertNull(input.read());
+      }
+   }
+
+   /**
+    * @tpTestDetails Events longer than the read buffer are parsed whole
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testLargeEvent() throws Exception {
+      StringBuilder data = new StringBuilder();
+      for (int i = 0; i < 10000; i++) {
+         data.append("line ").append(i);
+      }
+      SseEventInputImpl input = input(MediaType.SERVER_SENT_EVENTS, "data: " + data + "\ndata: " + data + "\n\n",
+            8192);
+      Assert.assertEquals(data + "\n" + data, input.read().readData());
+      Assert.assertNull(input.read());
+   }
+}
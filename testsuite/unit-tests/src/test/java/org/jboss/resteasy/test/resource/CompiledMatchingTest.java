@@ -0,0 +1,96 @@
+package org.jboss.resteasy.test.resource;
+
+import org.jboss.resteasy.core.ResourceLocatorInvoker;
+import org.jboss.resteasy.core.ResourceMethodInvoker;
+import org.jboss.resteasy.core.ResourceMethodRegistry;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.spi.ResourceInvoker;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+import org.jboss.resteasy.test.resource.resource.CompiledMatchingResource;
+import org.jboss.resteasy.test.resource.resource.SegmentNullResource;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.core.MultivaluedMap;
+
+/**
+ * @tpSubChapter Resource tests
+ * @tpChapter Unit tests
+ * @tpTestCaseDetails Regex-free request matching (resteasy.compiled.request.matching) must select the same
+ *                    resource methods and extract the same path parameters as the regular expression matching.
+ * @tpSince RESTEasy 4.0.0
+ */
+public class CompiledMatchingTest {
+
+   private static ResourceMethodRegistry createRegistry(boolean compiled, boolean wider) {
+      ResourceMethodRegistry registry = new ResourceMethodRegistry(ResteasyProviderFactory.getInstance());
+      registry.setWiderMatching(wider);
+      registry.setCompiledMatching(compiled);
+      registry.addPerRequestResource(CompiledMatchingResource.class);
+      registry.addSingletonResource(new SegmentNullResource());
+      return registry;
+   }
+
+   /**
+    * @tpTestDetails Compiled and regex matching select the same methods with the same path parameters
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testSameMatches() throws Exception {
+      for (boolean wider : new boolean[]{false, true}) {
+         ResourceMethodRegistry regex = createRegistry(false, wider);
+         ResourceMethodRegistry compiled = createRegistry(true, wider);
+         String[] urls = {"/compiled/123", "/compiled/john-doe", "/compiled/a-b-c", "/compiled/number/42",
+               "/compiled/number", "/child", "/child/foo", "/child/1", "/"};
+         for (String url : urls) {
+            assertSameMatch(regex, compiled, url);
+         }
+      }
+   }
+
+   /**
+    * @tpTestDetails Greedy path parameter semantics are kept by the compiled matcher
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testPathParams() throws Exception {
+      MockHttpRequest request = MockHttpRequest.get("/compiled/a-b-c");
+      ResourceMethodInvoker invoker = (ResourceMethodInvoker) createRegistry(true, false).getResourceInvoker(request);
+      Assert.assertEquals("Wrong resource method", "byName", invoker.getMethod().getName());
+      MultivaluedMap<String, String> params = request.getUri().getPathParameters();
+      Assert.assertEquals("Wrong path parameter", "a-b", params.getFirst("first"));
+      Assert.assertEquals("Wrong path parameter", "c", params.getFirst("last"));
+   }
+
+   /**
+    * @tpTestDetails Locators push the same matched path with the compiled matcher
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testLocator() throws Exception {
+      MockHttpRequest request = MockHttpRequest.get("/compiled/sub/foo/bar");
+      ResourceInvoker invoker = createRegistry(true, false).getResourceInvoker(request);
+      Assert.assertTrue("Locator expected", invoker instanceof ResourceLocatorInvoker);
+      Assert.assertEquals("Wrong path parameter", "foo", request.getUri().getPathParameters().getFirst("name"));
+      Assert.assertEquals("Wrong matched uri", "compiled/sub/foo", request.getUri().getMatchedURIs().get(0));
+   }
+
+   private void assertSameMatch(ResourceMethodRegistry regex, ResourceMethodRegistry compiled, String url) throws Exception {
+      MockHttpRequest regexRequest = MockHttpRequest.get(url);
+      MockHttpRequest compiledRequest = MockHttpRequest.get(url);
+      String expected = match(regex, regexRequest);
+      String actual = match(compiled, compiledRequest);
+      Assert.assertEquals("Different match for " + url, expected, actual);
+      Assert.assertEquals("Different path parameters for " + url, regexRequest.getUri().getPathParameters(),
+            compiledRequest.getUri().getPathParameters());
+   }
+
+   private String match(ResourceMethodRegistry registry, MockHttpRequest request) {
+      try {
+         return registry.getResourceInvoker(request).getMethod().getName();
+      } catch (NotFoundException e) {
+         return "404";
+      }
+   }
+}
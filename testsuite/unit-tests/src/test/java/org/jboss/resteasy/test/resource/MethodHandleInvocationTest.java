@@ -0,0 +1,66 @@
+package org.jboss.resteasy.test.resource;
+
+import org.jboss.resteasy.core.ResteasyDeploymentImpl;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.mock.MockHttpResponse;
+import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
+import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.jboss.resteasy.test.resource.resource.MethodHandleResource;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @tpSubChapter Resource tests
+ * @tpChapter Unit tests
+ * @tpTestCaseDetails Resource methods invoked through method handles (resteasy.method.handles) report arguments
+ *                    of the wrong type and exceptions thrown by the method the same way as reflection does.
+ * @tpSince RESTEasy 4.0.0
+ */
+public class MethodHandleInvocationTest {
+
+   private static ResteasyDeployment createDeployment(boolean methodHandles) {
+      ResteasyDeployment deployment = new ResteasyDeploymentImpl();
+      deployment.getDefaultContextObjects();
+      deployment.setProperty(ResteasyContextParameters.RESTEASY_METHOD_HANDLES, methodHandles);
+      deployment.getActualProviderClasses().add(MethodHandleResource.WidgetConverterProvider.class);
+      deployment.getActualProviderClasses().add(MethodHandleResource.ClassCastExceptionMapper.class);
+      deployment.getActualResourceClasses().add(MethodHandleResource.class);
+      deployment.start();
+      return deployment;
+   }
+
+   private static MockHttpResponse get(ResteasyDeployment deployment, String uri) throws Exception {
+      MockHttpResponse response = new MockHttpResponse();
+      deployment.getDispatcher().invoke(MockHttpRequest.get(uri), response);
+      return response;
+   }
+
+   /**
+    * @tpTestDetails The same requests get the same responses with and without method handles
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testSameResponses() throws Exception {
+      for (boolean methodHandles : new boolean[]{false, true}) {
+         ResteasyDeployment deployment = createDeployment(methodHandles);
+         try {
+            MockHttpResponse response = get(deployment, "/handles/widget?name=right");
+            Assert.assertEquals(200, response.getStatus());
+            Assert.assertEquals("right", response.getContentAsString());
+
+            response = get(deployment, "/handles/count?count=3");
+            Assert.assertEquals(200, response.getStatus());
+            Assert.assertEquals("3", response.getContentAsString());
+
+            // an argument of the wrong type is an internal error, not an exception of the application
+            response = get(deployment, "/handles/widget?name=wrong");
+            Assert.assertEquals("Wrong status with method handles " + methodHandles, 500, response.getStatus());
+
+            response = get(deployment, "/handles/cast");
+            Assert.assertEquals("Wrong status with method handles " + methodHandles, 409, response.getStatus());
+         } finally {
+            deployment.stop();
+         }
+      }
+   }
+}
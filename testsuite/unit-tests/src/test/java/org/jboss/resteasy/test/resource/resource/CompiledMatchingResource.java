@@ -0,0 +1,36 @@
+package org.jboss.resteasy.test.resource.resource;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+
+@Path("compiled")
+public class CompiledMatchingResource {
+
+   @GET
+   @Produces("text/plain")
+   @Path("{id}")
+   public String byId(@PathParam("id") String id) {
+      return id;
+   }
+
+   @GET
+   @Produces("text/plain")
+   @Path("{first}-{last}")
+   public String byName(@PathParam("first") String first, @PathParam("last") String last) {
+      return first + last;
+   }
+
+   @GET
+   @Produces("text/plain")
+   @Path("number/{n:[0-9]+}")
+   public String byNumber(@PathParam("n") String n) {
+      return n;
+   }
+
+   @Path("sub/{name}")
+   public SegmentLocatorSimple locate(@PathParam("name") String name) {
+      return new SegmentLocatorSimple();
+   }
+}
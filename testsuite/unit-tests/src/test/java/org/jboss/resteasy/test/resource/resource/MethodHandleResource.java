@@ -0,0 +1,81 @@
+package org.jboss.resteasy.test.resource.resource;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.ParamConverter;
+import javax.ws.rs.ext.ParamConverterProvider;
+
+@Path("/handles")
+public class MethodHandleResource {
+
+   public static class Widget {
+      private final String name;
+
+      public Widget(final String name) {
+         this.name = name;
+      }
+
+      public String getName() {
+         return name;
+      }
+   }
+
+   /**
+    * Converts "wrong" to a String rather than to a Widget.
+    */
+   public static class WidgetConverterProvider implements ParamConverterProvider {
+      @SuppressWarnings("unchecked")
+      @Override
+      public <T> ParamConverter<T> getConverter(Class<T> rawType, Type genericType, Annotation[] annotations) {
+         if (rawType != Widget.class) {
+            return null;
+         }
+         return new ParamConverter<T>() {
+            @Override
+            public T fromString(String value) {
+               return (T) ("wrong".equals(value) ? value : new Widget(value));
+            }
+
+            @Override
+            public String toString(T value) {
+               return value.toString();
+            }
+         };
+      }
+   }
+
+   public static class ClassCastExceptionMapper implements ExceptionMapper<ClassCastException> {
+      @Override
+      public Response toResponse(ClassCastException exception) {
+         return Response.status(Response.Status.CONFLICT).build();
+      }
+   }
+
+   @GET
+   @Path("widget")
+   @Produces("text/plain")
+   public String widget(@QueryParam("name") Widget widget) {
+      return widget.getName();
+   }
+
+   @GET
+   @Path("count")
+   @Produces("text/plain")
+   public String count(@QueryParam("count") int count) {
+      return Integer.toString(count);
+   }
+
+   @GET
+   @Path("cast")
+   @Produces("text/plain")
+   public String cast() {
+      throw new ClassCastException("thrown by the resource method");
+   }
+}
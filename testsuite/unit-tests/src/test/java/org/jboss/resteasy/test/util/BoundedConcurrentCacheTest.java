@@ -0,0 +1,46 @@
+package org.jboss.resteasy.test.util;
+
+import org.jboss.resteasy.util.BoundedConcurrentCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @tpSubChapter Util tests
+ * @tpChapter Unit tests
+ * @tpTestCaseDetails Test for org.jboss.resteasy.util.BoundedConcurrentCache limits.
+ * @tpSince RESTEasy 4.0.0
+ */
+public class BoundedConcurrentCacheTest {
+
+   /**
+    * @tpTestDetails A value heavier than the maximum weight is not cached and does not leave the key mapped to its
+    *                previous value.
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testValueTooHeavy() {
+      BoundedConcurrentCache<String, String> cache = new BoundedConcurrentCache<String, String>(10, 5, String::length);
+      cache.put("key", "abc");
+      Assert.assertEquals("abc", cache.get("key"));
+      Assert.assertEquals("Wrong cache weight", 3, cache.getWeight());
+
+      cache.put("key", "too heavy");
+      Assert.assertNull("Previous value still cached", cache.get("key"));
+      Assert.assertEquals("Wrong number of entries", 0, cache.size());
+      Assert.assertEquals("Weight of the previous value not released", 0, cache.getWeight());
+   }
+
+   /**
+    * @tpTestDetails Entries are evicted once the maximum weight is exceeded.
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testMaxWeight() {
+      BoundedConcurrentCache<String, String> cache = new BoundedConcurrentCache<String, String>(10, 5, String::length);
+      cache.put("a", "abc");
+      cache.put("b", "abc");
+      Assert.assertEquals("Wrong number of entries", 1, cache.size());
+      Assert.assertEquals("Wrong cache weight", 3, cache.getWeight());
+      Assert.assertEquals("Wrong number of evictions", 1, cache.getEvictionCount());
+   }
+}
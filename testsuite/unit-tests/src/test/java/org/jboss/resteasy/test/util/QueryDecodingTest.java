@@ -0,0 +1,95 @@
+package org.jboss.resteasy.test.util;
+
+import org.jboss.resteasy.specimpl.ResteasyUriInfo;
+import org.jboss.resteasy.util.Encode;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.ws.rs.core.MultivaluedMap;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * @tpSubChapter Util tests
+ * @tpChapter Unit tests
+ * @tpTestCaseDetails Test for the decoding of paths and query strings by Encode and ResteasyUriInfo.
+ * @tpSince RESTEasy 4.0.0
+ */
+public class QueryDecodingTest {
+
+   /**
+    * @tpTestDetails Form values are decoded like URLDecoder does, and are not copied when there is nothing to decode.
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testDecode() throws Exception {
+      String[] values = {"", "abc", "a+b", "a%20b", "%C3%A9t%C3%A9", "%e2%82%AC+%24", "%C3", "100%25", "a=b&c"};
+      for (String value : values) {
+         Assert.assertEquals(value, URLDecoder.decode(value, "UTF-8"), Encode.decode(value));
+      }
+      String plain = "nothing-to-decode";
+      Assert.assertSame(plain, Encode.decode(plain));
+      Assert.assertEquals("é", Encode.decode("%E9", StandardCharsets.ISO_8859_1));
+   }
+
+   /**
+    * @tpTestDetails Malformed escape sequences in form values are rejected.
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testDecodeMalformed() {
+      for (String value : new String[]{"%", "a%2", "%zz", "%-1"}) {
+         try {
+            Encode.decode(value);
+            Assert.fail(value);
+         } catch (IllegalArgumentException e) {
+            // expected
+         }
+      }
+   }
+
+   /**
+    * @tpTestDetails Paths keep '+' and the '%' characters which do not start an escape sequence.
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testDecodePath() {
+      Assert.assertEquals("/a+b/c d", Encode.decodePath("/a+b/c%20d"));
+      Assert.assertEquals("/été", Encode.decodePath("/%C3%A9t%c3%a9"));
+      Assert.assertEquals("/100%/%zz/%2", Encode.decodePath("/100%/%zz/%2"));
+      String plain = "/nothing/to/decode";
+      Assert.assertSame(plain, Encode.decodePath(plain));
+   }
+
+   /**
+    * @tpTestDetails Query parameters keep their order, names are decoded in the encoded parameters, empty
+    *                parameters at the end of the query are ignored.
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testQueryParameters() {
+      ResteasyUriInfo uriInfo = new ResteasyUriInfo(URI.create("http://localhost/a?x=1&a%20b=c%20d&x=2=3&&flag&=e&&"));
+      MultivaluedMap<String, String> decoded = uriInfo.getQueryParameters();
+      MultivaluedMap<String, String> encoded = uriInfo.getQueryParameters(false);
+      Assert.assertEquals(Arrays.asList("1", "2=3"), decoded.get("x"));
+      Assert.assertEquals("c d", decoded.getFirst("a b"));
+      Assert.assertEquals("c%20d", encoded.getFirst("a b"));
+      Assert.assertEquals("", decoded.getFirst("flag"));
+      Assert.assertEquals(Arrays.asList("", "e"), decoded.get(""));
+      Assert.assertEquals(4, decoded.size());
+      Assert.assertEquals(4, encoded.size());
+   }
+
+   /**
+    * @tpTestDetails The matching path leaves out matrix parameters and the trailing slash.
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testMatchingPath() {
+      Assert.assertEquals("/a/b", new ResteasyUriInfo(URI.create("http://localhost/a/b/")).getMatchingPath());
+      Assert.assertEquals("/a/b", new ResteasyUriInfo(URI.create("http://localhost/a;m=1/b")).getMatchingPath());
+      Assert.assertEquals("/", new ResteasyUriInfo(URI.create("http://localhost/")).getMatchingPath());
+   }
+}
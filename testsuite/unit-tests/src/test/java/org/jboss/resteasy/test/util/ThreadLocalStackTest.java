@@ -0,0 +1,63 @@
+package org.jboss.resteasy.test.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.resteasy.core.ResteasyContext;
+import org.jboss.resteasy.util.ThreadLocalStack;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @tpSubChapter Util tests
+ * @tpChapter Unit tests
+ * @tpTestCaseDetails Test for org.jboss.resteasy.util.ThreadLocalStack and the context data levels of
+ *                    org.jboss.resteasy.core.ResteasyContext, which must not stay on threads once emptied.
+ * @tpSince RESTEasy 4.0.0
+ */
+public class ThreadLocalStackTest
+{
+   /**
+    * @tpTestDetails Push and pop values, the stack is empty once the last value is popped or it is cleared.
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testPushPop()
+   {
+      ThreadLocalStack<String> stack = new ThreadLocalStack<String>();
+      Assert.assertTrue(stack.isEmpty());
+      Assert.assertNull(stack.pop());
+      stack.push("a");
+      stack.push("b");
+      Assert.assertEquals(2, stack.size());
+      Assert.assertEquals("b", stack.get());
+      stack.setLast("c");
+      Assert.assertEquals("c", stack.pop());
+      Assert.assertEquals("a", stack.pop());
+      Assert.assertTrue(stack.isEmpty());
+      Assert.assertNull(stack.get());
+      stack.push("d");
+      Assert.assertEquals("d", stack.get());
+      stack.clear();
+      Assert.assertEquals(0, stack.size());
+      Assert.assertNull(stack.get());
+   }
+
+   /**
+    * @tpTestDetails Looking up context data on a thread without context doesn't add a context data level.
+    * @tpSince RESTEasy 4.0.0
+    */
+   @Test
+   public void testContextDataLookup() throws Exception
+   {
+      AtomicInteger levels = new AtomicInteger(-1);
+      Thread thread = new Thread(() ->
+      {
+         Assert.assertNull(ResteasyContext.getContextData(String.class));
+         Assert.assertNull(ResteasyContext.popContextData(String.class));
+         levels.set(ResteasyContext.getContextDataLevelCount());
+      });
+      thread.start();
+      thread.join();
+      Assert.assertEquals(0, levels.get());
+   }
+}